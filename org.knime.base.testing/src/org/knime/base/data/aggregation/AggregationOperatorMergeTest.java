@@ -0,0 +1,159 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.base.data.aggregation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.function.BiFunction;
+
+import org.junit.Test;
+import org.knime.base.data.aggregation.general.CountOperator;
+import org.knime.base.data.aggregation.general.MaxOperator;
+import org.knime.base.data.aggregation.general.MinOperator;
+import org.knime.base.data.aggregation.general.UniqueCountOperator;
+import org.knime.base.data.aggregation.numerical.MeanOperator;
+import org.knime.base.data.aggregation.numerical.StdDeviationOperator;
+import org.knime.base.data.aggregation.numerical.SumOperator;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpec;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataType;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
+
+/**
+ * Tests that merging the partial results of {@link AggregationOperator}s yields the same result as aggregating all
+ * values with a single operator.
+ *
+ * @author agent
+ */
+public class AggregationOperatorMergeTest {
+
+    private static final DataColumnSpec COL_SPEC = new DataColumnSpecCreator("col", DoubleCell.TYPE).createSpec();
+
+    private static final double[] VALUES = {3.5, -1, 7.25, Double.NaN, 0, 12, 4.5, 4.5, -8};
+
+    /** Tests all mergeable operators. */
+    @Test
+    public void testMergeEqualsSequentialComputation() {
+        assertMergeEqualsSequential(SumOperator::new);
+        assertMergeEqualsSequential(MeanOperator::new);
+        assertMergeEqualsSequential(StdDeviationOperator::new);
+        assertMergeEqualsSequential(MinOperator::new);
+        assertMergeEqualsSequential(MaxOperator::new);
+        assertMergeEqualsSequential(CountOperator::new);
+    }
+
+    /** Tests that an empty partial result does not change the result. */
+    @Test
+    public void testMergeEmptyPartial() {
+        final AggregationOperator op = createOperator(MeanOperator::new);
+        final AggregationOperator empty = createOperator(MeanOperator::new);
+        compute(op, 0, VALUES.length);
+        final DataCell expected = op.getResult();
+        op.merge(empty);
+        assertEquals(expected, op.getResult());
+        empty.merge(op);
+        assertEquals(expected, empty.getResult());
+    }
+
+    /** Tests that operators that do not support merging are reported as such. */
+    @Test(expected = UnsupportedOperationException.class)
+    public void testMergeUnsupported() {
+        final AggregationOperator op = createOperator(UniqueCountOperator::new);
+        assertFalse(op.isMergeable());
+        op.merge(createOperator(UniqueCountOperator::new));
+    }
+
+    /** Tests that only operators of the same type can be merged. */
+    @Test(expected = IllegalArgumentException.class)
+    public void testMergeDifferentOperators() {
+        createOperator(MinOperator::new).merge(createOperator(MaxOperator::new));
+    }
+
+    private static void assertMergeEqualsSequential(
+        final BiFunction<GlobalSettings, OperatorColumnSettings, AggregationOperator> factory) {
+        final AggregationOperator sequential = createOperator(factory);
+        compute(sequential, 0, VALUES.length);
+        for (int split = 0; split <= VALUES.length; split++) {
+            final AggregationOperator first = createOperator(factory);
+            final AggregationOperator second = createOperator(factory);
+            assertTrue(first.isMergeable());
+            compute(first, 0, split);
+            compute(second, split, VALUES.length);
+            first.merge(second);
+            final DataCell expected = sequential.getResult();
+            final DataCell actual = first.getResult();
+            assertEquals(expected.getType(), actual.getType());
+            if (expected.getType().equals(DoubleCell.TYPE)) {
+                assertEquals(((DoubleCell)expected).getDoubleValue(), ((DoubleCell)actual).getDoubleValue(), 1e-9);
+            } else {
+                assertEquals(expected, actual);
+            }
+            assertEquals(sequential.getMissingValuesCount(), first.getMissingValuesCount());
+        }
+    }
+
+    private static AggregationOperator createOperator(
+        final BiFunction<GlobalSettings, OperatorColumnSettings, AggregationOperator> factory) {
+        return factory.apply(GlobalSettings.DEFAULT, new OperatorColumnSettings(false, COL_SPEC));
+    }
+
+    private static void compute(final AggregationOperator op, final int from, final int to) {
+        for (int i = from; i < to; i++) {
+            final DataCell cell = Double.isNaN(VALUES[i]) ? DataType.getMissingCell() : new DoubleCell(VALUES[i]);
+            final DataRow row = new DefaultRow(RowKey.createRowKey((long)i), cell);
+            op.compute(row, 0);
+        }
+    }
+}
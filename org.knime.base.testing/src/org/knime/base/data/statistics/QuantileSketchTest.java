@@ -0,0 +1,138 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   18.10.2026 (agent): created
+ */
+package org.knime.base.data.statistics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests the {@link QuantileSketch}.
+ *
+ * @author agent
+ */
+public class QuantileSketchTest {
+
+    /**
+     * Small inputs are not compacted, hence the quantiles are exact.
+     */
+    @Test
+    public void testExactForSmallInput() {
+        final QuantileSketch sketch = new QuantileSketch();
+        assertTrue(Double.isNaN(sketch.getQuantile(0.5)));
+        for (double d : new double[]{5, 1, 4, Double.NaN, 3, 2, 6}) {
+            sketch.update(d);
+        }
+        assertEquals(6, sketch.getCount());
+        assertEquals(3.5, sketch.getQuantile(0.5), 0);
+        assertEquals(1, sketch.getQuantile(0), 0);
+        assertEquals(6, sketch.getQuantile(1), 0);
+        assertEquals(2.25, sketch.getQuantile(0.25), 1e-12);
+    }
+
+    /**
+     * The rank of the quantiles of a large input deviates by at most the error.
+     */
+    @Test
+    public void testRankError() {
+        final int size = 1000000;
+        final double epsilon = 0.01;
+        final double[] values = new double[size];
+        final Random random = new Random(42);
+        final QuantileSketch sketch = new QuantileSketch(epsilon);
+        for (int i = 0; i < size; i++) {
+            values[i] = random.nextGaussian();
+            sketch.update(values[i]);
+        }
+        Arrays.sort(values);
+        assertRankError(sketch, values, epsilon);
+    }
+
+    /**
+     * Merged sketches have the same error as a single sketch.
+     */
+    @Test
+    public void testMerge() {
+        final int size = 300000;
+        final double epsilon = 0.01;
+        final double[] values = new double[3 * size];
+        final Random random = new Random(7);
+        final QuantileSketch merged = new QuantileSketch(epsilon);
+        for (int s = 0; s < 3; s++) {
+            final QuantileSketch sketch = new QuantileSketch(epsilon);
+            for (int i = 0; i < size; i++) {
+                // differently distributed parts
+                values[s * size + i] = s * 0.5 + random.nextDouble();
+                sketch.update(values[s * size + i]);
+            }
+            merged.merge(sketch);
+        }
+        assertEquals(values.length, merged.getCount());
+        Arrays.sort(values);
+        assertEquals(values[0], merged.getMin(), 0);
+        assertEquals(values[values.length - 1], merged.getMax(), 0);
+        assertRankError(merged, values, epsilon);
+    }
+
+    private static void assertRankError(final QuantileSketch sketch, final double[] sorted, final double epsilon) {
+        for (double p = 0.05; p < 1; p += 0.05) {
+            final double q = sketch.getQuantile(p);
+            int rank = Arrays.binarySearch(sorted, q);
+            if (rank < 0) {
+                rank = -rank - 1;
+            }
+            final double error = Math.abs(rank / (double)sorted.length - p);
+            assertTrue("Rank error " + error + " for quantile " + p, error <= epsilon);
+        }
+    }
+}
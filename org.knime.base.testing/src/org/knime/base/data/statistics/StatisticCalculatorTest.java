@@ -12,6 +12,7 @@
 import org.junit.BeforeClass;
 import org.junit.Ignore;
 import org.junit.Test;
+import org.knime.base.data.statistics.calculation.ApproximateQuantile;
 import org.knime.base.data.statistics.calculation.DoubleMinMax;
 import org.knime.base.data.statistics.calculation.Kurtosis;
 import org.knime.base.data.statistics.calculation.Mean;
@@ -219,6 +220,31 @@ public void testMedian() throws InvalidSettingsException, CanceledExecutionExcep
         assertEquals("F", median.getMedian(STRING_FEATURE).toString());
     }
 
+    /**
+     * Tests the approximate median, which is exact for small tables.
+     *
+     * @throws InvalidSettingsException
+     * @throws CanceledExecutionException
+     */
+    @Test
+    public void testApproximateMedian() throws InvalidSettingsException, CanceledExecutionException {
+        ApproximateQuantile quantile = new ApproximateQuantile(0.05, FEATURE1, FEATURE2);
+        Median median = new Median(FEATURE1, FEATURE2);
+        StatisticCalculator statisticCalculator =
+            new StatisticCalculator(testTable.getDataTableSpec(), quantile, median);
+        statisticCalculator.evaluate(testTable, EXEC_CONTEXT);
+
+        assertEquals(median.getMedian(FEATURE1), quantile.getMedian(FEATURE1));
+        assertEquals(median.getMedian(FEATURE2), quantile.getMedian(FEATURE2));
+        assertEquals(8d, ((DoubleValue)quantile.getQuantile(FEATURE2, 1)).getDoubleValue(), 0);
+
+        Statistics3Table stat3Table =
+            new Statistics3Table(testTable, true, 0.05, 0, Collections.<String> emptyList(), EXEC_CONTEXT,
+                ascendingIntArray(testTable.getDataTableSpec().getNumColumns()));
+        assertEquals(2d, stat3Table.getMedian(0), 0);
+        assertEquals(3d, stat3Table.getMedian(1), 0);
+    }
+
     /**
      * Tests the median with double cells.
      *
@@ -0,0 +1,187 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 6, 2026 (agent): created
+ */
+package org.knime.base.node.io.filehandling.table.csv.reader;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.node.KNIMEConstants;
+
+import com.univocity.parsers.csv.CsvParser;
+
+/**
+ * Contains unit tests for {@link CsvSplitter}.
+ *
+ * @author agent
+ */
+public class CsvSplitterTest {
+
+    private static final String CONTENT = "a,b,c\n" //
+        + "1,\"multi\nline\",x\n" //
+        + "2,\"escaped \"\"quote\"\"\nand, comma\",y\n" //
+        + "3, \"leading\nwhitespace\",z\n" //
+        + "4,plain,\"\"\n" //
+        + "5,\"\n\n\",last";
+
+    private Path m_file;
+
+    private CSVTableReaderConfig m_config;
+
+    /**
+     * Creates the test file and the config.
+     *
+     * @throws IOException if the file can't be created
+     */
+    @Before
+    public void init() throws IOException {
+        m_file = Files.createTempFile("csv_splitter_test", ".csv");
+        Files.write(m_file, CONTENT.getBytes(StandardCharsets.UTF_8));
+        m_config = new CSVTableReaderConfig();
+        m_config.setDelimiter(",");
+        m_config.setLineSeparator("\n");
+        m_config.setQuote("\"");
+        m_config.setQuoteEscape("\"");
+        m_config.setComment("\0");
+        m_config.setCharSetName(StandardCharsets.UTF_8.name());
+    }
+
+    /**
+     * Deletes the test file.
+     *
+     * @throws IOException if the file can't be deleted
+     */
+    @After
+    public void cleanup() throws IOException {
+        Files.deleteIfExists(m_file);
+    }
+
+    /**
+     * Tests the {@code isSplittable} method.
+     */
+    @Test
+    public void testIsSplittable() {
+        assertTrue(CsvSplitter.isSplittable(m_config));
+        m_config.setComment("#");
+        assertFalse(CsvSplitter.isSplittable(m_config));
+        m_config.setComment("\0");
+        m_config.setCharSetName(StandardCharsets.UTF_16.name());
+        assertFalse(CsvSplitter.isSplittable(m_config));
+    }
+
+    /**
+     * Tests if parsing the splits individually yields the same rows as parsing the whole file for all split sizes.
+     *
+     * @throws IOException never thrown
+     */
+    @Test
+    public void testSplitsStartAtRecords() throws IOException {
+        final List<String[]> expected = parse(CONTENT);
+        for (long splitSize = 1; splitSize <= CONTENT.length(); splitSize++) {
+            final long[] boundaries;
+            try (final FileChannel channel = FileChannel.open(m_file, StandardOpenOption.READ)) {
+                boundaries = CsvSplitter.findBoundaries(channel, m_config, splitSize,
+                    KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(2));
+            }
+            assertEquals(0, boundaries[0]);
+            assertEquals(CONTENT.length(), boundaries[boundaries.length - 1]);
+            final List<String[]> actual = new ArrayList<>();
+            for (int i = 0; i < boundaries.length - 1; i++) {
+                actual.addAll(parse(CONTENT.substring((int)boundaries[i], (int)boundaries[i + 1])));
+            }
+            assertEquals("Split size " + splitSize, expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertArrayEquals("Split size " + splitSize, expected.get(i), actual.get(i));
+            }
+        }
+    }
+
+    /**
+     * Tests if skipped lines are never split.
+     *
+     * @throws IOException never thrown
+     */
+    @Test
+    public void testSkipLines() throws IOException {
+        m_config.setSkipLines(true);
+        m_config.setNumLinesToSkip(2);
+        try (final FileChannel channel = FileChannel.open(m_file, StandardOpenOption.READ)) {
+            final long[] boundaries =
+                CsvSplitter.findBoundaries(channel, m_config, 1, KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(2));
+            // the first split contains the two skipped lines "a,b,c" and "1,"multi" as well as the remainder of the
+            // (now broken) first record
+            assertTrue(boundaries[1] > "a,b,c\n1,\"multi\n".length());
+        }
+    }
+
+    private List<String[]> parse(final String csv) {
+        final CsvParser parser = new CsvParser(m_config.getSettings());
+        parser.beginParsing(new StringReader(csv));
+        final List<String[]> rows = new ArrayList<>();
+        String[] row;
+        while ((row = parser.parseNext()) != null) {
+            rows.add(row);
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.base.node.mine.cluster.hierarchical;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.is;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+import org.knime.base.node.mine.cluster.hierarchical.HierarchicalClusterNodeModel.Linkage;
+import org.knime.base.node.mine.cluster.hierarchical.distfunctions.DistanceFunction;
+import org.knime.base.node.mine.cluster.hierarchical.distfunctions.EuclideanDist;
+import org.knime.core.node.ExecutionMonitor;
+
+/**
+ * Compares the {@link AgglomerativeClustering} with a naive agglomerative clustering.
+ *
+ * @author agent
+ */
+public class AgglomerativeClusteringTest {
+
+    private static final DistanceFunction DIST = EuclideanDist.EUCLIDEAN_DISTANCE;
+
+    /**
+     * Tests single linkage.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Test
+    public void testSingleLinkage() throws Exception {
+        compareWithNaive(Linkage.SINGLE);
+    }
+
+    /**
+     * Tests average linkage.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Test
+    public void testAverageLinkage() throws Exception {
+        compareWithNaive(Linkage.AVERAGE);
+    }
+
+    /**
+     * Tests complete linkage.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Test
+    public void testCompleteLinkage() throws Exception {
+        compareWithNaive(Linkage.COMPLETE);
+    }
+
+    private static void compareWithNaive(final Linkage linkage) throws Exception {
+        final Random random = new Random(42);
+        final double[][] points = new double[60][3];
+        for (double[] point : points) {
+            for (int i = 0; i < point.length; i++) {
+                point[i] = random.nextDouble();
+            }
+        }
+        points[7][1] = Double.NaN;
+
+        final AgglomerativeClustering engine = new AgglomerativeClustering(points, DIST, linkage);
+        engine.run(new ExecutionMonitor());
+        final double[] expected = naiveMergeDistances(points, linkage);
+        assertThat(engine.getNumMerges(), is(expected.length));
+
+        final boolean[] used = new boolean[2 * points.length - 1];
+        for (int i = 0; i < engine.getNumMerges(); i++) {
+            assertThat((double)engine.getDistance(i), closeTo(expected[i], 1e-5));
+            assertThat(engine.getFirst(i) < engine.getSecond(i), is(true));
+            assertThat(engine.getSecond(i) < points.length + i, is(true));
+            assertThat(used[engine.getFirst(i)] || used[engine.getSecond(i)], is(false));
+            used[engine.getFirst(i)] = true;
+            used[engine.getSecond(i)] = true;
+        }
+    }
+
+    private static double[] naiveMergeDistances(final double[][] points, final Linkage linkage) {
+        final List<List<Integer>> clusters = new ArrayList<>();
+        for (int i = 0; i < points.length; i++) {
+            clusters.add(new ArrayList<>(Arrays.asList(i)));
+        }
+        final double[] result = new double[points.length - 1];
+        for (int step = 0; step < result.length; step++) {
+            double min = Double.POSITIVE_INFINITY;
+            int minA = -1;
+            int minB = -1;
+            for (int a = 0; a < clusters.size(); a++) {
+                for (int b = a + 1; b < clusters.size(); b++) {
+                    final double d = linkageDistance(points, clusters.get(a), clusters.get(b), linkage);
+                    if (d < min) {
+                        min = d;
+                        minA = a;
+                        minB = b;
+                    }
+                }
+            }
+            clusters.get(minA).addAll(clusters.remove(minB));
+            result[step] = min;
+        }
+        Arrays.sort(result);
+        return result;
+    }
+
+    private static double linkageDistance(final double[][] points, final List<Integer> a, final List<Integer> b,
+        final Linkage linkage) {
+        double single = Double.POSITIVE_INFINITY;
+        double complete = 0;
+        double sum = 0;
+        for (int i : a) {
+            for (int j : b) {
+                final double d = DIST.calcDistance(points[i], points[j]);
+                single = Math.min(single, d);
+                complete = Math.max(complete, d);
+                sum += d;
+            }
+        }
+        switch (linkage) {
+            case SINGLE:
+                return single;
+            case COMPLETE:
+                return complete;
+            default:
+                return sum / (a.size() * b.size());
+        }
+    }
+}
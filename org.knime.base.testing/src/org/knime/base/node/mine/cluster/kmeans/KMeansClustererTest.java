@@ -0,0 +1,218 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.base.node.mine.cluster.kmeans;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+import org.knime.core.node.ExecutionMonitor;
+
+/**
+ * Compares the {@link KMeansClusterer} with the naive k-Means iterations.
+ *
+ * @author agent
+ */
+public class KMeansClustererTest {
+
+    private static final int NUM_ROWS = 20000;
+
+    private static final int NUM_COLS = 3;
+
+    private static final int NUM_CLUSTERS = 12;
+
+    private static final int MAX_ITERATIONS = 50;
+
+    /** Rows around a few blob centers. */
+    private static double[][] createRows(final long seed) {
+        final Random random = new Random(seed);
+        final double[][] blobs = new double[8][NUM_COLS];
+        for (final double[] blob : blobs) {
+            for (int i = 0; i < NUM_COLS; i++) {
+                blob[i] = random.nextDouble() * 20;
+            }
+        }
+        final double[][] rows = new double[NUM_ROWS][NUM_COLS];
+        for (final double[] row : rows) {
+            final double[] blob = blobs[random.nextInt(blobs.length)];
+            for (int i = 0; i < NUM_COLS; i++) {
+                row[i] = blob[i] + random.nextGaussian();
+            }
+        }
+        return rows;
+    }
+
+    private static KMeansDataMatrix createMatrix(final double[][] rows, final boolean inMemory) throws Exception {
+        final KMeansDataMatrix matrix = new KMeansDataMatrix(NUM_COLS, rows.length, inMemory);
+        for (final double[] row : rows) {
+            matrix.addRow(row);
+        }
+        matrix.finish();
+        return matrix;
+    }
+
+    private static int findClosest(final double[] row, final double[][] centers) {
+        int winner = -1;
+        double winnerDistance = Double.MAX_VALUE;
+        for (int c = 0; c < centers.length; c++) {
+            double distance = 0;
+            for (int i = 0; i < row.length; i++) {
+                final double d = centers[c][i] - row[i];
+                distance += d * d;
+            }
+            if (distance < winnerDistance) {
+                winner = c;
+                winnerDistance = distance;
+            }
+        }
+        return winner;
+    }
+
+    /** The k-Means iterations as implemented before, returns the coverage. */
+    private static int[] clusterNaive(final double[][] rows, final double[][] centers) {
+        final int[] coverage = new int[centers.length];
+        boolean finished = false;
+        for (int iteration = 0; !finished && iteration < MAX_ITERATIONS; iteration++) {
+            final double[][] delta = new double[centers.length][NUM_COLS];
+            Arrays.fill(coverage, 0);
+            for (final double[] row : rows) {
+                final int winner = findClosest(row, centers);
+                for (int i = 0; i < NUM_COLS; i++) {
+                    delta[winner][i] += row[i];
+                }
+                coverage[winner]++;
+            }
+            finished = true;
+            for (int c = 0; c < centers.length; c++) {
+                if (coverage[c] > 0) {
+                    for (int i = 0; i < NUM_COLS; i++) {
+                        final double newValue = delta[c][i] / coverage[c];
+                        if (Math.abs(centers[c][i] - newValue) > 1e-10) {
+                            finished = false;
+                        }
+                        centers[c][i] = newValue;
+                    }
+                }
+            }
+        }
+        return coverage;
+    }
+
+    private static void compareWithNaive(final boolean inMemory, final int numThreads) throws Exception {
+        final double[][] rows = createRows(numThreads);
+        final double[][] initialCenters = new double[NUM_CLUSTERS][];
+        for (int c = 0; c < NUM_CLUSTERS; c++) {
+            initialCenters[c] = rows[c].clone();
+        }
+        try (final KMeansDataMatrix matrix = createMatrix(rows, inMemory)) {
+            final KMeansClusterer clusterer = new KMeansClusterer(matrix, NUM_CLUSTERS, numThreads);
+            clusterer.setCenters(initialCenters);
+            final int[] coverage = clusterer.cluster(MAX_ITERATIONS, new ExecutionMonitor());
+            final int[] expectedCoverage = clusterNaive(rows, initialCenters);
+            assertArrayEquals("Coverage", expectedCoverage, coverage);
+            for (int c = 0; c < NUM_CLUSTERS; c++) {
+                assertArrayEquals("Center " + c, initialCenters[c], clusterer.getCenters()[c], 1e-9);
+            }
+            for (int r = 0; r < rows.length; r++) {
+                assertEquals("Cluster of row " + r, findClosest(rows[r], initialCenters), clusterer.getCluster(r));
+            }
+        }
+    }
+
+    /**
+     * Tests the clustering of data in memory on a single thread.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Test
+    public void testInMemory() throws Exception {
+        compareWithNaive(true, 1);
+    }
+
+    /**
+     * Tests the clustering of memory-mapped data on several threads.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Test
+    public void testMappedParallel() throws Exception {
+        compareWithNaive(false, 4);
+    }
+
+    /**
+     * Tests that k-means++ chooses distinct rows as initial centers.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Test
+    public void testKMeansPlusPlus() throws Exception {
+        final double[][] rows = createRows(42);
+        final Set<String> rowStrings = new HashSet<>();
+        for (final double[] row : rows) {
+            rowStrings.add(Arrays.toString(row));
+        }
+        try (final KMeansDataMatrix matrix = createMatrix(rows, true)) {
+            final KMeansClusterer clusterer = new KMeansClusterer(matrix, NUM_CLUSTERS, 2);
+            clusterer.initializeKMeansPlusPlus(42, new ExecutionMonitor());
+            final Set<String> centers = new HashSet<>();
+            for (final double[] center : clusterer.getCenters()) {
+                final String centerString = Arrays.toString(center);
+                assertTrue("Center is not a row: " + centerString, rowStrings.contains(centerString));
+                centers.add(centerString);
+            }
+            assertEquals("Distinct centers", NUM_CLUSTERS, centers.size());
+        }
+    }
+}
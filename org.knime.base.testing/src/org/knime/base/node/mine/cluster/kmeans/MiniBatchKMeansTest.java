@@ -0,0 +1,123 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.base.node.mine.cluster.kmeans;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+import org.knime.core.node.ExecutionMonitor;
+
+/**
+ * Tests the {@link MiniBatchKMeans} on well separated blobs.
+ *
+ * @author agent
+ */
+public class MiniBatchKMeansTest {
+
+    private static final int NUM_ROWS = 50000;
+
+    private static final double[][] BLOBS = {{0, 0, 0}, {50, 0, 0}, {0, 50, 0}, {0, 0, 50}};
+
+    private static MiniBatchKMeans train(final CentroidInitialization initialization, final long seed)
+        throws Exception {
+        final MiniBatchKMeans miniBatch = new MiniBatchKMeans(BLOBS.length, 3, 500, 1000, initialization, seed);
+        final Random random = new Random(0);
+        final double[] row = new double[3];
+        for (int r = 0; r < NUM_ROWS; r++) {
+            final double[] blob = BLOBS[r % BLOBS.length];
+            for (int i = 0; i < row.length; i++) {
+                row[i] = blob[i] + random.nextGaussian();
+            }
+            miniBatch.addRow(row);
+        }
+        miniBatch.train(new ExecutionMonitor());
+        return miniBatch;
+    }
+
+    private static void assertFindsBlobs(final MiniBatchKMeans miniBatch) {
+        final boolean[] found = new boolean[BLOBS.length];
+        for (final double[] blob : BLOBS) {
+            final int cluster = miniBatch.findClosest(blob);
+            assertTrue("Two blobs in cluster " + cluster, !found[cluster]);
+            found[cluster] = true;
+            assertArrayEquals("Center of cluster " + cluster, blob, miniBatch.getCenters()[cluster], 0.5);
+        }
+        assertTrue("Number of mini-batches", miniBatch.getNumBatches() < 1000);
+    }
+
+    /**
+     * Tests that k-means++ initialized mini-batches find the blobs.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Test
+    public void testKMeansPlusPlus() throws Exception {
+        assertFindsBlobs(train(CentroidInitialization.KMEANS_PLUS_PLUS, 42));
+    }
+
+    /**
+     * Tests that the first rows as initial centers find the blobs and that the result only depends on the seed.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Test
+    public void testFirstRowsDeterministic() throws Exception {
+        final MiniBatchKMeans first = train(CentroidInitialization.FIRST_ROWS, 7);
+        assertFindsBlobs(first);
+        final MiniBatchKMeans second = train(CentroidInitialization.FIRST_ROWS, 7);
+        assertEquals("Number of mini-batches", first.getNumBatches(), second.getNumBatches());
+        for (int c = 0; c < BLOBS.length; c++) {
+            assertArrayEquals("Center " + c, first.getCenters()[c], second.getCenters()[c], 0);
+        }
+    }
+}
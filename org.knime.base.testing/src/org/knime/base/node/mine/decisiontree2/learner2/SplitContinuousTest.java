@@ -0,0 +1,162 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   18.10.2026 (agent): created
+ */
+package org.knime.base.node.mine.decisiontree2.learner2;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.def.StringCell;
+
+/**
+ * Tests that presorted and histogram based numeric splits agree with the splits found by sorting the rows at each
+ * node.
+ *
+ * @author agent
+ */
+public class SplitContinuousTest {
+
+    private static final int NUM_ATTRIBUTES = 3;
+
+    private final ValueMapper<String> m_attributeNames = new ValueMapper<>();
+
+    private final ValueMapper<DataCell> m_classValues = new ValueMapper<>();
+
+    @SuppressWarnings("unchecked")
+    private final ValueMapper<DataCell>[] m_nominalValues = new ValueMapper[NUM_ATTRIBUTES];
+
+    /** Creates the mappers for numeric attributes and two classes. */
+    public SplitContinuousTest() {
+        for (int a = 0; a < NUM_ATTRIBUTES; a++) {
+            m_attributeNames.getIndexMayBeAdded("attribute" + a);
+        }
+        m_classValues.getIndexMayBeAdded(new StringCell("A"));
+        m_classValues.getIndexMayBeAdded(new StringCell("B"));
+    }
+
+    private DataRowWeighted[] createRows(final int numRows) {
+        final Random random = new Random(17);
+        final DataRowWeighted[] rows = new DataRowWeighted[numRows];
+        for (int i = 0; i < numRows; i++) {
+            final double[] values = new double[NUM_ATTRIBUTES];
+            for (int a = 0; a < NUM_ATTRIBUTES; a++) {
+                // few distinct values to have ties, some missing values
+                values[a] = random.nextInt(20) == 0 ? Double.NaN : random.nextInt(10 * (a + 1));
+            }
+            final int classValue = values[0] + random.nextInt(5) > 6 ? 1 : 0;
+            rows[i] = new DataRowWeighted(new ClassValueDataRow(values, classValue), 1.0);
+        }
+        return rows;
+    }
+
+    private InMemoryTable createTable(final Iterable<DataRowWeighted> rows) {
+        final InMemoryTable table = new InMemoryTable(m_nominalValues, m_classValues, m_attributeNames, 2);
+        for (DataRowWeighted row : rows) {
+            table.addRow(row);
+        }
+        table.pack();
+        return table;
+    }
+
+    private static void assertSameSplits(final InMemoryTable expected, final InMemoryTable actual) {
+        for (int a = 0; a < NUM_ATTRIBUTES; a++) {
+            final SplitContinuous expectedSplit = new SplitContinuous(expected, a, new SplitQualityGini(), true, 2);
+            final SplitContinuous actualSplit = new SplitContinuous(actual, a, new SplitQualityGini(), true, 2);
+            assertEquals(expectedSplit.getBestSplitValue(), actualSplit.getBestSplitValue(), 0);
+            assertEquals(expectedSplit.getBestQualityMeasure(), actualSplit.getBestQualityMeasure(), 1e-12);
+        }
+    }
+
+    /**
+     * Tests presorted splits at the root and in the partitions.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testPresortedSplits() throws Exception {
+        final DataRowWeighted[] rows = createRows(500);
+        final InMemoryTable presorted = createTable(Arrays.asList(rows));
+        presorted.presortNumericAttributes();
+        assertSameSplits(createTable(Arrays.asList(rows)), presorted);
+
+        final Split split = new SplitContinuous(presorted, 0, new SplitQualityGini(), true, 2);
+        final Partitioner partitioner = new Partitioner(presorted, split, 2);
+        assertTrue(partitioner.couldBeUsefulPartitioned());
+        for (InMemoryTable partition : partitioner.getPartitionTables()) {
+            assertTrue(partition.isPresorted());
+            for (int a = 0; a < NUM_ATTRIBUTES; a++) {
+                final int[] sorted = partition.getSortedRowIndices(a);
+                int numValid = 0;
+                for (DataRowWeighted row : partition) {
+                    numValid += Double.isNaN(row.getValue(a)) ? 0 : 1;
+                }
+                assertEquals(numValid, sorted.length);
+                for (int i = 1; i < sorted.length; i++) {
+                    assertTrue(partition.getRow(sorted[i - 1]).getValue(a) <= partition.getRow(sorted[i]).getValue(a));
+                }
+            }
+            assertSameSplits(createTable(partition), partition);
+        }
+    }
+
+    /**
+     * Tests that histogram splits are exact if there are more bins than distinct values.
+     */
+    @Test
+    public void testHistogramSplits() {
+        final DataRowWeighted[] rows = createRows(500);
+        final InMemoryTable histogram = createTable(Arrays.asList(rows));
+        histogram.createHistogramBins(64);
+        assertSameSplits(createTable(Arrays.asList(rows)), histogram);
+    }
+}
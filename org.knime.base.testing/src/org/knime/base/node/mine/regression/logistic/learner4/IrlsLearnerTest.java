@@ -0,0 +1,146 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.base.node.mine.regression.logistic.learner4;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.HashMap;
+
+import org.apache.commons.math3.linear.RealMatrix;
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.base.node.mine.regression.logistic.learner4.data.ClassificationTrainingRow;
+import org.knime.base.node.mine.regression.logistic.learner4.data.InMemoryData;
+import org.knime.base.node.mine.regression.logistic.learner4.data.PackedInMemoryData;
+import org.knime.base.node.mine.regression.logistic.learner4.data.PackedInMemoryDataTest;
+import org.knime.base.node.mine.regression.logistic.learner4.data.TrainingData;
+import org.knime.base.node.mine.regression.logistic.learner4.data.TrainingRowBuilder;
+import org.knime.core.data.container.ContainerTable;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.workflow.SingleNodeContainer;
+import org.knime.core.node.workflow.virtual.parchunk.VirtualParallelizedChunkPortObjectInNodeFactory;
+
+/**
+ * Tests that the parallel accumulation of the {@link IrlsLearner} results in the same model as the sequential one.
+ *
+ * @author agent
+ */
+public class IrlsLearnerTest {
+
+    private static final double TOLERANCE = 1e-8;
+
+    private ExecutionContext m_exec;
+
+    /**
+     * @throws Exception if the execution context cannot be created
+     */
+    @Before
+    public void setUp() throws Exception {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        NodeFactory<NodeModel> dummyFactory =
+            (NodeFactory)new VirtualParallelizedChunkPortObjectInNodeFactory(new PortType[0]);
+        m_exec = new ExecutionContext(new DefaultNodeProgressMonitor(), new Node(dummyFactory),
+            SingleNodeContainer.MemoryPolicy.CacheOnDisc, new HashMap<Integer, ContainerTable>());
+    }
+
+    /**
+     * Fits the model with 4 tasks of 2500 rows each, i.e. more than the minimum number of rows per task, and compares
+     * it with the model fitted by a single task and the one fitted on {@link InMemoryData}.
+     *
+     * @throws Exception if the model cannot be learned
+     */
+    @Test
+    public void testParallelFitMatchesSequentialFit() throws Exception {
+        final BufferedDataTable table = PackedInMemoryDataTest.createTable(m_exec, 10000, 7);
+        final TrainingRowBuilder<ClassificationTrainingRow> rowBuilder = PackedInMemoryDataTest.createRowBuilder(table);
+        final PackedInMemoryData packed = new PackedInMemoryData(table, 1L, rowBuilder);
+
+        final LogRegLearnerResult expected = learn(new InMemoryData<>(table, 1L, rowBuilder), 0);
+        final LogRegLearnerResult sequential = learn(packed, 1);
+        final LogRegLearnerResult parallel = learn(packed, 4);
+
+        assertResultsEqual(expected, sequential);
+        assertResultsEqual(expected, parallel);
+    }
+
+    private static LogRegLearnerResult learn(final TrainingData<ClassificationTrainingRow> data, final int numTasks)
+        throws Exception {
+        final IrlsLearner learner = new IrlsLearner(100, 1e-10, true);
+        learner.setNumTasks(numTasks);
+        // done in KNIME thread pool, expected by code
+        return KNIMEConstants.GLOBAL_THREAD_POOL.enqueue(() -> learner.learn(data, new ExecutionMonitor())).get();
+    }
+
+    private static void assertResultsEqual(final LogRegLearnerResult expected, final LogRegLearnerResult actual) {
+        assertEquals(expected.getLogLike(), actual.getLogLike(), TOLERANCE * Math.abs(expected.getLogLike()));
+        assertMatricesEqual(expected.getBeta(), actual.getBeta());
+        assertMatricesEqual(expected.getCovariateMatrix(), actual.getCovariateMatrix());
+    }
+
+    private static void assertMatricesEqual(final RealMatrix expected, final RealMatrix actual) {
+        assertEquals(expected.getRowDimension(), actual.getRowDimension());
+        assertEquals(expected.getColumnDimension(), actual.getColumnDimension());
+        for (int r = 0; r < expected.getRowDimension(); r++) {
+            for (int c = 0; c < expected.getColumnDimension(); c++) {
+                final double e = expected.getEntry(r, c);
+                assertEquals("Entry (" + r + ", " + c + ")", e, actual.getEntry(r, c),
+                    TOLERANCE * Math.max(1, Math.abs(e)));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,214 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.base.node.mine.regression.logistic.learner4.data;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.base.node.mine.regression.logistic.learner4.data.TrainingRow.FeatureIterator;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnDomainCreator;
+import org.knime.core.data.DataColumnSpec;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.container.ContainerTable;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.port.pmml.PMMLPortObjectSpec;
+import org.knime.core.node.port.pmml.PMMLPortObjectSpecCreator;
+import org.knime.core.node.workflow.SingleNodeContainer;
+import org.knime.core.node.workflow.virtual.parchunk.VirtualParallelizedChunkPortObjectInNodeFactory;
+
+/**
+ * Unit tests for {@link PackedInMemoryData}.
+ *
+ * @author agent
+ */
+public class PackedInMemoryDataTest {
+
+    private static final String[] CLASSES = {"A", "B", "C"};
+
+    private ExecutionContext m_exec;
+
+    /**
+     * @throws Exception if the execution context cannot be created
+     */
+    @Before
+    public void setUp() throws Exception {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        NodeFactory<NodeModel> dummyFactory =
+            (NodeFactory)new VirtualParallelizedChunkPortObjectInNodeFactory(new PortType[0]);
+        m_exec = new ExecutionContext(new DefaultNodeProgressMonitor(), new Node(dummyFactory),
+            SingleNodeContainer.MemoryPolicy.CacheOnDisc, new HashMap<Integer, ContainerTable>());
+    }
+
+    /**
+     * Creates a table with three numeric columns, containing many zeros, and a nominal target column.
+     *
+     * @param exec used to create the table
+     * @param numRows the number of rows
+     * @param seed the seed of the random values
+     * @return the table
+     */
+    public static BufferedDataTable createTable(final ExecutionContext exec, final int numRows, final long seed) {
+        final DataColumnSpecCreator targetCreator = new DataColumnSpecCreator("class", StringCell.TYPE);
+        targetCreator.setDomain(new DataColumnDomainCreator(
+            Arrays.stream(CLASSES).map(StringCell::new).toArray(DataCell[]::new)).createDomain());
+        final DataTableSpec spec = new DataTableSpec(new DataColumnSpec[]{
+            new DataColumnSpecCreator("x1", DoubleCell.TYPE).createSpec(),
+            new DataColumnSpecCreator("x2", DoubleCell.TYPE).createSpec(),
+            new DataColumnSpecCreator("x3", DoubleCell.TYPE).createSpec(), targetCreator.createSpec()});
+        final Random random = new Random(seed);
+        final BufferedDataContainer container = exec.createDataContainer(spec);
+        for (int i = 0; i < numRows; i++) {
+            final double x1 = random.nextGaussian();
+            final double x2 = random.nextBoolean() ? 0 : random.nextGaussian();
+            final double x3 = random.nextInt(4) == 0 ? random.nextDouble() : 0;
+            // noisy linear scores, such that the classes are not separable
+            final double[] scores = {x1 + x2 + random.nextGaussian(), -x1 + 2 * x3 + random.nextGaussian(), 0};
+            int target = 0;
+            for (int c = 1; c < scores.length; c++) {
+                if (scores[c] > scores[target]) {
+                    target = c;
+                }
+            }
+            container.addRowToTable(new DefaultRow(RowKey.createRowKey((long)i), new DoubleCell(x1),
+                new DoubleCell(x2), new DoubleCell(x3), new StringCell(CLASSES[target])));
+        }
+        container.close();
+        return container.getTable();
+    }
+
+    /**
+     * @param data the table created by {@link #createTable(ExecutionContext, int, long)}
+     * @return the row builder learning on all columns of the table
+     * @throws Exception if the builder cannot be created
+     */
+    public static TrainingRowBuilder<ClassificationTrainingRow> createRowBuilder(final BufferedDataTable data)
+        throws Exception {
+        final PMMLPortObjectSpecCreator specCreator = new PMMLPortObjectSpecCreator(data.getDataTableSpec());
+        specCreator.setLearningColsNames(Arrays.asList("x1", "x2", "x3"));
+        specCreator.setTargetColName("class");
+        final PMMLPortObjectSpec pmmlSpec = specCreator.createSpec();
+        return new SparseClassificationTrainingRowBuilder(data, pmmlSpec, null, true, true);
+    }
+
+    /**
+     * Tests that the packed data contains the same rows with the same features as {@link InMemoryData}.
+     *
+     * @throws Exception if the data cannot be created
+     */
+    @Test
+    public void testSameRowsAsInMemoryData() throws Exception {
+        final BufferedDataTable table = createTable(m_exec, 500, 42);
+        final TrainingRowBuilder<ClassificationTrainingRow> rowBuilder = createRowBuilder(table);
+        final InMemoryData<ClassificationTrainingRow> expected = new InMemoryData<>(table, 1L, rowBuilder);
+        final PackedInMemoryData packed = new PackedInMemoryData(table, 1L, rowBuilder);
+        assertEquals(expected.getRowCount(), packed.getRowCount());
+        assertEquals(expected.getFeatureCount(), packed.getFeatureCount());
+        assertEquals(expected.getTargetDimension(), packed.getTargetDimension());
+
+        final Iterator<ClassificationTrainingRow> packedIter = packed.iterator();
+        int nonZeros = 0;
+        int index = 0;
+        for (ClassificationTrainingRow expectedRow : expected) {
+            assertTrue(packedIter.hasNext());
+            final ClassificationTrainingRow packedRow = packedIter.next();
+            nonZeros += assertRowsEqual(expectedRow, packedRow);
+            // access by position must return the same row
+            assertRowsEqual(expectedRow, packed.getRow(index));
+            index++;
+        }
+        assertFalse(packedIter.hasNext());
+        assertEquals(nonZeros, packed.getNonZeroCount());
+    }
+
+    /**
+     * Returns the number of non-zero features.
+     */
+    private static int assertRowsEqual(final ClassificationTrainingRow expected,
+        final ClassificationTrainingRow actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getCategory(), actual.getCategory());
+        for (int c = 0; c < CLASSES.length; c++) {
+            assertEquals(expected.getProbability(c), actual.getProbability(c), 0);
+        }
+        final FeatureIterator expectedIter = expected.getFeatureIterator();
+        final FeatureIterator actualIter = actual.getFeatureIterator();
+        int nonZeros = 0;
+        while (expectedIter.next()) {
+            assertTrue(actualIter.next());
+            assertEquals(expectedIter.getFeatureIndex(), actualIter.getFeatureIndex());
+            // both store the values as floats, there are no differences allowed here
+            assertEquals(expectedIter.getFeatureValue(), actualIter.getFeatureValue(), 0);
+            nonZeros++;
+        }
+        assertFalse(actualIter.next());
+        return nonZeros;
+    }
+
+}
@@ -0,0 +1,158 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   14.10.2026 (agent): created
+ */
+package org.knime.base.node.mine.subgroupminer.apriori;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import org.junit.Test;
+import org.knime.base.node.mine.subgroupminer.apriori.AprioriAlgorithmFactory.AlgorithmDataStructure;
+import org.knime.base.node.mine.subgroupminer.freqitemset.AssociationRule;
+import org.knime.base.node.mine.subgroupminer.freqitemset.FrequentItemSet;
+import org.knime.core.data.vector.bitvector.BitVectorValue;
+import org.knime.core.data.vector.bitvector.DenseBitVectorCellFactory;
+import org.knime.core.node.ExecutionMonitor;
+
+/**
+ * Compares the itemsets and association rules found by {@link FPGrowth} and {@link DiffSetEclat} with those of the
+ * {@link ArrayApriori}.
+ *
+ * @author agent
+ */
+public class FPGrowthTest {
+
+    private static final int NUM_ITEMS = 12;
+
+    private static List<BitVectorValue> createTransactions(final long seed) {
+        final Random random = new Random(seed);
+        final int numTransactions = 50 + random.nextInt(50);
+        final double density = 0.2 + 0.5 * random.nextDouble();
+        final List<BitVectorValue> transactions = new ArrayList<BitVectorValue>();
+        for (int t = 0; t < numTransactions; t++) {
+            final DenseBitVectorCellFactory factory = new DenseBitVectorCellFactory(NUM_ITEMS);
+            for (int i = 0; i < NUM_ITEMS; i++) {
+                // item 3 occurs in every transaction
+                if (i == 3 || random.nextDouble() < density) {
+                    factory.set(i);
+                }
+            }
+            transactions.add(factory.createDataCell());
+        }
+        return transactions;
+    }
+
+    private static Map<List<Integer>, Double> toMap(final List<FrequentItemSet> sets) {
+        final Map<List<Integer>, Double> map = new TreeMap<List<Integer>, Double>((l1, l2) -> l1.toString()
+            .compareTo(l2.toString()));
+        for (FrequentItemSet set : sets) {
+            final List<Integer> items = set.getItems();
+            Collections.sort(items);
+            map.put(items, set.getSupport());
+        }
+        return map;
+    }
+
+    private static Set<String> toStrings(final List<AssociationRule> rules) {
+        final Set<String> strings = new TreeSet<String>();
+        for (AssociationRule rule : rules) {
+            final List<Integer> antecedent = rule.getAntecedent().getItems();
+            Collections.sort(antecedent);
+            strings.add(antecedent + " -> " + rule.getConsequent().getItems() + " support: " + rule.getSupport()
+                + " confidence: " + rule.getConfidence() + " lift: " + rule.getLift());
+        }
+        return strings;
+    }
+
+    private static void compare(final AlgorithmDataStructure structure) throws Exception {
+        for (long seed = 0; seed < 10; seed++) {
+            final List<BitVectorValue> transactions = createTransactions(seed);
+            for (FrequentItemSet.Type type : FrequentItemSet.Type.values()) {
+                final double minSupport = 0.1 + 0.02 * seed;
+                final int maxDepth = 2 + (int)(seed % 4);
+                final AprioriAlgorithm expected = new ArrayApriori(NUM_ITEMS, transactions.size());
+                expected.findFrequentItemSets(transactions, minSupport, maxDepth, type, new ExecutionMonitor());
+                final AprioriAlgorithm actual =
+                    AprioriAlgorithmFactory.getAprioriAlgorithm(structure, NUM_ITEMS, transactions.size());
+                actual.findFrequentItemSets(transactions, minSupport, maxDepth, type, new ExecutionMonitor());
+                assertEquals("Wrong " + type + " itemsets for seed " + seed,
+                    toMap(expected.getFrequentItemSets(type)), toMap(actual.getFrequentItemSets(type)));
+                assertEquals("Wrong association rules for seed " + seed,
+                    toStrings(expected.getAssociationRules(0.7)), toStrings(actual.getAssociationRules(0.7)));
+            }
+        }
+    }
+
+    /**
+     * Tests that FP-growth finds the same itemsets and rules as the apriori algorithm.
+     *
+     * @throws Exception if something goes wrong
+     */
+    @Test
+    public void testFPGrowth() throws Exception {
+        compare(AlgorithmDataStructure.FPTree);
+    }
+
+    /**
+     * Tests that Eclat with diffsets finds the same itemsets and rules as the apriori algorithm.
+     *
+     * @throws Exception if something goes wrong
+     */
+    @Test
+    public void testDiffSetEclat() throws Exception {
+        compare(AlgorithmDataStructure.DiffSets);
+    }
+}
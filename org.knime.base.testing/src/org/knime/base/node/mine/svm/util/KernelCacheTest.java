@@ -0,0 +1,154 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.base.node.mine.svm.util;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+import org.knime.base.node.mine.svm.kernel.Kernel;
+import org.knime.base.node.mine.svm.kernel.KernelFactory;
+import org.knime.base.node.mine.svm.kernel.KernelFactory.KernelType;
+
+/**
+ * Tests the {@link KernelCache}.
+ *
+ * @author agent
+ */
+public class KernelCacheTest {
+
+    private static DoubleVector[] createData(final int numVectors, final int numValues) {
+        final Random random = new Random(42);
+        final DoubleVector[] data = new DoubleVector[numVectors];
+        for (int i = 0; i < numVectors; i++) {
+            final ArrayList<Double> values = new ArrayList<Double>();
+            for (int j = 0; j < numValues; j++) {
+                values.add(random.nextGaussian());
+            }
+            data[i] = new DoubleVector(values, i % 2 == 0 ? "a" : "b");
+        }
+        return data;
+    }
+
+    /**
+     * Checks that cached values equal the kernel values, also if columns are evicted.
+     */
+    @Test
+    public void testValuesWithEviction() {
+        final int numVectors = 20000;
+        final DoubleVector[] data = createData(numVectors, 3);
+        final Kernel kernel = KernelFactory.getKernel(KernelType.RBF);
+        // 1MB holds only a few columns of this size
+        assertEquals(6, KernelCache.getMaxColumns(1, numVectors));
+        final KernelCache cache = new KernelCache(kernel, data, 1);
+        final Random random = new Random(0);
+        for (int k = 0; k < 5000; k++) {
+            final int i = random.nextInt(20);
+            final int j = random.nextInt(numVectors);
+            final double expected = kernel.evaluate(data[i], data[j]);
+            assertEquals(expected, cache.evaluate(i, j), 1e-12);
+            assertEquals(expected, cache.peek(j, i), 1e-12);
+        }
+        for (int i = 0; i < numVectors; i += 1000) {
+            assertEquals(kernel.evaluate(data[i], data[i]), cache.diagonal(i), 1e-12);
+        }
+    }
+
+    /**
+     * Checks that threads sharing the cache get the kernel values.
+     *
+     * @throws Exception if a thread fails
+     */
+    @Test
+    public void testConcurrentAccess() throws Exception {
+        final int numVectors = 20000;
+        final DoubleVector[] data = createData(numVectors, 3);
+        final Kernel kernel = KernelFactory.getKernel(KernelType.RBF);
+        final KernelCache cache = new KernelCache(kernel, data, 2);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<Void>> futures = new ArrayList<Future<Void>>();
+            for (int t = 0; t < 4; t++) {
+                final long seed = t;
+                futures.add(executor.submit(() -> {
+                    final Random random = new Random(seed);
+                    for (int k = 0; k < 5000; k++) {
+                        final int i = random.nextInt(40);
+                        final int j = random.nextInt(numVectors);
+                        final double expected = kernel.evaluate(data[i], data[j]);
+                        assertEquals(expected, cache.evaluate(i, j), 1e-12);
+                        assertEquals(expected, cache.peek(j, i), 1e-12);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Checks the number of cached columns.
+     */
+    @Test
+    public void testMaxColumns() {
+        assertEquals(10, KernelCache.getMaxColumns(100, 10));
+        assertEquals(2, KernelCache.getMaxColumns(1, 10000000));
+        assertEquals(131, KernelCache.getMaxColumns(100, 100000));
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   18.10.2026 (agent): created
+ */
+package org.knime.base.node.preproc.correlation.compute2;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Compares the pair wise co-moments of {@link CoMomentMatrix} with a naive two pass computation.
+ *
+ * @author agent
+ */
+public class CoMomentMatrixTest {
+
+    private static final int NUM_COLUMNS = 7;
+
+    private static final int NUM_ROWS = 2500;
+
+    private static void checkAgainstTwoPass(final int blockRows, final int numThreads) throws Exception {
+        final Random random = new Random(42);
+        final double[][] values = new double[NUM_ROWS][NUM_COLUMNS];
+        final boolean[][] missing = new boolean[NUM_ROWS][NUM_COLUMNS];
+        for (int r = 0; r < NUM_ROWS; r++) {
+            for (int c = 0; c < NUM_COLUMNS; c++) {
+                // large offset to provoke cancellation in the naive sum of squares
+                values[r][c] = 1e6 + random.nextGaussian() * (c + 1) + (c > 0 ? 0.5 * values[r][c - 1] : 0);
+                missing[r][c] = c % 3 == 1 && random.nextDouble() < 0.2;
+            }
+        }
+        try (final CoMomentMatrix coMoments = new CoMomentMatrix(NUM_COLUMNS, blockRows, numThreads)) {
+            for (int r = 0; r < NUM_ROWS; r++) {
+                coMoments.addRow(values[r], missing[r]);
+            }
+            coMoments.finish();
+            for (int i = 0; i < NUM_COLUMNS; i++) {
+                for (int j = 0; j < NUM_COLUMNS; j++) {
+                    long count = 0;
+                    double sumI = 0;
+                    double sumJ = 0;
+                    for (int r = 0; r < NUM_ROWS; r++) {
+                        if (!missing[r][i] && !missing[r][j]) {
+                            count++;
+                            sumI += values[r][i];
+                            sumJ += values[r][j];
+                        }
+                    }
+                    final double meanI = sumI / count;
+                    final double meanJ = sumJ / count;
+                    double sumOfSquares = 0;
+                    double comoment = 0;
+                    for (int r = 0; r < NUM_ROWS; r++) {
+                        if (!missing[r][i] && !missing[r][j]) {
+                            sumOfSquares += (values[r][i] - meanI) * (values[r][i] - meanI);
+                            comoment += (values[r][i] - meanI) * (values[r][j] - meanJ);
+                        }
+                    }
+                    assertEquals("Count of " + i + "/" + j, count, coMoments.getCount(i, j));
+                    assertEquals("Sum of squares of " + i + "/" + j, sumOfSquares, coMoments.getSumOfSquares(i, j),
+                        1e-9 * sumOfSquares);
+                    if (i != j) {
+                        assertEquals("Co-moment of " + i + "/" + j, comoment, coMoments.getComoment(i, j),
+                            1e-9 * sumOfSquares);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Tests the sequential processing with a block size that does not divide the number of rows.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testSequential() throws Exception {
+        checkAgainstTwoPass(97, 1);
+    }
+
+    /**
+     * Tests the processing of the tiles on the thread pool.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testParallel() throws Exception {
+        checkAgainstTwoPass(64, 4);
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.base.node.preproc.crossjoin;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.HashMap;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.data.container.ContainerTable;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.NodeSettings;
+import org.knime.core.node.defaultnodesettings.SettingsModelBoolean;
+import org.knime.core.node.defaultnodesettings.SettingsModelIntegerBounded;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.streamable.BufferedDataTableRowOutput;
+import org.knime.core.node.streamable.DataTableRowInput;
+import org.knime.core.node.workflow.SingleNodeContainer;
+import org.knime.core.node.workflow.virtual.parchunk.VirtualParallelizedChunkPortObjectInNodeFactory;
+
+/**
+ * Tests that the {@link BlockCrossJoiner} creates the same rows in the same order as the fixed chunk size path of the
+ * {@link CrossJoinerNodeModel} if the block size equals the chunk size.
+ *
+ * @author agent
+ */
+public class BlockCrossJoinerTest {
+
+    private ExecutionContext m_exec;
+
+    /**
+     * @throws Exception if the execution context cannot be created
+     */
+    @Before
+    public void setUp() throws Exception {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        NodeFactory<NodeModel> dummyFactory =
+            (NodeFactory)new VirtualParallelizedChunkPortObjectInNodeFactory(new PortType[0]);
+        m_exec = new ExecutionContext(new DefaultNodeProgressMonitor(), new Node(dummyFactory),
+            SingleNodeContainer.MemoryPolicy.CacheOnDisc, new HashMap<Integer, ContainerTable>());
+    }
+
+    /**
+     * Compares the joined tables for chunk sizes that do and do not divide the row counts. The chunk sizes do not
+     * exceed the size of the top table as the block is never larger than the top table.
+     *
+     * @throws Exception if the join fails
+     */
+    @Test
+    public void testSameRowsAndOrderAsFixedChunkSize() throws Exception {
+        final BufferedDataTable top = createTable("Top", 57);
+        final BufferedDataTable bottom = createTable("Bottom", 130);
+        for (final int chunkSize : new int[]{1, 7, 10, 57}) {
+            final BufferedDataTable expected = joinWithFixedChunkSize(top, bottom, chunkSize);
+            assertEquals(57 * 130, expected.size());
+            for (final int numThreads : new int[]{1, 4}) {
+                final BufferedDataTable actual = joinWithBlocks(top, bottom, chunkSize, numThreads);
+                assertTablesEqual("chunk size " + chunkSize + ", " + numThreads + " thread(s)", expected, actual);
+            }
+        }
+    }
+
+    /**
+     * Checks that an empty input results in an empty table.
+     *
+     * @throws Exception if the join fails
+     */
+    @Test
+    public void testEmptyInput() throws Exception {
+        final BufferedDataTable top = createTable("Top", 10);
+        final BufferedDataTable empty = createTable("Bottom", 0);
+        assertEquals(0, joinWithBlocks(top, empty, 3, 4).size());
+        assertEquals(0, joinWithBlocks(empty, top, 3, 4).size());
+    }
+
+    private BufferedDataTable joinWithFixedChunkSize(final BufferedDataTable top, final BufferedDataTable bottom,
+        final int chunkSize) throws Exception {
+        final CrossJoinerNodeModel model = createModel(chunkSize);
+        return model.execute(new BufferedDataTable[]{top, bottom}, m_exec)[0];
+    }
+
+    private BufferedDataTable joinWithBlocks(final BufferedDataTable top, final BufferedDataTable bottom,
+        final int blockSize, final int numThreads) throws Exception {
+        final CrossJoinerNodeModel model = createModel(1);
+        // the spec is the one of the node's output
+        final DataTableSpec spec = model.configure(new DataTableSpec[]{top.getDataTableSpec(),
+            bottom.getDataTableSpec()})[0];
+        final BufferedDataTableRowOutput output = new BufferedDataTableRowOutput(m_exec.createDataContainer(spec));
+        final BlockCrossJoiner joiner = new BlockCrossJoiner(model::joinRows, numThreads);
+        joiner.setMaxBlockSize(blockSize);
+        joiner.crossJoin(new DataTableRowInput(top), bottom, output, top.size() * bottom.size(), m_exec);
+        return output.getDataTable();
+    }
+
+    private static CrossJoinerNodeModel createModel(final int chunkSize) throws Exception {
+        final CrossJoinerNodeModel model = new CrossJoinerNodeModel();
+        final NodeSettings settings = new NodeSettings("crossjoiner");
+        model.saveSettingsTo(settings);
+        final SettingsModelIntegerBounded cacheSize = CrossJoinerNodeModel.createCacheSizeSettingsModel();
+        cacheSize.setIntValue(chunkSize);
+        cacheSize.saveSettingsTo(settings);
+        final SettingsModelBoolean autoBlockSize = CrossJoinerNodeModel.createAutomaticBlockSizeSettingsModel();
+        autoBlockSize.setBooleanValue(false);
+        autoBlockSize.saveSettingsTo(settings);
+        model.loadValidatedSettingsFrom(settings);
+        return model;
+    }
+
+    private BufferedDataTable createTable(final String name, final int numRows) {
+        final DataTableSpec spec =
+            new DataTableSpec(name, new DataColumnSpecCreator(name + "Value", IntCell.TYPE).createSpec());
+        final BufferedDataContainer container = m_exec.createDataContainer(spec);
+        for (int i = 0; i < numRows; i++) {
+            container.addRowToTable(new DefaultRow(RowKey.createRowKey((long)i), new DataCell[]{new IntCell(i)}));
+        }
+        container.close();
+        return container.getTable();
+    }
+
+    private static void assertTablesEqual(final String message, final BufferedDataTable expected,
+        final BufferedDataTable actual) {
+        assertEquals(message + ": row count", expected.size(), actual.size());
+        try (CloseableRowIterator expIt = expected.iterator(); CloseableRowIterator actIt = actual.iterator()) {
+            long i = 0;
+            while (expIt.hasNext()) {
+                final DataRow exp = expIt.next();
+                final DataRow act = actIt.next();
+                assertEquals(message + ": key of row " + i, exp.getKey(), act.getKey());
+                for (int c = 0; c < exp.getNumCells(); c++) {
+                    assertEquals(message + ": cell " + c + " of row " + i, exp.getCell(c), act.getCell(c));
+                }
+                i++;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,169 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.base.node.preproc.filter.row2.operator;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.LongPredicate;
+
+import org.junit.Test;
+import org.knime.core.data.DataRow;
+import org.mockito.Mockito;
+
+import com.google.common.collect.Range;
+
+/**
+ * Tests for {@link AdaptiveGroupRowPredicate}.
+ *
+ * @author agent
+ */
+public class AdaptiveGroupRowPredicateTest {
+
+    private static final DataRow ROW = Mockito.mock(DataRow.class);
+
+    /** Enough rows to reorder the predicates several times. */
+    private static final long NUM_ROWS =
+        4L * AdaptiveGroupRowPredicate.SAMPLING_INTERVAL * AdaptiveGroupRowPredicate.SAMPLES_PER_REORDERING;
+
+    /**
+     * A {@link RowPredicate} on the row index that counts how often it is evaluated.
+     */
+    private static final class CountingPredicate implements RowPredicate {
+
+        private final LongPredicate m_predicate;
+
+        private final int m_column;
+
+        private final Range<Long> m_range;
+
+        private long m_count;
+
+        CountingPredicate(final LongPredicate predicate, final int column, final Range<Long> range) {
+            m_predicate = predicate;
+            m_column = column;
+            m_range = range;
+        }
+
+        @Override
+        public boolean test(final DataRow t, final Long index) {
+            m_count++;
+            return m_predicate.test(index);
+        }
+
+        @Override
+        public Set<Integer> getRequiredColumns() {
+            return Collections.singleton(m_column);
+        }
+
+        @Override
+        public Range<Long> getRowIndexRange() {
+            return m_range;
+        }
+    }
+
+    /**
+     * Tests that the results of AND and OR are the same as the ones of the conditions combined in the user order.
+     */
+    @Test
+    public void testTest() {
+        final CountingPredicate even = new CountingPredicate(i -> i % 2 == 0, 0, Range.all());
+        final CountingPredicate mod3 = new CountingPredicate(i -> i % 3 == 0, 1, Range.all());
+        final CountingPredicate small = new CountingPredicate(i -> i % 100 < 90, 2, Range.all());
+        final RowPredicate and = RowPredicate.adaptiveAnd(Arrays.<RowPredicate> asList(small, even, mod3).iterator());
+        final RowPredicate or = RowPredicate.adaptiveOr(Arrays.<RowPredicate> asList(small, even, mod3).iterator());
+        for (long i = 0; i < NUM_ROWS; i++) {
+            final boolean expectedAnd = i % 100 < 90 && i % 2 == 0 && i % 3 == 0;
+            final boolean expectedOr = i % 100 < 90 || i % 2 == 0 || i % 3 == 0;
+            assertEquals("Wrong result of AND for row " + i, expectedAnd, and.test(ROW, i));
+            assertEquals("Wrong result of OR for row " + i, expectedOr, or.test(ROW, i));
+        }
+    }
+
+    /**
+     * Tests that a condition that never decides the result of an AND is moved to the end.
+     */
+    @Test
+    public void testReorder() {
+        final CountingPredicate alwaysTrue = new CountingPredicate(i -> true, 0, Range.all());
+        final CountingPredicate alwaysFalse = new CountingPredicate(i -> false, 1, Range.all());
+        final RowPredicate and =
+            RowPredicate.adaptiveAnd(Arrays.<RowPredicate> asList(alwaysTrue, alwaysFalse).iterator());
+        for (long i = 0; i < NUM_ROWS; i++) {
+            assertFalse(and.test(ROW, i));
+        }
+        // after the first reordering only the sampled rows evaluate the condition that is always true
+        final long firstReordering =
+            (long)AdaptiveGroupRowPredicate.SAMPLING_INTERVAL * AdaptiveGroupRowPredicate.SAMPLES_PER_REORDERING;
+        final long sampled = NUM_ROWS / AdaptiveGroupRowPredicate.SAMPLING_INTERVAL;
+        assertTrue("The condition that is always true was evaluated too often.",
+            alwaysTrue.m_count <= firstReordering + sampled);
+        assertEquals(NUM_ROWS, alwaysFalse.m_count);
+    }
+
+    /**
+     * Tests if the required columns and the range of rows are the ones expected.
+     */
+    @Test
+    public void testColumnsAndRange() {
+        final RowPredicate p1 = new CountingPredicate(i -> true, 0, Range.closed(2L, 4L));
+        final RowPredicate p2 = new CountingPredicate(i -> true, 2, Range.closed(3L, 5L));
+        final RowPredicate and = RowPredicate.adaptiveAnd(Arrays.asList(p1, p2).iterator());
+        final RowPredicate or = RowPredicate.adaptiveOr(Arrays.asList(p1, p2).iterator());
+        assertEquals(new HashSet<>(Arrays.asList(0, 2)), and.getRequiredColumns());
+        assertEquals(Range.closed(3L, 4L), and.getRowIndexRange());
+        assertEquals(Range.closed(2L, 5L), or.getRowIndexRange());
+    }
+
+}
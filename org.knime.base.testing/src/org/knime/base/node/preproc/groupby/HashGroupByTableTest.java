@@ -0,0 +1,291 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.base.node.preproc.groupby;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.knime.base.data.aggregation.AggregationContext;
+import org.knime.base.data.aggregation.ColumnAggregator;
+import org.knime.base.data.aggregation.GlobalSettings;
+import org.knime.base.data.aggregation.OperatorColumnSettings;
+import org.knime.base.data.aggregation.general.ConcatenateOperator;
+import org.knime.base.data.aggregation.general.CountOperator;
+import org.knime.base.data.aggregation.numerical.MeanOperator;
+import org.knime.base.data.aggregation.numerical.SumOperator;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.data.container.ContainerTable;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.def.StringCell;
+import org.knime.core.data.util.memory.MemoryAlertSystem.MemoryActionIndicator;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.DefaultNodeProgressMonitor;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.Node;
+import org.knime.core.node.NodeFactory;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.port.PortType;
+import org.knime.core.node.workflow.SingleNodeContainer;
+import org.knime.core.node.workflow.virtual.parchunk.VirtualParallelizedChunkPortObjectInNodeFactory;
+
+/**
+ * Compares the {@link HashGroupByTable} with the {@link BigGroupByTable}, also if partitions are spilled to disk, and
+ * tests the choice between them.
+ *
+ * @author agent
+ */
+public class HashGroupByTableTest {
+
+    private static final List<String> GROUP_COLS = Arrays.asList("g1", "g2");
+
+    private static final int NUM_GROUPS = 500;
+
+    /** The number of groups held in memory above which the spilling table simulates low memory. */
+    private static volatile int maxGroupsInMemory;
+
+    /** The number of simulated memory alerts. */
+    private static final AtomicInteger MEMORY_ALERTS = new AtomicInteger();
+
+    private ExecutionContext m_exec;
+
+    /**
+     * @throws Exception if the execution context cannot be created
+     */
+    @Before
+    public void setUp() throws Exception {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        NodeFactory<NodeModel> dummyFactory =
+            (NodeFactory)new VirtualParallelizedChunkPortObjectInNodeFactory(new PortType[0]);
+        m_exec = new ExecutionContext(new DefaultNodeProgressMonitor(), new Node(dummyFactory),
+            SingleNodeContainer.MemoryPolicy.CacheOnDisc, new HashMap<Integer, ContainerTable>());
+    }
+
+    /** Simulates low memory whenever too many groups are held in memory. */
+    private static final class SpillingHashGroupByTable extends HashGroupByTable {
+
+        SpillingHashGroupByTable(final ExecutionContext exec, final BufferedDataTable inDataTable,
+            final ColumnAggregator[] colAggregators, final GlobalSettings globalSettings,
+            final boolean retainOrder) throws CanceledExecutionException {
+            super(exec, inDataTable, GROUP_COLS, colAggregators, globalSettings, true,
+                ColumnNamePolicy.AGGREGATION_METHOD_COLUMN_NAME, retainOrder);
+        }
+
+        @Override
+        boolean isMemoryLow(final MemoryActionIndicator memIndicator, final long groupsInMemory) {
+            if (groupsInMemory > maxGroupsInMemory) {
+                MEMORY_ALERTS.incrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    }
+
+    /** Creates a table with two group columns and a value column with missing values in random row order. */
+    private BufferedDataTable createTable(final int numRows) {
+        final DataTableSpec spec = new DataTableSpec(new DataColumnSpecCreator("g1", StringCell.TYPE).createSpec(),
+            new DataColumnSpecCreator("g2", IntCell.TYPE).createSpec(),
+            new DataColumnSpecCreator("v", DoubleCell.TYPE).createSpec());
+        final Random random = new Random(numRows);
+        final BufferedDataContainer dc = m_exec.createDataContainer(spec);
+        for (int i = 0; i < numRows; i++) {
+            final int group = random.nextInt(NUM_GROUPS);
+            final DataCell value =
+                random.nextInt(10) == 0 ? DataType.getMissingCell() : new DoubleCell(random.nextInt(1000) / 8.0);
+            dc.addRowToTable(new DefaultRow(RowKey.createRowKey((long)i), new StringCell("s" + (group % 50)),
+                new IntCell(group / 50), value));
+        }
+        dc.close();
+        return dc.getTable();
+    }
+
+    private static GlobalSettings createGlobalSettings(final BufferedDataTable table) {
+        return GlobalSettings.builder().setGroupColNames(GROUP_COLS).setDataTableSpec(table.getDataTableSpec())
+            .setNoOfRows(table.size()).setValueDelimiter(", ").setMaxUniqueValues(10000)
+            .setAggregationContext(AggregationContext.ROW_AGGREGATION).build();
+    }
+
+    /** The concatenation also checks that the rows of a group are aggregated in their original order. */
+    private static ColumnAggregator[] createAggregators(final BufferedDataTable table) {
+        final GlobalSettings settings = createGlobalSettings(table);
+        final OperatorColumnSettings colSettings = OperatorColumnSettings.DEFAULT_EXCL_MISSING;
+        final DataTableSpec spec = table.getDataTableSpec();
+        return new ColumnAggregator[]{
+            new ColumnAggregator(spec.getColumnSpec("v"), new SumOperator(settings, colSettings)),
+            new ColumnAggregator(spec.getColumnSpec("v"), new MeanOperator(settings, colSettings)),
+            new ColumnAggregator(spec.getColumnSpec("v"), new CountOperator(settings, colSettings)),
+            new ColumnAggregator(spec.getColumnSpec("v"), new ConcatenateOperator(settings, colSettings))};
+    }
+
+    private static void assertSameResult(final GroupByTable expected, final GroupByTable actual,
+        final boolean sameRowKeys) {
+        final BufferedDataTable expectedTable = expected.getBufferedTable();
+        final BufferedDataTable actualTable = actual.getBufferedTable();
+        assertEquals("Table spec", expectedTable.getDataTableSpec(), actualTable.getDataTableSpec());
+        assertEquals("Number of groups", expectedTable.size(), actualTable.size());
+        try (final CloseableRowIterator expectedRows = expectedTable.iterator();
+                final CloseableRowIterator actualRows = actualTable.iterator()) {
+            for (long r = 0; expectedRows.hasNext(); r++) {
+                final DataRow expectedRow = expectedRows.next();
+                final DataRow actualRow = actualRows.next();
+                if (sameRowKeys) {
+                    assertEquals("Row key of group " + r, expectedRow.getKey(), actualRow.getKey());
+                }
+                for (int c = 0; c < expectedRow.getNumCells(); c++) {
+                    assertEquals("Cell " + c + " of group " + r, expectedRow.getCell(c), actualRow.getCell(c));
+                }
+                assertEquals("Hilite mapping of group " + r,
+                    new HashSet<>(expected.getHiLiteMapper().getKeys(expectedRow.getKey())),
+                    new HashSet<>(actual.getHiLiteMapper().getKeys(actualRow.getKey())));
+            }
+        }
+    }
+
+    private void checkAgainstBigGroupByTable(final BufferedDataTable table, final boolean retainOrder,
+        final int maxGroups) throws CanceledExecutionException {
+        final GlobalSettings settings = createGlobalSettings(table);
+        final GroupByTable expected = new BigGroupByTable(m_exec, table, GROUP_COLS, createAggregators(table),
+            settings, true, ColumnNamePolicy.AGGREGATION_METHOD_COLUMN_NAME, retainOrder);
+        final GroupByTable inMemory = new HashGroupByTable(m_exec, table, GROUP_COLS, createAggregators(table),
+            settings, true, ColumnNamePolicy.AGGREGATION_METHOD_COLUMN_NAME, retainOrder);
+        assertSameResult(expected, inMemory, !retainOrder);
+        maxGroupsInMemory = maxGroups;
+        MEMORY_ALERTS.set(0);
+        final GroupByTable spilled =
+            new SpillingHashGroupByTable(m_exec, table, createAggregators(table), settings, retainOrder);
+        assertTrue("No partitions spilled", MEMORY_ALERTS.get() > 0);
+        assertSameResult(expected, spilled, !retainOrder);
+    }
+
+    /**
+     * Compares the groups, aggregates and hilite mappings sorted by the group columns.
+     *
+     * @throws CanceledExecutionException if the aggregation is canceled
+     */
+    @Test
+    public void testSortedGroups() throws CanceledExecutionException {
+        checkAgainstBigGroupByTable(createTable(20000), false, 100);
+    }
+
+    /**
+     * Compares the groups, aggregates and hilite mappings in the original row order.
+     *
+     * @throws CanceledExecutionException if the aggregation is canceled
+     */
+    @Test
+    public void testRetainedOrder() throws CanceledExecutionException {
+        checkAgainstBigGroupByTable(createTable(20000), true, 100);
+    }
+
+    /**
+     * Simulates memory that is too low for all passes, such that the last pass keeps all remaining groups in memory.
+     *
+     * @throws CanceledExecutionException if the aggregation is canceled
+     */
+    @Test
+    public void testNoMorePartitionsToSpill() throws CanceledExecutionException {
+        checkAgainstBigGroupByTable(createTable(5000), false, 5);
+    }
+
+    private BufferedDataTable createIntTable(final int numRows, final int numGroups) {
+        final DataTableSpec spec = new DataTableSpec(new DataColumnSpecCreator("g1", IntCell.TYPE).createSpec(),
+            new DataColumnSpecCreator("g2", IntCell.TYPE).createSpec());
+        final BufferedDataContainer dc = m_exec.createDataContainer(spec);
+        final IntCell zero = new IntCell(0);
+        for (int i = 0; i < numRows; i++) {
+            dc.addRowToTable(new DefaultRow(RowKey.createRowKey((long)i), new IntCell(i % numGroups), zero));
+        }
+        dc.close();
+        return dc.getTable();
+    }
+
+    /**
+     * Tests the estimated number of groups and the choice of the aggregation on both sides of
+     * {@link HashGroupByTable#MAX_GROUPS}.
+     */
+    @Test
+    public void testEstimateGroupCount() {
+        final int numRows = (int)HashGroupByTable.MAX_GROUPS + HashGroupByTable.SAMPLE_SIZE;
+
+        final BufferedDataTable small = createIntTable(HashGroupByTable.SAMPLE_SIZE / 2, 1234);
+        assertEquals(1234, HashGroupByTable.estimateGroupCount(small, GROUP_COLS));
+        assertTrue(GroupByNodeModel.useHashAggregation(small, GROUP_COLS));
+
+        final BufferedDataTable fewGroups = createIntTable(numRows, 1000);
+        assertEquals(1000, HashGroupByTable.estimateGroupCount(fewGroups, GROUP_COLS));
+        assertTrue(GroupByNodeModel.useHashAggregation(fewGroups, GROUP_COLS));
+
+        final BufferedDataTable uniqueGroups = createIntTable(numRows, numRows);
+        assertEquals(numRows, HashGroupByTable.estimateGroupCount(uniqueGroups, GROUP_COLS));
+        assertFalse(GroupByNodeModel.useHashAggregation(uniqueGroups, GROUP_COLS));
+
+        // not more rows than the limit, hence not more groups either
+        final BufferedDataTable atLimit = createIntTable((int)HashGroupByTable.MAX_GROUPS, Integer.MAX_VALUE);
+        assertTrue(GroupByNodeModel.useHashAggregation(atLimit, GROUP_COLS));
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   18.10.2026 (agent): created
+ */
+package org.knime.base.node.preproc.joiner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataType;
+import org.knime.core.data.def.IntCell;
+
+/**
+ * Tests the {@link JoinTupleHashTable}.
+ *
+ * @author agent
+ */
+public class JoinTupleHashTableTest {
+
+    private static JoinTuple tuple(final DataCell... cells) {
+        return new JoinTuple(cells);
+    }
+
+    private static List<Integer> lookup(final JoinTupleHashTable table, final JoinTuple tuple) {
+        final List<Integer> rows = new ArrayList<>();
+        for (int e = table.getFirstEntry(tuple, tuple.hashCode()); e >= 0; e = table.getNextEntry(e)) {
+            rows.add(table.getRowIndex(e));
+        }
+        rows.sort(null);
+        return rows;
+    }
+
+    /**
+     * Adds many rows with colliding low hash bits and checks that all of them can be found.
+     */
+    @Test
+    public void testAddAndLookup() {
+        final JoinTupleHashTable table = new JoinTupleHashTable();
+        for (int row = 0; row < 10000; row++) {
+            // multiples of 1024 share the lower hash bits as rows of one partition do
+            final JoinTuple t = tuple(new IntCell((row % 100) * 1024));
+            table.add(t, t.hashCode(), row);
+        }
+        assertEquals(100, table.getNumTuples());
+        final List<Integer> rows = lookup(table, tuple(new IntCell(5 * 1024)));
+        assertEquals(100, rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            assertEquals(5 + i * 100, rows.get(i).intValue());
+        }
+        assertTrue(lookup(table, tuple(new IntCell(3))).isEmpty());
+    }
+
+    /**
+     * Checks that a row is only stored once per tuple and missing cells never match.
+     */
+    @Test
+    public void testDuplicatesAndMissingCells() {
+        final JoinTupleHashTable table = new JoinTupleHashTable();
+        final JoinTuple t = tuple(new IntCell(1));
+        table.add(t, t.hashCode(), 0);
+        table.add(tuple(new IntCell(1)), t.hashCode(), 0);
+        final JoinTuple missing = tuple(DataType.getMissingCell());
+        table.add(missing, missing.hashCode(), 1);
+        assertEquals(Arrays.asList(0), lookup(table, tuple(new IntCell(1))));
+        assertTrue(lookup(table, tuple(DataType.getMissingCell())).isEmpty());
+        final List<Integer> all = new ArrayList<>();
+        table.forEachRowIndex(all::add);
+        assertEquals(Arrays.asList(0, 1), all);
+    }
+
+    /**
+     * Checks that only the tuples of the retained partition are kept.
+     */
+    @Test
+    public void testRetainPartition() {
+        final JoinTupleHashTable table = new JoinTupleHashTable();
+        for (int row = 0; row < 1000; row++) {
+            final JoinTuple t = tuple(new IntCell(row % 50));
+            table.add(t, t.hashCode(), row);
+        }
+        table.retainPartition(0x1, 1);
+        for (int value = 0; value < 50; value++) {
+            final List<Integer> rows = lookup(table, tuple(new IntCell(value)));
+            final boolean retained = (tuple(new IntCell(value)).hashCode() & 0x1) == 1;
+            assertEquals(retained ? 20 : 0, rows.size());
+        }
+    }
+}
@@ -50,19 +50,24 @@
 import static org.hamcrest.core.Is.is;
 import static org.junit.Assert.assertThat;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Random;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.knime.base.node.preproc.joiner.Joiner2Settings.JoinMode;
+import org.knime.base.node.preproc.joiner.Joiner2Settings.OutputRowOrder;
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTable;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.DataType;
 import org.knime.core.data.RowIterator;
+import org.knime.core.data.RowKey;
 import org.knime.core.data.container.ContainerTable;
 import org.knime.core.data.def.DefaultRow;
 import org.knime.core.data.def.IntCell;
@@ -404,6 +409,73 @@ public void testSortPartitionsFullOuterJoin() throws Exception {
         compareTables(reference, test);
     }
 
+    /**
+     * Checks whether a full outer join gives the same result when the outer table is probed by several threads.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Test
+    public void testParallelProbeFullOuterJoin() throws Exception {
+        Joiner2Settings settingsRef = createReferenceSettings("Data");
+        settingsRef.setJoinMode(JoinMode.FullOuterJoin);
+
+        Joiner2Settings settingsTest = createReferenceSettings("Data");
+        settingsTest.setJoinMode(JoinMode.FullOuterJoin);
+
+        BufferedDataTable leftTable = m_exec.createBufferedDataTable(new TestData(3000, 1), m_exec);
+        BufferedDataTable rightTable =
+            m_exec.createBufferedDataTable(new TestData(5 * Joiner.PROBE_BATCH_SIZE + 17, 2), m_exec);
+
+        // run joiner with a single thread
+        Joiner joinerRef = new Joiner(leftTable.getDataTableSpec(), rightTable.getDataTableSpec(), settingsRef);
+        joinerRef.setNumProbeThreads(1);
+        BufferedDataTable reference = joinerRef.computeJoinTable(leftTable, rightTable, m_exec);
+
+        // run joiner with several threads and partitions
+        Joiner joinerTest = new Joiner(leftTable.getDataTableSpec(), rightTable.getDataTableSpec(), settingsTest);
+        joinerTest.setNumProbeThreads(4);
+        joinerTest.setRowsAddedBeforeOOM(1000);
+        BufferedDataTable test = joinerTest.computeJoinTable(leftTable, rightTable, m_exec);
+        compareTables(reference, test);
+    }
+
+    /**
+     * Checks whether a full outer join with arbitrary output row order gives the same rows as the sorted join.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Test
+    public void testArbitraryOutputRowOrderFullOuterJoin() throws Exception {
+        Joiner2Settings settingsRef = createReferenceSettings("Data");
+        settingsRef.setJoinMode(JoinMode.FullOuterJoin);
+
+        Joiner2Settings settingsTest = createReferenceSettings("Data");
+        settingsTest.setJoinMode(JoinMode.FullOuterJoin);
+        settingsTest.setOutputRowOrder(OutputRowOrder.Arbitrary);
+
+        BufferedDataTable leftTable = m_exec.createBufferedDataTable(new TestData(3000, 1), m_exec);
+        BufferedDataTable rightTable = m_exec.createBufferedDataTable(new TestData(2000, 2), m_exec);
+
+        // run joiner with reference settings
+        Joiner joinerRef = new Joiner(leftTable.getDataTableSpec(), rightTable.getDataTableSpec(), settingsRef);
+        BufferedDataTable reference = joinerRef.computeJoinTable(leftTable, rightTable, m_exec);
+
+        // run joiner with test settings
+        Joiner joinerTest = new Joiner(leftTable.getDataTableSpec(), rightTable.getDataTableSpec(), settingsTest);
+        joinerTest.setRowsAddedBeforeOOM(500);
+        BufferedDataTable test = joinerTest.computeJoinTable(leftTable, rightTable, m_exec);
+        assertThat("Unequal rows in result table", toMap(test), is(toMap(reference)));
+    }
+
+    private static Map<RowKey, List<DataCell>> toMap(final BufferedDataTable table) {
+        Map<RowKey, List<DataCell>> rows = new HashMap<RowKey, List<DataCell>>();
+        for (DataRow row : table) {
+            List<DataCell> cells = new ArrayList<DataCell>();
+            row.forEach(cells::add);
+            rows.put(row.getKey(), cells);
+        }
+        return rows;
+    }
 
     private Joiner2Settings createReferenceSettings(final String col) {
         Joiner2Settings settingsRef = new Joiner2Settings();
@@ -0,0 +1,123 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   18.10.2026 (agent): created
+ */
+package org.knime.base.node.preproc.rowkey2;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests the {@link UniqueRowKeyGenerator} in memory and with keys spilled to disk.
+ *
+ * @author agent
+ */
+public class UniqueRowKeyGeneratorTest {
+
+    /** The unique keys as created by the former implementation of the RowKeyUtil2. */
+    private static String createUniqueKey(final Map<String, Integer> keys, final String key) {
+        String uniqueKey = key;
+        if (keys.containsKey(key)) {
+            int index = keys.get(key);
+            while (keys.containsKey(uniqueKey)) {
+                index++;
+                uniqueKey = key + "(" + index + ")";
+            }
+            keys.put(key, index);
+        }
+        keys.put(uniqueKey, 0);
+        return uniqueKey;
+    }
+
+    private static void checkAgainstHashMap(final UniqueRowKeyGenerator generator, final int numDistinct)
+        throws Exception {
+        final Random random = new Random(numDistinct);
+        final Map<String, Integer> keys = new HashMap<>();
+        for (int i = 0; i < 20000; i++) {
+            // also use keys that look like the created ones
+            String key = "k" + random.nextInt(numDistinct);
+            if (random.nextInt(10) == 0) {
+                key += "(" + random.nextInt(3) + ")";
+            }
+            assertEquals("Unique key of row " + i, createUniqueKey(keys, key), generator.createUniqueKey(key));
+        }
+    }
+
+    /**
+     * Tests the keys created in memory.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testInMemory() throws Exception {
+        try (final UniqueRowKeyGenerator generator = new UniqueRowKeyGenerator()) {
+            checkAgainstHashMap(generator, 500);
+            assertEquals("Number of runs", 0, generator.getNumberOfRuns());
+        }
+    }
+
+    /**
+     * Tests the keys created when the keys are spilled to disk, including merges of the runs.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testSpilled() throws Exception {
+        for (final int numDistinct : new int[]{20, 5000, 50000}) {
+            try (final UniqueRowKeyGenerator generator = new UniqueRowKeyGenerator(1500)) {
+                checkAgainstHashMap(generator, numDistinct);
+                assertTrue("Keys not spilled", generator.getNumberOfRuns() > 0);
+            }
+        }
+    }
+}
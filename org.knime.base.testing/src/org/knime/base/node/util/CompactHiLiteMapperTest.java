@@ -0,0 +1,158 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   18.10.2026 (agent): created
+ */
+package org.knime.base.node.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+import org.knime.core.data.RowKey;
+
+/**
+ * Tests the {@link CompactHiLiteMapper} against a map of row key sets.
+ *
+ * @author agent
+ */
+public class CompactHiLiteMapperTest {
+
+    private static void checkMapping(final Map<RowKey, Set<RowKey>> expected, final CompactHiLiteMapper mapper) {
+        assertEquals("Keys", expected.keySet(), mapper.keySet());
+        for (final Map.Entry<RowKey, Set<RowKey>> entry : expected.entrySet()) {
+            final Set<RowKey> keys = mapper.getKeys(entry.getKey());
+            assertEquals("Mapped keys of " + entry.getKey(), entry.getValue(), keys);
+            for (final RowKey key : entry.getValue()) {
+                assertTrue("Mapped key " + key + " not contained", keys.contains(key));
+            }
+        }
+        assertNull("Unknown key", mapper.getKeys(new RowKey("unknown")));
+        assertFalse("Unknown key", mapper.keySet().contains(new RowKey("unknown")));
+        assertEquals("Map", expected, mapper.toMap());
+    }
+
+    /**
+     * Tests single and collective mappings, duplicates and keys that are also mapped keys.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testMapping() throws Exception {
+        final Random random = new Random(42);
+        final Map<RowKey, Set<RowKey>> expected = new LinkedHashMap<>();
+        try (final CompactHiLiteMapper mapper = new CompactHiLiteMapper()) {
+            for (int i = 0; i < 20000; i++) {
+                final RowKey key = new RowKey("Row" + random.nextInt(3000));
+                final RowKey mappedKey = new RowKey("Row" + random.nextInt(10000));
+                if (random.nextBoolean()) {
+                    mapper.addMapping(key, mappedKey);
+                    expected.computeIfAbsent(key, k -> new HashSet<>()).add(mappedKey);
+                } else {
+                    final Set<RowKey> mappedKeys = new HashSet<>(Arrays.asList(mappedKey, new RowKey("x" + i)));
+                    mapper.addMapping(key, mappedKeys);
+                    expected.computeIfAbsent(key, k -> new HashSet<>()).addAll(mappedKeys);
+                }
+            }
+            checkMapping(expected, mapper);
+        }
+    }
+
+    /**
+     * Tests an empty mapper and an empty set of mapped keys.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testEmpty() throws Exception {
+        try (final CompactHiLiteMapper mapper = new CompactHiLiteMapper()) {
+            checkMapping(new LinkedHashMap<>(), mapper);
+        }
+        try (final CompactHiLiteMapper mapper = new CompactHiLiteMapper()) {
+            mapper.addMapping(new RowKey("a"), new HashSet<>());
+            final Map<RowKey, Set<RowKey>> expected = new LinkedHashMap<>();
+            expected.put(new RowKey("a"), new HashSet<>());
+            checkMapping(expected, mapper);
+        }
+    }
+
+    /**
+     * Tests that a saved mapper is loaded with the same mappings.
+     *
+     * @throws Exception
+     */
+    @Test
+    public void testSaveLoad() throws Exception {
+        final Map<RowKey, Set<RowKey>> expected = new LinkedHashMap<>();
+        final File file = File.createTempFile("hilite_mapping_test", ".bin");
+        try {
+            try (final CompactHiLiteMapper mapper = new CompactHiLiteMapper()) {
+                for (int i = 0; i < 1000; i++) {
+                    final RowKey key = new RowKey("Group " + (i % 7));
+                    mapper.addMapping(key, new RowKey("Row" + i));
+                    expected.computeIfAbsent(key, k -> new HashSet<>()).add(new RowKey("Row" + i));
+                }
+                mapper.save(file);
+                checkMapping(expected, mapper);
+            }
+            try (final CompactHiLiteMapper mapper = CompactHiLiteMapper.load(file)) {
+                checkMapping(expected, mapper);
+            }
+        } finally {
+            file.delete();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   18.10.2026 (agent): created
+ */
+package org.knime.base.node.viz.plotter.box;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+import org.knime.core.node.ExecutionMonitor;
+
+/**
+ * Tests the {@link QuartileCalculator} against quartiles read from the sorted values.
+ *
+ * @author agent
+ */
+public class QuartileCalculatorTest {
+
+    private static double quantile(final double[] sorted, final int num, final int den) {
+        final int pos = sorted.length * num;
+        final int idx = pos / den;
+        return pos % den == 0 ? (sorted[idx - 1] + sorted[idx]) / 2 : sorted[idx];
+    }
+
+    private static double[] expected(final double[] values) {
+        final double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return new double[]{sorted[0], quantile(sorted, 1, 4), quantile(sorted, 1, 2), quantile(sorted, 3, 4),
+            sorted[sorted.length - 1]};
+    }
+
+    private static double[] randomValues(final Random random, final int size, final int distinct) {
+        final double[] values = new double[size];
+        for (int i = 0; i < size; i++) {
+            values[i] = distinct > 0 ? random.nextInt(distinct) : random.nextGaussian() * 1e5;
+        }
+        return values;
+    }
+
+    /**
+     * Tests small series held in memory, including ties.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testInMemory() throws Exception {
+        final Random random = new Random(42);
+        final double[][] series = new double[60][];
+        try (QuartileCalculator calculator = new QuartileCalculator(series.length)) {
+            for (int s = 0; s < series.length; s++) {
+                series[s] = randomValues(random, s + 1, s % 2 == 0 ? 0 : 3);
+                for (double v : series[s]) {
+                    calculator.add(s, v);
+                }
+            }
+            for (int s = 0; s < series.length; s++) {
+                assertArrayEquals("Series of size " + (s + 1), expected(series[s]),
+                    calculator.computeQuartiles(s, new ExecutionMonitor()), 0);
+            }
+        }
+    }
+
+    /**
+     * Tests series that are written to disk and selected with histogram passes.
+     *
+     * @throws Exception if the test fails
+     */
+    @Test
+    public void testSpilled() throws Exception {
+        final Random random = new Random(7);
+        final double[][] series = new double[4][];
+        series[0] = randomValues(random, 10000, 0);
+        series[1] = randomValues(random, 10001, 5);
+        series[2] = randomValues(random, 10002, 0);
+        for (int i = 0; i < 100; i++) {
+            series[2][i] = i % 3 == 0 ? Double.NEGATIVE_INFINITY : (i % 3 == 1 ? Double.MAX_VALUE : -Double.MAX_VALUE);
+        }
+        series[3] = new double[20003];
+        Arrays.fill(series[3], 1.5);
+        try (QuartileCalculator calculator = new QuartileCalculator(series.length + 1, 256, 32)) {
+            for (int i = 0; i < 20003; i++) {
+                for (int s = 0; s < series.length; s++) {
+                    if (i < series[s].length) {
+                        calculator.add(s, series[s][i]);
+                    }
+                }
+            }
+            for (int s = 0; s < series.length; s++) {
+                assertArrayEquals("Series " + s, expected(series[s]),
+                    calculator.computeQuartiles(s, new ExecutionMonitor()), 0);
+            }
+            assertNull(calculator.computeQuartiles(series.length, new ExecutionMonitor()));
+        }
+    }
+}
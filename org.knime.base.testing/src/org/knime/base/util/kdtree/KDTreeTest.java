@@ -175,6 +175,71 @@ private void singleTest(final int size, final int dimensions,
         }
     }
 
+    /**
+     * Tests the search in various packed k-d trees, reusing one search buffer
+     * for several queries.
+     *
+     * @throws Exception if an error occurs
+     */
+    public void testPackedSearch() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            final int size = (int)(Math.random() * 1000) + 1;
+            final int dimensions = (int)(Math.random() * 50) + 1;
+            final int neighbours = (int)(Math.random() * size) + 1;
+            final int bucketSize = (int)(Math.random() * 16) + 1;
+
+            KDTreeBuilder<Integer> builder =
+                    new KDTreeBuilder<Integer>(dimensions);
+            List<double[]> patterns = new ArrayList<double[]>();
+            for (int j = 0; j < size; j++) {
+                final double[] coords = new double[dimensions];
+                for (int k = 0; k < coords.length; k++) {
+                    // few distinct values to provoke equidistant patterns
+                    coords[k] = Math.round(10 * (Math.random() - 0.5));
+                }
+                builder.addPattern(coords, j);
+                patterns.add(coords);
+            }
+            PackedKDTree<Integer> tree =
+                    builder.buildPackedTree(bucketSize, null);
+            assertEquals(size, tree.size());
+            PackedKDTree.SearchBuffer buffer =
+                    tree.createSearchBuffer(neighbours);
+
+            for (int q = 0; q < 5; q++) {
+                final double[] query = new double[dimensions];
+                for (int k = 0; k < query.length; k++) {
+                    query[k] = 12 * (Math.random() - 0.5);
+                }
+                List<Helper> points = new ArrayList<Helper>();
+                for (int j = 0; j < size; j++) {
+                    points.add(new Helper(patterns.get(j), j, query));
+                }
+                Collections.sort(points);
+                final double kthDist = points.get(neighbours - 1).m_dist;
+                int expected = neighbours;
+                while (expected < size
+                        && points.get(expected).m_dist == kthDist) {
+                    expected++;
+                }
+
+                final int found =
+                        tree.getKNearestNeighbours(query, neighbours, buffer);
+                assertEquals(expected, found);
+                assertEquals(found, buffer.size());
+                for (int j = 0; j < found; j++) {
+                    final int id =
+                            tree.getData(buffer.getPatternIndex(j)).intValue();
+                    assertEquals(points.get(j).m_dist, buffer.getDistance(j),
+                            1e-9);
+                    assertEquals(points.get(j).m_dist,
+                            new Helper(patterns.get(id), id, query).m_dist,
+                            1e-9);
+                }
+            }
+        }
+    }
+
     public static void singleSpeedTest(final int size, final int dimensions,
             final int neighbours, final int queries) {
         long bruteForceTime = 0, kdTime = 0;
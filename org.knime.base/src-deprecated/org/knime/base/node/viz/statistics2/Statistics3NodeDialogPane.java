@@ -49,6 +49,7 @@
 import org.knime.core.node.defaultnodesettings.DialogComponentColumnFilter;
 import org.knime.core.node.defaultnodesettings.DialogComponentNumber;
 import org.knime.core.node.defaultnodesettings.SettingsModelBoolean;
+import org.knime.core.node.defaultnodesettings.SettingsModelDoubleBounded;
 import org.knime.core.node.defaultnodesettings.SettingsModelFilterString;
 import org.knime.core.node.defaultnodesettings.SettingsModelIntegerBounded;
 
@@ -66,9 +67,18 @@ public class Statistics3NodeDialogPane extends DefaultNodeSettingsPane {
 
     /** Default constructor. */
     protected Statistics3NodeDialogPane() {
+        final SettingsModelBoolean medianModel = createMedianModel();
+        final SettingsModelDoubleBounded medianErrorModel = createMedianErrorModel();
+        medianModel.addChangeListener(e -> medianErrorModel.setEnabled(medianModel.getBooleanValue()));
+        medianErrorModel.setEnabled(medianModel.getBooleanValue());
         addDialogComponent(new DialogComponentBoolean(
-                createMedianModel(),
+                medianModel,
                 "Calculate median values (computationally expensive)"));
+        DialogComponentNumber medianErrorComp = new DialogComponentNumber(medianErrorModel,
+            "Relative rank error of the median (0 = exact): ", 0.001, 5);
+        medianErrorComp.setToolTipText("A positive error computes approximate medians in a single pass "
+            + "without sorting the columns.");
+        addDialogComponent(medianErrorComp);
         createNewGroup("Nominal values");
         m_filterModel = createNominalFilterModel();
         addDialogComponent(new DialogComponentColumnFilter(
@@ -100,6 +110,13 @@ static SettingsModelBoolean createMedianModel() {
         return new SettingsModelBoolean("compute_median", false);
     }
 
+    /**
+     * @return double model for the rank error of approximate medians, 0 for exact medians
+     */
+    static SettingsModelDoubleBounded createMedianErrorModel() {
+        return new SettingsModelDoubleBounded("median_error", 0, 0, 0.5);
+    }
+
     /**
      * @return int model to restrict number of nominal values
      */
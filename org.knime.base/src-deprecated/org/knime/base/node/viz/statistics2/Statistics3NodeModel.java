@@ -72,6 +72,7 @@
 import org.knime.core.node.NodeSettingsRO;
 import org.knime.core.node.NodeSettingsWO;
 import org.knime.core.node.defaultnodesettings.SettingsModelBoolean;
+import org.knime.core.node.defaultnodesettings.SettingsModelDoubleBounded;
 import org.knime.core.node.defaultnodesettings.SettingsModelFilterString;
 import org.knime.core.node.defaultnodesettings.SettingsModelIntegerBounded;
 import org.knime.core.node.port.PortType;
@@ -95,6 +96,9 @@ public class Statistics3NodeModel extends NodeModel {
     private final SettingsModelBoolean m_computeMedian =
         Statistics3NodeDialogPane.createMedianModel();
 
+    private final SettingsModelDoubleBounded m_medianError =
+        Statistics3NodeDialogPane.createMedianErrorModel();
+
     private final SettingsModelIntegerBounded m_nominalValues =
         Statistics3NodeDialogPane.createNominalValuesModel();
 
@@ -165,7 +169,7 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] inData,
             final ExecutionContext exec) throws CanceledExecutionException {
         m_statTable = new Statistics3Table(
                 inData[0], m_computeMedian.getBooleanValue(),
-                numOfNominalValuesOutput(), m_nominalFilter.getIncludeList(),
+                m_medianError.getDoubleValue(), numOfNominalValuesOutput(), m_nominalFilter.getIncludeList(),
                 exec);
         if (getStatTable().getWarning() != null) {
             super.setWarningMessage(getStatTable().getWarning());
@@ -185,6 +189,12 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] inData,
     protected void loadValidatedSettingsFrom(final NodeSettingsRO settings)
             throws InvalidSettingsException {
         m_computeMedian.loadSettingsFrom(settings);
+        // added in 4.2, older workflows compute exact medians
+        if (settings.containsKey(m_medianError.getKey())) {
+            m_medianError.loadSettingsFrom(settings);
+        } else {
+            m_medianError.setDoubleValue(0);
+        }
         m_nominalValues.loadSettingsFrom(settings);
         m_nominalValuesOutput.loadSettingsFrom(settings);
         m_nominalFilter.loadSettingsFrom(settings);
@@ -257,6 +267,7 @@ List<Map<DataCell, Integer>> getNominals() {
     @Override
     protected void saveSettingsTo(final NodeSettingsWO settings) {
         m_computeMedian.saveSettingsTo(settings);
+        m_medianError.saveSettingsTo(settings);
         m_nominalValues.saveSettingsTo(settings);
         m_nominalValuesOutput.saveSettingsTo(settings);
         m_nominalFilter.saveSettingsTo(settings);
@@ -269,6 +280,9 @@ protected void saveSettingsTo(final NodeSettingsWO settings) {
     protected void validateSettings(final NodeSettingsRO settings)
             throws InvalidSettingsException {
         m_computeMedian.validateSettings(settings);
+        if (settings.containsKey(m_medianError.getKey())) {
+            m_medianError.validateSettings(settings);
+        }
         m_nominalValues.validateSettings(settings);
         m_nominalValuesOutput.validateSettings(settings);
         m_nominalFilter.validateSettings(settings);
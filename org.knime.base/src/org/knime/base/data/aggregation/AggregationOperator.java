@@ -449,6 +449,63 @@ public final void reset() {
      */
     protected abstract void resetInternal();
 
+    /**
+     * Operators that return <code>true</code> can be computed on disjoint subsets of a group independently
+     * and the partial results can be combined afterwards using {@link #merge(AggregationOperator)}. This allows
+     * the aggregation of a group to be distributed over several threads.
+     * Operators that override this method to return <code>true</code> must also override
+     * {@link #mergeInternal(AggregationOperator)}.
+     *
+     * @return <code>true</code> if partial results of this operator can be merged
+     * @since 4.2
+     */
+    public boolean isMergeable() {
+        return false;
+    }
+
+    /**
+     * Merges the partial result of the given operator into this operator. Afterwards this operator holds the
+     * same state as if it had seen all values of both operators. The given operator is not changed.
+     *
+     * @param other the operator to merge into this one, must be of the same class as this operator
+     * @throws UnsupportedOperationException if this operator is not {@link #isMergeable() mergeable}
+     * @throws IllegalArgumentException if the given operator is of a different class
+     * @since 4.2
+     */
+    public final void merge(final AggregationOperator other) {
+        if (!isMergeable()) {
+            throw new UnsupportedOperationException(
+                "Operator '" + getOperatorData().getLabel() + "' does not support merging");
+        }
+        if (other == null || !getClass().equals(other.getClass())) {
+            throw new IllegalArgumentException(
+                "Operator '" + getOperatorData().getLabel() + "' can only be merged with an operator of the same type");
+        }
+        m_missingValuesCount += other.m_missingValuesCount;
+        if (m_skipped) {
+            return;
+        }
+        if (other.m_skipped) {
+            m_skipped = true;
+            m_skipMsg = other.m_skipMsg;
+            return;
+        }
+        m_skipped = mergeInternal(other);
+    }
+
+    /**
+     * Merges the internal state of the given operator into this operator. Only called for
+     * {@link #isMergeable() mergeable} operators if neither of the two operators is skipped.
+     *
+     * @param other the operator to merge which is of the same class as this operator
+     * @return <code>true</code> if this column should be skipped in further calculations
+     * @since 4.2
+     */
+    protected boolean mergeInternal(final AggregationOperator other) {
+        throw new UnsupportedOperationException(
+            "Operator '" + getOperatorData().getLabel() + "' does not support merging");
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -147,6 +147,26 @@ protected void resetInternal() {
         m_maxVal = null;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean mergeInternal(final AggregationOperator other) {
+        final MaxOperator o = (MaxOperator)other;
+        if (o.m_maxVal != null && (m_maxVal == null || m_comparator.compare(o.m_maxVal, m_maxVal) > 0)) {
+            m_maxVal = o.m_maxVal;
+        }
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -145,6 +145,24 @@ protected void resetInternal() {
         m_counter = 0;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean mergeInternal(final AggregationOperator other) {
+        final MissingValueCountOperator o = (MissingValueCountOperator)other;
+        m_counter += o.m_counter;
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
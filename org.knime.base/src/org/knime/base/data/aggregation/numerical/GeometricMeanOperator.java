@@ -136,6 +136,25 @@ protected void resetInternal() {
         m_count = 0;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean mergeInternal(final AggregationOperator other) {
+        final GeometricMeanOperator o = (GeometricMeanOperator)other;
+        m_logSum += o.m_logSum;
+        m_count += o.m_count;
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -136,6 +136,28 @@ protected void resetInternal() {
         m_count = 0;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean mergeInternal(final AggregationOperator other) {
+        final MeanOperator o = (MeanOperator)other;
+        if (o.m_count > 0) {
+            final int count = m_count + o.m_count;
+            m_mean = m_mean * ((double)m_count / count) + o.m_mean * ((double)o.m_count / count);
+            m_count = count;
+        }
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
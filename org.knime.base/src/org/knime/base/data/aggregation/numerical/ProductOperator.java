@@ -137,6 +137,25 @@ protected void resetInternal() {
         m_product = 1;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean mergeInternal(final AggregationOperator other) {
+        final ProductOperator o = (ProductOperator)other;
+        m_valid |= o.m_valid;
+        m_product *= o.m_product;
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
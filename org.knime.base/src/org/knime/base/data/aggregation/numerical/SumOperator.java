@@ -176,6 +176,25 @@ protected void resetInternal() {
         m_sum = 0;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean mergeInternal(final AggregationOperator other) {
+        final SumOperator o = (SumOperator)other;
+        m_valid |= o.m_valid;
+        m_sum += o.m_sum;
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
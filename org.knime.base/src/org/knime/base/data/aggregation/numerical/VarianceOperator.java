@@ -151,6 +151,26 @@ protected void resetInternal() {
         m_validCount = 0;
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean isMergeable() {
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean mergeInternal(final AggregationOperator other) {
+        final VarianceOperator o = (VarianceOperator)other;
+        m_validCount += o.m_validCount;
+        m_sum += o.m_sum;
+        m_sumSquare += o.m_sumSquare;
+        return false;
+    }
+
     /**
      * {@inheritDoc}
      */
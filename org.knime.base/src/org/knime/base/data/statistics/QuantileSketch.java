@@ -0,0 +1,343 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   18.10.2026 (agent): created
+ */
+package org.knime.base.data.statistics;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * A mergeable streaming sketch for approximate quantiles of double values, following the compactor hierarchy of
+ * Karnin, Lang and Liberty: <i>Optimal Quantile Approximation in Streams</i> (FOCS 2016). The memory of the sketch is
+ * bounded by a number of values that depends only on the requested error, not on the number of values consumed.
+ * <p>
+ * The error bound is given as normalized rank error: with high probability, the rank of a returned quantile deviates
+ * by at most <code>epsilon * count</code> from the requested rank. As long as the sketch has not compacted any value,
+ * i.e. for small inputs, the quantiles are exact. The compactions use a seeded random generator, hence the same input
+ * in the same order always yields the same result.
+ * <p>
+ * Sketches are not thread-safe. Concurrent computations should use one sketch per thread and
+ * {@link #merge(QuantileSketch) merge} them afterwards.
+ *
+ * @author agent
+ * @since 4.2
+ */
+public final class QuantileSketch {
+
+    /** The default normalized rank error. */
+    public static final double DEFAULT_EPSILON = 0.01;
+
+    /** Ratio of the capacity of a level to the capacity of the level above. */
+    private static final double CAPACITY_DECAY = 2.0 / 3.0;
+
+    /** Factor between the capacity of the top level and the inverse of the normalized rank error. */
+    private static final double ERROR_FACTOR = 1.7;
+
+    private static final long SEED = 0x5eed;
+
+    private final double m_epsilon;
+
+    private final int m_k;
+
+    private final Random m_random = new Random(SEED);
+
+    // the values of level h have weight 2^h
+    private double[][] m_levels = new double[0][];
+
+    private int[] m_levelSizes = new int[0];
+
+    private int m_retained;
+
+    private int m_maxRetained;
+
+    private long m_count;
+
+    private double m_min = Double.NaN;
+
+    private double m_max = Double.NaN;
+
+    // sorted view of the retained values, created on demand
+    private double[] m_sortedValues;
+
+    private long[] m_cumulativeWeights;
+
+    /**
+     * Creates a new sketch with the {@link #DEFAULT_EPSILON default error}.
+     */
+    public QuantileSketch() {
+        this(DEFAULT_EPSILON);
+    }
+
+    /**
+     * Creates a new sketch.
+     *
+     * @param epsilon the normalized rank error, must be in (0, 1)
+     * @throws IllegalArgumentException if the error is out of range
+     */
+    public QuantileSketch(final double epsilon) {
+        if (!(epsilon > 0 && epsilon < 1)) {
+            throw new IllegalArgumentException("The error must be between 0 and 1 (exclusive): " + epsilon);
+        }
+        m_epsilon = epsilon;
+        m_k = Math.max(8, (int)Math.ceil(ERROR_FACTOR / epsilon));
+        grow();
+    }
+
+    /**
+     * @return the normalized rank error this sketch was created with
+     */
+    public double getEpsilon() {
+        return m_epsilon;
+    }
+
+    /**
+     * @return the number of values consumed by this sketch, including merged sketches
+     */
+    public long getCount() {
+        return m_count;
+    }
+
+    /**
+     * @return the exact minimum of the consumed values or {@link Double#NaN} if the sketch is empty
+     */
+    public double getMin() {
+        return m_min;
+    }
+
+    /**
+     * @return the exact maximum of the consumed values or {@link Double#NaN} if the sketch is empty
+     */
+    public double getMax() {
+        return m_max;
+    }
+
+    /**
+     * Adds a value to the sketch. {@link Double#NaN} values are ignored.
+     *
+     * @param value the value
+     */
+    public void update(final double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        updateMinMax(value, value);
+        m_count++;
+        append(0, value);
+        m_retained++;
+        compress();
+        m_sortedValues = null;
+    }
+
+    /**
+     * Adds all values of another sketch to this sketch. The other sketch is not modified. The error of this sketch
+     * remains unchanged.
+     *
+     * @param other the sketch to merge into this one
+     */
+    public void merge(final QuantileSketch other) {
+        if (other.m_count == 0) {
+            return;
+        }
+        while (m_levels.length < other.m_levels.length) {
+            grow();
+        }
+        for (int h = 0; h < other.m_levels.length; h++) {
+            for (int i = 0; i < other.m_levelSizes[h]; i++) {
+                append(h, other.m_levels[h][i]);
+            }
+            m_retained += other.m_levelSizes[h];
+        }
+        updateMinMax(other.m_min, other.m_max);
+        m_count += other.m_count;
+        compress();
+        m_sortedValues = null;
+    }
+
+    /**
+     * Returns the approximate quantile. Between the values of neighboring ranks the quantile is interpolated
+     * linearly, i.e. the median of an even number of values is the mean of the two middle values as long as the
+     * sketch is exact.
+     *
+     * @param p the probability of the quantile, between 0 and 1
+     * @return the approximate quantile, or {@link Double#NaN} if the sketch is empty
+     */
+    public double getQuantile(final double p) {
+        if (!(p >= 0 && p <= 1)) {
+            throw new IllegalArgumentException("The probability must be between 0 and 1: " + p);
+        }
+        if (m_count == 0) {
+            return Double.NaN;
+        }
+        if (p == 0) {
+            return m_min;
+        }
+        if (p == 1) {
+            return m_max;
+        }
+        createSortedView();
+        final double rank = p * (m_count - 1);
+        final long lowerRank = (long)Math.floor(rank);
+        final double lower = getValueAtRank(lowerRank);
+        final double fraction = rank - lowerRank;
+        if (fraction == 0) {
+            return lower;
+        }
+        final double upper = getValueAtRank(lowerRank + 1);
+        if (lower == upper) {
+            return lower;
+        }
+        return lower + fraction * (upper - lower);
+    }
+
+    private double getValueAtRank(final long rank) {
+        // the first value whose cumulative weight exceeds the rank, the cumulative weights are strictly increasing
+        int index = Arrays.binarySearch(m_cumulativeWeights, rank + 1);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        return m_sortedValues[Math.min(index, m_sortedValues.length - 1)];
+    }
+
+    private void createSortedView() {
+        if (m_sortedValues != null) {
+            return;
+        }
+        double[] values = new double[0];
+        long[] weights = new long[0];
+        for (int h = 0; h < m_levels.length; h++) {
+            final double[] level = Arrays.copyOf(m_levels[h], m_levelSizes[h]);
+            Arrays.sort(level);
+            final long weight = 1L << h;
+            final double[] mergedValues = new double[values.length + level.length];
+            final long[] mergedWeights = new long[mergedValues.length];
+            int i = 0;
+            int j = 0;
+            for (int m = 0; m < mergedValues.length; m++) {
+                if (j >= level.length || (i < values.length && values[i] <= level[j])) {
+                    mergedValues[m] = values[i];
+                    mergedWeights[m] = weights[i++];
+                } else {
+                    mergedValues[m] = level[j++];
+                    mergedWeights[m] = weight;
+                }
+            }
+            values = mergedValues;
+            weights = mergedWeights;
+        }
+        for (int m = 1; m < weights.length; m++) {
+            weights[m] += weights[m - 1];
+        }
+        m_sortedValues = values;
+        m_cumulativeWeights = weights;
+    }
+
+    private void updateMinMax(final double min, final double max) {
+        if (m_count == 0) {
+            m_min = min;
+            m_max = max;
+        } else {
+            m_min = Math.min(m_min, min);
+            m_max = Math.max(m_max, max);
+        }
+    }
+
+    private int capacity(final int level) {
+        final int depth = m_levels.length - level - 1;
+        return (int)Math.ceil(Math.pow(CAPACITY_DECAY, depth) * m_k) + 1;
+    }
+
+    private void grow() {
+        final int numLevels = m_levels.length + 1;
+        m_levels = Arrays.copyOf(m_levels, numLevels);
+        m_levelSizes = Arrays.copyOf(m_levelSizes, numLevels);
+        m_levels[numLevels - 1] = new double[0];
+        m_maxRetained = 0;
+        for (int h = 0; h < numLevels; h++) {
+            m_maxRetained += capacity(h);
+        }
+    }
+
+    private void append(final int level, final double value) {
+        final int size = m_levelSizes[level];
+        if (size == m_levels[level].length) {
+            m_levels[level] = Arrays.copyOf(m_levels[level], Math.max(2 * size, 8));
+        }
+        m_levels[level][size] = value;
+        m_levelSizes[level] = size + 1;
+    }
+
+    /* Compacts the lowest full levels until the sketch fits into its capacity again. */
+    private void compress() {
+        while (m_retained >= m_maxRetained) {
+            int level = 0;
+            while (m_levelSizes[level] < capacity(level)) {
+                level++;
+            }
+            if (level + 1 == m_levels.length) {
+                grow();
+            }
+            compact(level);
+        }
+    }
+
+    /*
+     * Sorts the level and promotes every other value to the next level, starting at a random offset. Of an odd number
+     * of values the smallest one stays in the level.
+     */
+    private void compact(final int level) {
+        final double[] values = m_levels[level];
+        final int size = m_levelSizes[level];
+        Arrays.sort(values, 0, size);
+        final int keep = size % 2;
+        for (int i = keep + (m_random.nextBoolean() ? 1 : 0); i < size; i += 2) {
+            append(level + 1, values[i]);
+        }
+        m_levelSizes[level] = keep;
+        m_retained -= (size - keep) / 2;
+    }
+}
@@ -101,6 +101,11 @@
  *
  * </pre>
  *
+ * <b>Sorting:</b> {@link StatisticSorted} statistics, such as the
+ * {@link org.knime.base.data.statistics.calculation.Median}, force the calculator to sort the table on their columns
+ * before the evaluation. The {@link org.knime.base.data.statistics.calculation.ApproximateQuantile} computes medians
+ * and other quantiles within a given error in a single pass without sorting.
+ *
  * @author Marcel Hanser
  * @since 2.11
  */
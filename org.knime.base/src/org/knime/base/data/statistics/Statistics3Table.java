@@ -214,6 +214,28 @@ public Statistics3Table(final BufferedDataTable table, final boolean computeMedi
             table.getDataTableSpec(), nominalValueColumns));
     }
 
+    /**
+     * Create new statistic table from an existing one. This constructor calculates all values. If an approximate
+     * median is requested, it is computed in the same pass as the other statistics. User can cancel action if an
+     * execution monitor is passed.
+     *
+     * @param table table to be wrapped
+     * @param computeMedian if the median has to be computed
+     * @param medianError the normalized rank error of the approximate median, between 0 and 1 (exclusive), or 0 for
+     *            the exact median
+     * @param numNomValuesOutput number of possible values in output table
+     * @param nominalValueColumns columns used to determine all poss. values
+     * @param exec an object to check with if user canceled operation
+     * @throws CanceledExecutionException if user canceled
+     * @since 4.2
+     */
+    public Statistics3Table(final BufferedDataTable table, final boolean computeMedian, final double medianError,
+        final int numNomValuesOutput, final List<String> nominalValueColumns, final ExecutionContext exec)
+        throws CanceledExecutionException {
+        this(table, computeMedian, medianError, numNomValuesOutput, nominalValueColumns, exec,
+            allApplicableColumns(table.getDataTableSpec(), nominalValueColumns));
+    }
+
     /**
      * Finds those columns that have applicable columns.
      *
@@ -274,6 +296,32 @@ private static int[] allColumns(final int numberOfColumns) {
     public Statistics3Table(final BufferedDataTable table, final boolean computeMedian, final int numNomValuesOutput,
         final List<String> nominalValueColumns, final ExecutionContext exec, final int... selectedColumnIndices)
         throws CanceledExecutionException {
+        this(table, computeMedian, 0, numNomValuesOutput, nominalValueColumns, exec, selectedColumnIndices);
+    }
+
+    /**
+     * Create new statistic table from an existing one. This constructor calculates all values. If an approximate
+     * median is requested, it is computed with a {@link QuantileSketch} in the same pass as the other statistics,
+     * otherwise the exact median needs to sort the numeric columns. User can cancel action if an execution monitor is
+     * passed.
+     *
+     * @param table table to be wrapped
+     * @param computeMedian if the median has to be computed
+     * @param medianError the normalized rank error of the approximate median, between 0 and 1 (exclusive), or 0 for
+     *            the exact median
+     * @param numNomValuesOutput number of possible values in output table
+     * @param nominalValueColumns columns used to determine all poss. values
+     * @param exec an object to check with if user canceled operation
+     * @param selectedColumnIndices The indices of columns to compute the statistics.
+     * @throws CanceledExecutionException if user canceled
+     * @since 4.2
+     */
+    public Statistics3Table(final BufferedDataTable table, final boolean computeMedian, final double medianError,
+        final int numNomValuesOutput, final List<String> nominalValueColumns, final ExecutionContext exec,
+        final int... selectedColumnIndices) throws CanceledExecutionException {
+        if (!(medianError >= 0 && medianError < 1)) {
+            throw new IllegalArgumentException("The median error must be in [0, 1): " + medianError);
+        }
         final int[] colIndices = check(selectedColumnIndices, table.getSpec(), nominalValueColumns);
         int nrCols = table.getDataTableSpec().getNumColumns();
         m_spec = table.getDataTableSpec();
@@ -345,9 +393,19 @@ public Statistics3Table(final BufferedDataTable table, final boolean computeMedi
             nominalValues.add(null);
         }
 
+        final boolean approximateMedian = computeMedian && medianError > 0;
+        final QuantileSketch[] medianSketches = new QuantileSketch[nrCols];
+        if (approximateMedian) {
+            for (int i : colIndices) {
+                if (m_spec.getColumnSpec(i).getType().isCompatible(DoubleValue.class)) {
+                    medianSketches[i] = new QuantileSketch(medianError);
+                }
+            }
+        }
+
         final int rowCnt = table.getRowCount();
         double diffProgress = rowCnt;
-        if (computeMedian) {
+        if (computeMedian && !approximateMedian) {
             for (int i : colIndices) {
                 if (m_spec.getColumnSpec(i).getType().isCompatible(DoubleValue.class)) {
                     diffProgress += rowCnt;
@@ -384,6 +442,9 @@ public Statistics3Table(final BufferedDataTable table, final boolean computeMedi
                         }
                         skewness[c].increment(d);
                         kurtosis[c].increment(d);
+                        if (approximateMedian) {
+                            medianSketches[c].update(d);
+                        }
                         sumsquare[c] += d * d;
                         validCount[c]++;
                     }
@@ -488,7 +549,13 @@ public int compare(final Entry<DataCell, MutableInteger> o1, final Entry<DataCel
         }
 
         // compute median values if desired
-        if (computeMedian) {
+        if (approximateMedian) {
+            for (int c : colIndices) {
+                if (medianSketches[c] != null) {
+                    m_median[c] = medianSketches[c].getQuantile(0.5);
+                }
+            }
+        } else if (computeMedian) {
             final int[] filteredIndices = filter(table.getSpec(), colIndices);
             final MedianTable medianTable = new MedianTable(table, filteredIndices);
             medianTable.setInMemory(table.getRowCount() < Runtime.getRuntime().freeMemory() / Double.SIZE / 2);
@@ -0,0 +1,147 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   18.10.2026 (agent): created
+ */
+package org.knime.base.data.statistics.calculation;
+
+import org.knime.base.data.statistics.QuantileSketch;
+import org.knime.base.data.statistics.Statistic;
+import org.knime.base.data.statistics.StatisticCalculator;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.DoubleValue;
+import org.knime.core.data.def.DoubleCell;
+
+/**
+ * Calculates approximate quantiles, e.g. the median, of numeric columns with a {@link QuantileSketch} per column. In
+ * contrast to the {@link Median} this statistic does not need sorted data, hence the {@link StatisticCalculator}
+ * evaluates it in a single pass with memory bounded by the error. Missing values and NaN are ignored.
+ *
+ * @author agent
+ * @since 4.2
+ */
+public class ApproximateQuantile extends Statistic {
+
+    private final double m_epsilon;
+
+    private QuantileSketch[] m_sketches;
+
+    /**
+     * Creates a statistic with the {@link QuantileSketch#DEFAULT_EPSILON default error}.
+     *
+     * @param columns to calculate the quantiles of
+     */
+    public ApproximateQuantile(final String... columns) {
+        this(QuantileSketch.DEFAULT_EPSILON, columns);
+    }
+
+    /**
+     * @param epsilon the normalized rank error of the quantiles, must be in (0, 1)
+     * @param columns to calculate the quantiles of
+     */
+    public ApproximateQuantile(final double epsilon, final String... columns) {
+        super(DoubleValue.class, columns);
+        if (!(epsilon > 0 && epsilon < 1)) {
+            throw new IllegalArgumentException("The error must be between 0 and 1 (exclusive): " + epsilon);
+        }
+        m_epsilon = epsilon;
+    }
+
+    /**
+     * @param column the column
+     * @return the approximate median of the column or a missing cell if the column contains no values
+     */
+    public DataCell getMedian(final String column) {
+        return getQuantile(column, 0.5);
+    }
+
+    /**
+     * @param column the column
+     * @param p the probability of the quantile, between 0 and 1
+     * @return the approximate quantile of the column or a missing cell if the column contains no values
+     */
+    public DataCell getQuantile(final String column, final double p) {
+        final QuantileSketch sketch = getSketch(column);
+        return sketch.getCount() == 0 ? DataType.getMissingCell() : new DoubleCell(sketch.getQuantile(p));
+    }
+
+    /**
+     * @param column the column
+     * @return the sketch of the column, e.g. to merge it with the sketches of other tables
+     */
+    public QuantileSketch getSketch(final String column) {
+        return m_sketches[assertIndexForColumn(column)];
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void init(final DataTableSpec spec, final int amountOfColumns) {
+        m_sketches = new QuantileSketch[amountOfColumns];
+        for (int i = 0; i < amountOfColumns; i++) {
+            m_sketches[i] = new QuantileSketch(m_epsilon);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void consumeRow(final DataRow dataRow) {
+        int index = 0;
+        for (int i : getIndices()) {
+            final DataCell cell = dataRow.getCell(i);
+            if (!cell.isMissing()) {
+                m_sketches[index].update(((DoubleValue)cell).getDoubleValue());
+            }
+            index++;
+        }
+    }
+}
@@ -102,6 +102,12 @@ final class CSVTableReaderNodeDialog extends NodeDialogPane {
 
     private final JRadioButton m_intersection = new JRadioButton("Intersection");
 
+    private final JSpinner m_numReadThreadsSpinner =
+        new JSpinner(new SpinnerNumberModel(1, 1, Runtime.getRuntime().availableProcessors() * 4, 1));
+
+    private final JSpinner m_numSplitReadThreadsSpinner =
+        new JSpinner(new SpinnerNumberModel(1, 1, Runtime.getRuntime().availableProcessors() * 4, 1));
+
     private final JTextField m_colDelimiterField;
 
     private final JTextField m_rowDelimiterField;
@@ -261,8 +267,10 @@ private JPanel createSpecMergePanel() {
         gbc.gridx = 1;
         specMergePanel.add(m_intersection, gbc);
         gbc.gridx = 2;
-        gbc.weightx = 1.0;
         specMergePanel.add(m_union, gbc);
+        gbc.gridx = 3;
+        gbc.weightx = 1.0;
+        specMergePanel.add(getInFlowLayout(new JLabel("Read threads "), m_numReadThreadsSpinner), gbc);
         return specMergePanel;
     }
 
@@ -313,6 +321,10 @@ private JPanel createOptionsPanel() {
         gbc.gridy += 1;
         optionsPanel.add(m_replaceQuotedEmptyStringChecker, gbc);
 
+        gbc.gridx = 0;
+        gbc.gridy += 1;
+        optionsPanel.add(getInFlowLayout(m_numSplitReadThreadsSpinner, new JLabel("Threads per file ")), gbc);
+
         //empty panel to eat up extra space
         gbc.gridy += 1;
         gbc.gridx = 0;
@@ -396,6 +408,7 @@ protected void saveSettingsTo(final NodeSettingsWO settings) throws InvalidSetti
         saveTableReadSettings();
         saveCsvSettings();
         m_config.setSpecMergeMode(getSpecMergeMode());
+        m_config.setNumReadThreads((Integer)m_numReadThreadsSpinner.getValue());
         m_config.save(settings);
     }
 
@@ -447,6 +460,8 @@ private void saveCsvSettings() {
         FileReaderNodeSettings s = new FileReaderNodeSettings();
         m_encodingPanel.overrideSettings(s);
         csvReaderConfig.setCharSetName(s.getCharsetName());
+
+        csvReaderConfig.setNumSplitReadThreads((Integer)m_numSplitReadThreadsSpinner.getValue());
     }
 
     @Override
@@ -458,6 +473,7 @@ protected void loadSettingsFrom(final NodeSettingsRO settings, final PortObjectS
         loadTableReadSettings();
         loadCSVSettings();
         setSpecMergeMode();
+        m_numReadThreadsSpinner.setValue(Math.max(1, m_config.getNumReadThreads()));
     }
 
     /**
@@ -508,6 +524,8 @@ private void loadCSVSettings() {
         FileReaderSettings fReadSettings = new FileReaderSettings();
         fReadSettings.setCharsetName(csvReaderConfig.getCharSetName());
         m_encodingPanel.loadSettings(fReadSettings);
+
+        m_numSplitReadThreadsSpinner.setValue(Math.max(1, csvReaderConfig.getNumSplitReadThreads()));
     }
 
     /**
@@ -160,7 +160,8 @@ public ReaderTableSpec<Class<?>> readSpec(final Path path, final TableReadConfig
     @SuppressWarnings("resource")
     private static Read<String> createDecoratedRead(final Path path, final TableReadConfig<CSVTableReaderConfig> config,
         final boolean isForSpec) throws IOException {
-        final Read<String> read = new CsvRead(path, config.getReaderSpecificConfig());
+        final Read<String> read =
+            isForSpec ? new CsvRead(path, config.getReaderSpecificConfig()) : createRead(path, config);
         if (isForSpec) {
             return decorateForSpec(config, read);
         } else {
@@ -168,6 +169,25 @@ private static Read<String> createDecoratedRead(final Path path, final TableRead
         }
     }
 
+    /**
+     * Creates a {@link CsvSplitRead} that parses the file with multiple threads if the config asks for it and the file
+     * is large enough and splittable, otherwise a plain {@link CsvRead} is returned.
+     */
+    private static Read<String> createRead(final Path path, final TableReadConfig<CSVTableReaderConfig> config)
+        throws IOException {
+        final CSVTableReaderConfig csvConfig = config.getReaderSpecificConfig();
+        final int numThreads = csvConfig.getNumSplitReadThreads();
+        if (numThreads > 1 && CsvSplitter.isSplittable(csvConfig)
+            && Files.size(path) >= 2 * CsvSplitter.DEFAULT_SPLIT_SIZE) {
+            try {
+                return new CsvSplitRead(path, csvConfig, numThreads, CsvSplitter.DEFAULT_SPLIT_SIZE);
+            } catch (UnsupportedOperationException ex) {
+                // the file system of the path doesn't support file channels i.e. random access
+            }
+        }
+        return new CsvRead(path, csvConfig);
+    }
+
     @SuppressWarnings("resource") // closing the read is the responsibility of the caller
     private static Read<String> decorateForReading(final TableReadConfig<CSVTableReaderConfig> config,
         Read<String> read) {
@@ -205,7 +225,7 @@ private static Read<String> decorateForSpec(final TableReadConfig<CSVTableReader
      *
      * @author Temesgen H. Dadi, KNIME GmbH, Berlin, Germany
      */
-    private static final class CsvRead implements Read<String> {
+    static final class CsvRead implements Read<String> {
 
         /** a parser used to parse the file */
         private final CsvParser m_parser;
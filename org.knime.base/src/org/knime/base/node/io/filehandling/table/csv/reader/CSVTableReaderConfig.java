@@ -107,6 +107,12 @@ public final class CSVTableReaderConfig implements ReaderSpecificConfig<CSVTable
     /** string key used to save the character set name (encoding) */
     private static final String CFG_CHAR_SET_NAME = "character_set_name";
 
+    /** string key used to save the number of threads used to parse a single file */
+    private static final String CFG_NUM_SPLIT_READ_THREADS = "num_split_read_threads";
+
+    /** The default number of threads used to parse a single file, i.e., files are parsed sequentially */
+    private static final int DEFAULT_NUM_SPLIT_READ_THREADS = 1;
+
     /** Setting used to parse csv files */
     private final CsvParserSettings m_settings;
 
@@ -119,6 +125,9 @@ public final class CSVTableReaderConfig implements ReaderSpecificConfig<CSVTable
     /** Setting used to store the character set name (encoding) */
     private String m_charSet = null;
 
+    /** Setting used to store the number of threads used to parse a single file */
+    private int m_numSplitReadThreads = DEFAULT_NUM_SPLIT_READ_THREADS;
+
     /**
      * Constructor.
      */
@@ -328,6 +337,27 @@ public void setCharSetName(final String charSet) {
         m_charSet = charSet;
     }
 
+    /**
+     * Gets the number of threads used to parse a single file. If larger than 1, large files are cut into splits that
+     * are parsed concurrently, provided the file supports random access and its format allows to find record
+     * boundaries at arbitrary byte offsets.
+     *
+     * @return the number of threads used to parse a single file
+     */
+    public int getNumSplitReadThreads() {
+        return m_numSplitReadThreads;
+    }
+
+    /**
+     * Sets the number of threads used to parse a single file.
+     *
+     * @param numSplitReadThreads the number of threads used to parse a single file, a value of 1 or less disables
+     *            the parallel parsing
+     */
+    public void setNumSplitReadThreads(final int numSplitReadThreads) {
+        m_numSplitReadThreads = numSplitReadThreads;
+    }
+
     @Override
     public void loadInDialog(final NodeSettingsRO settings) {
         setDelimiter(settings.getString(CFG_DELIMITER, ","));
@@ -344,6 +374,8 @@ public void loadInDialog(final NodeSettingsRO settings) {
         setReplaceEmptyWithMissing(settings.getBoolean(CFG_REPLACE_EMPTY_WITH_MISSING, false));
 
         setCharSetName(settings.getString(CFG_CHAR_SET_NAME, null));
+
+        setNumSplitReadThreads(settings.getInt(CFG_NUM_SPLIT_READ_THREADS, DEFAULT_NUM_SPLIT_READ_THREADS));
     }
 
     @Override
@@ -363,6 +395,9 @@ public void loadInModel(final NodeSettingsRO settings) throws InvalidSettingsExc
         setReplaceEmptyWithMissing(settings.getBoolean(CFG_REPLACE_EMPTY_WITH_MISSING));
 
         setCharSetName(settings.getString(CFG_CHAR_SET_NAME));
+
+        // added later, hence the default value for backwards compatibility
+        setNumSplitReadThreads(settings.getInt(CFG_NUM_SPLIT_READ_THREADS, DEFAULT_NUM_SPLIT_READ_THREADS));
     }
 
     @Override
@@ -400,6 +435,8 @@ public void save(final NodeSettingsWO settings) {
         settings.addBoolean(CFG_REPLACE_EMPTY_WITH_MISSING, replaceEmptyWithMissing());
 
         settings.addString(CFG_CHAR_SET_NAME, getCharSetName());
+
+        settings.addInt(CFG_NUM_SPLIT_READ_THREADS, getNumSplitReadThreads());
     }
 
     @Override
@@ -421,6 +458,8 @@ public CSVTableReaderConfig copy() {
 
         configCopy.setCharSetName(this.getCharSetName());
 
+        configCopy.setNumSplitReadThreads(this.getNumSplitReadThreads());
+
         return configCopy;
     }
 
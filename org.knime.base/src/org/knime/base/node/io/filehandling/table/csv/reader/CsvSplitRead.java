@@ -0,0 +1,264 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 6, 2026 (agent): created
+ */
+package org.knime.base.node.io.filehandling.table.csv.reader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.knime.base.node.io.filehandling.table.csv.reader.CSVTableReader.CsvRead;
+import org.knime.base.util.ExecutionExceptionUtil;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.util.ThreadPool;
+import org.knime.filehandling.core.node.table.reader.randomaccess.RandomAccessible;
+import org.knime.filehandling.core.node.table.reader.read.Read;
+
+/**
+ * A {@link Read} that parses a single CSV file with multiple threads.</br>
+ * The file is cut into splits by the {@link CsvSplitter}, each split is parsed by a worker into a separate batch of
+ * {@link RandomAccessible RandomAccessibles} and the batches are returned in file order. At most twice as many splits
+ * as there are threads are parsed ahead of the consumer, which bounds the memory consumption.
+ *
+ * @author agent
+ */
+final class CsvSplitRead implements Read<String> {
+
+    private final FileChannel m_channel;
+
+    private final CSVTableReaderConfig m_config;
+
+    private final long[] m_boundaries;
+
+    private final ThreadPool m_pool;
+
+    private final int m_maxPendingSplits;
+
+    private final Deque<Future<List<RandomAccessible<String>>>> m_pendingSplits = new ArrayDeque<>();
+
+    private int m_nextSplitToSubmit = 0;
+
+    private int m_currentSplit = -1;
+
+    private List<RandomAccessible<String>> m_currentBatch = null;
+
+    private int m_idxInBatch = 0;
+
+    /**
+     * Constructor.
+     *
+     * @param path the path of the file to read, must support {@link FileChannel FileChannels}
+     * @param config the CSV reader configuration, must be {@link CsvSplitter#isSplittable(CSVTableReaderConfig)
+     *            splittable}
+     * @param numThreads the number of threads used for parsing
+     * @param splitSize the (approximate) size of the individual splits in bytes
+     * @throws IOException if the file can't be opened or scanned for split boundaries
+     */
+    CsvSplitRead(final Path path, final CSVTableReaderConfig config, final int numThreads, final long splitSize)
+        throws IOException {
+        m_channel = FileChannel.open(path, StandardOpenOption.READ);
+        m_config = config;
+        m_pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(numThreads);
+        m_maxPendingSplits = 2 * numThreads;
+        try {
+            m_boundaries = CsvSplitter.findBoundaries(m_channel, config, splitSize, m_pool);
+        } catch (IOException | RuntimeException ex) {
+            m_channel.close();
+            throw ex;
+        }
+    }
+
+    @Override
+    public RandomAccessible<String> next() throws IOException {
+        while (m_currentBatch == null || m_idxInBatch >= m_currentBatch.size()) {
+            if (!nextBatch()) {
+                return null;
+            }
+        }
+        final RandomAccessible<String> next = m_currentBatch.get(m_idxInBatch);
+        // release the row for garbage collection
+        m_currentBatch.set(m_idxInBatch, null);
+        m_idxInBatch++;
+        return next;
+    }
+
+    private boolean nextBatch() throws IOException {
+        final int numSplits = m_boundaries.length - 1;
+        while (m_nextSplitToSubmit < numSplits && m_pendingSplits.size() < m_maxPendingSplits) {
+            final int split = m_nextSplitToSubmit;
+            m_pendingSplits.add(m_pool.enqueue(() -> parseSplit(split)));
+            m_nextSplitToSubmit++;
+        }
+        if (m_pendingSplits.isEmpty()) {
+            m_currentBatch = null;
+            return false;
+        }
+        final Future<List<RandomAccessible<String>>> future = m_pendingSplits.poll();
+        try {
+            m_currentBatch = m_pool.runInvisible(future::get);
+        } catch (ExecutionException ex) {
+            throw ExecutionExceptionUtil.rethrowIOCause(ex);
+        }
+        m_currentSplit++;
+        m_idxInBatch = 0;
+        return true;
+    }
+
+    private List<RandomAccessible<String>> parseSplit(final int split) throws IOException {
+        final long from = m_boundaries[split];
+        final long to = m_boundaries[split + 1];
+        final CSVTableReaderConfig config;
+        if (split == 0) {
+            config = m_config;
+        } else {
+            // only the first split contains the lines to skip
+            config = m_config.copy();
+            config.setSkipLines(false);
+        }
+        final List<RandomAccessible<String>> rows = new ArrayList<>();
+        try (final CsvRead read = new CsvRead(new ChannelRegionInputStream(m_channel, from, to), config)) {
+            RandomAccessible<String> row;
+            while ((row = read.next()) != null) {
+                // the rows returned by CsvRead are not altered by subsequent calls to next
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    @Override
+    public OptionalLong getEstimatedSizeInBytes() {
+        return OptionalLong.of(m_boundaries[m_boundaries.length - 1]);
+    }
+
+    @Override
+    public long readBytes() {
+        if (m_currentSplit < 0) {
+            return 0;
+        }
+        final long from = m_boundaries[m_currentSplit];
+        final long to = m_boundaries[m_currentSplit + 1];
+        final int batchSize = m_currentBatch == null ? 0 : m_currentBatch.size();
+        return batchSize == 0 ? to : (from + (to - from) * m_idxInBatch / batchSize);
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (Future<?> pending : m_pendingSplits) {
+            pending.cancel(true);
+        }
+        m_pendingSplits.clear();
+        m_currentBatch = null;
+        m_channel.close();
+    }
+
+    /**
+     * An {@link InputStream} that reads the region [from, to) of a {@link FileChannel} using positional reads, i.e.
+     * multiple instances can read from the same channel concurrently.
+     *
+     * @author agent
+     */
+    private static final class ChannelRegionInputStream extends InputStream {
+
+        private final FileChannel m_channel;
+
+        private final long m_end;
+
+        private long m_position;
+
+        ChannelRegionInputStream(final FileChannel channel, final long from, final long to) {
+            m_channel = channel;
+            m_position = from;
+            m_end = to;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final byte[] single = new byte[1];
+            final int read = read(single, 0, 1);
+            return read < 0 ? -1 : (single[0] & 0xFF);
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            if (len == 0) {
+                return 0;
+            }
+            final long remaining = m_end - m_position;
+            if (remaining <= 0) {
+                return -1;
+            }
+            final ByteBuffer buffer = ByteBuffer.wrap(b, off, (int)Math.min(len, remaining));
+            final int read = m_channel.read(buffer, m_position);
+            if (read > 0) {
+                m_position += read;
+            }
+            return read;
+        }
+
+        @Override
+        public int available() {
+            return (int)Math.min(Integer.MAX_VALUE, Math.max(0, m_end - m_position));
+        }
+
+        @Override
+        public void close() {
+            // the channel is shared and closed by the CsvSplitRead
+        }
+    }
+}
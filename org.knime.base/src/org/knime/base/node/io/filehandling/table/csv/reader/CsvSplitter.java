@@ -0,0 +1,347 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 6, 2026 (agent): created
+ */
+package org.knime.base.node.io.filehandling.table.csv.reader;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.knime.base.util.ExecutionExceptionUtil;
+import org.knime.core.util.ThreadPool;
+
+import com.univocity.parsers.csv.CsvFormat;
+import com.univocity.parsers.csv.CsvParserSettings;
+
+/**
+ * Cuts a CSV file into splits at byte offsets such that every split starts at the beginning of a record.</br>
+ * The file is divided into chunks of (roughly) equal size that are scanned concurrently. Since the quoting state at
+ * the start of a chunk is unknown, each chunk is scanned for every possible start state of a simplified CSV state
+ * machine. Afterwards the actual start states are resolved sequentially from the beginning of the file, and the first
+ * line break in each chunk that lies outside of a quoted value becomes a split boundary.</br>
+ * Splitting is only supported for ASCII compatible encodings, single byte ASCII delimiters, quotes and quote escapes,
+ * line separators ending with \n and if no comment character is set.
+ *
+ * @author agent
+ */
+final class CsvSplitter {
+
+    /** Default size of the chunks the file is split into. */
+    static final long DEFAULT_SPLIT_SIZE = 16L << 20;
+
+    private static final int FIELD_START = 0;
+
+    private static final int IN_FIELD = 1;
+
+    private static final int QUOTED = 2;
+
+    /** Inside of a quoted value after a quote escape (or a quote if it is its own escape). */
+    private static final int QUOTED_PENDING = 3;
+
+    private static final int NUM_STATES = 4;
+
+    private static final int SCAN_BUFFER_SIZE = 1 << 16;
+
+    private static final byte NEW_LINE = '\n';
+
+    private static final byte CARRIAGE_RETURN = '\r';
+
+    private final int m_delimiter;
+
+    private final int m_quote;
+
+    private final int m_quoteEscape;
+
+    private final boolean m_ignoreLeadingWhitespaces;
+
+    private CsvSplitter(final CSVTableReaderConfig config) {
+        final CsvFormat format = config.getSettings().getFormat();
+        m_delimiter = format.getDelimiterString().charAt(0);
+        m_quote = format.getQuote();
+        m_quoteEscape = format.getQuoteEscape();
+        m_ignoreLeadingWhitespaces = config.getSettings().getIgnoreLeadingWhitespaces();
+    }
+
+    /**
+     * Checks whether files read with the provided config can be split at byte offsets.
+     *
+     * @param config the CSV reader configuration
+     * @return {@code true} if files read with the provided config can be split
+     */
+    static boolean isSplittable(final CSVTableReaderConfig config) {
+        final CsvParserSettings settings = config.getSettings();
+        final CsvFormat format = settings.getFormat();
+        final String delimiter = format.getDelimiterString();
+        final String lineSeparator = format.getLineSeparatorString();
+        return isAsciiCompatible(getCharset(config)) //
+            && delimiter.length() == 1 && isAscii(delimiter.charAt(0)) //
+            && isAscii(format.getQuote()) && isAscii(format.getQuoteEscape()) //
+            && format.getComment() == '\0' //
+            && lineSeparator != null && lineSeparator.endsWith("\n");
+    }
+
+    static Charset getCharset(final CSVTableReaderConfig config) {
+        final String charSetName = config.getCharSetName();
+        return charSetName == null ? Charset.defaultCharset() : Charset.forName(charSetName);
+    }
+
+    private static boolean isAscii(final char c) {
+        return c < 0x80;
+    }
+
+    /**
+     * In encodings that are ASCII compatible, bytes smaller than 0x80 always encode the corresponding ASCII character
+     * i.e. they are never part of a multi-byte sequence.
+     */
+    private static boolean isAsciiCompatible(final Charset charset) {
+        final String name = charset.name();
+        return charset.equals(StandardCharsets.UTF_8) || charset.equals(StandardCharsets.US_ASCII)
+            || name.startsWith("ISO-8859-") || name.startsWith("windows-125");
+    }
+
+    /**
+     * Finds the split boundaries for the file read by the provided channel.
+     *
+     * @param channel the channel to read from
+     * @param config the CSV reader configuration, must be {@link #isSplittable(CSVTableReaderConfig) splittable}
+     * @param splitSize the size of the chunks the file is scanned in
+     * @param pool the {@link ThreadPool} used to scan the chunks
+     * @return the sorted split boundaries, the first boundary is always 0 and the last the size of the file
+     * @throws IOException if reading from the channel fails
+     */
+    static long[] findBoundaries(final FileChannel channel, final CSVTableReaderConfig config, final long splitSize,
+        final ThreadPool pool) throws IOException {
+        final long size = channel.size();
+        final long dataStart = findDataStart(channel, config);
+        final CsvSplitter splitter = new CsvSplitter(config);
+        final List<Future<ChunkScan>> scans = new ArrayList<>();
+        for (long from = dataStart; from < size; from += splitSize) {
+            final long chunkStart = from;
+            final long chunkEnd = Math.min(size, from + splitSize);
+            scans.add(pool.enqueue(() -> splitter.scan(channel, chunkStart, chunkEnd)));
+        }
+        final List<Long> boundaries = new ArrayList<>();
+        boundaries.add(0L);
+        try {
+            pool.runInvisible(() -> {
+                int state = FIELD_START;
+                for (int i = 0; i < scans.size(); i++) {
+                    final ChunkScan scan = scans.get(i).get();
+                    // the first chunk starts at the first record, hence its boundary is already known
+                    if (i > 0 && scan.m_firstRecordStart[state] >= 0) {
+                        boundaries.add(scan.m_firstRecordStart[state]);
+                    }
+                    state = scan.m_endState[state];
+                }
+                return null;
+            });
+        } catch (ExecutionException ex) {
+            throw ExecutionExceptionUtil.rethrowIOCause(ex);
+        } finally {
+            scans.forEach(f -> f.cancel(true));
+        }
+        if (boundaries.get(boundaries.size() - 1) < size) {
+            boundaries.add(size);
+        }
+        return boundaries.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    /**
+     * Finds the offset of the first byte after the byte order mark and the lines skipped according to the config.
+     * Line terminators are handled the same way as {@link java.io.BufferedReader#readLine()} does.
+     */
+    private static long findDataStart(final FileChannel channel, final CSVTableReaderConfig config)
+        throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        long position = 0;
+        if (getCharset(config).equals(StandardCharsets.UTF_8) && channel.read(buffer, 0) >= 3) {
+            buffer.flip();
+            if ((buffer.get(0) & 0xFF) == 0xEF && (buffer.get(1) & 0xFF) == 0xBB && (buffer.get(2) & 0xFF) == 0xBF) {
+                position = 3;
+            }
+        }
+        if (!config.skipLines()) {
+            return position;
+        }
+        long linesToSkip = config.getNumLinesToSkip();
+        boolean afterCarriageReturn = false;
+        while (linesToSkip > 0) {
+            buffer.clear();
+            final int read = channel.read(buffer, position);
+            if (read < 0) {
+                return position;
+            }
+            buffer.flip();
+            while (buffer.hasRemaining() && linesToSkip > 0) {
+                final byte b = buffer.get();
+                if (afterCarriageReturn) {
+                    afterCarriageReturn = false;
+                    linesToSkip--;
+                    if (b == NEW_LINE) {
+                        position++;
+                        continue;
+                    } else if (linesToSkip == 0) {
+                        break;
+                    }
+                }
+                position++;
+                if (b == NEW_LINE) {
+                    linesToSkip--;
+                } else if (b == CARRIAGE_RETURN) {
+                    afterCarriageReturn = true;
+                }
+            }
+        }
+        return position;
+    }
+
+    /**
+     * Scans the bytes in [from, to) for each of the possible start states.
+     */
+    private ChunkScan scan(final FileChannel channel, final long from, final long to) throws IOException {
+        final int[] states = new int[NUM_STATES];
+        final long[] firstRecordStart = new long[NUM_STATES];
+        for (int s = 0; s < NUM_STATES; s++) {
+            states[s] = s;
+            firstRecordStart[s] = -1;
+        }
+        final ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        long position = from;
+        while (position < to) {
+            buffer.clear();
+            buffer.limit((int)Math.min(buffer.capacity(), to - position));
+            final int read = channel.read(buffer, position);
+            if (read < 0) {
+                break;
+            }
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                final int b = buffer.get() & 0xFF;
+                position++;
+                for (int s = 0; s < NUM_STATES; s++) {
+                    final int state = states[s];
+                    if (b == NEW_LINE && (state == FIELD_START || state == IN_FIELD || isClosingQuote(state, b))) {
+                        states[s] = FIELD_START;
+                        if (firstRecordStart[s] < 0) {
+                            firstRecordStart[s] = position;
+                        }
+                    } else {
+                        states[s] = next(state, b);
+                    }
+                }
+            }
+        }
+        return new ChunkScan(firstRecordStart, states);
+    }
+
+    /**
+     * Checks whether the quoted value is closed before the byte b is consumed.
+     */
+    private boolean isClosingQuote(final int state, final int b) {
+        return state == QUOTED_PENDING && m_quoteEscape == m_quote && b != m_quote;
+    }
+
+    private int next(final int state, final int b) {
+        switch (state) {
+            case FIELD_START:
+                if (b == m_delimiter) {
+                    return FIELD_START;
+                } else if (b == m_quote && m_quote != '\0') {
+                    return QUOTED;
+                } else if (m_ignoreLeadingWhitespaces && b <= ' ') {
+                    return FIELD_START;
+                }
+                return IN_FIELD;
+            case IN_FIELD:
+                return b == m_delimiter ? FIELD_START : IN_FIELD;
+            case QUOTED:
+                if (b == m_quoteEscape) {
+                    return QUOTED_PENDING;
+                } else if (b == m_quote) {
+                    return IN_FIELD;
+                }
+                return QUOTED;
+            case QUOTED_PENDING:
+                if (m_quoteEscape != m_quote) {
+                    // the escaped character is part of the value
+                    return QUOTED;
+                } else if (b == m_quote) {
+                    // escaped quote
+                    return QUOTED;
+                }
+                // the previous quote closed the value
+                return next(IN_FIELD, b);
+            default:
+                throw new IllegalStateException("Unknown state " + state);
+        }
+    }
+
+    /**
+     * The result of scanning a single chunk, indexed by the state the chunk is started in.
+     *
+     * @author agent
+     */
+    private static final class ChunkScan {
+
+        /** the offset of the first record starting in the chunk or -1 if no record starts in the chunk */
+        private final long[] m_firstRecordStart;
+
+        private final int[] m_endState;
+
+        ChunkScan(final long[] firstRecordStart, final int[] endState) {
+            m_firstRecordStart = firstRecordStart;
+            m_endState = endState;
+        }
+    }
+}
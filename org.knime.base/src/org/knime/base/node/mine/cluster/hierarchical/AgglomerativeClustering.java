@@ -0,0 +1,321 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.base.node.mine.cluster.hierarchical;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+import org.knime.base.node.mine.cluster.hierarchical.HierarchicalClusterNodeModel.Linkage;
+import org.knime.base.node.mine.cluster.hierarchical.distfunctions.DistanceFunction;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
+
+/**
+ * Computes an agglomerative clustering of points in quadratic time. Single linkage uses the SLINK algorithm, which
+ * only keeps a linear number of values in memory. Average and complete linkage use the nearest-neighbor chain
+ * algorithm on a condensed distance matrix, which is updated with the Lance-Williams formulas after each merge.
+ * <p>
+ * The result is a sequence of merges ordered by increasing distance. Clusters are identified by numbers: the numbers
+ * 0 to n - 1 denote the points, the cluster created by the i-th merge has the number n + i.
+ *
+ * @author agent
+ */
+final class AgglomerativeClustering {
+
+    private final double[][] m_points;
+
+    private final DistanceFunction m_distFunction;
+
+    private final Linkage m_linkage;
+
+    private int[] m_first;
+
+    private int[] m_second;
+
+    private float[] m_dist;
+
+    /**
+     * @param points the values of the points, missing values are represented by {@link Double#NaN}
+     * @param distFunction the distance function between points
+     * @param linkage the distance between clusters
+     */
+    AgglomerativeClustering(final double[][] points, final DistanceFunction distFunction, final Linkage linkage) {
+        m_points = points;
+        m_distFunction = distFunction;
+        m_linkage = linkage;
+    }
+
+    /**
+     * Computes the merges.
+     *
+     * @param exec for progress report and cancelation
+     * @throws CanceledExecutionException if the execution was canceled
+     */
+    void run(final ExecutionMonitor exec) throws CanceledExecutionException {
+        final int numMerges = Math.max(m_points.length - 1, 0);
+        final int[] pointA = new int[numMerges];
+        final int[] pointB = new int[numMerges];
+        final float[] dist = new float[numMerges];
+        if (m_linkage == Linkage.SINGLE) {
+            slink(pointA, pointB, dist, exec);
+        } else {
+            nearestNeighborChain(pointA, pointB, dist, exec);
+        }
+        label(pointA, pointB, dist);
+        exec.setProgress(1.0);
+    }
+
+    /**
+     * @return the number of merges, which is one less than the number of points
+     */
+    int getNumMerges() {
+        return m_dist.length;
+    }
+
+    /**
+     * @param merge the index of the merge
+     * @return the smaller number of the two merged clusters
+     */
+    int getFirst(final int merge) {
+        return m_first[merge];
+    }
+
+    /**
+     * @param merge the index of the merge
+     * @return the larger number of the two merged clusters
+     */
+    int getSecond(final int merge) {
+        return m_second[merge];
+    }
+
+    /**
+     * @param merge the index of the merge
+     * @return the distance between the two merged clusters
+     */
+    float getDistance(final int merge) {
+        return m_dist[merge];
+    }
+
+    private float distance(final int i, final int j) {
+        return (float)m_distFunction.calcDistance(m_points[i], m_points[j]);
+    }
+
+    /*
+     * R. Sibson: SLINK: an optimally efficient algorithm for the single-link cluster method. The pointer
+     * representation states that point i is merged into the cluster of point pi[i] at distance lambda[i].
+     */
+    private void slink(final int[] pointA, final int[] pointB, final float[] dist, final ExecutionMonitor exec)
+        throws CanceledExecutionException {
+        final int n = m_points.length;
+        final int[] pi = new int[n];
+        final float[] lambda = new float[n];
+        final float[] m = new float[n];
+        for (int k = 0; k < n; k++) {
+            exec.checkCanceled();
+            exec.setProgress(k * (double)k / ((double)n * n));
+            pi[k] = k;
+            lambda[k] = Float.POSITIVE_INFINITY;
+            for (int i = 0; i < k; i++) {
+                m[i] = distance(i, k);
+            }
+            for (int i = 0; i < k; i++) {
+                final int p = pi[i];
+                if (lambda[i] >= m[i]) {
+                    m[p] = Math.min(m[p], lambda[i]);
+                    lambda[i] = m[i];
+                    pi[i] = k;
+                } else {
+                    m[p] = Math.min(m[p], m[i]);
+                }
+            }
+            for (int i = 0; i < k; i++) {
+                if (lambda[i] >= lambda[pi[i]]) {
+                    pi[i] = k;
+                }
+            }
+        }
+        // the last point is the only one that is not merged into another cluster
+        for (int i = 0; i < n - 1; i++) {
+            pointA[i] = i;
+            pointB[i] = pi[i];
+            dist[i] = lambda[i];
+        }
+    }
+
+    /*
+     * Nearest-neighbor chain: follows nearest neighbors until two clusters are mutual nearest neighbors, which are
+     * then merged. Valid for all linkages that satisfy the reducibility property, like average and complete linkage.
+     * A merged cluster takes the matrix slot of one of its points.
+     */
+    private void nearestNeighborChain(final int[] pointA, final int[] pointB, final float[] dist,
+        final ExecutionMonitor exec) throws CanceledExecutionException {
+        final int n = m_points.length;
+        final float[] matrix = new float[(int)((long)n * (n - 1) / 2)];
+        for (int i = 1; i < n; i++) {
+            exec.checkCanceled();
+            exec.setProgress(0.5 * i * i / ((double)n * n));
+            for (int j = 0; j < i; j++) {
+                matrix[index(i, j)] = distance(i, j);
+            }
+        }
+
+        final int[] size = new int[n];
+        Arrays.fill(size, 1);
+        final boolean[] merged = new boolean[n];
+        final int[] chain = new int[n];
+        int chainLength = 0;
+        int firstActive = 0;
+        for (int step = 0; step < n - 1; step++) {
+            exec.checkCanceled();
+            exec.setProgress(0.5 + 0.5 * step / (n - 1));
+            if (chainLength == 0) {
+                while (merged[firstActive]) {
+                    firstActive++;
+                }
+                chain[chainLength++] = firstActive;
+            }
+            while (true) {
+                final int a = chain[chainLength - 1];
+                // prefer the previous chain element on ties, otherwise the chain may cycle
+                final int prev = chainLength > 1 ? chain[chainLength - 2] : -1;
+                int b = prev;
+                float min = prev >= 0 ? matrix[index(a, prev)] : Float.POSITIVE_INFINITY;
+                for (int k = 0; k < n; k++) {
+                    if (k != a && k != prev && !merged[k]) {
+                        final float d = matrix[index(a, k)];
+                        if (b < 0 || d < min) {
+                            b = k;
+                            min = d;
+                        }
+                    }
+                }
+                if (b != prev) {
+                    chain[chainLength++] = b;
+                    continue;
+                }
+                chainLength -= 2;
+                pointA[step] = a;
+                pointB[step] = b;
+                dist[step] = min;
+
+                final int keep = Math.min(a, b);
+                final int drop = Math.max(a, b);
+                for (int k = 0; k < n; k++) {
+                    if (k != a && k != b && !merged[k]) {
+                        final float da = matrix[index(a, k)];
+                        final float db = matrix[index(b, k)];
+                        final float d;
+                        if (m_linkage == Linkage.COMPLETE) {
+                            d = Math.max(da, db);
+                        } else {
+                            d = (float)(((double)size[a] * da + (double)size[b] * db) / (size[a] + size[b]));
+                        }
+                        matrix[index(keep, k)] = d;
+                    }
+                }
+                size[keep] = size[a] + size[b];
+                merged[drop] = true;
+                break;
+            }
+        }
+    }
+
+    /* The position of the distance between i and j (i != j) in the condensed matrix. */
+    private static int index(final int i, final int j) {
+        if (i > j) {
+            return (int)((long)i * (i - 1) / 2 + j);
+        }
+        return (int)((long)j * (j - 1) / 2 + i);
+    }
+
+    /*
+     * Sorts the merges of points by distance and translates the points into the clusters that contain them at the
+     * time of the merge. The sort is stable, hence merges at equal distances keep their order.
+     */
+    private void label(final int[] pointA, final int[] pointB, final float[] dist) {
+        final int numMerges = dist.length;
+        final Integer[] order = new Integer[numMerges];
+        for (int i = 0; i < numMerges; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingDouble(i -> dist[i]));
+
+        final int n = m_points.length;
+        final int[] parent = new int[n];
+        final int[] clusterOfRoot = new int[n];
+        for (int i = 0; i < n; i++) {
+            parent[i] = i;
+            clusterOfRoot[i] = i;
+        }
+        m_first = new int[numMerges];
+        m_second = new int[numMerges];
+        m_dist = new float[numMerges];
+        for (int i = 0; i < numMerges; i++) {
+            final int o = order[i];
+            final int rootA = find(parent, pointA[o]);
+            final int rootB = find(parent, pointB[o]);
+            final int clusterA = clusterOfRoot[rootA];
+            final int clusterB = clusterOfRoot[rootB];
+            m_first[i] = Math.min(clusterA, clusterB);
+            m_second[i] = Math.max(clusterA, clusterB);
+            m_dist[i] = dist[o];
+            parent[rootB] = rootA;
+            clusterOfRoot[rootA] = n + i;
+        }
+    }
+
+    private static int find(final int[] parent, final int point) {
+        int p = point;
+        while (parent[p] != p) {
+            parent[p] = parent[parent[p]];
+            p = parent[p];
+        }
+        return p;
+    }
+}
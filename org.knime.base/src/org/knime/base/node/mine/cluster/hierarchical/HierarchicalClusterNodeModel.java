@@ -58,7 +58,6 @@
 import org.knime.base.node.util.DataArray;
 import org.knime.base.node.util.DefaultDataArray;
 import org.knime.base.node.viz.plotter.DataProvider;
-import org.knime.base.util.HalfFloatMatrix;
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataColumnSpec;
 import org.knime.core.data.DataColumnSpecCreator;
@@ -236,13 +235,16 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] data,
         DataContainer fusionCont = exec.createDataContainer(createFusionSpec());
         int iterationStep = 0;
 
-        final HalfFloatMatrix cache;
-        if (m_cacheDistances.getBooleanValue()) {
-            cache = new HalfFloatMatrix((int) inputData.size(), false);
-            cache.fill(Float.NaN);
-        } else {
-            cache = null;
+        // the fast engine needs all pairwise distances in memory for average
+        // and complete linkage, single linkage gets along with linear memory
+        final Linkage linkage = Linkage.valueOf(m_linkageType.getStringValue());
+        if (linkage == Linkage.SINGLE || m_cacheDistances.getBooleanValue()) {
+            iterationStep = Math.max(clusters.size() - 1, 0);
+            outputData = mergeClusters(inputData, clusters, fusionCont,
+                    selectedColIndices, linkage, exec);
         }
+        // otherwise the clusters are merged pairwise computing the distances
+        // between their points again in each iteration
 
         double max = inputData.size();
         // the number of clusters at the beginning is equal to the number
@@ -278,16 +280,13 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] data,
                     ClusterNode node2 = clusters.get(j);
 
                     // call the chosen function to calculate the distance
-                    // between two clusters. At the moment is single linkage
-                    // and average linkage supported.
-                    if (m_linkageType.getStringValue().equals(Linkage.SINGLE.name())) {
-                        dist = calculateSingleLinkageDist(node1, node2, cache,
-                                selectedColIndices);
-                    } else if (m_linkageType.getStringValue().equals(Linkage.AVERAGE.name())) {
-                        dist = calculateAverageLinkageDist(node1, node2, cache,
+                    // between two clusters, single linkage is always handled
+                    // by the engine above
+                    if (linkage == Linkage.AVERAGE) {
+                        dist = calculateAverageLinkageDist(node1, node2,
                                 selectedColIndices);
                     } else {
-                        dist = calculateCompleteLinkageDist(node1, node2, cache,
+                        dist = calculateCompleteLinkageDist(node1, node2,
                                 selectedColIndices);
                     }
 
@@ -342,6 +341,82 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] data,
                 exec)};
     }
 
+    /*
+     * Merges the clusters with the agglomerative clustering engine and
+     * replays the merges on the cluster nodes. Afterwards the list only
+     * contains the root cluster. Returns the result table if the number of
+     * clusters for the output was reached, null otherwise.
+     */
+    private DataTable mergeClusters(final DataTable inputData,
+            final List<ClusterNode> clusters, final DataContainer fusionCont,
+            final int[] selectedColIndices, final Linkage linkage,
+            final ExecutionContext exec) throws CanceledExecutionException {
+        final int numberDataRows = clusters.size();
+        final double[][] points = new double[numberDataRows][];
+        for (int i = 0; i < numberDataRows; i++) {
+            final DataRow row = clusters.get(i).getLeafDataPoint();
+            points[i] = new double[selectedColIndices.length];
+            for (int j = 0; j < selectedColIndices.length; j++) {
+                final DataCell cell = row.getCell(selectedColIndices[j]);
+                points[i][j] = !cell.isMissing() && cell instanceof DoubleValue
+                        ? ((DoubleValue)cell).getDoubleValue() : Double.NaN;
+            }
+        }
+        final AgglomerativeClustering engine =
+                new AgglomerativeClustering(points, m_distFunction, linkage);
+        engine.run(exec.createSubProgress(0.9));
+
+        // merged clusters get the number of the points plus the merge index
+        final ClusterNode[] nodes =
+                new ClusterNode[Math.max(2 * numberDataRows - 1, 0)];
+        final boolean[] active = new boolean[nodes.length];
+        for (int i = 0; i < numberDataRows; i++) {
+            nodes[i] = clusters.get(i);
+            active[i] = true;
+        }
+        DataTable outputData = null;
+        int numClusters = numberDataRows;
+        for (int i = 0; i < engine.getNumMerges(); i++) {
+            exec.checkCanceled();
+            if (m_numClustersForOutput.getIntValue() == numClusters) {
+                outputData = createResultTable(inputData,
+                        activeClusters(nodes, active), exec);
+            }
+            final int first = engine.getFirst(i);
+            final int second = engine.getSecond(i);
+            final ClusterNode newNode = new ClusterNode(nodes[first],
+                    nodes[second], engine.getDistance(i));
+            nodes[numberDataRows + i] = newNode;
+            active[first] = false;
+            active[second] = false;
+            active[numberDataRows + i] = true;
+            numClusters--;
+
+            // store the distance per each fusion step
+            fusionCont.addRowToTable(new DefaultRow(
+                    Integer.toString(numClusters), new IntCell(numClusters),
+                    new DoubleCell(newNode.getDist())));
+        }
+        clusters.clear();
+        clusters.addAll(activeClusters(nodes, active));
+        return outputData;
+    }
+
+    /*
+     * The active clusters in the order of the naive algorithm, i.e. the
+     * remaining points followed by the merged clusters in order of creation.
+     */
+    private static List<ClusterNode> activeClusters(final ClusterNode[] nodes,
+            final boolean[] active) {
+        final List<ClusterNode> result = new ArrayList<ClusterNode>();
+        for (int i = 0; i < nodes.length; i++) {
+            if (active[i]) {
+                result.add(nodes[i]);
+            }
+        }
+        return result;
+    }
+
     private DataTableSpec createFusionSpec() {
         DataColumnSpecCreator creatorX =
                 new DataColumnSpecCreator("Nr. of Clusters", IntCell.TYPE);
@@ -362,75 +437,21 @@ public final void reset() {
         m_fusionTable = null;
     }
 
-    /*
-     * Calculates the distance via the single linkage paradigm. That means two
-     * clusters have the distance of its closest data rows
-     *
-     */
-    private float calculateSingleLinkageDist(final ClusterNode node1,
-            final ClusterNode node2, final HalfFloatMatrix cache,
-            final int[] selectedColIndices) {
-        float minDist = Float.MAX_VALUE;
-
-        for (ClusterNode node1Leaf : node1.leafs()) {
-            final DataRow row1 = node1Leaf.getLeafDataPoint();
-            final int row1Index = node1Leaf.getRowIndex();
-            for (ClusterNode node2Leaf : node2.leafs()) {
-                final DataRow row2 = node2Leaf.getLeafDataPoint();
-                final int row2Index = node2Leaf.getRowIndex();
-
-                float f = Float.NaN;
-                if (cache != null) {
-                    f = cache.get(row1Index, row2Index);
-                    if (Float.isNaN(f)) {
-                        f =
-                                (float)m_distFunction.calcDistance(row1, row2,
-                                        selectedColIndices);
-                        cache.set(row1Index, row2Index, f);
-                    }
-                } else {
-                    f =
-                            (float)m_distFunction.calcDistance(row1, row2,
-                                    selectedColIndices);
-                }
-                minDist = Math.min(minDist, f);
-            }
-        }
-
-        return minDist;
-    }
-
     /*
      * Calculates the distance via the complete linkage paradigm. That means two
      * clusters have the distance of its farest data rows
      *
      */
     private float calculateCompleteLinkageDist(final ClusterNode node1,
-            final ClusterNode node2, final HalfFloatMatrix cache,
-            final int[] selectedColIndices) {
+            final ClusterNode node2, final int[] selectedColIndices) {
         float maxDist = 0;
 
         for (ClusterNode node1Leaf : node1.leafs()) {
             final DataRow row1 = node1Leaf.getLeafDataPoint();
-            final int row1Index = node1Leaf.getRowIndex();
             for (ClusterNode node2Leaf : node2.leafs()) {
                 final DataRow row2 = node2Leaf.getLeafDataPoint();
-                final int row2Index = node2Leaf.getRowIndex();
-
-                float f = Float.NaN;
-                if (cache != null) {
-                    f = cache.get(row1Index, row2Index);
-                    if (Float.isNaN(f)) {
-                        f =
-                                (float)m_distFunction.calcDistance(row1, row2,
-                                        selectedColIndices);
-                        cache.set(row1Index, row2Index, f);
-                    }
-                } else {
-                    f =
-                            (float)m_distFunction.calcDistance(row1, row2,
-                                    selectedColIndices);
-                }
+                final float f = (float)m_distFunction.calcDistance(row1, row2,
+                        selectedColIndices);
                 maxDist = Math.max(maxDist, f);
             }
         }
@@ -444,30 +465,15 @@ private float calculateCompleteLinkageDist(final ClusterNode node1,
      * data rows.
      */
     private float calculateAverageLinkageDist(final ClusterNode node1,
-            final ClusterNode node2, final HalfFloatMatrix cache,
-            final int[] selectedColIndices) {
+            final ClusterNode node2, final int[] selectedColIndices) {
         float sumDist = 0;
 
         for (ClusterNode node1Leaf : node1.leafs()) {
             final DataRow row1 = node1Leaf.getLeafDataPoint();
-            final int row1Index = node1Leaf.getRowIndex();
             for (ClusterNode node2Leaf : node2.leafs()) {
                 final DataRow row2 = node2Leaf.getLeafDataPoint();
-                final int row2Index = node2Leaf.getRowIndex();
-
-                float f = Float.NaN;
-                if (cache != null) {
-                    f = cache.get(row1Index, row2Index);
-                    if (Float.isNaN(f)) {
-                        f = (float)m_distFunction.calcDistance(row1, row2,
-                                        selectedColIndices);
-                        cache.set(row1Index, row2Index, f);
-                    }
-                } else {
-                    f = (float)m_distFunction.calcDistance(row1, row2,
-                                    selectedColIndices);
-                }
-                sumDist += f;
+                sumDist += (float)m_distFunction.calcDistance(row1, row2,
+                        selectedColIndices);
             }
         }
 
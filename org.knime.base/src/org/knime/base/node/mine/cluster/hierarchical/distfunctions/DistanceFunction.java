@@ -47,7 +47,11 @@
 
 import java.io.Serializable;
 
+import org.knime.core.data.DataCell;
 import org.knime.core.data.DataRow;
+import org.knime.core.data.DataType;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
 
 
 // TODO: has to changed to the knime framework distance functions when available
@@ -80,5 +84,34 @@ public enum Names {
      * @return the distance of the two rows
      */
     public double calcDistance(DataRow firstDataRow, DataRow secondDataRow,
-            int[] includedCols);    
+            int[] includedCols);
+
+    /**
+     * Calculates the distance between two points given as arrays of the
+     * included values. Missing values are represented by {@link Double#NaN}
+     * and are treated like missing cells by
+     * {@link #calcDistance(DataRow, DataRow, int[])}. The default
+     * implementation wraps the values in rows; implementations should
+     * override it to avoid the object creation.
+     *
+     * @param first the values of the first point
+     * @param second the values of the second point, of the same length
+     * @return the distance of the two points
+     * @since 4.2
+     */
+    public default double calcDistance(final double[] first,
+            final double[] second) {
+        final DataCell[] firstCells = new DataCell[first.length];
+        final DataCell[] secondCells = new DataCell[second.length];
+        final int[] includedCols = new int[first.length];
+        for (int i = 0; i < first.length; i++) {
+            firstCells[i] = Double.isNaN(first[i])
+                ? DataType.getMissingCell() : new DoubleCell(first[i]);
+            secondCells[i] = Double.isNaN(second[i])
+                ? DataType.getMissingCell() : new DoubleCell(second[i]);
+            includedCols[i] = i;
+        }
+        return calcDistance(new DefaultRow("first", firstCells),
+            new DefaultRow("second", secondCells), includedCols);
+    }
 }
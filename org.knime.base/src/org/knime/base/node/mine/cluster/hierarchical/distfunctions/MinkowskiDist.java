@@ -103,6 +103,24 @@ public double calcDistance(final DataRow firstDataRow,
         
         return Math.pow(sumPowDist, (double)1 / (double)m_p);
     }
+
+    /**
+     * {@inheritDoc}
+     *
+     * @since 4.2
+     */
+    @Override
+    public double calcDistance(final double[] first, final double[] second) {
+        double sumPowDist = 0;
+        for (int i = 0; i < first.length; i++) {
+            // NaN marks a missing value, which is skipped
+            final double dist = Math.abs(first[i] - second[i]);
+            if (!Double.isNaN(dist)) {
+                sumPowDist += m_p == 1 ? dist : Math.pow(dist, m_p);
+            }
+        }
+        return Math.pow(sumPowDist, (double)1 / (double)m_p);
+    }
     
     /**
      * @param o The object to compare with.
@@ -53,13 +53,15 @@
 /**
  * This enum lists the implemented possibilities for centroid initialization.
  * It is possible to initialize the centroids with the first rows of the
- * input table or initialize them randomly.
+ * input table, initialize them randomly or with k-means++, which draws rows
+ * that are far away from the centroids chosen before.
  *
  * @author Perla Gjoka, KNIME GmbH, Konstanz, Germany
  */
 enum CentroidInitialization implements ButtonGroupEnumInterface {
         FIRST_ROWS("First k rows", null),
-        RANDOM_INITIALIZATION("Random initialization", null);
+        RANDOM_INITIALIZATION("Random initialization", null),
+        KMEANS_PLUS_PLUS("k-means++", "Random rows, far away rows are drawn with a higher probability");
 
     private final String m_text;
 
@@ -65,6 +65,7 @@
 import org.knime.core.node.defaultnodesettings.DialogComponentLabel;
 import org.knime.core.node.defaultnodesettings.DialogComponentNumber;
 import org.knime.core.node.defaultnodesettings.DialogComponentSeed;
+import org.knime.core.node.defaultnodesettings.SettingsModelBoolean;
 import org.knime.core.node.defaultnodesettings.SettingsModelIntegerBounded;
 
 /**
@@ -96,6 +97,12 @@ public class ClusterNodeDialog extends NodeDialogPane {
     private final DialogComponentBoolean m_enableHilite =
         new DialogComponentBoolean(ClusterNodeModel.createEnableHiliteModel(), "Enable Hilite Mapping");
 
+    private final DialogComponentBoolean m_miniBatch =
+        new DialogComponentBoolean(ClusterNodeModel.createMiniBatchModel(), "Use mini-batches");
+
+    private final DialogComponentNumber m_batchSize =
+        new DialogComponentNumber(ClusterNodeModel.createBatchSizeModel(), "Batch size: ", 100);
+
     /**
      * Constructor to create the dialog panel of the k-means node.
      */
@@ -118,6 +125,8 @@ public class ClusterNodeDialog extends NodeDialogPane {
         c.gridy++;
         panel.add(leftAlignmentPanel(m_maxNrOfIterations.getComponentPanel(), "Number of Iterations"), c);
         c.gridy++;
+        panel.add(createMiniBatchPanel(), c);
+        c.gridy++;
         panel.add(leftAlignmentPanel(m_columnFilter.getComponentPanel(), "Column Selection"), c);
         c.gridy++;
         c.weighty = 1;
@@ -149,9 +158,24 @@ private JPanel createClustersPanel() {
         c.insets = new Insets(0, 0, 0, 0);
         c.weightx = 1;
         clusters.add(m_centroidSeeds.getComponentPanel(), c);
+        c.gridx = 0;
+        c.gridy++;
+        c.insets = new Insets(0, 30, 0, 0);
+        c.weightx = 0;
+        clusters.add(
+            m_centroidInitialization.getButton(CentroidInitialization.KMEANS_PLUS_PLUS.getActionCommand()), c);
         return clusters;
     }
 
+    private JPanel createMiniBatchPanel() {
+        m_miniBatch.getModel().addChangeListener(e -> updateCentroidInitialization());
+        JPanel miniBatch = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        miniBatch.setBorder(BorderFactory.createTitledBorder("Mini-Batch"));
+        miniBatch.add(m_miniBatch.getComponentPanel());
+        miniBatch.add(m_batchSize.getComponentPanel());
+        return miniBatch;
+    }
+
     private static JPanel leftAlignmentPanel(final JPanel innerPanel, final String borderTitle) {
         JPanel outerPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
         outerPanel.setBorder(BorderFactory.createTitledBorder(borderTitle));
@@ -164,7 +188,10 @@ private boolean firstRowsIsSelected() {
     }
 
     private void updateCentroidInitialization() {
-        m_centroidSeeds.getModel().setEnabled(!firstRowsIsSelected());
+        final boolean miniBatch = ((SettingsModelBoolean)m_miniBatch.getModel()).getBooleanValue();
+        // mini-batches are drawn randomly, independent of the initialization
+        m_centroidSeeds.getModel().setEnabled(miniBatch || !firstRowsIsSelected());
+        m_batchSize.getModel().setEnabled(miniBatch);
 
     }
 
@@ -177,6 +204,8 @@ protected void loadSettingsFrom(final NodeSettingsRO settings, final DataTableSp
         m_maxNrOfIterations.loadSettingsFrom(settings, specs);
         m_columnFilter.loadSettingsFrom(settings, specs);
         m_enableHilite.loadSettingsFrom(settings, specs);
+        m_miniBatch.loadSettingsFrom(settings, specs);
+        m_batchSize.loadSettingsFrom(settings, specs);
         updateCentroidInitialization();
     }
 
@@ -191,6 +220,7 @@ protected void saveSettingsTo(final NodeSettingsWO settings) throws InvalidSetti
         m_maxNrOfIterations.saveSettingsTo(settings);
         m_columnFilter.saveSettingsTo(settings);
         m_enableHilite.saveSettingsTo(settings);
-
+        m_miniBatch.saveSettingsTo(settings);
+        m_batchSize.saveSettingsTo(settings);
     }
 }
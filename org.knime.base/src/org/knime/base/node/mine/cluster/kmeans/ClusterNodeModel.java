@@ -102,6 +102,17 @@
 import org.knime.core.node.property.hilite.DefaultHiLiteMapper;
 import org.knime.core.node.property.hilite.HiLiteHandler;
 import org.knime.core.node.property.hilite.HiLiteTranslator;
+import org.knime.core.node.streamable.InputPortRole;
+import org.knime.core.node.streamable.PartitionInfo;
+import org.knime.core.node.streamable.PortInput;
+import org.knime.core.node.streamable.PortObjectInput;
+import org.knime.core.node.streamable.PortObjectOutput;
+import org.knime.core.node.streamable.PortOutput;
+import org.knime.core.node.streamable.RowInput;
+import org.knime.core.node.streamable.RowOutput;
+import org.knime.core.node.streamable.StreamableOperator;
+import org.knime.core.node.streamable.StreamableOperatorInternals;
+import org.knime.core.node.streamable.simple.SimpleStreamableOperatorInternals;
 
 /**
  * Generate a clustering using a fixed number of cluster centers and the k-means
@@ -139,6 +150,18 @@ public class ClusterNodeModel extends NodeModel {
     /** Config key for the used columns. */
     public static final String CFG_COLUMNS = "cfgColmns";
 
+    /** Config key for the mini-batch k-Means option.
+     * @since 4.2 */
+    public static final String CFG_MINI_BATCH = "miniBatch";
+
+    /** Config key for the number of rows of a mini-batch.
+     * @since 4.2 */
+    public static final String CFG_BATCH_SIZE = "miniBatchSize";
+
+    /** Constant for the initial number of rows of a mini-batch used in the dialog.
+     * @since 4.2 */
+    public static final int INITIAL_BATCH_SIZE = 1000;
+
     private static final String SETTINGS_FILE_NAME = "kMeansInternalSettings";
 
     private static final String CFG_COVERAGE = "clusterCoverage";
@@ -182,6 +205,10 @@ public class ClusterNodeModel extends NodeModel {
 
     private final SettingsModelSeed m_centroidSeeds = createCentroidSeedsModel();
 
+    private final SettingsModelBoolean m_miniBatch = createMiniBatchModel();
+
+    private final SettingsModelIntegerBounded m_batchSize = createBatchSizeModel();
+
     /**
      * @return {@link SettingsModelIntegerBounded} to hold the picked number of clusters.
      */
@@ -286,6 +313,20 @@ static SettingsModelBoolean createEnableHiliteModel() {
         return new SettingsModelBoolean(CFG_ENABLE_HILITE, false);
     }
 
+    /**
+     * @return {@link SettingsModelBoolean} which holds if mini-batch k-Means is used.
+     */
+    static SettingsModelBoolean createMiniBatchModel() {
+        return new SettingsModelBoolean(CFG_MINI_BATCH, false);
+    }
+
+    /**
+     * @return {@link SettingsModelIntegerBounded} to hold the number of rows of a mini-batch.
+     */
+    static SettingsModelIntegerBounded createBatchSizeModel() {
+        return new SettingsModelIntegerBounded(CFG_BATCH_SIZE, INITIAL_BATCH_SIZE, 1, Integer.MAX_VALUE);
+    }
+
     private ClusterViewData m_viewData;
 
     private boolean m_pmmlInEnabled;
@@ -363,6 +404,8 @@ protected void saveSettingsTo(final NodeSettingsWO settings) {
         m_nrMaxIterations.saveSettingsTo(settings);
         m_usedColumns.saveSettingsTo(settings);
         m_enableHilite.saveSettingsTo(settings);
+        m_miniBatch.saveSettingsTo(settings);
+        m_batchSize.saveSettingsTo(settings);
     }
 
     /**
@@ -381,6 +424,11 @@ protected void validateSettings(final NodeSettingsRO settings) throws InvalidSet
         m_centroidInitialization.validateSettings(settings);
         m_centroidSeeds.validateSettings(settings);
         m_nrMaxIterations.validateSettings(settings);
+        // added in 4.2
+        if (settings.containsKey(CFG_MINI_BATCH)) {
+            m_miniBatch.validateSettings(settings);
+            m_batchSize.validateSettings(settings);
+        }
         // if exception is thrown -> catch it, and remember it
         // in configure set all numeric columns into includeList
         try {
@@ -414,6 +462,14 @@ protected void loadValidatedSettingsFrom(final NodeSettingsRO settings) throws I
         } else {
             m_enableHilite.setBooleanValue(false);
         }
+        // added in 4.2
+        if (settings.containsKey(CFG_MINI_BATCH)) {
+            m_miniBatch.loadSettingsFrom(settings);
+            m_batchSize.loadSettingsFrom(settings);
+        } else {
+            m_miniBatch.setBooleanValue(false);
+            m_batchSize.setIntValue(INITIAL_BATCH_SIZE);
+        }
         try {
             m_usedColumns.loadSettingsFrom(settings);
         } catch (InvalidSettingsException ise) {
@@ -437,84 +493,64 @@ protected PortObject[] execute(final PortObject[] data, final ExecutionContext e
         m_dimension = inData.getDataTableSpec().getNumColumns();
         HashMap<RowKey, Set<RowKey>> mapping = new HashMap<RowKey, Set<RowKey>>();
         addExcludeColumnsToIgnoreList(spec);
-        double[][] clusters = initializeClusters(inData);
-
-        // also keep counts of how many patterns fall in a specific cluster
-        int[] clusterCoverage = new int[m_nrOfClusters.getIntValue()];
 
         // --------- create clusters --------------
-        // reserve space for cluster center updates (do batch update!)
-        double[][] delta = new double[m_nrOfClusters.getIntValue()][];
-        for (int c = 0; c < m_nrOfClusters.getIntValue(); c++) {
-            delta[c] = new double[m_dimension - m_nrIgnoredColumns];
-        }
-
-        // main loop - until clusters stop changing or maxNrIterations reached
-        int currentIteration = 0;
-        boolean finished = false;
-        while ((!finished) && (currentIteration < m_nrMaxIterations.getIntValue())) {
-            exec.checkCanceled();
-            exec.setProgress((double)currentIteration / (double)m_nrMaxIterations.getIntValue(),
-                                 "Iteration " + currentIteration);
-            // initialize counts and cluster-deltas
-            for (int c = 0; c < m_nrOfClusters.getIntValue(); c++) {
-                clusterCoverage[c] = 0;
-                delta[c] = new double[m_dimension - m_nrIgnoredColumns];
-                int deltaPos = 0;
-                for (int i = 0; i < m_dimension; i++) {
-                    if (!m_ignoreColumn[i]) {
-                        delta[c][deltaPos++] = 0.0;
-                    }
-                }
+        final int[] usedColumns = getUsedColumns();
+        final double[] values = new double[usedColumns.length];
+        double[][] clusters;
+        int[] clusterCoverage;
+        final KMeansClusterer clusterer;
+        final MiniBatchKMeans miniBatch;
+        if (m_miniBatch.getBooleanValue()) {
+            clusterer = null;
+            miniBatch = createMiniBatchKMeans(usedColumns.length);
+            final ExecutionMonitor sampleExec = exec.createSubProgress(0.4);
+            final long nrRows = inData.size();
+            long rowIndex = 0;
+            for (DataRow row : inData) {
+                sampleExec.checkCanceled();
+                sampleExec.setProgress((double)rowIndex++ / nrRows, "Sampling rows");
+                miniBatch.addRow(readValues(row, usedColumns, values));
             }
-            // assume that we are done (i.e. clusters have stopped changing)
-            finished = true;
-            RowIterator rowIt = inData.iterator(); // first training example
-            while (rowIt.hasNext()) {
-                DataRow currentRow = rowIt.next();
-                int winner = findClosestPrototypeFor(currentRow, clusters);
-                if (winner >= 0) {
-                    // update winning cluster centers delta
-                    int deltaPos = 0;
-                    for (int i = 0; i < m_dimension; i++) {
-                        DataCell currentCell = currentRow.getCell(i);
-                        if (!m_ignoreColumn[i]) {
-                            if (!currentCell.isMissing()) {
-                                delta[winner][deltaPos] += ((DoubleValue)(currentCell)).getDoubleValue();
-                            } else {
-                                throw new Exception("Missing Values not (yet) allowed in k-Means.");
-                            }
-                            deltaPos++;
-                        }
-                    }
-                    clusterCoverage[winner]++;
+            miniBatch.train(exec.createSubProgress(0.5));
+            clusters = miniBatch.getCenters();
+            // the coverage is counted while labeling the rows
+            clusterCoverage = new int[m_nrOfClusters.getIntValue()];
+        } else {
+            miniBatch = null;
+            try (final KMeansDataMatrix matrix = readData(inData, usedColumns, exec.createSubProgress(0.1))) {
+                clusterer = new KMeansClusterer(matrix, m_nrOfClusters.getIntValue(),
+                    Runtime.getRuntime().availableProcessors());
+                final ExecutionMonitor clusterExec = exec.createSubProgress(0.8);
+                if (CentroidInitialization.valueOf(
+                    m_centroidInitialization.getStringValue()) == CentroidInitialization.KMEANS_PLUS_PLUS) {
+                    clusterer.initializeKMeansPlusPlus(m_centroidSeeds.getSeedOrRandom(),
+                        clusterExec.createSubProgress(0.1));
                 } else {
-                    // we didn't find any winner - very odd
-                    assert (winner >= 0); // let's report this during
-                    // debugging!
-                    // otherwise just don't reproduce result
-                    throw new IllegalStateException("No winner found: " + winner);
+                    clusterer.setCenters(initializeClusters(inData));
                 }
+                // main loop - until clusters stop changing or maxNrIterations reached
+                clusterCoverage =
+                    clusterer.cluster(m_nrMaxIterations.getIntValue(), clusterExec.createSubProgress(0.9));
+                clusters = clusterer.getCenters();
             }
-            // update cluster centers
-            finished = updateClusterCenters(clusterCoverage, clusters, delta);
-            currentIteration++;
-        } // while(!finished & nrIt<maxNrIt)
-        // create list of feature names
-        int k = 0;  // index of not-ignored columns
-        int j = 0;  // index of column
-        String[] featureNames = new String[m_dimension];
-        do {
-            if (!m_ignoreColumn[j]) {
-                featureNames[k] = spec.getColumnSpec(j).getName();
-                k++;
-            }
-            j++;
-        } while (j < m_dimension);
+        }
         // create output container and also mapping for HiLiteing
         BufferedDataContainer labeledInput = exec.createDataContainer(createAppendedSpec(spec));
+        final ExecutionMonitor labelExec = exec.createSubProgress(0.1);
+        final long nrRows = inData.size();
+        long rowIndex = 0;
         for (DataRow row : inData) {
-            int winner = findClosestPrototypeFor(row, clusters);
+            labelExec.checkCanceled();
+            labelExec.setProgress((double)rowIndex / nrRows);
+            final int winner;
+            if (miniBatch != null) {
+                winner = miniBatch.findClosest(readValues(row, usedColumns, values));
+                clusterCoverage[winner]++;
+            } else {
+                winner = clusterer.getCluster(rowIndex);
+            }
+            rowIndex++;
             DataCell cell = new StringCell(CLUSTER + winner);
             labeledInput.addRowToTable(new AppendedColumnRow(row, cell));
             if (m_enableHilite.getBooleanValue()) {
@@ -536,6 +572,39 @@ protected PortObject[] execute(final PortObject[] data, final ExecutionContext e
 
         // handle the optional PMML input
         PMMLPortObject inPMMLPort = m_pmmlInEnabled ? (PMMLPortObject)data[1] : null;
+        PMMLPortObject outPMMLPort = createPMMLPort(inPMMLPort, spec, clusters, clusterCoverage);
+        m_viewData = new ClusterViewData(clusters, clusterCoverage, m_dimension - m_nrIgnoredColumns,
+            createFeatureNames(spec));
+
+        if (m_outputCenters) {
+            DataContainer clusterCenterContainer = exec.createDataContainer(createClusterCentersSpec(spec));
+            for (DataRow centerRow : createClusterCenterRows(clusters)) {
+                clusterCenterContainer.addRowToTable(centerRow);
+            }
+            clusterCenterContainer.close();
+            return new PortObject[]{outData, (BufferedDataTable)clusterCenterContainer.getTable(), outPMMLPort};
+        } else {
+            return new PortObject[]{outData, outPMMLPort};
+        }
+     }
+
+    private String[] createFeatureNames(final DataTableSpec spec) {
+        // create list of feature names
+        int k = 0;  // index of not-ignored columns
+        int j = 0;  // index of column
+        String[] featureNames = new String[m_dimension];
+        do {
+            if (!m_ignoreColumn[j]) {
+                featureNames[k] = spec.getColumnSpec(j).getName();
+                k++;
+            }
+            j++;
+        } while (j < m_dimension);
+        return featureNames;
+    }
+
+    private PMMLPortObject createPMMLPort(final PMMLPortObject inPMMLPort, final DataTableSpec spec,
+        final double[][] clusters, final int[] clusterCoverage) throws InvalidSettingsException {
         PMMLPortObjectSpec inPMMLSpec = null;
         if (inPMMLPort != null) {
             inPMMLSpec = inPMMLPort.getSpec();
@@ -548,51 +617,27 @@ protected PortObject[] execute(final PortObject[] data, final ExecutionContext e
         }
         outPMMLPort.addModelTranslater(new PMMLClusterTranslator(ComparisonMeasure.squaredEuclidean,
                 m_nrOfClusters.getIntValue(), clusters, clusterCoverage, columns));
-        m_viewData = new ClusterViewData(clusters, clusterCoverage, m_dimension - m_nrIgnoredColumns, featureNames);
+        return outPMMLPort;
+    }
 
-        if (m_outputCenters) {
-            DataContainer clusterCenterContainer = exec.createDataContainer(createClusterCentersSpec(spec));
-            int i = 0;
-            for (double[] cluster : clusters) {
-                List<DataCell> cells = new ArrayList<>();
-                for (double d : cluster) {
-                    cells.add(new DoubleCell(d));
-                }
-                clusterCenterContainer.addRowToTable(new DefaultRow(new RowKey(
-                    PMMLClusterTranslator.CLUSTER_NAME_PREFIX + i++), cells));
+    private static List<DataRow> createClusterCenterRows(final double[][] clusters) {
+        final List<DataRow> rows = new ArrayList<>(clusters.length);
+        int i = 0;
+        for (double[] cluster : clusters) {
+            List<DataCell> cells = new ArrayList<>();
+            for (double d : cluster) {
+                cells.add(new DoubleCell(d));
             }
-            clusterCenterContainer.close();
-            return new PortObject[]{outData, (BufferedDataTable)clusterCenterContainer.getTable(), outPMMLPort};
-        } else {
-            return new PortObject[]{outData, outPMMLPort};
+            rows.add(new DefaultRow(new RowKey(PMMLClusterTranslator.CLUSTER_NAME_PREFIX + i++), cells));
         }
-     }
+        return rows;
+    }
 
-    private boolean updateClusterCenters(final int[] clusterCoverage,
-                                        final double[][] clusters,
-                                        final double[][] delta) {
-        boolean finished = true;
-        for (int c = 0; c < m_nrOfClusters.getIntValue(); c++) {
-            if (clusterCoverage[c] > 0) {
-                // only update clusters who do cover some pattern:
-                int pos = 0;
-                for (int i = 0; i < m_dimension; i++) {
-                    if (m_ignoreColumn[i]) {
-                        continue;
-                    }
-                    // normalize delta by nr of covered patterns
-                    double newValue = delta[c][pos] / clusterCoverage[c];
-                    // compare before assigning the value to make sure we
-                    // don't stop if things have changed substantially
-                    if (Math.abs(clusters[c][pos] - newValue) > 1e-10) {
-                        finished = false;
-                    }
-                    clusters[c][pos] = newValue;
-                    pos++;
-                }
-            }
-        }
-        return finished;
+    private MiniBatchKMeans createMiniBatchKMeans(final int numCols) {
+        return new MiniBatchKMeans(m_nrOfClusters.getIntValue(), numCols, m_batchSize.getIntValue(),
+            m_nrMaxIterations.getIntValue(),
+            CentroidInitialization.valueOf(m_centroidInitialization.getStringValue()),
+            m_centroidSeeds.getSeedOrRandom());
     }
 
     private double[][] initializeClusters(final BufferedDataTable input) {
@@ -670,34 +715,190 @@ private void assignCluster(final DataRow currentRow, final double[][] clusters,
         }
     }
 
-    private int findClosestPrototypeFor(final DataRow row, final double[][] clusters) {
-        // find closest cluster center
-        int winner = -1; // closest cluster so far
-        double winnerDistance = Double.MAX_VALUE; // best distance
-        for (int c = 0; c < m_nrOfClusters.getIntValue(); c++) {
-            double distance = 0.0;
-            int pos = 0;
-            for (int i = 0; i < m_dimension; i++) {
-                DataCell currentCell = row.getCell(i);
-                if (!m_ignoreColumn[i]) {
-                    if (!currentCell.isMissing()) {
-                        assert currentCell.getType().isCompatible(DoubleValue.class);
-                        double d = (clusters[c][pos] - ((DoubleValue)(currentCell)).getDoubleValue());
-                        if (!Double.isNaN(d)) {
-                            distance += d * d;
-                        }
-                    } else {
-                        distance += 0.0; // missing
+    /** @return the indices of the columns that are not ignored */
+    private int[] getUsedColumns() {
+        final int[] usedColumns = new int[m_dimension - m_nrIgnoredColumns];
+        for (int i = 0, pos = 0; i < m_dimension; i++) {
+            if (!m_ignoreColumn[i]) {
+                usedColumns[pos++] = i;
+            }
+        }
+        return usedColumns;
+    }
+
+    /** Reads the values of the used columns of the row into the given array, which is returned. */
+    private static double[] readValues(final DataRow row, final int[] usedColumns, final double[] values)
+        throws Exception {
+        for (int i = 0; i < usedColumns.length; i++) {
+            final DataCell cell = row.getCell(usedColumns[i]);
+            if (cell.isMissing()) {
+                throw new Exception("Missing Values not (yet) allowed in k-Means.");
+            }
+            values[i] = ((DoubleValue)cell).getDoubleValue();
+        }
+        return values;
+    }
+
+    /**
+     * Reads the values of the used columns into a matrix.
+     */
+    private static KMeansDataMatrix readData(final BufferedDataTable inData, final int[] usedColumns,
+        final ExecutionMonitor exec) throws Exception {
+        final long nrRows = inData.size();
+        final KMeansDataMatrix matrix = KMeansDataMatrix.create(usedColumns.length, nrRows);
+        try {
+            final double[] values = new double[usedColumns.length];
+            long rowIndex = 0;
+            for (DataRow row : inData) {
+                exec.checkCanceled();
+                exec.setProgress((double)rowIndex++ / nrRows, "Reading data");
+                matrix.addRow(readValues(row, usedColumns, values));
+            }
+            matrix.finish();
+        } catch (Exception e) {
+            matrix.close();
+            throw e;
+        }
+        return matrix;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public InputPortRole[] getInputPortRoles() {
+        if (!m_miniBatch.getBooleanValue()) {
+            return super.getInputPortRoles();
+        }
+        final InputPortRole[] inputPortRoles = new InputPortRole[getNrInPorts()];
+        inputPortRoles[0] = InputPortRole.NONDISTRIBUTED_STREAMABLE;
+        if (m_pmmlInEnabled) {
+            inputPortRoles[1] = InputPortRole.NONDISTRIBUTED_NONSTREAMABLE;
+        }
+        return inputPortRoles;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StreamableOperatorInternals createInitialStreamableOperatorInternals() {
+        if (!m_miniBatch.getBooleanValue()) {
+            return super.createInitialStreamableOperatorInternals();
+        }
+        return new SimpleStreamableOperatorInternals();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean iterate(final StreamableOperatorInternals internals) {
+        // the first pass trains the cluster centers, the final pass assigns the rows
+        return m_miniBatch.getBooleanValue() && readCenters(internals) == null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StreamableOperator createStreamableOperator(final PartitionInfo partitionInfo,
+        final PortObjectSpec[] inSpecs) throws InvalidSettingsException {
+        if (!m_miniBatch.getBooleanValue()) {
+            return super.createStreamableOperator(partitionInfo, inSpecs);
+        }
+        return new StreamableOperator() {
+
+            private double[][] m_centers;
+
+            @Override
+            public void runIntermediate(final PortInput[] inputs, final ExecutionContext exec) throws Exception {
+                final RowInput input = (RowInput)inputs[0];
+                initColumns(input.getDataTableSpec());
+                final int[] usedColumns = getUsedColumns();
+                final MiniBatchKMeans miniBatch = createMiniBatchKMeans(usedColumns.length);
+                final double[] values = new double[usedColumns.length];
+                DataRow row;
+                while ((row = input.poll()) != null) {
+                    exec.checkCanceled();
+                    miniBatch.addRow(readValues(row, usedColumns, values));
+                }
+                input.close();
+                miniBatch.train(exec);
+                m_centers = miniBatch.getCenters();
+            }
+
+            @Override
+            public void runFinal(final PortInput[] inputs, final PortOutput[] outputs, final ExecutionContext exec)
+                throws Exception {
+                final RowInput input = (RowInput)inputs[0];
+                final DataTableSpec spec = input.getDataTableSpec();
+                initColumns(spec);
+                final int[] usedColumns = getUsedColumns();
+                final MiniBatchKMeans miniBatch = createMiniBatchKMeans(usedColumns.length);
+                miniBatch.setCenters(m_centers);
+                final int[] clusterCoverage = new int[m_centers.length];
+                final double[] values = new double[usedColumns.length];
+                final RowOutput output = (RowOutput)outputs[0];
+                DataRow row;
+                while ((row = input.poll()) != null) {
+                    exec.checkCanceled();
+                    final int winner = miniBatch.findClosest(readValues(row, usedColumns, values));
+                    clusterCoverage[winner]++;
+                    output.push(new AppendedColumnRow(row, new StringCell(CLUSTER + winner)));
+                }
+                input.close();
+                output.close();
+
+                if (m_outputCenters) {
+                    final RowOutput centersOutput = (RowOutput)outputs[1];
+                    for (DataRow centerRow : createClusterCenterRows(m_centers)) {
+                        centersOutput.push(centerRow);
                     }
-                    pos++;
+                    centersOutput.close();
                 }
+                final PMMLPortObject inPMMLPort =
+                    m_pmmlInEnabled ? (PMMLPortObject)((PortObjectInput)inputs[1]).getPortObject() : null;
+                ((PortObjectOutput)outputs[outputs.length - 1])
+                    .setPortObject(createPMMLPort(inPMMLPort, spec, m_centers, clusterCoverage));
+                m_viewData = new ClusterViewData(m_centers, clusterCoverage, m_dimension - m_nrIgnoredColumns,
+                    createFeatureNames(spec));
             }
-            if (distance < winnerDistance) { // found closer cluster
-                winner = c; // make it new winner
-                winnerDistance = distance;
+
+            @Override
+            public StreamableOperatorInternals saveInternals() {
+                final SimpleStreamableOperatorInternals internals = new SimpleStreamableOperatorInternals();
+                if (m_centers != null) {
+                    for (int i = 0; i < m_centers.length; i++) {
+                        internals.getConfig().addDoubleArray(CFG_CLUSTER + i, m_centers[i]);
+                    }
+                }
+                return internals;
+            }
+
+            @Override
+            public void loadInternals(final StreamableOperatorInternals internals) {
+                m_centers = readCenters(internals);
             }
-        } // for all clusters (find closest one)
-        return winner;
+        };
+    }
+
+    private void initColumns(final DataTableSpec spec) {
+        m_dimension = spec.getNumColumns();
+        addExcludeColumnsToIgnoreList(spec);
+    }
+
+    /** @return the cluster centers stored in the internals or <code>null</code> if not trained yet */
+    private double[][] readCenters(final StreamableOperatorInternals internals) {
+        final SimpleStreamableOperatorInternals simpleInternals = (SimpleStreamableOperatorInternals)internals;
+        if (!simpleInternals.getConfig().containsKey(CFG_CLUSTER + 0)) {
+            return null;
+        }
+        final double[][] centers = new double[m_nrOfClusters.getIntValue()][];
+        for (int i = 0; i < centers.length; i++) {
+            centers[i] = simpleInternals.getConfig().getDoubleArray(CFG_CLUSTER + i, (double[])null);
+        }
+        return centers;
     }
 
     /**
@@ -0,0 +1,503 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.base.node.mine.cluster.kmeans;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+import org.apache.commons.math3.random.RandomDataGenerator;
+import org.knime.base.util.ExecutionExceptionUtil;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.util.ThreadPool;
+
+/**
+ * Runs the k-Means iterations on a {@link KMeansDataMatrix}. The rows are assigned to the closest cluster center in
+ * parallel, one task per range of blocks with its own sums of the assigned rows.
+ * <p>
+ * Most distance computations are skipped using the bounds of Hamerly's algorithm: for each row an upper bound of the
+ * distance to its cluster center and a lower bound of the distance to all other centers are kept and updated by the
+ * distances the centers move. If the upper bound is smaller than the lower bound and than half the distance of the
+ * assigned center to the next center, the assignment cannot change. Otherwise the distances to all centers are
+ * computed, which always happens if the data contains infinite or NaN values. The assignments are the same as the
+ * ones of the full search: each row is assigned to the first of the closest centers, NaN differences are ignored.
+ *
+ * @author agent
+ */
+final class KMeansClusterer {
+
+    /** The relative tolerance of the bounds, which compensates rounding errors. */
+    private static final double BOUND_TOLERANCE = 1e-10;
+
+    /** Centers that move less than this in every dimension are considered unchanged. */
+    private static final double CONVERGENCE_THRESHOLD = 1e-10;
+
+    private final KMeansDataMatrix m_data;
+
+    private final double[][] m_centers;
+
+    private final int m_numThreads;
+
+    private final ThreadPool m_pool;
+
+    /** The cluster of each row, per block. */
+    private final int[][] m_assignments;
+
+    /** The upper bound of the distance of each row to its cluster center, per block. */
+    private final double[][] m_upper;
+
+    /** The lower bound of the distance of each row to all other centers, per block. */
+    private final double[][] m_lower;
+
+    /** Half the distance of each center to its closest other center. */
+    private final double[] m_halfMinDistance;
+
+    /** The distance each center moved in the last update. */
+    private final double[] m_moved;
+
+    private boolean m_useBounds;
+
+    /** Whether the rows have been assigned once, i.e. the bounds are initialized. */
+    private boolean m_assigned;
+
+    /**
+     * @param data the data to cluster
+     * @param numClusters the number of clusters
+     * @param numThreads the maximal number of threads used to assign the rows
+     */
+    KMeansClusterer(final KMeansDataMatrix data, final int numClusters, final int numThreads) {
+        m_data = data;
+        m_centers = new double[numClusters][data.getNumCols()];
+        m_numThreads = Math.max(1, Math.min(numThreads, data.getNumBlocks()));
+        m_pool = m_numThreads == 1 ? null : KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(m_numThreads);
+        final int numBlocks = data.getNumBlocks();
+        m_assignments = new int[numBlocks][];
+        m_upper = new double[numBlocks][];
+        m_lower = new double[numBlocks][];
+        for (int b = 0; b < numBlocks; b++) {
+            final int size = data.getBlockSize(b);
+            m_assignments[b] = new int[size];
+            m_upper[b] = new double[size];
+            m_lower[b] = new double[size];
+        }
+        m_halfMinDistance = new double[numClusters];
+        m_moved = new double[numClusters];
+        m_useBounds = data.isAllFinite();
+    }
+
+    /**
+     * @return the cluster centers, which are updated by {@link #cluster(int, ExecutionMonitor)}
+     */
+    double[][] getCenters() {
+        return m_centers;
+    }
+
+    /**
+     * Sets the initial cluster centers.
+     *
+     * @param centers the centers, which are copied
+     */
+    void setCenters(final double[][] centers) {
+        for (int c = 0; c < m_centers.length; c++) {
+            System.arraycopy(centers[c], 0, m_centers[c], 0, m_centers[c].length);
+        }
+        m_assigned = false;
+    }
+
+    /**
+     * Initializes the cluster centers with k-means++: the first center is a random row, each further center is a row
+     * that is drawn with a probability proportional to its squared distance to the closest center chosen so far.
+     *
+     * @param seed the seed of the random numbers
+     * @param exec the monitor to report progress and check for cancellation
+     * @throws CanceledExecutionException if the execution was canceled
+     */
+    void initializeKMeansPlusPlus(final long seed, final ExecutionMonitor exec) throws CanceledExecutionException {
+        m_assigned = false;
+        final long numRows = m_data.getNumRows();
+        if (numRows == 0) {
+            return;
+        }
+        final RandomDataGenerator rdg = new RandomDataGenerator();
+        rdg.reSeed(seed);
+        // the upper bounds hold the squared distance to the closest chosen center until the rows are assigned
+        final double[][] minDistances = m_upper;
+        for (final double[] distances : minDistances) {
+            Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        }
+        final double[] blockSums = new double[m_data.getNumBlocks()];
+        long row = rdg.nextLong(0L, numRows - 1);
+        for (int c = 0; c < m_centers.length; c++) {
+            exec.checkCanceled();
+            exec.setProgress((double)c / m_centers.length, "Initializing cluster " + c);
+            copyRow(row, m_centers[c]);
+            if (c == m_centers.length - 1) {
+                break;
+            }
+            final double[] center = m_centers[c];
+            final double total = runTasks((block, values) -> {
+                final double[] distances = minDistances[block];
+                double sum = 0;
+                for (int r = 0; r < distances.length; r++) {
+                    distances[r] = Math.min(distances[r], distance(values, r, center));
+                    sum += distances[r];
+                }
+                blockSums[block] = sum;
+                return sum;
+            }, exec);
+            row = drawRow(rdg, minDistances, blockSums, total);
+        }
+    }
+
+    /** Draws a row with a probability proportional to its distance, a random row if all distances are 0. */
+    private long drawRow(final RandomDataGenerator rdg, final double[][] distances, final double[] blockSums,
+        final double total) {
+        if (!(total > 0) || Double.isInfinite(total)) {
+            return rdg.nextLong(0L, m_data.getNumRows() - 1);
+        }
+        final long blockRows = m_data.getBlockRows();
+        double target = rdg.getRandomGenerator().nextDouble() * total;
+        for (int b = 0; b < blockSums.length; b++) {
+            if (target >= blockSums[b]) {
+                target -= blockSums[b];
+                continue;
+            }
+            for (int r = 0; r < distances[b].length; r++) {
+                if (target < distances[b][r]) {
+                    return b * blockRows + r;
+                }
+                target -= distances[b][r];
+            }
+        }
+        // only reached due to rounding errors, take the last row with a positive distance
+        for (int b = blockSums.length - 1; b >= 0; b--) {
+            for (int r = distances[b].length - 1; r >= 0; r--) {
+                if (distances[b][r] > 0) {
+                    return b * blockRows + r;
+                }
+            }
+        }
+        return 0;
+    }
+
+    private void copyRow(final long row, final double[] center) {
+        final int block = (int)(row / m_data.getBlockRows());
+        final int offset = (int)(row % m_data.getBlockRows()) * center.length;
+        final double[] values = m_data.getBlock(block, m_data.isInMemory() ? null
+            : new double[m_data.getBlockSize(block) * m_data.getNumCols()]);
+        System.arraycopy(values, offset, center, 0, center.length);
+    }
+
+    /**
+     * Runs the k-Means iterations until the centers do not change anymore or the maximal number of iterations is
+     * reached. Afterwards the rows are assigned to the final centers.
+     *
+     * @param maxIterations the maximal number of iterations
+     * @param exec the monitor to report progress and check for cancellation
+     * @return the number of rows assigned to each cluster in the last iteration
+     * @throws CanceledExecutionException if the execution was canceled
+     */
+    int[] cluster(final int maxIterations, final ExecutionMonitor exec) throws CanceledExecutionException {
+        final int numClusters = m_centers.length;
+        final int numCols = m_data.getNumCols();
+        final double[][] sums = new double[numClusters][numCols];
+        final long[] counts = new long[numClusters];
+        int iteration = 0;
+        boolean finished = false;
+        while (!finished && iteration < maxIterations) {
+            exec.checkCanceled();
+            exec.setProgress((double)iteration / maxIterations, "Iteration " + iteration);
+            for (final double[] sum : sums) {
+                Arrays.fill(sum, 0);
+            }
+            Arrays.fill(counts, 0);
+            assignRows(sums, counts, exec);
+            finished = updateCenters(sums, counts);
+            iteration++;
+        }
+        final int[] coverage = new int[numClusters];
+        for (int c = 0; c < numClusters; c++) {
+            coverage[c] = (int)counts[c];
+        }
+        // assign the rows to the final centers
+        assignRows(null, null, exec);
+        return coverage;
+    }
+
+    /**
+     * @param row the index of a row
+     * @return the cluster the row is assigned to
+     */
+    int getCluster(final long row) {
+        return m_assignments[(int)(row / m_data.getBlockRows())][(int)(row % m_data.getBlockRows())];
+    }
+
+    /** Moves the centers to the means of their rows, returns <code>true</code> if no center changed. */
+    private boolean updateCenters(final double[][] sums, final long[] counts) {
+        boolean finished = true;
+        double maxMoved = 0;
+        for (int c = 0; c < m_centers.length; c++) {
+            double moved = 0;
+            // only update clusters who do cover some rows
+            if (counts[c] > 0) {
+                final double[] center = m_centers[c];
+                for (int i = 0; i < center.length; i++) {
+                    final double newValue = sums[c][i] / counts[c];
+                    if (Math.abs(center[i] - newValue) > CONVERGENCE_THRESHOLD) {
+                        finished = false;
+                    }
+                    final double d = center[i] - newValue;
+                    moved += d * d;
+                    center[i] = newValue;
+                }
+            }
+            m_moved[c] = Math.sqrt(moved);
+            maxMoved = Math.max(maxMoved, m_moved[c]);
+        }
+        if (!Double.isFinite(maxMoved)) {
+            // the sums overflowed, the bounds cannot be used anymore
+            m_useBounds = false;
+        }
+        return finished;
+    }
+
+    /** Assigns all rows and adds them to the sums of their clusters if the sums are not <code>null</code>. */
+    private void assignRows(final double[][] sums, final long[] counts, final ExecutionMonitor exec)
+        throws CanceledExecutionException {
+        final int numClusters = m_centers.length;
+        final boolean useBounds = m_useBounds && m_assigned && numClusters > 1;
+        // the largest and second largest moves, the lower bounds decrease by the largest move of another center
+        int maxMovedCluster = -1;
+        double maxMoved = 0;
+        double secondMaxMoved = 0;
+        if (useBounds) {
+            for (int c = 0; c < numClusters; c++) {
+                if (m_moved[c] > maxMoved) {
+                    secondMaxMoved = maxMoved;
+                    maxMoved = m_moved[c];
+                    maxMovedCluster = c;
+                } else if (m_moved[c] > secondMaxMoved) {
+                    secondMaxMoved = m_moved[c];
+                }
+            }
+            for (int c = 0; c < numClusters; c++) {
+                double min = Double.POSITIVE_INFINITY;
+                for (int o = 0; o < numClusters; o++) {
+                    if (o != c) {
+                        min = Math.min(min, distance(m_centers[o], 0, m_centers[c]));
+                    }
+                }
+                m_halfMinDistance[c] = Math.sqrt(min) / 2;
+            }
+        }
+        final int maxMovedClusterFinal = maxMovedCluster;
+        final double maxMovedFinal = maxMoved;
+        final double secondMaxMovedFinal = secondMaxMoved;
+        final int numCols = m_data.getNumCols();
+        // the sums of each task, merged in a fixed order afterwards
+        final double[][][] taskSums = new double[m_numThreads][][];
+        final long[][] taskCounts = new long[m_numThreads][];
+        runTasks(range -> {
+            final double[][] s = sums == null ? null : new double[numClusters][numCols];
+            final long[] n = sums == null ? null : new long[numClusters];
+            taskSums[range] = s;
+            taskCounts[range] = n;
+            return (block, values) -> {
+                final int[] assignments = m_assignments[block];
+                final double[] upper = m_upper[block];
+                final double[] lower = m_lower[block];
+                for (int r = 0; r < assignments.length; r++) {
+                    int a = assignments[r];
+                    if (useBounds) {
+                        upper[r] += m_moved[a];
+                        lower[r] -= a == maxMovedClusterFinal ? secondMaxMovedFinal : maxMovedFinal;
+                        final double bound = Math.max(m_halfMinDistance[a], lower[r]) * (1 - BOUND_TOLERANCE);
+                        if (upper[r] >= bound) {
+                            upper[r] = Math.sqrt(distance(values, r, m_centers[a]));
+                            if (upper[r] >= bound) {
+                                a = assignToClosest(values, r, assignments, upper, lower);
+                            }
+                        }
+                    } else {
+                        a = assignToClosest(values, r, assignments, upper, lower);
+                    }
+                    if (s != null) {
+                        final double[] sum = s[a];
+                        final int offset = r * numCols;
+                        for (int i = 0; i < numCols; i++) {
+                            sum[i] += values[offset + i];
+                        }
+                        n[a]++;
+                    }
+                }
+                return 0;
+            };
+        }, exec);
+        m_assigned = true;
+        if (sums != null) {
+            for (int t = 0; t < taskSums.length; t++) {
+                if (taskSums[t] == null) {
+                    continue;
+                }
+                for (int c = 0; c < numClusters; c++) {
+                    final double[] sum = taskSums[t][c];
+                    for (int i = 0; i < numCols; i++) {
+                        sums[c][i] += sum[i];
+                    }
+                    counts[c] += taskCounts[t][c];
+                }
+            }
+        }
+    }
+
+    /** Assigns the row to the first of the closest centers, sets its bounds and returns the center. */
+    private int assignToClosest(final double[] values, final int row, final int[] assignments, final double[] upper,
+        final double[] lower) {
+        int winner = -1;
+        double winnerDistance = Double.MAX_VALUE;
+        double secondDistance = Double.MAX_VALUE;
+        for (int c = 0; c < m_centers.length; c++) {
+            final double distance = distance(values, row, m_centers[c]);
+            if (distance < winnerDistance) {
+                secondDistance = winnerDistance;
+                winner = c;
+                winnerDistance = distance;
+            } else if (distance < secondDistance) {
+                secondDistance = distance;
+            }
+        }
+        if (winner < 0) {
+            throw new IllegalStateException("No winner found: " + winner);
+        }
+        assignments[row] = winner;
+        upper[row] = Math.sqrt(winnerDistance);
+        lower[row] = m_centers.length == 1 ? Double.POSITIVE_INFINITY : Math.sqrt(secondDistance);
+        return winner;
+    }
+
+    /** The squared distance of a row of the values to the center, NaN differences are ignored. */
+    private static double distance(final double[] values, final int row, final double[] center) {
+        final int offset = row * center.length;
+        double distance = 0.0;
+        for (int i = 0; i < center.length; i++) {
+            final double d = center[i] - values[offset + i];
+            if (!Double.isNaN(d)) {
+                distance += d * d;
+            }
+        }
+        return distance;
+    }
+
+    /** Processes the rows of a block. */
+    @FunctionalInterface
+    private interface BlockTask {
+        /**
+         * @param block the index of the block
+         * @param values the values of the block
+         * @return a value that is summed up over all blocks
+         */
+        double process(int block, double[] values);
+    }
+
+    private double runTasks(final BlockTask task, final ExecutionMonitor exec) throws CanceledExecutionException {
+        return runTasks(range -> task, exec);
+    }
+
+    /**
+     * Processes all blocks, one task per thread and range of blocks. The task factory is called once per range with
+     * the index of the range.
+     */
+    private double runTasks(final IntFunction<BlockTask> taskFactory, final ExecutionMonitor exec)
+        throws CanceledExecutionException {
+        final int numBlocks = m_data.getNumBlocks();
+        final int numRanges = m_numThreads;
+        if (numRanges <= 1) {
+            return processBlocks(taskFactory.apply(0), 0, numBlocks, exec);
+        }
+        final List<Future<Double>> futures = new ArrayList<>(numRanges);
+        try {
+            for (int t = 0; t < numRanges; t++) {
+                final int from = (int)((long)numBlocks * t / numRanges);
+                final int to = (int)((long)numBlocks * (t + 1) / numRanges);
+                final BlockTask task = taskFactory.apply(t);
+                futures.add(m_pool.enqueue(() -> processBlocks(task, from, to, exec)));
+            }
+            return m_pool.runInvisible(() -> {
+                double sum = 0;
+                for (Future<Double> future : futures) {
+                    sum += future.get();
+                }
+                return sum;
+            });
+        } catch (ExecutionException e) {
+            throw ExecutionExceptionUtil.rethrowCause(e, "k-Means failed");
+        } finally {
+            for (Future<Double> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    private double processBlocks(final BlockTask task, final int from, final int to, final ExecutionMonitor exec)
+        throws CanceledExecutionException {
+        final double[] buffer =
+            m_data.isInMemory() ? null : new double[m_data.getBlockRows() * m_data.getNumCols()];
+        double sum = 0;
+        for (int b = from; b < to; b++) {
+            exec.checkCanceled();
+            sum += task.process(b, m_data.getBlock(b, buffer));
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,286 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.base.node.mine.cluster.kmeans;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.knime.core.node.NodeLogger;
+import org.knime.core.util.FileUtil;
+
+/**
+ * The values of the clustered columns in row-major order. The rows are split into blocks of equal size, which are
+ * the units of work of the {@link KMeansClusterer}. The blocks are kept in memory if the matrix is small compared to
+ * the heap, otherwise they are written to a temporary file that is memory-mapped.
+ *
+ * @author agent
+ */
+final class KMeansDataMatrix implements AutoCloseable {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(KMeansDataMatrix.class);
+
+    /** The maximal number of rows of a block. */
+    private static final int MAX_BLOCK_ROWS = 1 << 14;
+
+    /** The approximate number of values of a block. */
+    private static final int BLOCK_VALUES = 1 << 20;
+
+    /** The maximal size of a memory-mapped region in bytes. */
+    private static final long MAX_REGION_BYTES = 1L << 30;
+
+    private final int m_numCols;
+
+    private final long m_numRows;
+
+    private final int m_blockRows;
+
+    private final int m_numBlocks;
+
+    /** The blocks if kept in memory, <code>null</code> otherwise. */
+    private final double[][] m_blocks;
+
+    /** The temporary file if the blocks are memory-mapped, <code>null</code> otherwise. */
+    private File m_file;
+
+    private DataOutputStream m_out;
+
+    /** The memory-mapped blocks, set when all rows have been added. */
+    private DoubleBuffer[] m_mappedBlocks;
+
+    private long m_addedRows;
+
+    private boolean m_allFinite = true;
+
+    /**
+     * Creates a matrix that is kept in memory if it needs less than a quarter of the maximal heap.
+     *
+     * @param numCols the number of columns
+     * @param numRows the number of rows
+     * @return the matrix to add the rows to
+     * @throws IOException if the temporary file cannot be created
+     */
+    static KMeansDataMatrix create(final int numCols, final long numRows) throws IOException {
+        final long bytes = Math.max(1, numCols) * numRows * Double.BYTES;
+        return new KMeansDataMatrix(numCols, numRows, bytes <= Runtime.getRuntime().maxMemory() / 4);
+    }
+
+    /**
+     * @param numCols the number of columns
+     * @param numRows the number of rows
+     * @param inMemory whether to keep the blocks in memory or in a memory-mapped file
+     * @throws IOException if the temporary file cannot be created
+     */
+    KMeansDataMatrix(final int numCols, final long numRows, final boolean inMemory) throws IOException {
+        m_numCols = numCols;
+        m_numRows = numRows;
+        m_blockRows = (int)Math.max(1, Math.min(MAX_BLOCK_ROWS, BLOCK_VALUES / Math.max(1, numCols)));
+        final long numBlocks = (numRows + m_blockRows - 1) / m_blockRows;
+        if (numBlocks > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Too many rows: " + numRows);
+        }
+        m_numBlocks = (int)numBlocks;
+        if (inMemory) {
+            m_blocks = new double[m_numBlocks][];
+            for (int b = 0; b < m_numBlocks; b++) {
+                m_blocks[b] = new double[getBlockSize(b) * numCols];
+            }
+        } else {
+            m_blocks = null;
+            m_file = FileUtil.createTempFile("kmeans", ".bin");
+            m_file.deleteOnExit();
+            m_out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(m_file)));
+        }
+    }
+
+    /**
+     * Adds the next row, the rows must be added in the order of the table.
+     *
+     * @param values the values of the row
+     * @throws IOException if the row cannot be written to the temporary file
+     */
+    void addRow(final double[] values) throws IOException {
+        if (m_addedRows >= m_numRows) {
+            throw new IllegalStateException("All " + m_numRows + " rows have been added already");
+        }
+        for (int i = 0; i < m_numCols; i++) {
+            m_allFinite &= Double.isFinite(values[i]);
+        }
+        if (m_blocks != null) {
+            final int block = (int)(m_addedRows / m_blockRows);
+            final int offset = (int)(m_addedRows % m_blockRows) * m_numCols;
+            System.arraycopy(values, 0, m_blocks[block], offset, m_numCols);
+        } else {
+            for (int i = 0; i < m_numCols; i++) {
+                m_out.writeDouble(values[i]);
+            }
+        }
+        m_addedRows++;
+    }
+
+    /**
+     * Must be called after all rows have been added, maps the temporary file if the blocks are not kept in memory.
+     *
+     * @throws IOException if the temporary file cannot be mapped
+     */
+    void finish() throws IOException {
+        if (m_addedRows != m_numRows) {
+            throw new IllegalStateException("Only " + m_addedRows + " of " + m_numRows + " rows have been added");
+        }
+        if (m_blocks != null || m_mappedBlocks != null) {
+            return;
+        }
+        m_out.close();
+        m_out = null;
+        final long blockBytes = (long)m_blockRows * m_numCols * Double.BYTES;
+        final int blocksPerRegion = (int)Math.max(1, Math.min(m_numBlocks, MAX_REGION_BYTES / Math.max(1, blockBytes)));
+        final List<DoubleBuffer> blocks = new ArrayList<>(m_numBlocks);
+        try (final RandomAccessFile file = new RandomAccessFile(m_file, "r");
+                final FileChannel channel = file.getChannel()) {
+            for (int first = 0; first < m_numBlocks; first += blocksPerRegion) {
+                final int last = Math.min(m_numBlocks, first + blocksPerRegion);
+                final long start = first * blockBytes;
+                final long end = Math.min(channel.size(), last * blockBytes);
+                final MappedByteBuffer region = channel.map(MapMode.READ_ONLY, start, end - start);
+                final DoubleBuffer values = region.asDoubleBuffer();
+                for (int b = first; b < last; b++) {
+                    final int from = (int)((b - first) * blockBytes / Double.BYTES);
+                    values.limit(from + getBlockSize(b) * m_numCols).position(from);
+                    blocks.add(values.slice());
+                }
+            }
+        }
+        m_mappedBlocks = blocks.toArray(new DoubleBuffer[0]);
+    }
+
+    /** @return the number of columns */
+    int getNumCols() {
+        return m_numCols;
+    }
+
+    /** @return the number of rows */
+    long getNumRows() {
+        return m_numRows;
+    }
+
+    /** @return the number of blocks */
+    int getNumBlocks() {
+        return m_numBlocks;
+    }
+
+    /** @return the number of rows of all but the last block */
+    int getBlockRows() {
+        return m_blockRows;
+    }
+
+    /**
+     * @param block the index of the block
+     * @return the number of rows of the block
+     */
+    int getBlockSize(final int block) {
+        return (int)Math.min(m_blockRows, m_numRows - (long)block * m_blockRows);
+    }
+
+    /** @return <code>true</code> if the blocks are kept in memory */
+    boolean isInMemory() {
+        return m_blocks != null;
+    }
+
+    /** @return <code>true</code> if all added values are neither infinite nor NaN */
+    boolean isAllFinite() {
+        return m_allFinite;
+    }
+
+    /**
+     * Returns the values of a block in row-major order.
+     *
+     * @param block the index of the block
+     * @param buffer an array of at least {@link #getBlockRows()} times {@link #getNumCols()} values, which is filled
+     *            if the block is memory-mapped, may be <code>null</code> if the matrix {@link #isInMemory()}
+     * @return the values of the block, either the block itself or the filled buffer
+     */
+    double[] getBlock(final int block, final double[] buffer) {
+        if (m_blocks != null) {
+            return m_blocks[block];
+        }
+        final DoubleBuffer values = m_mappedBlocks[block].duplicate();
+        values.get(buffer, 0, values.remaining());
+        return buffer;
+    }
+
+    /**
+     * Deletes the temporary file, if any.
+     */
+    @Override
+    public void close() {
+        m_mappedBlocks = null;
+        if (m_out != null) {
+            try {
+                m_out.close();
+            } catch (IOException e) {
+                LOGGER.debug("Could not close k-Means data file: " + e.getMessage(), e);
+            }
+            m_out = null;
+        }
+        // a mapped file can only be deleted on some platforms, the others delete it on exit
+        if (m_file != null && !m_file.delete()) {
+            LOGGER.debug("Could not delete k-Means data file " + m_file + ", deleting it on exit");
+        }
+        m_file = null;
+    }
+}
@@ -0,0 +1,314 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.base.node.mine.cluster.kmeans;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
+
+/**
+ * Mini-batch k-Means as described by Sculley in "Web-Scale K-Means Clustering". Instead of scanning all rows in each
+ * iteration, each iteration draws a small batch of rows, assigns them to their closest centers and moves each center
+ * towards its rows with a learning rate of one over the number of rows the center has been moved towards so far.
+ * <p>
+ * The rows are read in a single pass, which keeps a uniform reservoir sample of as many rows as the batches can use.
+ * The batches are drawn from this sample with replacement. The iterations stop if no center moved more than a small
+ * fraction of the root mean square distance of the batch rows to their centers for a number of consecutive batches,
+ * or after the maximal number of batches. Afterwards the rows can be assigned to the final centers in a second pass.
+ *
+ * @author agent
+ */
+final class MiniBatchKMeans {
+
+    /** The centers have converged if they move less than this fraction of the distance of the rows to them. */
+    private static final double MOVEMENT_TOLERANCE = 1e-3;
+
+    /** The number of consecutive batches the centers need to have converged. */
+    private static final int CONVERGED_BATCHES = 10;
+
+    /** The fraction of the maximal heap the sample may use. */
+    private static final int SAMPLE_MEMORY_FRACTION = 8;
+
+    private final int m_numCols;
+
+    private final double[][] m_centers;
+
+    private final int m_batchSize;
+
+    private final int m_maxBatches;
+
+    private final CentroidInitialization m_initialization;
+
+    private final long m_seed;
+
+    private final Random m_random;
+
+    /** The maximal number of rows of the sample. */
+    private final int m_maxSampleRows;
+
+    /** The sampled rows in row-major order. */
+    private double[] m_sample = new double[0];
+
+    private int m_sampleRows;
+
+    /** The number of rows added so far. */
+    private long m_numRows;
+
+    /** The first rows, used to initialize the centers with {@link CentroidInitialization#FIRST_ROWS}. */
+    private int m_firstRows;
+
+    private int m_numBatches;
+
+    /**
+     * @param numClusters the number of clusters
+     * @param numCols the number of columns of the rows
+     * @param batchSize the number of rows of a batch
+     * @param maxBatches the maximal number of batches
+     * @param initialization how the centers are initialized
+     * @param seed the seed of the random numbers
+     */
+    MiniBatchKMeans(final int numClusters, final int numCols, final int batchSize, final int maxBatches,
+        final CentroidInitialization initialization, final long seed) {
+        m_numCols = numCols;
+        m_centers = new double[numClusters][numCols];
+        m_batchSize = batchSize;
+        m_maxBatches = maxBatches;
+        m_initialization = initialization;
+        m_seed = seed;
+        m_random = new Random(seed);
+        final long byMemory = Runtime.getRuntime().maxMemory() / SAMPLE_MEMORY_FRACTION
+            / ((long)Math.max(1, numCols) * Double.BYTES);
+        final long byBatches = (long)batchSize * maxBatches;
+        final long byArraySize = (Integer.MAX_VALUE - 8) / Math.max(1, numCols);
+        m_maxSampleRows = (int)Math.max(1, Math.min(byArraySize, Math.min(byMemory, byBatches)));
+    }
+
+    /**
+     * Adds the next row of the table to the sample.
+     *
+     * @param values the values of the row
+     */
+    void addRow(final double[] values) {
+        if (m_firstRows < m_centers.length) {
+            System.arraycopy(values, 0, m_centers[m_firstRows++], 0, m_numCols);
+        }
+        m_numRows++;
+        final int slot;
+        if (m_sampleRows < m_maxSampleRows) {
+            if ((long)(m_sampleRows + 1) * m_numCols > m_sample.length) {
+                final long capacity = Math.min((long)m_maxSampleRows * m_numCols,
+                    Math.max((long)(m_sampleRows + 1) * m_numCols, 2L * m_sample.length));
+                m_sample = Arrays.copyOf(m_sample, (int)capacity);
+            }
+            slot = m_sampleRows++;
+        } else {
+            // reservoir sampling: the row replaces a sampled row with probability sample size / rows
+            final long r = (long)(m_random.nextDouble() * m_numRows);
+            if (r >= m_sampleRows) {
+                return;
+            }
+            slot = (int)r;
+        }
+        System.arraycopy(values, 0, m_sample, slot * m_numCols, m_numCols);
+    }
+
+    /** @return the number of rows in the sample */
+    int getSampleSize() {
+        return m_sampleRows;
+    }
+
+    /** @return the number of batches used by {@link #train(ExecutionMonitor)} */
+    int getNumBatches() {
+        return m_numBatches;
+    }
+
+    /**
+     * Initializes the centers and runs the mini-batch iterations on the sample.
+     *
+     * @param exec the monitor to report progress and check for cancellation
+     * @throws CanceledExecutionException if the execution was canceled
+     * @throws IOException if the sample cannot be prepared for the k-means++ initialization
+     */
+    void train(final ExecutionMonitor exec) throws CanceledExecutionException, IOException {
+        if (m_sampleRows == 0) {
+            return;
+        }
+        initializeCenters(exec.createSubProgress(0.1));
+        final ExecutionMonitor batchExec = exec.createSubProgress(0.9);
+        final int numClusters = m_centers.length;
+        final long[] counts = new long[numClusters];
+        final int[] batch = new int[m_batchSize];
+        final int[] assignments = new int[m_batchSize];
+        final double[][] previous = new double[numClusters][];
+        int convergedBatches = 0;
+        m_numBatches = 0;
+        while (m_numBatches < m_maxBatches && convergedBatches < CONVERGED_BATCHES) {
+            batchExec.checkCanceled();
+            batchExec.setProgress((double)m_numBatches / m_maxBatches, "Mini-batch " + m_numBatches);
+            for (int c = 0; c < numClusters; c++) {
+                previous[c] = m_centers[c].clone();
+            }
+            // assign the rows of the batch to the centers before moving them
+            double distanceSum = 0;
+            for (int i = 0; i < m_batchSize; i++) {
+                batch[i] = m_random.nextInt(m_sampleRows);
+                assignments[i] = findClosest(m_sample, batch[i] * m_numCols);
+                distanceSum += distance(m_sample, batch[i] * m_numCols, m_centers[assignments[i]]);
+            }
+            for (int i = 0; i < m_batchSize; i++) {
+                final int c = assignments[i];
+                counts[c]++;
+                final double learningRate = 1.0 / counts[c];
+                final double[] center = m_centers[c];
+                final int offset = batch[i] * m_numCols;
+                for (int d = 0; d < m_numCols; d++) {
+                    center[d] += learningRate * (m_sample[offset + d] - center[d]);
+                }
+            }
+            double maxMovement = 0;
+            for (int c = 0; c < numClusters; c++) {
+                maxMovement = Math.max(maxMovement, distance(previous[c], 0, m_centers[c]));
+            }
+            // compare the squared values
+            final double tolerance = MOVEMENT_TOLERANCE * MOVEMENT_TOLERANCE * distanceSum / m_batchSize;
+            convergedBatches = maxMovement <= tolerance ? convergedBatches + 1 : 0;
+            m_numBatches++;
+        }
+    }
+
+    private void initializeCenters(final ExecutionMonitor exec) throws CanceledExecutionException, IOException {
+        switch (m_initialization) {
+            case FIRST_ROWS:
+                // the first rows have been copied into the centers already
+                break;
+            case KMEANS_PLUS_PLUS:
+                try (final KMeansDataMatrix matrix = new KMeansDataMatrix(m_numCols, m_sampleRows, true)) {
+                    final double[] values = new double[m_numCols];
+                    for (int r = 0; r < m_sampleRows; r++) {
+                        System.arraycopy(m_sample, r * m_numCols, values, 0, m_numCols);
+                        matrix.addRow(values);
+                    }
+                    matrix.finish();
+                    final KMeansClusterer clusterer = new KMeansClusterer(matrix, m_centers.length, 1);
+                    clusterer.initializeKMeansPlusPlus(m_seed, exec);
+                    setCenters(clusterer.getCenters());
+                }
+                break;
+            default:
+                // distinct random rows of the sample, the remaining centers stay as they are if it is too small
+                final int[] rows = new int[m_sampleRows];
+                for (int r = 0; r < m_sampleRows; r++) {
+                    rows[r] = r;
+                }
+                for (int c = 0; c < Math.min(m_centers.length, m_sampleRows); c++) {
+                    final int r = c + m_random.nextInt(m_sampleRows - c);
+                    final int row = rows[r];
+                    rows[r] = rows[c];
+                    System.arraycopy(m_sample, row * m_numCols, m_centers[c], 0, m_numCols);
+                }
+        }
+    }
+
+    /**
+     * @return the cluster centers
+     */
+    double[][] getCenters() {
+        return m_centers;
+    }
+
+    /**
+     * Sets the cluster centers, e.g. the ones trained in a previous pass.
+     *
+     * @param centers the centers, which are copied
+     */
+    void setCenters(final double[][] centers) {
+        for (int c = 0; c < m_centers.length; c++) {
+            System.arraycopy(centers[c], 0, m_centers[c], 0, m_numCols);
+        }
+    }
+
+    /**
+     * @param values the values of a row
+     * @return the first of the closest cluster centers
+     */
+    int findClosest(final double[] values) {
+        return findClosest(values, 0);
+    }
+
+    private int findClosest(final double[] values, final int offset) {
+        int winner = -1;
+        double winnerDistance = Double.MAX_VALUE;
+        for (int c = 0; c < m_centers.length; c++) {
+            final double distance = distance(values, offset, m_centers[c]);
+            if (distance < winnerDistance) {
+                winner = c;
+                winnerDistance = distance;
+            }
+        }
+        if (winner < 0) {
+            throw new IllegalStateException("No winner found: " + winner);
+        }
+        return winner;
+    }
+
+    /** The squared distance of the values at the offset to the center, NaN differences are ignored. */
+    private static double distance(final double[] values, final int offset, final double[] center) {
+        double distance = 0.0;
+        for (int i = 0; i < center.length; i++) {
+            final double d = center[i] - values[offset + i];
+            if (!Double.isNaN(d)) {
+                distance += d * d;
+            }
+        }
+        return distance;
+    }
+}
@@ -138,6 +138,21 @@ public DecisionTreeLearnerNodeDialog2() {
                 createSettingsSkipNominalColumnsWithoutDomain(),
                 "Skip nominal columns without domain information"));
 
+        createNewGroup("Numeric splits");
+        // sort numeric attributes once for the whole tree
+        this.addDialogComponent(new DialogComponentBoolean(
+                createSettingsPresortNumericAttributes(),
+                "Sort numeric columns only once"));
+
+        // histogram based splits for large tables
+        SettingsModelBoolean useHistogramSplits =
+            createSettingsUseHistogramSplits();
+        this.addDialogComponent(new DialogComponentBoolean(
+                useHistogramSplits, "Use histogram splits"));
+        this.addDialogComponent(new DialogComponentNumber(
+                createSettingsNumHistogramBins(useHistogramSplits),
+                "Number of bins", 16));
+
         createNewGroup("Root split");
         // check box to specify use of first split column
         DialogComponentBoolean useFirstSplitCol =
@@ -418,6 +433,42 @@ public void stateChanged(final ChangeEvent e) {
         return firstSplitCol;
     }
 
+    /**
+     * @return whether the numeric attributes are sorted only once
+     */
+    static SettingsModelBoolean createSettingsPresortNumericAttributes() {
+        return new SettingsModelBoolean(
+            DecisionTreeLearnerNodeModel2.KEY_PRESORT_NUMERIC_ATTRIBUTES, true);
+    }
+
+    /**
+     * @return whether numeric splits are determined from histograms
+     */
+    static SettingsModelBoolean createSettingsUseHistogramSplits() {
+        return new SettingsModelBoolean(
+            DecisionTreeLearnerNodeModel2.KEY_HISTOGRAM_SPLITS, false);
+    }
+
+    /**
+     * @param useHistogramSplits model to listen to for enablement
+     * @return number of histogram bins per numeric attribute
+     */
+    static SettingsModelIntegerBounded createSettingsNumHistogramBins(
+            final SettingsModelBoolean useHistogramSplits) {
+        final SettingsModelIntegerBounded model = new SettingsModelIntegerBounded(
+            DecisionTreeLearnerNodeModel2.KEY_NUM_HISTOGRAM_BINS,
+            DecisionTreeLearnerNodeModel2.DEFAULT_NUM_HISTOGRAM_BINS,
+            2, 65536);
+        useHistogramSplits.addChangeListener(new ChangeListener() {
+            @Override
+            public void stateChanged(final ChangeEvent e) {
+                model.setEnabled(useHistogramSplits.getBooleanValue());
+            }
+        });
+        model.setEnabled(useHistogramSplits.getBooleanValue());
+        return model;
+    }
+
     /**
      *
      */
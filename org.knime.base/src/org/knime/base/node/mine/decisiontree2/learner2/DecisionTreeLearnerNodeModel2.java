@@ -192,6 +192,25 @@ public class DecisionTreeLearnerNodeModel2 extends NodeModel {
      */
     public static final String KEY_USE_FIRST_SPLIT_COL = "useFirstSplitColumn";
 
+    /**
+     * Key to store whether the numeric attributes are sorted once for the
+     * whole tree instead of at every node.
+     * @since 4.2
+     */
+    public static final String KEY_PRESORT_NUMERIC_ATTRIBUTES = "presortNumericAttributes";
+
+    /**
+     * Key to store whether numeric splits are determined from histograms.
+     * @since 4.2
+     */
+    public static final String KEY_HISTOGRAM_SPLITS = "useHistogramSplits";
+
+    /**
+     * Key to store the number of histogram bins per numeric attribute.
+     * @since 4.2
+     */
+    public static final String KEY_NUM_HISTOGRAM_BINS = "numHistogramBins";
+
     /**
      * Key to store the max number of nominal values for which to compute all subsets for binary splits.
      */
@@ -300,6 +319,12 @@ public class DecisionTreeLearnerNodeModel2 extends NodeModel {
      */
     public static final int DEFAULT_NUM_PROCESSORS = MAX_NUM_PROCESSORS;
 
+    /**
+     * The default number of histogram bins per numeric attribute.
+     * @since 4.2
+     */
+    public static final int DEFAULT_NUM_HISTOGRAM_BINS = 256;
+
     /**
      * The config key for the no true child strategy.
      */
@@ -409,6 +434,15 @@ public class DecisionTreeLearnerNodeModel2 extends NodeModel {
 
     private final SettingsModelString m_firstSplitCol = DecisionTreeLearnerNodeDialog2.createSettingsFirstSplitColumn(m_useFirstSplitCol);
 
+    private final SettingsModelBoolean m_presortNumericAttributes =
+        DecisionTreeLearnerNodeDialog2.createSettingsPresortNumericAttributes();
+
+    private final SettingsModelBoolean m_useHistogramSplits =
+        DecisionTreeLearnerNodeDialog2.createSettingsUseHistogramSplits();
+
+    private final SettingsModelIntegerBounded m_numHistogramBins =
+        DecisionTreeLearnerNodeDialog2.createSettingsNumHistogramBins(m_useHistogramSplits);
+
     /**
      * The decision tree model to be induced by the execute method.
      */
@@ -506,6 +540,16 @@ protected PortObject[] execute(final PortObject[] data,
         // the all over row count is used to report progress
         m_alloverRowCount = initialTable.getSumOfWeights();
 
+        // numeric splits either from histograms over quantile bins or from
+        // row positions that are sorted once and passed down the tree
+        if (m_useHistogramSplits.getBooleanValue()) {
+            exec.setProgress("Creating histogram bins...");
+            initialTable.createHistogramBins(m_numHistogramBins.getIntValue());
+        } else if (m_presortNumericAttributes.getBooleanValue()) {
+            exec.setProgress("Sorting numeric attributes...");
+            initialTable.presortNumericAttributes();
+        }
+
         // set the finishing counter
         // this counter will always be incremented when a leaf node is
         // created, as this determines the recursion end and can thus
@@ -1040,6 +1084,20 @@ protected void loadValidatedSettingsFrom(final NodeSettingsRO settings)
             // setting this to falls ensures backward compatibility
             m_useFirstSplitCol.setBooleanValue(false);
         }
+
+        /* Added with 4.2 to avoid sorting the numeric attributes at every node */
+        if (settings.containsKey(KEY_PRESORT_NUMERIC_ATTRIBUTES)) {
+            m_presortNumericAttributes.loadSettingsFrom(settings);
+        } else {
+            // for new models this is enabled by default but not for old ones
+            m_presortNumericAttributes.setBooleanValue(false);
+        }
+        if (settings.containsKey(KEY_HISTOGRAM_SPLITS)) {
+            m_useHistogramSplits.loadSettingsFrom(settings);
+            m_numHistogramBins.loadSettingsFrom(settings);
+        } else {
+            m_useHistogramSplits.setBooleanValue(false);
+        }
     }
 
     /**
@@ -1065,6 +1123,9 @@ protected void saveSettingsTo(final NodeSettingsWO settings) {
         m_missingValues.saveSettingsTo(settings);
         m_useFirstSplitCol.saveSettingsTo(settings);
         m_firstSplitCol.saveSettingsTo(settings);
+        m_presortNumericAttributes.saveSettingsTo(settings);
+        m_useHistogramSplits.saveSettingsTo(settings);
+        m_numHistogramBins.saveSettingsTo(settings);
     }
 
     /**
@@ -1123,6 +1184,14 @@ protected void validateSettings(final NodeSettingsRO settings)
             m_useFirstSplitCol.validateSettings(settings);
             m_firstSplitCol.validateSettings(settings);
         }
+        /* Added with 4.2 */
+        if (settings.containsKey(KEY_PRESORT_NUMERIC_ATTRIBUTES)) {
+            m_presortNumericAttributes.validateSettings(settings);
+        }
+        if (settings.containsKey(KEY_HISTOGRAM_SPLITS)) {
+            m_useHistogramSplits.validateSettings(settings);
+            m_numHistogramBins.validateSettings(settings);
+        }
     }
 
     /**
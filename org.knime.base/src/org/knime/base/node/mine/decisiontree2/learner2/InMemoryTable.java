@@ -133,6 +133,20 @@ public class InMemoryTable implements Iterable<DataRowWeighted> {
      */
     private double m_sumOfWeights;
 
+    /**
+     * For each numeric attribute the row positions of the non-missing values
+     * in ascending order of the attribute value; <code>null</code> if the
+     * attributes have not been presorted.
+     */
+    private int[][] m_sortedRowIndices;
+
+    /**
+     * For each numeric attribute the upper bounds of the histogram bins used
+     * to find splits; <code>null</code> if the exact splits are determined.
+     * Shared with all tables created from this one.
+     */
+    private double[][] m_binBoundaries;
+
     /**
      * Creates an empty table that keeps all rows in memory. The
      * {@link ValueMapper} array must contain mappers only at array positions
@@ -231,6 +245,7 @@ public InMemoryTable(final InMemoryTable tableTemplate) {
         // initialize the boolean array remembering whether an attribute
         // should be considered during learning
         m_considerAttribute = tableTemplate.m_considerAttribute.clone();
+        m_binBoundaries = tableTemplate.m_binBoundaries;
     }
 
     /**
@@ -299,6 +314,7 @@ public boolean isNominal(final int index) {
      */
     public void freeUnderlyingDataRows() {
         m_rows = null;
+        m_sortedRowIndices = null;
     }
 
 
@@ -625,6 +641,189 @@ public DataCell[] getNominalValuesInMappingOrder(final int attributeIndex) {
         return asCells;
     }
 
+    /**
+     * Sorts the row positions of each numeric attribute once, such that
+     * numeric splits can sweep through the rows without sorting them
+     * again. The sorted positions are passed on to the partitions by the
+     * {@link Partitioner}. Must be called after the last row has been added
+     * and the table has been packed.
+     */
+    void presortNumericAttributes() {
+        m_sortedRowIndices = new int[getNumAttributes()][];
+        double[] values = new double[m_size];
+        for (int attributeIndex = 0; attributeIndex < getNumAttributes();
+                attributeIndex++) {
+            if (isNominal(attributeIndex)) {
+                continue;
+            }
+            int[] positions = new int[m_size];
+            int numValid = 0;
+            for (int i = 0; i < m_size; i++) {
+                double value = m_rows[i].getValue(attributeIndex);
+                if (!Double.isNaN(value)) {
+                    values[numValid] = value;
+                    positions[numValid] = i;
+                    numValid++;
+                }
+            }
+            sortPositions(values, positions, 0, numValid - 1);
+            m_sortedRowIndices[attributeIndex] =
+                    Arrays.copyOf(positions, numValid);
+        }
+    }
+
+    /**
+     * Sorts the positions according to the values (both arrays are
+     * rearranged) with a quicksort that switches to insertion sort for small
+     * ranges.
+     */
+    private static void sortPositions(final double[] values,
+            final int[] positions, final int left, final int right) {
+        int lo = left;
+        int hi = right;
+        while (hi - lo > 16) {
+            double pivot = values[(lo + hi) >>> 1];
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (values[i] < pivot) {
+                    i++;
+                }
+                while (values[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    double tmpValue = values[i];
+                    values[i] = values[j];
+                    values[j] = tmpValue;
+                    int tmpPosition = positions[i];
+                    positions[i] = positions[j];
+                    positions[j] = tmpPosition;
+                    i++;
+                    j--;
+                }
+            }
+            // recurse into the smaller part to bound the stack depth
+            if (j - lo < hi - i) {
+                sortPositions(values, positions, lo, j);
+                lo = i;
+            } else {
+                sortPositions(values, positions, i, hi);
+                hi = j;
+            }
+        }
+        for (int i = lo + 1; i <= hi; i++) {
+            double value = values[i];
+            int position = positions[i];
+            int j = i - 1;
+            while (j >= lo && values[j] > value) {
+                values[j + 1] = values[j];
+                positions[j + 1] = positions[j];
+                j--;
+            }
+            values[j + 1] = value;
+            positions[j + 1] = position;
+        }
+    }
+
+    /**
+     * Returns whether the numeric attributes have been presorted.
+     *
+     * @return true if the sorted row positions are available
+     */
+    boolean isPresorted() {
+        return m_sortedRowIndices != null;
+    }
+
+    /**
+     * Returns the positions of the rows with a non-missing value for the given
+     * numeric attribute in ascending order of the values.
+     *
+     * @param attributeIndex the index of the numeric attribute
+     * @return the sorted row positions
+     */
+    int[] getSortedRowIndices(final int attributeIndex) {
+        return m_sortedRowIndices[attributeIndex];
+    }
+
+    /**
+     * Sets the sorted row positions of all numeric attributes, used for the
+     * partitions of a presorted table.
+     *
+     * @param sortedRowIndices the sorted positions, <code>null</code> for
+     *            nominal attributes
+     */
+    void setSortedRowIndices(final int[][] sortedRowIndices) {
+        m_sortedRowIndices = sortedRowIndices;
+    }
+
+    /**
+     * Returns the row at the given position.
+     *
+     * @param position the position of the row
+     * @return the row
+     */
+    DataRowWeighted getRow(final int position) {
+        return m_rows[position];
+    }
+
+    /**
+     * Divides the values of each numeric attribute into at most the given
+     * number of bins with (roughly) equal frequencies. The numeric splits of
+     * this table and all its partitions are then determined from class
+     * histograms over these bins, i.e. only the bin boundaries are
+     * considered as split points. If an attribute has fewer distinct values
+     * than bins, each value gets its own bin and the splits are exact.
+     *
+     * @param numBins the maximum number of bins per attribute
+     */
+    void createHistogramBins(final int numBins) {
+        m_binBoundaries = new double[getNumAttributes()][];
+        double[] values = new double[m_size];
+        for (int attributeIndex = 0; attributeIndex < getNumAttributes();
+                attributeIndex++) {
+            if (isNominal(attributeIndex)) {
+                continue;
+            }
+            int numValid = 0;
+            for (int i = 0; i < m_size; i++) {
+                double value = m_rows[i].getValue(attributeIndex);
+                if (!Double.isNaN(value)) {
+                    values[numValid++] = value;
+                }
+            }
+            Arrays.sort(values, 0, numValid);
+            double[] boundaries = new double[Math.max(numBins - 1, 0)];
+            int numBoundaries = 0;
+            for (int k = 1; k < numBins; k++) {
+                int index = (int)((long)k * numValid / numBins) - 1;
+                if (index < 0) {
+                    continue;
+                }
+                double boundary = values[index];
+                if (numBoundaries == 0
+                        || boundary > boundaries[numBoundaries - 1]) {
+                    boundaries[numBoundaries++] = boundary;
+                }
+            }
+            m_binBoundaries[attributeIndex] =
+                    Arrays.copyOf(boundaries, numBoundaries);
+        }
+    }
+
+    /**
+     * Returns the upper bounds of the histogram bins for the given numeric
+     * attribute; values above the last bound fall into the last bin.
+     *
+     * @param attributeIndex the index of the numeric attribute
+     * @return the ascending bin boundaries or <code>null</code> if the exact
+     *         splits are determined
+     */
+    double[] getBinBoundaries(final int attributeIndex) {
+        return m_binBoundaries == null ? null
+                : m_binBoundaries[attributeIndex];
+    }
+
     /**
      * Sorts the data rows of this table in ascending order on the given
      * attribute index. The missing values are put at the end of the table.
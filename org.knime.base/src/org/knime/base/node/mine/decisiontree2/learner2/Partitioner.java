@@ -47,6 +47,7 @@
  */
 package org.knime.base.node.mine.decisiontree2.learner2;
 
+import java.util.Arrays;
 
 /**
  * Partitions a table according to a given split.
@@ -110,8 +111,42 @@ public Partitioner(final InMemoryTable table, final Split split,
         // partition table
         // for the missing values get the partition weights from the split
         double[] partitionWeights = split.getPartitionWeights();
+        // for presorted tables remember where each row ends up: the partition
+        // and its position therein; rows with a missing split value are
+        // added to all partitions, their positions are kept separately
+        boolean isPresorted = table.isPresorted();
+        int[] rowPartitions = null;
+        int[] rowPositions = null;
+        int[] missingPositions = null;
+        int numMissing = 0;
+        if (isPresorted) {
+            rowPartitions = new int[table.getNumberDataRows()];
+            rowPositions = new int[table.getNumberDataRows()];
+            missingPositions = new int[16 * partitionTables.length];
+        }
+        int position = 0;
         for (DataRowWeighted row : table) {
             int partitionIndex = split.getPartitionForRow(row);
+            if (isPresorted) {
+                rowPartitions[position] = partitionIndex;
+                if (partitionIndex >= 0) {
+                    rowPositions[position] = partitionTables[partitionIndex]
+                            .getNumberDataRows();
+                } else {
+                    rowPositions[position] = numMissing;
+                    if ((numMissing + 1) * partitionTables.length
+                            > missingPositions.length) {
+                        missingPositions = Arrays.copyOf(missingPositions,
+                                2 * missingPositions.length);
+                    }
+                    for (int i = 0; i < partitionTables.length; i++) {
+                        missingPositions[numMissing * partitionTables.length
+                                + i] = partitionTables[i].getNumberDataRows();
+                    }
+                    numMissing++;
+                }
+                position++;
+            }
             if (partitionIndex >= 0) {
                 // the split attribute value is not missing
                 partitionTables[partitionIndex].addRow(row);
@@ -134,6 +169,11 @@ public Partitioner(final InMemoryTable table, final Split split,
             partitionTable.pack();
         }
 
+        if (isPresorted) {
+            partitionSortedRowIndices(table, partitionTables, rowPartitions,
+                    rowPositions, missingPositions);
+        }
+
         // delete the undelying data row array
         // NOTE: just the array is garbage collected, not the rows itself
         // as they are distributed over the new partition tables
@@ -155,6 +195,56 @@ public Partitioner(final InMemoryTable table, final Split split,
         m_partitionedTables = partitionTables;
     }
 
+    /**
+     * Distributes the sorted row positions of the presorted table to the
+     * partitions. As the sorted positions are traversed in order, the
+     * positions in each partition are sorted as well.
+     */
+    private static void partitionSortedRowIndices(final InMemoryTable table,
+            final InMemoryTable[] partitionTables, final int[] rowPartitions,
+            final int[] rowPositions, final int[] missingPositions) {
+        int numPartitions = partitionTables.length;
+        int[][][] partitionIndices =
+                new int[numPartitions][table.getNumAttributes()][];
+        int[] lengths = new int[numPartitions];
+        for (int a = 0; a < table.getNumAttributes(); a++) {
+            if (table.isNominal(a)) {
+                continue;
+            }
+            int[] sorted = table.getSortedRowIndices(a);
+            Arrays.fill(lengths, 0);
+            for (int p : sorted) {
+                if (rowPartitions[p] >= 0) {
+                    lengths[rowPartitions[p]]++;
+                } else {
+                    for (int i = 0; i < numPartitions; i++) {
+                        lengths[i]++;
+                    }
+                }
+            }
+            for (int i = 0; i < numPartitions; i++) {
+                partitionIndices[i][a] = new int[lengths[i]];
+            }
+            Arrays.fill(lengths, 0);
+            for (int p : sorted) {
+                int partition = rowPartitions[p];
+                if (partition >= 0) {
+                    partitionIndices[partition][a][lengths[partition]++] =
+                            rowPositions[p];
+                } else {
+                    for (int i = 0; i < numPartitions; i++) {
+                        partitionIndices[i][a][lengths[i]++] =
+                                missingPositions[rowPositions[p]
+                                        * numPartitions + i];
+                    }
+                }
+            }
+        }
+        for (int i = 0; i < numPartitions; i++) {
+            partitionTables[i].setSortedRowIndices(partitionIndices[i]);
+        }
+    }
+
     /**
      * Return the partition tables.
      *
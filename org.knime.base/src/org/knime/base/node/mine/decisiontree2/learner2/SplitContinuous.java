@@ -47,6 +47,7 @@
  */
 package org.knime.base.node.mine.decisiontree2.learner2;
 
+import java.util.Arrays;
 import java.util.Iterator;
 
 /**
@@ -131,12 +132,28 @@ private void findBestSplit(final InMemoryTable table,
             return;
         }
 
-        // now sort the table on this splits attribute index and get the
-        // frequency array for the missing values
-        // the missing value frequencies must be subtracted from the
-        // counter
-        double[] missingValueClassFrequencies =
-                table.sortDataRows(attributeIndex);
+        double[] binBoundaries = table.getBinBoundaries(attributeIndex);
+        if (binBoundaries != null) {
+            findBestHistogramSplit(table, attributeIndex, binBoundaries,
+                    splitQualityMeasure, averageSplitpoint, minObjectsCount);
+            return;
+        }
+
+        double[] missingValueClassFrequencies;
+        if (table.isPresorted()) {
+            // the row positions are already sorted on this attribute (and
+            // exclude the missing values), so just iterate over them
+            missingValueClassFrequencies =
+                    getMissingValueClassFrequencies(table, attributeIndex);
+            rowIterator = new SortedRowIterator(table,
+                    table.getSortedRowIndices(attributeIndex));
+        } else {
+            // now sort the table on this splits attribute index and get the
+            // frequency array for the missing values
+            // the missing value frequencies must be subtracted from the
+            // counter
+            missingValueClassFrequencies = table.sortDataRows(attributeIndex);
+        }
 
         // the split is determined by sweeping linearly through the
         // ordered attribute list
@@ -179,6 +196,12 @@ private void findBestSplit(final InMemoryTable table,
             return;
         }
 
+        // no valid attribute values
+        if (!rowIterator.hasNext()) {
+            setBestQualityMeasure(Double.NaN);
+            return;
+        }
+
         // get the first valid attribute value, the class value and its weight
         DataRowWeighted firstRow = rowIterator.next();
         double previouseAttrValue = firstRow.getValue(attributeIndex);
@@ -252,6 +275,151 @@ private void findBestSplit(final InMemoryTable table,
         m_bestSplitValue = bestSplitValue;
     }
 
+    /**
+     * Determines the best split among the bin boundaries of the attribute.
+     * Instead of sweeping through the sorted rows, the class distribution of
+     * each bin is counted in one pass over the (unsorted) rows and the sweep
+     * runs over the bins. The split value is derived from the smallest and
+     * largest value in the bins adjacent to the split, as for exact splits.
+     */
+    private void findBestHistogramSplit(final InMemoryTable table,
+            final int attributeIndex, final double[] binBoundaries,
+            final SplitQualityMeasure splitQualityMeasure,
+            final boolean averageSplitpoint, final double minObjectsCount) {
+        int numClasses = table.getClassFrequencyArray().length;
+        int numBins = binBoundaries.length + 1;
+        double[][] binHisto = new double[numBins][numClasses];
+        double[] binCount = new double[numBins];
+        double[] binMin = new double[numBins];
+        double[] binMax = new double[numBins];
+        Arrays.fill(binMin, Double.POSITIVE_INFINITY);
+        Arrays.fill(binMax, Double.NEGATIVE_INFINITY);
+        double[] missingValueClassFrequencies = new double[numClasses];
+        for (DataRowWeighted row : table) {
+            double value = row.getValue(attributeIndex);
+            if (Double.isNaN(value)) {
+                missingValueClassFrequencies[row.getClassValue()] +=
+                        row.getWeight();
+                continue;
+            }
+            int bin = Arrays.binarySearch(binBoundaries, value);
+            if (bin < 0) {
+                bin = -bin - 1;
+            }
+            binHisto[bin][row.getClassValue()] += row.getWeight();
+            binCount[bin] += row.getWeight();
+            binMin[bin] = Math.min(binMin[bin], value);
+            binMax[bin] = Math.max(binMax[bin], value);
+        }
+
+        double[][] partitionHisto = new double[2][];
+        partitionHisto[ABOVE_INDEX] = table.getCopyOfClassFrequencyArray();
+        double alloverMissingValueWeight = 0.0;
+        for (int i = 0; i < numClasses; i++) {
+            partitionHisto[ABOVE_INDEX][i] -= missingValueClassFrequencies[i];
+            alloverMissingValueWeight += missingValueClassFrequencies[i];
+        }
+        partitionHisto[BELOW_INDEX] = new double[numClasses];
+        double alloverCount =
+                table.getSumOfWeights() - alloverMissingValueWeight;
+        double[] partitionCount = new double[2];
+        partitionCount[ABOVE_INDEX] = alloverCount;
+        m_splitQualityMeasure.initQualityMeasure(partitionHisto[ABOVE_INDEX],
+                alloverCount);
+        double minCount = minObjectsCount;
+        if (alloverCount - alloverMissingValueWeight < 2 * minCount) {
+            setBestQualityMeasure(Double.NaN);
+            return;
+        }
+
+        double bestSplitValue = Double.NaN;
+        double bestQualityMeasure = splitQualityMeasure.getWorstValue();
+        m_partitionValidCount = new double[2];
+        // the last non-empty bin that has been moved to the lower partition
+        int previousBin = -1;
+        for (int bin = 0; bin < numBins; bin++) {
+            if (binCount[bin] == 0) {
+                continue;
+            }
+            if (previousBin >= 0 && partitionCount[BELOW_INDEX] >= minCount
+                    && partitionCount[ABOVE_INDEX] >= minCount) {
+                double qualityMeasure =
+                        m_splitQualityMeasure.measureQuality(alloverCount,
+                                partitionCount, partitionHisto,
+                                alloverMissingValueWeight);
+                qualityMeasure =
+                    m_splitQualityMeasure.postProcessMeasure(
+                            qualityMeasure, alloverCount,
+                            partitionCount, alloverMissingValueWeight);
+                if (m_splitQualityMeasure.isBetterOrEqual(qualityMeasure,
+                        bestQualityMeasure)) {
+                    bestQualityMeasure = qualityMeasure;
+                    if (averageSplitpoint) {
+                        bestSplitValue =
+                                binMax[previousBin] / 2.0 + binMin[bin] / 2.0;
+                    } else {
+                        bestSplitValue = binMax[previousBin];
+                    }
+                    m_partitionValidCount[BELOW_INDEX] =
+                            partitionCount[BELOW_INDEX];
+                    m_partitionValidCount[ABOVE_INDEX] =
+                            partitionCount[ABOVE_INDEX];
+                }
+            }
+            // move the bin to the lower partition
+            for (int c = 0; c < numClasses; c++) {
+                partitionHisto[BELOW_INDEX][c] += binHisto[bin][c];
+                partitionHisto[ABOVE_INDEX][c] -= binHisto[bin][c];
+            }
+            partitionCount[BELOW_INDEX] += binCount[bin];
+            partitionCount[ABOVE_INDEX] -= binCount[bin];
+            previousBin = bin;
+        }
+
+        setBestQualityMeasure(bestQualityMeasure);
+        m_bestSplitValue = bestSplitValue;
+    }
+
+    private static double[] getMissingValueClassFrequencies(
+            final InMemoryTable table, final int attributeIndex) {
+        double[] missingValueClassFrequencies =
+                new double[table.getClassFrequencyArray().length];
+        for (DataRowWeighted row : table) {
+            if (Double.isNaN(row.getValue(attributeIndex))) {
+                missingValueClassFrequencies[row.getClassValue()] +=
+                        row.getWeight();
+            }
+        }
+        return missingValueClassFrequencies;
+    }
+
+    /** Iterates over the rows of a table in the order of sorted positions. */
+    private static final class SortedRowIterator
+            implements Iterator<DataRowWeighted> {
+
+        private final InMemoryTable m_table;
+
+        private final int[] m_positions;
+
+        private int m_next;
+
+        private SortedRowIterator(final InMemoryTable table,
+                final int[] positions) {
+            m_table = table;
+            m_positions = positions;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return m_next < m_positions.length;
+        }
+
+        @Override
+        public DataRowWeighted next() {
+            return m_table.getRow(m_positions[m_next++]);
+        }
+    }
+
     // private String printCountStructures(final double allCount,
     // final double[] partitionCount, final double[][] histoCount) {
     // StringBuilder sb = new StringBuilder();
@@ -54,9 +54,9 @@
 import java.util.List;
 import java.util.Map;
 
-import org.knime.base.util.kdtree.KDTree;
 import org.knime.base.util.kdtree.KDTreeBuilder;
-import org.knime.base.util.kdtree.NearestNeighbour;
+import org.knime.base.util.kdtree.PackedKDTree;
+import org.knime.base.util.kdtree.PackedKDTree.SearchBuffer;
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataColumnSpec;
 import org.knime.core.data.DataColumnSpecCreator;
@@ -311,7 +311,7 @@ private ColumnRearranger createRearranger(final BufferedDataTable trainData, fin
         DataColumnSpec classColumnSpec = trainData.getDataTableSpec().getColumnSpec(classColIndex);
 
         exec.setMessage("Building kd-tree");
-        KDTree<DataCell> tree = treeBuilder.buildTree(exec.createSubProgress(0.3));
+        PackedKDTree<DataCell> tree = treeBuilder.buildPackedTree(exec.createSubProgress(0.3));
 
         if (tree.size() < m_settings.k()) {
             setWarningMessage("There are only " + tree.size() + " patterns in the input table, but " + m_settings.k()
@@ -386,7 +386,7 @@ private ColumnRearranger createRearranger(final DataTableSpec in,
             final DataColumnSpec classColumnSpec,
             final List<Integer> featureColumns,
             final Map<Integer, Integer> firstToSecond,
-            final KDTree<DataCell> tree, final double maxRows) {
+            final PackedKDTree<DataCell> tree, final double maxRows) {
         ColumnRearranger c = new ColumnRearranger(in);
         String newName = "Class [kNN]";
         while (in.containsName(newName)) {
@@ -425,7 +425,12 @@ public int compare(final DataCell o1, final DataCell o2) {
 
         final DataColumnSpec[] colSpecArray =
                 colSpecs.toArray(new DataColumnSpec[colSpecs.size()]);
-        c.append(new AbstractCellFactory(colSpecArray) {
+        // the packed tree can be queried concurrently, each thread gets its
+        // own search buffer
+        final int k = tree == null ? 0 : Math.min(m_settings.k(), tree.size());
+        final ThreadLocal<SearchBuffer> searchBuffers =
+                ThreadLocal.withInitial(() -> tree.createSearchBuffer(k));
+        c.append(new AbstractCellFactory(true, colSpecArray) {
 
             /** {@inheritDoc} */
             @Override
@@ -441,8 +446,8 @@ public void setProgress(final long curRowNr, final long rowCount,
             @Override
             public DataCell[] getCells(final DataRow row) {
                 List<DataCell> output =
-                        classify(row, tree, featureColumns, firstToSecond,
-                                possibleValues);
+                        classify(row, tree, searchBuffers.get(), k,
+                                featureColumns, firstToSecond, possibleValues);
                 return output.toArray(new DataCell[output.size()]);
             }
 
@@ -453,7 +458,8 @@ public DataCell[] getCells(final DataRow row) {
     // returns a list where the first value if the winner class, and the
     // following values are the class probabilities (if enabled)
     private List<DataCell> classify(final DataRow row,
-            final KDTree<DataCell> tree, final List<Integer> featureColumns,
+            final PackedKDTree<DataCell> tree, final SearchBuffer searchBuffer,
+            final int k, final List<Integer> featureColumns,
             final Map<Integer, Integer> firstToSecond,
             final DataCell[] allClassValues) {
         double[] features =
@@ -468,18 +474,18 @@ private List<DataCell> classify(final DataRow row,
 
         HashMap<DataCell, MutableDouble> classWeights =
                 new LinkedHashMap<DataCell, MutableDouble>();
-        List<NearestNeighbour<DataCell>> nearestN =
-                tree.getKNearestNeighbours(features,
-                        Math.min(m_settings.k(), tree.size()));
+        int numNeighbours =
+                tree.getKNearestNeighbours(features, k, searchBuffer);
 
-        for (NearestNeighbour<DataCell> n : nearestN) {
-            MutableDouble count = classWeights.get(n.getData());
+        for (int i = 0; i < numNeighbours; i++) {
+            DataCell data = tree.getData(searchBuffer.getPatternIndex(i));
+            MutableDouble count = classWeights.get(data);
             if (count == null) {
                 count = new MutableDouble(0);
-                classWeights.put(n.getData(), count);
+                classWeights.put(data, count);
             }
             if (m_settings.weightByDistance()) {
-                count.add(1 / n.getDistance());
+                count.add(1 / searchBuffer.getDistance(i));
             } else {
                 count.inc();
             }
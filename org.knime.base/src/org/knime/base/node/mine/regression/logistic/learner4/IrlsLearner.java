@@ -47,10 +47,13 @@
  */
 package org.knime.base.node.mine.regression.logistic.learner4;
 
-import java.util.Iterator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.commons.math3.linear.DecompositionSolver;
 import org.apache.commons.math3.linear.MatrixUtils;
@@ -59,12 +62,15 @@
 import org.apache.commons.math3.linear.SingularMatrixException;
 import org.apache.commons.math3.linear.SingularValueDecomposition;
 import org.knime.base.node.mine.regression.logistic.learner4.data.ClassificationTrainingRow;
+import org.knime.base.node.mine.regression.logistic.learner4.data.PackedInMemoryData;
 import org.knime.base.node.mine.regression.logistic.learner4.data.TrainingData;
 import org.knime.base.node.mine.regression.logistic.learner4.data.TrainingRow.FeatureIterator;
 import org.knime.base.node.util.DoubleFormat;
+import org.knime.base.util.ExecutionExceptionUtil;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionMonitor;
 import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.KNIMEConstants;
 import org.knime.core.node.NodeLogger;
 import org.knime.core.node.port.pmml.PMMLPortObjectSpec;
 import org.knime.core.util.ThreadPool;
@@ -91,6 +97,12 @@ final class IrlsLearner implements LogRegLearner {
 
     private String m_warning;
 
+    /** The number of tasks forced for testing, 0 if it's determined from the data and the environment. */
+    private int m_forcedNumTasks = 0;
+
+    /** The minimum number of rows processed by a single task if a pass over the data is parallelized. */
+    private static final int MIN_ROWS_PER_TASK = 2000;
+
     private static final String FAILING_MSG = "The logistic regression model cannot be computed. "
             + "See section \"Potential Errors and Error Handling\" in the node description for possible error "
             + "causes and fixes";
@@ -114,6 +126,15 @@ final class IrlsLearner implements LogRegLearner {
     }
 
 
+    /**
+     * Used for testing, only. Forces the number of tasks a pass over packed data is split into.
+     *
+     * @param numTasks the number of tasks, 0 to determine it from the data and the environment
+     */
+    void setNumTasks(final int numTasks) {
+        m_forcedNumTasks = numTasks;
+    }
+
     /**
      * Do an irls step. The result is stored in beta.
      *
@@ -126,88 +147,41 @@ final class IrlsLearner implements LogRegLearner {
     private void irlsRls(final TrainingData<ClassificationTrainingRow> data, final RealMatrix beta,
         final int rC, final int tcC, final ExecutionMonitor exec)
                 throws CanceledExecutionException {
-        long rowCount = 0;
-        int dim = (rC + 1) * (tcC - 1);
-        RealMatrix xTwx = MatrixUtils.createRealMatrix(dim, dim);
-        RealMatrix xTyu = MatrixUtils.createRealMatrix(dim, 1);
-
-        double[] eBetaTx = new double[tcC - 1];
-        double[] pi = new double[tcC - 1];
+        final double[] betaValues = beta.getRow(0);
         final long totalRowCount = data.getRowCount();
-        for(ClassificationTrainingRow row : data) {
-            rowCount++;
-            exec.checkCanceled();
-            final long finalRowCount = rowCount;
-            exec.setProgress(rowCount / (double)totalRowCount, () -> String.format(
-                "Row %s/%s", finalRowCount, totalRowCount));
-
-            for (int k = 0; k < tcC - 1; k++) {
-                double z = 0.0;
-                for (FeatureIterator iter = row.getFeatureIterator(); iter.next();) {
-                    double featureVal = iter.getFeatureValue();
-                    int featureIdx = iter.getFeatureIndex();
-                    z += featureVal * beta.getEntry(0, k * (rC + 1) + featureIdx);
-                }
-                eBetaTx[k] = Math.exp(z);
-            }
-
-            double sumEBetaTx = 0;
-            for (int k = 0; k < tcC - 1; k++) {
-                sumEBetaTx += eBetaTx[k];
-            }
-
-            for (int k = 0; k < tcC - 1; k++) {
-                double pik = eBetaTx[k] / (1 + sumEBetaTx);
-                pi[k] = pik;
-            }
-
-            // fill xTwx (aka the hessian of the loglikelihood)
-            for (FeatureIterator outer = row.getFeatureIterator(); outer.next();) {
-                int i = outer.getFeatureIndex();
-                double outerVal = outer.getFeatureValue();
-                for (FeatureIterator inner = outer.spawn(); inner.next();) {
-                    int ii = inner.getFeatureIndex();
-                    double innerVal = inner.getFeatureValue();
-                    for (int k = 0; k < tcC - 1; k++) {
-                        for (int kk = k; kk < tcC - 1; kk++) {
-                            int o1 = k * (rC + 1);
-                            int o2 = kk * (rC + 1);
-                            double v = xTwx.getEntry(o1 + i, o2 + ii);
-                            if (k == kk) {
-                                double w = pi[k] * (1 - pi[k]);
-                                v += outerVal * w * innerVal;
-                                assert o1 == o2;
-                            } else {
-                                double w = -pi[k] * pi[kk];
-                                v += outerVal * w * innerVal;
-                            }
-                            xTwx.setEntry(o1 + i, o2 + ii, v);
-                            xTwx.setEntry(o1 + ii, o2 + i, v);
-                            if (k != kk) {
-                                xTwx.setEntry(o2 + ii, o1 + i, v);
-                                xTwx.setEntry(o2 + i, o1 + ii, v);
-                            }
-                        }
+        final int dim = (rC + 1) * (tcC - 1);
+        final int numTasks = getNumTasks(data, IrlsAccumulator.estimateSize(dim));
+        IrlsAccumulator accumulator;
+        if (numTasks > 1) {
+            // each task accumulates the hessian and gradient of a consecutive range of rows, the blocks are reduced
+            // afterwards
+            final PackedInMemoryData packedData = (PackedInMemoryData)data;
+            final AtomicLong processed = new AtomicLong();
+            final List<IrlsAccumulator> accumulators = processInParallel(numTasks, packedData.getRowCount(),
+                (from, to) -> {
+                    final IrlsAccumulator acc = new IrlsAccumulator(rC, tcC);
+                    for (int r = from; r < to; r++) {
+                        exec.checkCanceled();
+                        acc.add(packedData.getRow(r), betaValues);
+                        setRowProgress(exec, processed.incrementAndGet(), totalRowCount);
                     }
-                }
+                    return acc;
+                });
+            accumulator = accumulators.get(0);
+            for (int i = 1; i < accumulators.size(); i++) {
+                accumulator.merge(accumulators.get(i));
             }
-
-
-            // fill matrix xTyu
-            for (FeatureIterator iter = row.getFeatureIterator(); iter.next();) {
-                int idx = iter.getFeatureIndex();
-                double val = iter.getFeatureValue();
-                for (int k = 0; k < tcC - 1; k++) {
-                    int o = k * (rC + 1);
-                    double v = xTyu.getEntry(o + idx, 0);
-                    double y = row.getProbability(k);
-                    v += (y - pi[k]) * val;
-                    xTyu.setEntry(o + idx, 0, v);
-                }
+        } else {
+            accumulator = new IrlsAccumulator(rC, tcC);
+            long rowCount = 0;
+            for (ClassificationTrainingRow row : data) {
+                rowCount++;
+                exec.checkCanceled();
+                setRowProgress(exec, rowCount, totalRowCount);
+                accumulator.add(row, betaValues);
             }
-
-
         }
+        final long rowCount = accumulator.getRowCount();
 
         // currently not used but could become interesting in the future
 //        if (m_penaltyTerm > 0.0) {
@@ -219,6 +193,8 @@ private void irlsRls(final TrainingData<ClassificationTrainingRow> data, final R
 //            xTwx = xTwx.add(stdError.scalarMultiply(-0.00001));
 //        }
         exec.checkCanceled();
+        final RealMatrix xTwx = accumulator.getXTWX();
+        final RealMatrix xTyu = accumulator.getXTYU();
         b = xTwx.multiply(beta.transpose()).add(xTyu);
         A = xTwx;
         if (rowCount < A.getColumnDimension()) {
@@ -234,6 +210,11 @@ private void irlsRls(final TrainingData<ClassificationTrainingRow> data, final R
         beta.setSubMatrix(betaNew.transpose().getData(), 0, 0);
     }
 
+    private static void setRowProgress(final ExecutionMonitor exec, final long rowCount, final long totalRowCount) {
+        exec.setProgress(rowCount / (double)totalRowCount, () -> String.format(
+            "Row %s/%s", rowCount, totalRowCount));
+    }
+
 //    private RealMatrix getStdErrorMatrix(final RealMatrix xTwx) {
 //        RealMatrix covMat = new QRDecomposition(xTwx).getSolver().getInverse().scalarMultiply(-1);
 //        // the standard error estimate
@@ -249,72 +230,261 @@ private void irlsRls(final TrainingData<ClassificationTrainingRow> data, final R
     /**
      * Compute the likelihood at given beta.
      *
-     * @param iter iterator over trainings data.
+     * @param data the trainings data.
      * @param beta parameter vector
      * @param rC regressors count
      * @param tcC target category count
      * @throws CanceledExecutionException when method is cancelled
      */
-    private static double likelihood(final Iterator<ClassificationTrainingRow> iter,
+    private double likelihood(final TrainingData<ClassificationTrainingRow> data,
             final RealMatrix beta,
             final int rC, final int tcC,
             final ExecutionMonitor exec) throws CanceledExecutionException {
+        final double[] betaValues = beta.getRow(0);
+        final int numTasks = getNumTasks(data, 8L * tcC);
+        if (numTasks > 1) {
+            final PackedInMemoryData packedData = (PackedInMemoryData)data;
+            final List<Double> partialSums = processInParallel(numTasks, packedData.getRowCount(), (from, to) -> {
+                final double[] logits = new double[tcC - 1];
+                double loglike = 0;
+                for (int r = from; r < to; r++) {
+                    exec.checkCanceled();
+                    loglike += likelihood(packedData.getRow(r), betaValues, rC, tcC, logits);
+                }
+                return loglike;
+            });
+            double loglike = 0;
+            for (Double partialSum : partialSums) {
+                loglike += partialSum;
+            }
+            return loglike;
+        }
+        final double[] logits = new double[tcC - 1];
         double loglike = 0;
-
-        RealMatrix x = MatrixUtils.createRealMatrix(1, rC + 1);
-        while (iter.hasNext()) {
+        for (ClassificationTrainingRow row : data) {
             exec.checkCanceled();
-            ClassificationTrainingRow row = iter.next();
-
-            fillXFromRow(x, row);
+            loglike += likelihood(row, betaValues, rC, tcC, logits);
+        }
+        return loglike;
+    }
 
-            double sumEBetaTx = 0;
-            for (int i = 0; i < tcC - 1; i++) {
-                RealMatrix betaITx = x.multiply(beta.getSubMatrix(0, 0,
-                        i * (rC + 1), (i + 1) * (rC + 1) - 1).transpose());
-                sumEBetaTx += Math.exp(betaITx.getEntry(0, 0));
-            }
+    private static double likelihood(final ClassificationTrainingRow row, final double[] beta, final int rC,
+        final int tcC, final double[] logits) {
+        calculateLogits(row, beta, rC, tcC, logits);
+        double sumEBetaTx = 0;
+        for (int i = 0; i < tcC - 1; i++) {
+            sumEBetaTx += Math.exp(logits[i]);
+        }
 
-            int y = row.getCategory();
+        int y = row.getCategory();
+        final double logSumExp = Math.log(1 + sumEBetaTx);
+        if (row.getProbability(y) == 1.0) {
             double yBetaTx = 0;
-            final double logSumExp = Math.log(1 + sumEBetaTx);
-            if (row.getProbability(y) == 1.0) {
-                if (y < tcC - 1) {
-                    yBetaTx = calculateLogit(beta, rC, x, y);
-                }
-                loglike += yBetaTx - logSumExp;
-            } else {
-                // probabilistic label -> we need to loop over all categories
-                for (int i = 0; i < tcC - 1; i++) {
-                    loglike += row.getProbability(i) * (calculateLogit(beta, rC, x, i) - logSumExp);
-                }
-                loglike += row.getProbability(tcC - 1) * (-logSumExp);
+            if (y < tcC - 1) {
+                yBetaTx = logits[y];
             }
+            return yBetaTx - logSumExp;
         }
-
+        // probabilistic label -> we need to loop over all categories
+        double loglike = 0;
+        for (int i = 0; i < tcC - 1; i++) {
+            loglike += row.getProbability(i) * (logits[i] - logSumExp);
+        }
+        loglike += row.getProbability(tcC - 1) * (-logSumExp);
         return loglike;
     }
 
+    private static void calculateLogits(final ClassificationTrainingRow row, final double[] beta, final int rC,
+        final int tcC, final double[] logits) {
+        Arrays.fill(logits, 0.0);
+        for (FeatureIterator iter = row.getFeatureIterator(); iter.next();) {
+            final double featureVal = iter.getFeatureValue();
+            final int featureIdx = iter.getFeatureIndex();
+            for (int k = 0; k < tcC - 1; k++) {
+                logits[k] += featureVal * beta[k * (rC + 1) + featureIdx];
+            }
+        }
+    }
 
-    private static double calculateLogit(final RealMatrix beta, final int rC, final RealMatrix x, final int y) {
-        return x.multiply(beta.getSubMatrix(0, 0,
-            y * (rC + 1), (y + 1) * (rC + 1) - 1).transpose()
-                ).getEntry(0, 0);
+    /**
+     * Returns the number of tasks a pass over the data is split into. Only data that allows to access rows by their
+     * position is processed in parallel, and only if each task gets enough rows and the per task buffers of size
+     * <b>bytesPerTask</b> fit comfortably into memory.
+     */
+    private int getNumTasks(final TrainingData<ClassificationTrainingRow> data, final long bytesPerTask) {
+        if (!(data instanceof PackedInMemoryData)) {
+            return 1;
+        }
+        if (m_forcedNumTasks > 0) {
+            return m_forcedNumTasks;
+        }
+        final long byRows = data.getRowCount() / MIN_ROWS_PER_TASK;
+        final long byMemory = Runtime.getRuntime().maxMemory() / 4 / Math.max(1, bytesPerTask);
+        final long byThreads = Runtime.getRuntime().availableProcessors();
+        return (int)Math.max(1, Math.min(byThreads, Math.min(byRows, byMemory)));
     }
 
-    private static void fillXFromRow(final RealMatrix x, final ClassificationTrainingRow row) {
-        FeatureIterator iter = row.getFeatureIterator();
-        boolean hasNext = iter.next();
-        for (int i = 0; i < x.getColumnDimension(); i++) {
-            double val = 0.0;
-            if (hasNext && iter.getFeatureIndex() == i) {
-                val = iter.getFeatureValue();
-                hasNext = iter.next();
+    /**
+     * Splits the rows [0, rowCount) into <b>numTasks</b> consecutive ranges and processes them on a sub pool of the
+     * global thread pool. The results are returned in the order of the ranges.
+     */
+    private static <R> List<R> processInParallel(final int numTasks, final int rowCount, final RowRangeTask<R> task)
+        throws CanceledExecutionException {
+        final ThreadPool pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(numTasks);
+        final List<Future<R>> futures = new ArrayList<>(numTasks);
+        try {
+            for (int t = 0; t < numTasks; t++) {
+                final int from = (int)((long)rowCount * t / numTasks);
+                final int to = (int)((long)rowCount * (t + 1) / numTasks);
+                futures.add(pool.enqueue(() -> task.process(from, to)));
+            }
+            return pool.runInvisible(() -> {
+                final List<R> results = new ArrayList<>(numTasks);
+                for (Future<R> future : futures) {
+                    results.add(future.get());
+                }
+                return results;
+            });
+        } catch (ExecutionException e) {
+            throw ExecutionExceptionUtil.rethrowCause(e, "Learning the logistic regression model failed");
+        } finally {
+            for (Future<R> future : futures) {
+                future.cancel(true);
             }
-            x.setEntry(0, i, val);
         }
     }
 
+    @FunctionalInterface
+    private interface RowRangeTask<R> {
+        R process(int from, int to) throws CanceledExecutionException;
+    }
+
+    /**
+     * Accumulates X<sup>T</sup>WX (aka the hessian of the loglikelihood) and X<sup>T</sup>(y - u) over a set of rows.
+     * Both the diagonal blocks and the off-diagonal blocks of the hessian are symmetric, hence only the entries
+     * (o1 + i, o2 + ii) with i &le; ii of the blocks (k, kk) with k &le; kk are stored, in an upper triangular array.
+     */
+    private static final class IrlsAccumulator {
+
+        private final int m_rC;
+
+        private final int m_tcC;
+
+        /** Row r holds the columns [r, dim). */
+        private final double[][] m_xTwx;
+
+        private final double[] m_xTyu;
+
+        private final double[] m_pi;
+
+        private long m_rowCount;
+
+        IrlsAccumulator(final int rC, final int tcC) {
+            m_rC = rC;
+            m_tcC = tcC;
+            final int dim = (rC + 1) * (tcC - 1);
+            m_xTwx = new double[dim][];
+            for (int r = 0; r < dim; r++) {
+                m_xTwx[r] = new double[dim - r];
+            }
+            m_xTyu = new double[dim];
+            m_pi = new double[tcC - 1];
+        }
+
+        static long estimateSize(final int dim) {
+            return 8L * dim * (dim + 1) / 2 + 24L * dim;
+        }
+
+        void add(final ClassificationTrainingRow row, final double[] beta) {
+            m_rowCount++;
+            final int stride = m_rC + 1;
+            final int numK = m_tcC - 1;
+            final double[] pi = m_pi;
+            calculateLogits(row, beta, m_rC, m_tcC, pi);
+            double sumEBetaTx = 0;
+            for (int k = 0; k < numK; k++) {
+                pi[k] = Math.exp(pi[k]);
+                sumEBetaTx += pi[k];
+            }
+            for (int k = 0; k < numK; k++) {
+                pi[k] = pi[k] / (1 + sumEBetaTx);
+            }
+
+            // fill xTwx (aka the hessian of the loglikelihood)
+            for (FeatureIterator outer = row.getFeatureIterator(); outer.next();) {
+                final int i = outer.getFeatureIndex();
+                final double outerVal = outer.getFeatureValue();
+                for (FeatureIterator inner = outer.spawn(); inner.next();) {
+                    final int ii = inner.getFeatureIndex();
+                    final double innerVal = inner.getFeatureValue();
+                    final int lo = Math.min(i, ii);
+                    final int hi = Math.max(i, ii);
+                    for (int k = 0; k < numK; k++) {
+                        final int o1 = k * stride;
+                        final double[] xTwxRow = m_xTwx[o1 + lo];
+                        xTwxRow[hi - lo] += outerVal * (pi[k] * (1 - pi[k])) * innerVal;
+                        for (int kk = k + 1; kk < numK; kk++) {
+                            final int o2 = kk * stride;
+                            xTwxRow[o2 + hi - o1 - lo] += outerVal * (-pi[k] * pi[kk]) * innerVal;
+                        }
+                    }
+                }
+            }
+
+            // fill matrix xTyu
+            for (FeatureIterator iter = row.getFeatureIterator(); iter.next();) {
+                final int idx = iter.getFeatureIndex();
+                final double val = iter.getFeatureValue();
+                for (int k = 0; k < numK; k++) {
+                    m_xTyu[k * stride + idx] += (row.getProbability(k) - pi[k]) * val;
+                }
+            }
+        }
+
+        void merge(final IrlsAccumulator other) {
+            m_rowCount += other.m_rowCount;
+            for (int r = 0; r < m_xTwx.length; r++) {
+                final double[] row = m_xTwx[r];
+                final double[] otherRow = other.m_xTwx[r];
+                for (int c = 0; c < row.length; c++) {
+                    row[c] += otherRow[c];
+                }
+            }
+            for (int r = 0; r < m_xTyu.length; r++) {
+                m_xTyu[r] += other.m_xTyu[r];
+            }
+        }
+
+        long getRowCount() {
+            return m_rowCount;
+        }
+
+        RealMatrix getXTWX() {
+            final int stride = m_rC + 1;
+            final int numK = m_tcC - 1;
+            final RealMatrix xTwx = MatrixUtils.createRealMatrix(m_xTwx.length, m_xTwx.length);
+            for (int k = 0; k < numK; k++) {
+                final int o1 = k * stride;
+                for (int kk = k; kk < numK; kk++) {
+                    final int o2 = kk * stride;
+                    for (int i = 0; i < stride; i++) {
+                        for (int ii = 0; ii < stride; ii++) {
+                            final int lo = Math.min(i, ii);
+                            final int hi = Math.max(i, ii);
+                            final double v = m_xTwx[o1 + lo][o2 + hi - o1 - lo];
+                            xTwx.setEntry(o1 + i, o2 + ii, v);
+                            xTwx.setEntry(o2 + ii, o1 + i, v);
+                        }
+                    }
+                }
+            }
+            return xTwx;
+        }
+
+        RealMatrix getXTYU() {
+            return MatrixUtils.createColumnRealMatrix(m_xTyu);
+        }
+    }
 
     /**
      * {@inheritDoc}
@@ -357,7 +527,7 @@ public Double call() throws Exception {
                     final ExecutionMonitor progMon = exec.createSubProgress(1.0 / m_maxIter);
                     irlsRls(trainingData, beta, rC, tcC, progMon);
                     progMon.setProgress(1.0);
-                    return likelihood(trainingData.iterator(), beta, rC, tcC, exec);
+                    return likelihood(trainingData, beta, rC, tcC, exec);
                 }
             });
 
@@ -396,7 +566,7 @@ public Double call() throws Exception {
                 // half the step size of beta
                 beta.setSubMatrix((beta.add(betaOld)).scalarMultiply(0.5).getData(), 0, 0);
                 exec.checkCanceled();
-                loglike = likelihood(trainingData.iterator(), beta, rC, tcC, exec);
+                loglike = likelihood(trainingData, beta, rC, tcC, exec);
                 exec.checkCanceled();
             }
 
@@ -67,7 +67,7 @@
 import org.knime.base.node.mine.regression.logistic.learner4.LogRegLearnerSettings.Solver;
 import org.knime.base.node.mine.regression.logistic.learner4.data.ClassificationTrainingRow;
 import org.knime.base.node.mine.regression.logistic.learner4.data.DataTableTrainingData;
-import org.knime.base.node.mine.regression.logistic.learner4.data.InMemoryData;
+import org.knime.base.node.mine.regression.logistic.learner4.data.PackedInMemoryData;
 import org.knime.base.node.mine.regression.logistic.learner4.data.SparseClassificationTrainingRowBuilder;
 import org.knime.base.node.mine.regression.logistic.learner4.data.SparseProbabilisticTrainingRowBuilder;
 import org.knime.base.node.mine.regression.logistic.learner4.data.TrainingData;
@@ -189,7 +189,7 @@ LogisticRegressionContent learn(final BufferedDataTable trainingData, final Exec
         TrainingData<ClassificationTrainingRow> data;
         Long seed = m_settings.getSeed();
         if (m_settings.isInMemory()) {
-            data = new InMemoryData<ClassificationTrainingRow>(dataTable, seed, rowBuilder);
+            data = new PackedInMemoryData(dataTable, seed, rowBuilder);
         } else {
             data = new DataTableTrainingData<ClassificationTrainingRow>(trainingData, seed,
                     rowBuilder, m_settings.getChunkSize(), exec.createSilentSubExecutionContext(0.0));
@@ -0,0 +1,274 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   12.10.2026 (agent): created
+ */
+package org.knime.base.node.mine.regression.logistic.learner4.data;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.knime.base.node.mine.regression.logistic.learner4.data.TrainingRow.FeatureIterator;
+import org.knime.core.data.DataRow;
+import org.knime.core.node.BufferedDataTable;
+
+/**
+ * {@link TrainingData} implementation that holds all the data in memory in compressed sparse row format.
+ * The non-zero features of all rows are stored consecutively in one primitive index and one primitive value array,
+ * the categories of the rows in a separate target array. Compared to {@link InMemoryData} this avoids one object and
+ * two arrays per row and allows to access the rows by their position, e.g. in order to process them in parallel.
+ * The rows returned by this class are lightweight views on the packed arrays, their id is their position.
+ *
+ * @author agent
+ * @since 4.2
+ */
+public final class PackedInMemoryData extends AbstractTrainingData<ClassificationTrainingRow> {
+
+    private static final int INITIAL_NON_ZEROS_PER_ROW = 4;
+
+    /** Position of the first non-zero value of each row in {@link #m_indices}, has one more entry than rows. */
+    private final int[] m_rowStarts;
+
+    private final int[] m_indices;
+
+    private final float[] m_values;
+
+    private final int[] m_categories;
+
+    private final int m_numClasses;
+
+    /** The probabilities of all rows and classes (row major) or <code>null</code> if all rows have hard labels. */
+    private final double[] m_probabilities;
+
+    /**
+     * Instantiates a {@link TrainingData} object that holds all data in memory in compressed sparse row format.
+     *
+     * @param data the {@link BufferedDataTable} that contains the data to learn on
+     * @param seed used to generate pseudo random numbers
+     * @param rowBuilder used to create {@link TrainingRow} objects form {@link DataRow} objects
+     */
+    public PackedInMemoryData(final BufferedDataTable data, final Long seed,
+        final TrainingRowBuilder<ClassificationTrainingRow> rowBuilder) {
+        super(data, seed, rowBuilder);
+        final int rowCount = getRowCount();
+        m_numClasses = getTargetDimension() + 1;
+        m_rowStarts = new int[rowCount + 1];
+        m_categories = new int[rowCount];
+        int[] indices = new int[(int)Math.min(Integer.MAX_VALUE - 8, Math.max(16L,
+            (long)rowCount * INITIAL_NON_ZEROS_PER_ROW))];
+        float[] values = new float[indices.length];
+        double[] probabilities = null;
+        int pos = 0;
+        int id = 0;
+        for (DataRow row : data) {
+            final ClassificationTrainingRow trainingRow = rowBuilder.build(row, id);
+            for (FeatureIterator iter = trainingRow.getFeatureIterator(); iter.next();) {
+                if (pos == indices.length) {
+                    final int newLength = grow(indices.length);
+                    indices = Arrays.copyOf(indices, newLength);
+                    values = Arrays.copyOf(values, newLength);
+                }
+                indices[pos] = iter.getFeatureIndex();
+                values[pos] = (float)iter.getFeatureValue();
+                pos++;
+            }
+            m_rowStarts[id + 1] = pos;
+            final int category = trainingRow.getCategory();
+            m_categories[id] = category;
+            if (probabilities == null && trainingRow.getProbability(category) != 1.0) {
+                // first row with a soft label, all previous rows had hard labels
+                probabilities = new double[Math.multiplyExact(rowCount, m_numClasses)];
+                for (int r = 0; r < id; r++) {
+                    probabilities[r * m_numClasses + m_categories[r]] = 1.0;
+                }
+            }
+            if (probabilities != null) {
+                for (int c = 0; c < m_numClasses; c++) {
+                    probabilities[id * m_numClasses + c] = trainingRow.getProbability(c);
+                }
+            }
+            id++;
+        }
+        m_indices = pos == indices.length ? indices : Arrays.copyOf(indices, pos);
+        m_values = pos == values.length ? values : Arrays.copyOf(values, pos);
+        m_probabilities = probabilities;
+    }
+
+    private static int grow(final int length) {
+        if (length >= Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("The data contains too many non-zero values to be held in memory.");
+        }
+        return (int)Math.min(Integer.MAX_VALUE - 8, length + (length >> 1) + 1L);
+    }
+
+    /**
+     * Returns the row at the given position. The returned object is a view on the packed data and cheap to create.
+     *
+     * @param index the position of the row, must be in [0, {@link #getRowCount()})
+     * @return the row at position <b>index</b>, its id is <b>index</b>
+     */
+    public ClassificationTrainingRow getRow(final int index) {
+        if (index < 0 || index >= m_categories.length) {
+            throw new IndexOutOfBoundsException("Row index " + index + " is out of bounds.");
+        }
+        return new PackedRow(index);
+    }
+
+    /**
+     * @return the total number of non-zero features stored
+     */
+    public int getNonZeroCount() {
+        return m_indices.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Iterator<ClassificationTrainingRow> iterator() {
+        return new Iterator<ClassificationTrainingRow>() {
+
+            private int m_next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return m_next < m_categories.length;
+            }
+
+            @Override
+            public ClassificationTrainingRow next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return new PackedRow(m_next++);
+            }
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ClassificationTrainingRow getRandomRow() {
+        return new PackedRow(getRandomDataGenerator().nextInt(m_categories.length));
+    }
+
+    private final class PackedRow implements ClassificationTrainingRow {
+
+        private final int m_row;
+
+        PackedRow(final int row) {
+            m_row = row;
+        }
+
+        @Override
+        public int getId() {
+            return m_row;
+        }
+
+        @Override
+        public FeatureIterator getFeatureIterator() {
+            return new PackedFeatureIterator(m_rowStarts[m_row] - 1, m_rowStarts[m_row + 1]);
+        }
+
+        @Override
+        public int getCategory() {
+            return m_categories[m_row];
+        }
+
+        @Override
+        public double getProbability(final int classIdx) {
+            if (m_probabilities == null) {
+                return classIdx == m_categories[m_row] ? 1.0 : 0.0;
+            }
+            return m_probabilities[m_row * m_numClasses + classIdx];
+        }
+
+        @Override
+        public String toString() {
+            return "[id=" + m_row + "; numNonZero=" + (m_rowStarts[m_row + 1] - m_rowStarts[m_row]) + "]";
+        }
+    }
+
+    private final class PackedFeatureIterator implements FeatureIterator {
+
+        private int m_pos;
+
+        private final int m_end;
+
+        PackedFeatureIterator(final int pos, final int end) {
+            m_pos = pos;
+            m_end = end;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return m_pos < m_end - 1;
+        }
+
+        @Override
+        public boolean next() {
+            return ++m_pos < m_end;
+        }
+
+        @Override
+        public int getFeatureIndex() {
+            return m_indices[m_pos];
+        }
+
+        @Override
+        public double getFeatureValue() {
+            return m_values[m_pos];
+        }
+
+        @Override
+        public FeatureIterator spawn() {
+            return new PackedFeatureIterator(m_pos - 1, m_end);
+        }
+    }
+
+}
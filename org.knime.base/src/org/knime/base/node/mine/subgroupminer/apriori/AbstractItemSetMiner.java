@@ -0,0 +1,427 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   14.10.2026 (agent): created
+ */
+package org.knime.base.node.mine.subgroupminer.apriori;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.knime.base.node.mine.subgroupminer.freqitemset.AssociationRule;
+import org.knime.base.node.mine.subgroupminer.freqitemset.FrequentItemSet;
+import org.knime.base.util.ExecutionExceptionUtil;
+import org.knime.core.data.vector.bitvector.BitVectorValue;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.util.ThreadPool;
+
+/**
+ * Common base of the algorithms that mine the frequent itemsets without candidate generation. The frequent items are
+ * determined in a first pass over the transactions, the search space is then split into one task per frequent item,
+ * which are processed in parallel. The found itemsets are kept as sorted primitive arrays with their absolute
+ * support, the frequent itemsets and association rules are created from them in the same form as by the
+ * {@link ArrayApriori}: the always frequent items (which occur in every transaction) are reported separately and the
+ * rules are derived from the closed itemsets.
+ *
+ * @author agent
+ */
+abstract class AbstractItemSetMiner implements AprioriAlgorithm {
+
+    private int m_dbsize;
+
+    private int[] m_itemCounts;
+
+    private int[] m_alwaysFrequentItems;
+
+    private List<int[]> m_itemSets;
+
+    private int[] m_supports;
+
+    private Map<ItemSetKey, Integer> m_index;
+
+    private boolean[] m_closed;
+
+    private boolean[] m_hasFrequentSuperset;
+
+    private int m_idCounter;
+
+    /**
+     * Creates the tasks that mine the itemsets. Each task is responsible for the itemsets whose first item in the
+     * search order of the algorithm is a particular frequent item.
+     *
+     * @param transactions the transactions
+     * @param frequentItems the frequent items, not containing the always frequent items, ascending by id
+     * @param itemCounts the absolute support of all items, indexed by the item id
+     * @param minCount the minimum absolute support
+     * @param maxLength the maximal length of an itemset
+     * @param exec the execution monitor, only to be used for cancellation checks
+     * @return the mining tasks, their results are reported in the given order
+     * @throws CanceledExecutionException if the execution was canceled
+     */
+    abstract List<Callable<ItemSetBuffer>> createMiningTasks(List<BitVectorValue> transactions, int[] frequentItems,
+        int[] itemCounts, int minCount, int maxLength, ExecutionMonitor exec) throws CanceledExecutionException;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void findFrequentItemSets(final List<BitVectorValue> transactions, final double minSupport,
+        final int maxDepth, final FrequentItemSet.Type type, final ExecutionMonitor exec)
+        throws CanceledExecutionException {
+        m_dbsize = transactions.size();
+        exec.setMessage("detecting frequent items");
+        m_itemCounts = countItems(transactions, exec);
+        final int minCount = getMinCount(minSupport, m_dbsize);
+        final List<Integer> frequent = new ArrayList<Integer>();
+        final List<Integer> alwaysFrequent = new ArrayList<Integer>();
+        for (int i = 0; i < m_itemCounts.length; i++) {
+            if (m_dbsize > 0 && m_itemCounts[i] == m_dbsize) {
+                alwaysFrequent.add(i);
+            } else if (m_itemCounts[i] > 0 && m_itemCounts[i] >= minCount) {
+                frequent.add(i);
+            }
+        }
+        m_alwaysFrequentItems = toArray(alwaysFrequent);
+        final int[] frequentItems = toArray(frequent);
+        final List<Callable<ItemSetBuffer>> tasks = createMiningTasks(transactions, frequentItems, m_itemCounts,
+            minCount, Math.max(1, maxDepth), exec);
+        exec.setMessage("mining " + tasks.size() + " frequent items");
+        final List<ItemSetBuffer> results = runTasks(tasks, exec);
+        int total = 0;
+        for (ItemSetBuffer buffer : results) {
+            total += buffer.size();
+        }
+        m_itemSets = new ArrayList<int[]>(total);
+        m_supports = new int[total];
+        for (ItemSetBuffer buffer : results) {
+            for (int i = 0; i < buffer.size(); i++) {
+                m_supports[m_itemSets.size()] = buffer.getSupport(i);
+                m_itemSets.add(buffer.getItems(i));
+            }
+        }
+        m_index = null;
+        m_closed = null;
+        m_hasFrequentSuperset = null;
+    }
+
+    private static int[] countItems(final List<BitVectorValue> transactions, final ExecutionMonitor exec)
+        throws CanceledExecutionException {
+        int[] counts = new int[16];
+        for (BitVectorValue transaction : transactions) {
+            exec.checkCanceled();
+            // this type cast is save since the maximum length was checked in
+            // SubgroupMinerModel2#preprocess
+            for (int item = (int)transaction.nextSetBit(0); item >= 0;
+                    item = (int)transaction.nextSetBit(item + 1)) {
+                if (item >= counts.length) {
+                    counts = Arrays.copyOf(counts, Math.max(item + 1, 2 * counts.length));
+                }
+                counts[item]++;
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Returns the smallest absolute support that fulfills the relative minimum support in the same way as it is
+     * checked by the {@link ArrayApriori}, i.e. <code>count / dbsize &gt;= minSupport</code>.
+     */
+    private static int getMinCount(final double minSupport, final int dbsize) {
+        if (dbsize == 0) {
+            return 1;
+        }
+        int minCount = (int)Math.max(0, Math.min(dbsize + 1L, (long)Math.ceil(minSupport * dbsize)));
+        while (minCount > 0 && (double)(minCount - 1) / (double)dbsize >= minSupport) {
+            minCount--;
+        }
+        while (minCount <= dbsize && (double)minCount / (double)dbsize < minSupport) {
+            minCount++;
+        }
+        return Math.max(1, minCount);
+    }
+
+    private static int[] toArray(final List<Integer> list) {
+        final int[] array = new int[list.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = list.get(i);
+        }
+        return array;
+    }
+
+    private static List<ItemSetBuffer> runTasks(final List<Callable<ItemSetBuffer>> tasks,
+        final ExecutionMonitor exec) throws CanceledExecutionException {
+        if (tasks.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final int numThreads = Math.min(tasks.size(), Runtime.getRuntime().availableProcessors());
+        final ThreadPool pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(numThreads);
+        final AtomicInteger done = new AtomicInteger();
+        final List<Future<ItemSetBuffer>> futures = new ArrayList<Future<ItemSetBuffer>>(tasks.size());
+        try {
+            for (final Callable<ItemSetBuffer> task : tasks) {
+                futures.add(pool.enqueue(() -> {
+                    final ItemSetBuffer result = task.call();
+                    final int finished = done.incrementAndGet();
+                    exec.setProgress(finished / (double)tasks.size(),
+                        () -> "mined " + finished + " of " + tasks.size() + " frequent items");
+                    return result;
+                }));
+            }
+            return pool.runInvisible(() -> {
+                final List<ItemSetBuffer> results = new ArrayList<ItemSetBuffer>(futures.size());
+                for (Future<ItemSetBuffer> future : futures) {
+                    results.add(future.get());
+                }
+                return results;
+            });
+        } catch (ExecutionException e) {
+            throw ExecutionExceptionUtil.rethrowCause(e, "Mining the frequent itemsets failed");
+        } finally {
+            for (Future<ItemSetBuffer> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Determines which of the found itemsets are closed, i.e. have no found superset with the same support, and which
+     * have a found superset at all. It is sufficient to look at the supersets with one more item, since the support
+     * is anti-monotone and all subsets of a found itemset have been found.
+     */
+    private void ensureClosedness() {
+        if (m_closed != null) {
+            return;
+        }
+        final int numSets = m_itemSets.size();
+        m_index = new HashMap<ItemSetKey, Integer>(Math.max(16, numSets * 2));
+        for (int i = 0; i < numSets; i++) {
+            m_index.put(new ItemSetKey(m_itemSets.get(i)), i);
+        }
+        m_closed = new boolean[numSets];
+        m_hasFrequentSuperset = new boolean[numSets];
+        Arrays.fill(m_closed, true);
+        for (int i = 0; i < numSets; i++) {
+            final int[] set = m_itemSets.get(i);
+            if (set.length < 2) {
+                continue;
+            }
+            for (int leftOut = 0; leftOut < set.length; leftOut++) {
+                final Integer subset = m_index.get(new ItemSetKey(without(set, leftOut)));
+                if (subset != null) {
+                    m_hasFrequentSuperset[subset] = true;
+                    if (m_supports[subset] == m_supports[i]) {
+                        m_closed[subset] = false;
+                    }
+                }
+            }
+        }
+    }
+
+    private static int[] without(final int[] set, final int position) {
+        final int[] result = new int[set.length - 1];
+        System.arraycopy(set, 0, result, 0, position);
+        System.arraycopy(set, position + 1, result, position, result.length - position);
+        return result;
+    }
+
+    private double getRelativeSupport(final int count) {
+        return (double)count / (double)m_dbsize;
+    }
+
+    private FrequentItemSet createFrequentItemSet(final int[] items, final double support) {
+        final List<Integer> itemList = new ArrayList<Integer>(items.length);
+        for (int item : items) {
+            itemList.add(item);
+        }
+        return new FrequentItemSet(Integer.toString(m_idCounter++), itemList, support);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<FrequentItemSet> getFrequentItemSets(final FrequentItemSet.Type type) {
+        final List<FrequentItemSet> list = new ArrayList<FrequentItemSet>();
+        for (int item : m_alwaysFrequentItems) {
+            final FrequentItemSet set = createFrequentItemSet(new int[]{item}, 1);
+            set.setClosed(!type.equals(FrequentItemSet.Type.FREE));
+            list.add(set);
+        }
+        if (type.equals(FrequentItemSet.Type.FREE)) {
+            for (int i = 0; i < m_itemSets.size(); i++) {
+                list.add(createFrequentItemSet(m_itemSets.get(i), getRelativeSupport(m_supports[i])));
+            }
+            return list;
+        }
+        ensureClosedness();
+        for (int i = 0; i < m_itemSets.size(); i++) {
+            if (m_closed[i] && (type.equals(FrequentItemSet.Type.CLOSED) || !m_hasFrequentSuperset[i])) {
+                final FrequentItemSet set =
+                    createFrequentItemSet(m_itemSets.get(i), getRelativeSupport(m_supports[i]));
+                set.setClosed(true);
+                list.add(set);
+            }
+        }
+        // same order as the closed itemsets of the ArrayApriori
+        Collections.sort(list, (s1, s2) -> {
+            if (s1.getSupport() == s2.getSupport()) {
+                return s1.getItems().size() - s2.getItems().size();
+            }
+            return Double.compare(s1.getSupport(), s2.getSupport());
+        });
+        return list;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<AssociationRule> getAssociationRules(final double confidence) {
+        final List<AssociationRule> associationRules = new ArrayList<AssociationRule>();
+        // the always frequent items have confidence = 1 and support = dbsize
+        for (int item : m_alwaysFrequentItems) {
+            final int[] withoutItem = new int[m_alwaysFrequentItems.length - 1];
+            int pos = 0;
+            for (int other : m_alwaysFrequentItems) {
+                if (other != item) {
+                    withoutItem[pos++] = other;
+                }
+            }
+            associationRules.add(new AssociationRule(createFrequentItemSet(withoutItem, 1.0),
+                createFrequentItemSet(new int[]{item}, 1.0), 1.0, 1.0, 1.0));
+        }
+        ensureClosedness();
+        for (int i = 0; i < m_itemSets.size(); i++) {
+            final int[] set = m_itemSets.get(i);
+            if (!m_closed[i] || set.length < 2) {
+                continue;
+            }
+            final double supportS = getRelativeSupport(m_supports[i]);
+            for (int leftOut = 0; leftOut < set.length; leftOut++) {
+                final int[] withoutI = without(set, leftOut);
+                final double newSupport = getRelativeSupport(m_supports[m_index.get(new ItemSetKey(withoutI))]);
+                final double c = supportS / newSupport;
+                if (c >= confidence) {
+                    final double itemSupport = getRelativeSupport(m_itemCounts[set[leftOut]]);
+                    associationRules.add(new AssociationRule(createFrequentItemSet(withoutI, newSupport),
+                        createFrequentItemSet(new int[]{set[leftOut]}, itemSupport), supportS, c,
+                        c / itemSupport));
+                }
+            }
+        }
+        return associationRules;
+    }
+
+    /**
+     * Collects the itemsets found by one mining task.
+     */
+    static final class ItemSetBuffer {
+
+        private final List<int[]> m_sets = new ArrayList<int[]>();
+
+        private int[] m_counts = new int[16];
+
+        /**
+         * @param items the items of the set, which are sorted and copied by this method
+         * @param length the number of valid entries in <b>items</b>
+         * @param count the absolute support of the set
+         */
+        void add(final int[] items, final int length, final int count) {
+            final int[] set = Arrays.copyOf(items, length);
+            Arrays.sort(set);
+            if (m_sets.size() == m_counts.length) {
+                m_counts = Arrays.copyOf(m_counts, 2 * m_counts.length);
+            }
+            m_counts[m_sets.size()] = count;
+            m_sets.add(set);
+        }
+
+        int size() {
+            return m_sets.size();
+        }
+
+        int[] getItems(final int index) {
+            return m_sets.get(index);
+        }
+
+        int getSupport(final int index) {
+            return m_counts[index];
+        }
+    }
+
+    /** Hash key for a sorted itemset. */
+    private static final class ItemSetKey {
+
+        private final int[] m_items;
+
+        private final int m_hash;
+
+        ItemSetKey(final int[] items) {
+            m_items = items;
+            m_hash = Arrays.hashCode(items);
+        }
+
+        @Override
+        public int hashCode() {
+            return m_hash;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof ItemSetKey && Arrays.equals(m_items, ((ItemSetKey)obj).m_items);
+        }
+    }
+}
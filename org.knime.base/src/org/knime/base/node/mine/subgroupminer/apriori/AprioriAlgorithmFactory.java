@@ -70,7 +70,17 @@ public enum AlgorithmDataStructure {
         ARRAY,
         /* LIST */
         /** The TIDList stores the ids of the transactions. * */
-        TIDList;
+        TIDList,
+        /**
+         * FP-growth on a frequent pattern tree, without candidate generation.
+         * @since 4.2
+         */
+        FPTree,
+        /**
+         * Eclat on the vertical transaction ids using diffsets.
+         * @since 4.2
+         */
+        DiffSets;
 
         /**
          * Returns the values of this enum as a list of strings.
@@ -108,6 +118,10 @@ public static AprioriAlgorithm getAprioriAlgorithm(
             return new ArrayApriori(bitSetLength, dbsize);
         } else if (type.equals(AlgorithmDataStructure.TIDList)) {
             return new TIDApriori();
+        } else if (type.equals(AlgorithmDataStructure.FPTree)) {
+            return new FPGrowth();
+        } else if (type.equals(AlgorithmDataStructure.DiffSets)) {
+            return new DiffSetEclat();
         } else {
             throw new RuntimeException("Type not supported: " + type);
         }
@@ -0,0 +1,272 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   14.10.2026 (agent): created
+ */
+package org.knime.base.node.mine.subgroupminer.apriori;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.knime.core.data.vector.bitvector.BitVectorValue;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
+
+/**
+ * Eclat on the vertical representation of the transactions using diffsets (dEclat). Each frequent item is stored
+ * with the sorted ids of the transactions containing it (its tidset). The extensions PXY of an itemset PX by the
+ * other members PY of its equivalence class are computed by intersecting the tidsets. As soon as the differences to
+ * the tidset of PX are smaller in total than the intersections, the extensions store their diffset
+ * d(PXY) = t(PX) \ t(PXY) instead, and all deeper extensions are computed with d(PXYZ) = d(PXZ) \ d(PXY) and
+ * support(PXYZ) = support(PXY) - |d(PXYZ)|. On dense data the diffsets are much smaller than the tidsets. The
+ * equivalence classes of the frequent items are mined in parallel. If the number of frequent items permits, the
+ * supports of all pairs of items are counted in one pass over the transactions beforehand, so that only the tidsets
+ * of frequent pairs are intersected.
+ *
+ * @author agent
+ * @since 4.2
+ */
+public class DiffSetEclat extends AbstractItemSetMiner {
+
+    /** The maximal number of counters of the triangular matrix that counts the pairs of frequent items. */
+    private static final long MAX_PAIR_COUNTERS = 1L << 24;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    List<Callable<ItemSetBuffer>> createMiningTasks(final List<BitVectorValue> transactions,
+        final int[] frequentItems, final int[] itemCounts, final int minCount, final int maxLength,
+        final ExecutionMonitor exec) throws CanceledExecutionException {
+        // ascending support keeps the equivalence classes small
+        final Integer[] order = new Integer[frequentItems.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = frequentItems[i];
+        }
+        Arrays.sort(order, Comparator.comparingInt((Integer item) -> itemCounts[item])
+            .thenComparingInt(item -> item));
+        final int[] position = new int[itemCounts.length];
+        Arrays.fill(position, -1);
+        final int[][] tids = new int[order.length][];
+        for (int i = 0; i < order.length; i++) {
+            position[order[i]] = i;
+            tids[i] = new int[itemCounts[order[i]]];
+        }
+        final int n = order.length;
+        final int[] pairCounts = maxLength > 1 && (long)n * (n - 1) / 2 <= MAX_PAIR_COUNTERS
+            ? new int[n * (n - 1) / 2] : null;
+        final int[] filled = new int[n];
+        final int[] positions = new int[n];
+        int tid = 0;
+        for (BitVectorValue transaction : transactions) {
+            exec.checkCanceled();
+            int numPositions = 0;
+            for (int item = (int)transaction.nextSetBit(0); item >= 0;
+                    item = (int)transaction.nextSetBit(item + 1)) {
+                final int pos = position[item];
+                if (pos >= 0) {
+                    tids[pos][filled[pos]++] = tid;
+                    positions[numPositions++] = pos;
+                }
+            }
+            if (pairCounts != null) {
+                Arrays.sort(positions, 0, numPositions);
+                for (int i = 0; i < numPositions; i++) {
+                    final int offset = pairOffset(positions[i], n);
+                    for (int j = i + 1; j < numPositions; j++) {
+                        pairCounts[offset + positions[j]]++;
+                    }
+                }
+            }
+            tid++;
+        }
+        final List<Member> items = new ArrayList<Member>(order.length);
+        for (int i = 0; i < order.length; i++) {
+            items.add(new Member(order[i], tids[i], tids[i].length));
+        }
+        final List<Callable<ItemSetBuffer>> tasks = new ArrayList<Callable<ItemSetBuffer>>(order.length);
+        for (int i = 0; i < order.length; i++) {
+            final int x = i;
+            tasks.add(() -> {
+                final ItemSetBuffer buffer = new ItemSetBuffer();
+                final int[] prefix = new int[maxLength];
+                prefix[0] = order[x];
+                buffer.add(prefix, 1, tids[x].length);
+                if (maxLength > 1) {
+                    extend(items, x, false, prefix, 1, pairCounts, minCount, maxLength, buffer, exec);
+                }
+                return buffer;
+            });
+        }
+        return tasks;
+    }
+
+    /**
+     * Finds the frequent extensions of the member at index <b>a</b> by the following members of its equivalence class
+     * and recursively mines their equivalence class.
+     *
+     * @param members the members of the equivalence class
+     * @param a the index of the member to extend
+     * @param diffSets whether the members store diffsets or tidsets
+     * @param prefix the items of the member to extend in the first <b>length</b> entries
+     * @param length the length of the member to extend
+     * @param pairCounts the support of the pairs of items if <b>length</b> is 1, or <code>null</code>
+     */
+    private static void extend(final List<Member> members, final int a, final boolean diffSets, final int[] prefix,
+        final int length, final int[] pairCounts, final int minCount, final int maxLength, final ItemSetBuffer buffer,
+        final ExecutionMonitor exec) throws CanceledExecutionException {
+        exec.checkCanceled();
+        final Member pa = members.get(a);
+        final List<Member> extensions = new ArrayList<Member>();
+        long tidSetSize = 0;
+        long diffSetSize = 0;
+        final int pairOffset = pairCounts == null ? 0 : pairOffset(a, members.size());
+        for (int b = a + 1; b < members.size(); b++) {
+            if (pairCounts != null && pairCounts[pairOffset + b] < minCount) {
+                continue;
+            }
+            final Member pb = members.get(b);
+            final int[] ids;
+            final int support;
+            if (diffSets) {
+                ids = difference(pb.m_ids, pa.m_ids);
+                support = pa.m_support - ids.length;
+            } else {
+                ids = intersection(pa.m_ids, pb.m_ids);
+                support = ids.length;
+            }
+            if (support >= minCount) {
+                prefix[length] = pb.m_item;
+                buffer.add(prefix, length + 1, support);
+                extensions.add(new Member(pb.m_item, ids, support));
+                tidSetSize += support;
+                diffSetSize += pa.m_support - support;
+            }
+        }
+        if (length + 2 > maxLength || extensions.size() < 2) {
+            return;
+        }
+        boolean extensionDiffSets = diffSets;
+        if (!diffSets && diffSetSize < tidSetSize) {
+            // switch to diffsets relative to the tidset of the extended member
+            for (int e = 0; e < extensions.size(); e++) {
+                final Member ext = extensions.get(e);
+                extensions.set(e, new Member(ext.m_item, difference(pa.m_ids, ext.m_ids), ext.m_support));
+            }
+            extensionDiffSets = true;
+        }
+        for (int e = 0; e < extensions.size() - 1; e++) {
+            prefix[length] = extensions.get(e).m_item;
+            extend(extensions, e, extensionDiffSets, prefix, length + 1, null, minCount, maxLength, buffer, exec);
+        }
+    }
+
+    /**
+     * @return the offset of the pairs (i, j), j &gt; i, in the triangular pair matrix, their counter is at offset + j
+     */
+    private static int pairOffset(final int i, final int n) {
+        return (int)((long)i * (2L * n - i - 1) / 2 - i - 1);
+    }
+
+    /**
+     * @return the sorted ids that are contained in both <b>a</b> and <b>b</b>, both sorted ascending
+     */
+    static int[] intersection(final int[] a, final int[] b) {
+        final int[] result = new int[Math.min(a.length, b.length)];
+        int length = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                i++;
+            } else if (a[i] > b[j]) {
+                j++;
+            } else {
+                result[length++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return length == result.length ? result : Arrays.copyOf(result, length);
+    }
+
+    /**
+     * @return the sorted ids that are contained in <b>a</b> but not in <b>b</b>, both sorted ascending
+     */
+    static int[] difference(final int[] a, final int[] b) {
+        final int[] result = new int[a.length];
+        int length = 0;
+        int j = 0;
+        for (int i = 0; i < a.length; i++) {
+            while (j < b.length && b[j] < a[i]) {
+                j++;
+            }
+            if (j == b.length || b[j] != a[i]) {
+                result[length++] = a[i];
+            }
+        }
+        return length == result.length ? result : Arrays.copyOf(result, length);
+    }
+
+    /** A member of an equivalence class with either its tidset or its diffset. */
+    private static final class Member {
+
+        private final int m_item;
+
+        private final int[] m_ids;
+
+        private final int m_support;
+
+        Member(final int item, final int[] ids, final int support) {
+            m_item = item;
+            m_ids = ids;
+            m_support = support;
+        }
+    }
+}
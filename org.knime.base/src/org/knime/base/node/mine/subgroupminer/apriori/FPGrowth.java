@@ -0,0 +1,139 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   14.10.2026 (agent): created
+ */
+package org.knime.base.node.mine.subgroupminer.apriori;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import org.knime.core.data.vector.bitvector.BitVectorValue;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
+
+/**
+ * The FP-growth algorithm finds the frequent itemsets without candidate generation. The transactions are compressed
+ * into a {@link FPGrowthTree}, where the frequent items of each transaction are inserted in the order of descending
+ * support. For each frequent item, the conditional tree of its prefix paths is built and mined recursively. The
+ * items of the top-level tree are mined in parallel, since the tree is not modified during mining.
+ *
+ * @author agent
+ * @since 4.2
+ */
+public class FPGrowth extends AbstractItemSetMiner {
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    List<Callable<ItemSetBuffer>> createMiningTasks(final List<BitVectorValue> transactions,
+        final int[] frequentItems, final int[] itemCounts, final int minCount, final int maxLength,
+        final ExecutionMonitor exec) throws CanceledExecutionException {
+        // order the frequent items by descending support
+        final Integer[] order = new Integer[frequentItems.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = frequentItems[i];
+        }
+        Arrays.sort(order, Comparator.comparingInt((Integer item) -> -itemCounts[item])
+            .thenComparingInt(item -> item));
+        final int[] itemIds = new int[order.length];
+        final int[] rank = new int[itemCounts.length];
+        Arrays.fill(rank, -1);
+        for (int i = 0; i < order.length; i++) {
+            itemIds[i] = order[i];
+            rank[order[i]] = i;
+        }
+        final FPGrowthTree tree = new FPGrowthTree(itemIds, Math.max(16, transactions.size()));
+        final int[] path = new int[itemIds.length];
+        for (BitVectorValue transaction : transactions) {
+            exec.checkCanceled();
+            int length = 0;
+            for (int item = (int)transaction.nextSetBit(0); item >= 0;
+                    item = (int)transaction.nextSetBit(item + 1)) {
+                if (rank[item] >= 0) {
+                    path[length++] = rank[item];
+                }
+            }
+            Arrays.sort(path, 0, length);
+            tree.insert(path, length, 1);
+        }
+        final List<Callable<ItemSetBuffer>> tasks = new ArrayList<Callable<ItemSetBuffer>>(itemIds.length);
+        for (int i = 0; i < itemIds.length; i++) {
+            final int item = i;
+            tasks.add(() -> {
+                final ItemSetBuffer buffer = new ItemSetBuffer();
+                final int[] counts = new int[tree.getNumItems()];
+                final int[] scratch = new int[tree.getNumItems()];
+                final int[] prefix = new int[maxLength];
+                mine(tree, item, prefix, 0, minCount, maxLength, counts, scratch, buffer, exec);
+                return buffer;
+            });
+        }
+        return tasks;
+    }
+
+    private static void mine(final FPGrowthTree tree, final int item, final int[] prefix, final int prefixLength,
+        final int minCount, final int maxLength, final int[] counts, final int[] scratch, final ItemSetBuffer buffer,
+        final ExecutionMonitor exec) throws CanceledExecutionException {
+        exec.checkCanceled();
+        prefix[prefixLength] = tree.getItemId(item);
+        buffer.add(prefix, prefixLength + 1, tree.getSupport(item));
+        if (prefixLength + 1 >= maxLength) {
+            return;
+        }
+        final FPGrowthTree conditional = tree.createConditionalTree(item, minCount, counts, scratch);
+        if (conditional == null) {
+            return;
+        }
+        for (int i = conditional.getNumItems() - 1; i >= 0; i--) {
+            mine(conditional, i, prefix, prefixLength + 1, minCount, maxLength, counts, scratch, buffer, exec);
+        }
+    }
+}
@@ -0,0 +1,276 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   14.10.2026 (agent): created
+ */
+package org.knime.base.node.mine.subgroupminer.apriori;
+
+import java.util.Arrays;
+
+/**
+ * A frequent pattern tree as used by {@link FPGrowth}. The transactions are inserted as paths of their frequent items
+ * in a fixed order, such that common prefixes share the nodes. All nodes of the same item are linked, which allows to
+ * collect the conditional pattern base of an item. The nodes are stored in primitive arrays, the children of a node
+ * are found with an open addressing hash table over (parent, item).
+ *
+ * <p>
+ * The items of a tree are numbered from 0 to {@link #getNumItems()} - 1 in the order of insertion (i.e. descending
+ * support of the top-level tree), {@link #getItemId(int)} maps them to the ids of the transactions. The trees are not
+ * modified after construction and can be read concurrently.
+ *
+ * @author agent
+ */
+final class FPGrowthTree {
+
+    private static final int ROOT = 0;
+
+    private final int[] m_itemIds;
+
+    private final int[] m_itemSupports;
+
+    private final int[] m_headers;
+
+    private int[] m_nodeItems;
+
+    private int[] m_nodeCounts;
+
+    private int[] m_nodeParents;
+
+    private int[] m_nodeLinks;
+
+    private int m_size;
+
+    private long[] m_hashKeys;
+
+    private int[] m_hashNodes;
+
+    private int m_hashMask;
+
+    /**
+     * @param itemIds the transaction item ids of the items of this tree, in insertion order
+     * @param expectedNodes the expected number of nodes
+     */
+    FPGrowthTree(final int[] itemIds, final int expectedNodes) {
+        m_itemIds = itemIds;
+        m_itemSupports = new int[itemIds.length];
+        m_headers = new int[itemIds.length];
+        Arrays.fill(m_headers, -1);
+        final int capacity = Math.max(16, expectedNodes);
+        m_nodeItems = new int[capacity];
+        m_nodeCounts = new int[capacity];
+        m_nodeParents = new int[capacity];
+        m_nodeLinks = new int[capacity];
+        m_nodeItems[ROOT] = -1;
+        m_nodeParents[ROOT] = -1;
+        m_size = 1;
+        initHash(Integer.highestOneBit(capacity) * 4);
+    }
+
+    private void initHash(final int capacity) {
+        m_hashKeys = new long[capacity];
+        m_hashNodes = new int[capacity];
+        Arrays.fill(m_hashNodes, -1);
+        m_hashMask = capacity - 1;
+    }
+
+    private long key(final int parent, final int item) {
+        return (long)parent * m_itemIds.length + item;
+    }
+
+    private int slot(final long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int)(h ^ (h >>> 32)) & m_hashMask;
+    }
+
+    /**
+     * Inserts a path.
+     *
+     * @param items the items of the path, ascending
+     * @param length the number of valid entries in <b>items</b>
+     * @param count the number of transactions represented by the path
+     */
+    void insert(final int[] items, final int length, final int count) {
+        int node = ROOT;
+        for (int i = 0; i < length; i++) {
+            final int item = items[i];
+            final long key = key(node, item);
+            int slot = slot(key);
+            int child = -1;
+            while (m_hashNodes[slot] >= 0) {
+                if (m_hashKeys[slot] == key) {
+                    child = m_hashNodes[slot];
+                    break;
+                }
+                slot = (slot + 1) & m_hashMask;
+            }
+            if (child < 0) {
+                child = createNode(node, item);
+                m_hashKeys[slot] = key;
+                m_hashNodes[slot] = child;
+                if (m_size * 2 > m_hashNodes.length) {
+                    rehash();
+                }
+            }
+            m_nodeCounts[child] += count;
+            node = child;
+        }
+        for (int i = 0; i < length; i++) {
+            m_itemSupports[items[i]] += count;
+        }
+    }
+
+    private int createNode(final int parent, final int item) {
+        if (m_size == m_nodeItems.length) {
+            final int newCapacity = m_size + (m_size >> 1) + 1;
+            m_nodeItems = Arrays.copyOf(m_nodeItems, newCapacity);
+            m_nodeCounts = Arrays.copyOf(m_nodeCounts, newCapacity);
+            m_nodeParents = Arrays.copyOf(m_nodeParents, newCapacity);
+            m_nodeLinks = Arrays.copyOf(m_nodeLinks, newCapacity);
+        }
+        final int node = m_size++;
+        m_nodeItems[node] = item;
+        m_nodeParents[node] = parent;
+        m_nodeLinks[node] = m_headers[item];
+        m_headers[item] = node;
+        return node;
+    }
+
+    private void rehash() {
+        initHash(m_hashNodes.length * 2);
+        for (int node = 1; node < m_size; node++) {
+            int slot = slot(key(m_nodeParents[node], m_nodeItems[node]));
+            while (m_hashNodes[slot] >= 0) {
+                slot = (slot + 1) & m_hashMask;
+            }
+            m_hashKeys[slot] = key(m_nodeParents[node], m_nodeItems[node]);
+            m_hashNodes[slot] = node;
+        }
+    }
+
+    /**
+     * @return the number of items of this tree
+     */
+    int getNumItems() {
+        return m_itemIds.length;
+    }
+
+    /**
+     * @param item an item of this tree
+     * @return the id of the item in the transactions
+     */
+    int getItemId(final int item) {
+        return m_itemIds[item];
+    }
+
+    /**
+     * @param item an item of this tree
+     * @return the number of transactions containing the item
+     */
+    int getSupport(final int item) {
+        return m_itemSupports[item];
+    }
+
+    /**
+     * Creates the conditional tree of an item, i.e. the tree of the prefix paths of the item, restricted to the items
+     * that are frequent together with it.
+     *
+     * @param item the item
+     * @param minCount the minimum absolute support
+     * @param counts scratch array with at least {@link #getNumItems()} entries, all zero, which are zero again when
+     *            this method returns
+     * @param path scratch array with at least {@link #getNumItems()} entries
+     * @return the conditional tree or <code>null</code> if no item is frequent together with <b>item</b>
+     */
+    FPGrowthTree createConditionalTree(final int item, final int minCount, final int[] counts, final int[] path) {
+        // count the items of the prefix paths
+        int numNodes = 0;
+        for (int node = m_headers[item]; node >= 0; node = m_nodeLinks[node]) {
+            final int count = m_nodeCounts[node];
+            for (int p = m_nodeParents[node]; p != ROOT; p = m_nodeParents[p]) {
+                counts[m_nodeItems[p]] += count;
+                numNodes++;
+            }
+        }
+        // the frequent ones keep their relative order
+        final int[] mapping = new int[item];
+        int numFrequent = 0;
+        for (int i = 0; i < item; i++) {
+            if (counts[i] >= minCount) {
+                mapping[i] = numFrequent++;
+            } else {
+                mapping[i] = -1;
+            }
+            counts[i] = 0;
+        }
+        if (numFrequent == 0) {
+            return null;
+        }
+        final int[] itemIds = new int[numFrequent];
+        for (int i = 0; i < item; i++) {
+            if (mapping[i] >= 0) {
+                itemIds[mapping[i]] = m_itemIds[i];
+            }
+        }
+        final FPGrowthTree tree = new FPGrowthTree(itemIds, numNodes + 1);
+        for (int node = m_headers[item]; node >= 0; node = m_nodeLinks[node]) {
+            int length = 0;
+            for (int p = m_nodeParents[node]; p != ROOT; p = m_nodeParents[p]) {
+                final int mapped = mapping[m_nodeItems[p]];
+                if (mapped >= 0) {
+                    path[length++] = mapped;
+                }
+            }
+            // the path was collected from the leaf to the root
+            for (int i = 0, j = length - 1; i < j; i++, j--) {
+                final int tmp = path[i];
+                path[i] = path[j];
+                path[j] = tmp;
+            }
+            tree.insert(path, length, m_nodeCounts[node]);
+        }
+        return tree;
+    }
+}
@@ -57,19 +57,16 @@
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.TimerTask;
 import java.util.Vector;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Future;
 
 import org.knime.base.node.mine.svm.PMMLSVMTranslator;
 import org.knime.base.node.mine.svm.Svm;
 import org.knime.base.node.mine.svm.kernel.Kernel;
 import org.knime.base.node.mine.svm.kernel.KernelFactory;
 import org.knime.base.node.mine.svm.kernel.KernelFactory.KernelType;
-import org.knime.base.node.mine.svm.util.BinarySvmRunnable;
 import org.knime.base.node.mine.svm.util.DoubleVector;
+import org.knime.base.node.mine.svm.util.KernelCache;
+import org.knime.base.node.mine.svm.util.OneVsRestSvmLearner;
 import org.knime.core.data.DataColumnSpec;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
@@ -81,12 +78,12 @@
 import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.ExecutionMonitor;
 import org.knime.core.node.InvalidSettingsException;
-import org.knime.core.node.KNIMEConstants;
 import org.knime.core.node.NodeLogger;
 import org.knime.core.node.NodeModel;
 import org.knime.core.node.NodeSettingsRO;
 import org.knime.core.node.NodeSettingsWO;
 import org.knime.core.node.defaultnodesettings.SettingsModelDouble;
+import org.knime.core.node.defaultnodesettings.SettingsModelIntegerBounded;
 import org.knime.core.node.defaultnodesettings.SettingsModelString;
 import org.knime.core.node.port.PortObject;
 import org.knime.core.node.port.PortObjectSpec;
@@ -95,8 +92,6 @@
 import org.knime.core.node.port.pmml.PMMLPortObjectSpec;
 import org.knime.core.node.port.pmml.PMMLPortObjectSpecCreator;
 import org.knime.core.node.util.CheckUtils;
-import org.knime.core.util.KNIMETimer;
-import org.knime.core.util.ThreadPool;
 
 /**
  *
@@ -129,6 +124,12 @@ public class SVMLearnerNodeModel extends NodeModel {
      */
     public static final String CFG_KERNELTYPE = "kernel_type";
 
+    /**
+     * Key to store the size of the kernel cache in MB in the NodeSettings.
+     * @since 4.2
+     */
+    public static final String CFG_CACHE_SIZE = "kernel_cache_size";
+
     /** Keys under which to save the parameters. */
     public static final String KEY_CATEG_COUNT = "Category count";
 
@@ -153,6 +154,12 @@ public class SVMLearnerNodeModel extends NodeModel {
     private final SettingsModelString m_classcol =
             new SettingsModelString(CFG_CLASSCOL, "");
 
+    /*
+     * The size of the kernel cache in MB.
+     */
+    private final SettingsModelIntegerBounded m_cacheSize =
+            createCacheSizeModel();
+
     /*
      * The chosen kernel
      */
@@ -172,6 +179,14 @@ public class SVMLearnerNodeModel extends NodeModel {
      */
     private String m_svmInfo = "";
 
+    /**
+     * @return the settings model for the size of the kernel cache in MB
+     */
+    static SettingsModelIntegerBounded createCacheSizeModel() {
+        return new SettingsModelIntegerBounded(CFG_CACHE_SIZE,
+                KernelCache.DEFAULT_CACHE_SIZE_MB, 1, Integer.MAX_VALUE);
+    }
+
     /**
      * creates the kernel parameter SettingsModels.
      *
@@ -290,72 +305,15 @@ protected PortObject[] execute(final PortObject[] inData,
             kernel.setParameter(i, kernelparams.get(i).getDoubleValue());
         }
 
-        final Svm[] svms = new Svm[categories.size()];
         exec.setMessage("Training SVM");
-        final BinarySvmRunnable[] bst =
-                new BinarySvmRunnable[categories.size()];
-        for (int i = 0; i < categories.size(); i++) {
-            bst[i] =
-                    new BinarySvmRunnable(inputDataArr, categories.get(i),
-                            kernel, m_paramC.getDoubleValue(),
-                            exec.createSubProgress((1.0 / categories.size())));
-
-        }
-        ThreadPool pool = KNIMEConstants.GLOBAL_THREAD_POOL;
-        final Future<?>[] fut = new Future<?>[bst.length];
-        KNIMETimer timer = KNIMETimer.getInstance();
-        TimerTask timerTask = new TimerTask() {
-            @Override
-            public void run() {
-                try {
-                    exec.checkCanceled();
-                } catch (final CanceledExecutionException ce) {
-                    for (int i = 0; i < fut.length; i++) {
-                        if (fut[i] != null) {
-                            fut[i].cancel(true);
-                        }
-                    }
-                    super.cancel();
-                }
-
-            }
-        };
-        timer.scheduleAtFixedRate(timerTask, 0, 3000);
-        for (int i = 0; i < bst.length; i++) {
-            fut[i] = pool.enqueue(bst[i]);
-        }
-
-        try {
-            pool.runInvisible(new Callable<Void>() {
-                @Override
-                public Void call() throws Exception {
-                    for (int i = 0; i < fut.length; ++i) {
-                        fut[i].get();
-                        bst[i].ok();
-                        if (bst[i].getWarning() != null) {
-                            setWarningMessage(bst[i].getWarning());
-                        }
-                        svms[i] = bst[i].getSvm();
-                    }
-                    return null;
-                }
-            });
-        } catch (Exception ex) {
-            exec.checkCanceled();
-            Throwable t = ex;
-            if (ex instanceof ExecutionException) {
-                t = ex.getCause();
-            }
-            if (t instanceof Exception) {
-                throw (Exception) t;
-            } else {
-                throw new Exception(t);
-            }
-        } finally {
-            for (int i = 0; i < fut.length; i++) {
-                fut[i].cancel(true);
-            }
-            timerTask.cancel();
+        // the binary SVMs share the kernel cache
+        OneVsRestSvmLearner learner = new OneVsRestSvmLearner(inputDataArr,
+                categories, kernel, m_paramC.getDoubleValue(),
+                m_cacheSize.getIntValue(),
+                Runtime.getRuntime().availableProcessors());
+        final Svm[] svms = learner.learn(exec);
+        for (String warning : learner.getWarnings()) {
+            setWarningMessage(warning);
         }
 
         // the optional PMML input (can be null)
@@ -468,6 +426,10 @@ protected void loadValidatedSettingsFrom(final NodeSettingsRO settings)
             throws InvalidSettingsException {
         m_paramC.loadSettingsFrom(settings);
         m_classcol.loadSettingsFrom(settings);
+        // added in 4.2
+        if (settings.containsKey(CFG_CACHE_SIZE)) {
+            m_cacheSize.loadSettingsFrom(settings);
+        }
         if (settings.containsKey(CFG_KERNELTYPE)) {
             m_kernelType =
                     KernelType.valueOf(settings.getString(CFG_KERNELTYPE));
@@ -553,6 +515,7 @@ protected void saveSettingsTo(final NodeSettingsWO settings) {
         settings.addString(CFG_KERNELTYPE, m_kernelType.toString());
         m_paramC.saveSettingsTo(settings);
         m_classcol.saveSettingsTo(settings);
+        m_cacheSize.saveSettingsTo(settings);
         for (Map.Entry<KernelType, Vector<SettingsModelDouble>>
         entry : m_kernelParameters
                 .entrySet()) {
@@ -601,6 +564,9 @@ protected void validateSettings(final NodeSettingsRO settings)
 
         m_paramC.validateSettings(settings);
         m_classcol.validateSettings(settings);
+        if (settings.containsKey(CFG_CACHE_SIZE)) {
+            m_cacheSize.validateSettings(settings);
+        }
     }
 
     private static final class LearnColumnsAndColumnRearrangerTuple {
@@ -45,6 +45,7 @@
  */
 package org.knime.base.node.mine.svm.learner;
 
+import java.util.Arrays;
 import java.util.LinkedHashSet;
 import java.util.Set;
 
@@ -52,6 +53,7 @@
 import org.knime.base.node.mine.svm.Svm;
 import org.knime.base.node.mine.svm.kernel.Kernel;
 import org.knime.base.node.mine.svm.util.DoubleVector;
+import org.knime.base.node.mine.svm.util.KernelCache;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionMonitor;
 
@@ -71,6 +73,12 @@
  *
  * The variable names used in this class follow the notations from the papers.
  *
+ * Kernel values are taken from a {@link KernelCache}. Similar to LIBSVM,
+ * examples whose Lagrange coefficients are at a bound and that satisfy the
+ * optimality conditions by a margin are shrunk, i.e. they are no longer
+ * examined until the algorithm is about to stop. Before stopping, all
+ * examples are examined again.
+ *
  * @author Stefan, University of Konstanz
  * @author Nicolas Cebron, University of Konstanz
  */
@@ -103,6 +111,11 @@ public class SvmAlgorithm {
      */
     private Kernel m_kernel;
 
+    /*
+     * the cache for the kernel values of the input data.
+     */
+    private final KernelCache m_cache;
+
     /*
      * the C parameter (upper bound for alpha's) -- needed for when the input
      * data is not separable.
@@ -134,6 +147,22 @@ public class SvmAlgorithm {
      */
     private Set<Integer> m_i0, m_i1, m_i2, m_i3, m_i4;
 
+    /*
+     * the number of consecutive passes over all examples in which an
+     * example was a candidate for shrinking.
+     */
+    private int[] m_shrinkCount;
+
+    /*
+     * the examples that are currently skipped when examining all examples.
+     */
+    private boolean[] m_shrunk;
+
+    /*
+     * whether examples may be shrunk, disabled for the final pass.
+     */
+    private boolean m_shrinking;
+
     /** Maximal iteration. */
     private final int m_maxIteration;
 
@@ -150,6 +179,12 @@ public class SvmAlgorithm {
      */
     private static final double EPSILON = 1.0e-12;
 
+    /*
+     * the number of passes in which an example must be a candidate for
+     * shrinking before it is shrunk.
+     */
+    private static final int SHRINK_PASSES = 2;
+
     /**
      * The main constructor.
      *
@@ -163,9 +198,50 @@ public class SvmAlgorithm {
     public SvmAlgorithm(final DoubleVector[] inputData,
             final String positiveClass, final Kernel kernel,
             final double paramC) {
+        this(inputData, positiveClass, kernel, paramC,
+                KernelCache.DEFAULT_CACHE_SIZE_MB);
+    }
+
+    /**
+     * Creates a new instance that caches kernel values.
+     *
+     * @param inputData the input vectors
+     * @param positiveClass the class value for which to consider an input
+     *            vector a 'positive' example. if input vectors have other class
+     *            values, they are considered 'negative'
+     * @param paramC the "C" from the problem constraints
+     * @param kernel the kernel to use in the algorithm
+     * @param cacheSizeMB the size of the kernel cache in MB
+     * @since 4.2
+     */
+    public SvmAlgorithm(final DoubleVector[] inputData,
+            final String positiveClass, final Kernel kernel,
+            final double paramC, final int cacheSizeMB) {
+        this(inputData, positiveClass, kernel, paramC,
+                new KernelCache(kernel, inputData, cacheSizeMB));
+    }
+
+    /**
+     * Creates a new instance that takes the kernel values from the given
+     * cache, which may be shared with other instances that learn on the same
+     * input data.
+     *
+     * @param inputData the input vectors
+     * @param positiveClass the class value for which to consider an input
+     *            vector a 'positive' example. if input vectors have other class
+     *            values, they are considered 'negative'
+     * @param paramC the "C" from the problem constraints
+     * @param kernel the kernel to use in the algorithm
+     * @param cache the cache of the kernel values of the input vectors
+     * @since 4.2
+     */
+    public SvmAlgorithm(final DoubleVector[] inputData,
+            final String positiveClass, final Kernel kernel,
+            final double paramC, final KernelCache cache) {
         m_inputData = inputData;
         m_positiveClass = positiveClass;
         m_kernel = kernel;
+        m_cache = cache;
         m_paramC = paramC;
         m_alpha = new double[m_inputData.length];
         //See: https://github.com/cran/e1071/blob/R-3.0.3/src/svm.cpp#L567
@@ -220,8 +296,7 @@ private double computeSvmOutput(final int i1) {
             if (!zero(m_alpha[i2])) {
                 double alpha = m_alpha[i2];
                 double targ = target(i2);
-                double kern =
-                        m_kernel.evaluate(m_inputData[i1], m_inputData[i2]);
+                double kern = m_cache.peek(i1, i2);
                 result += alpha * targ * kern;
             }
         }
@@ -366,9 +441,9 @@ private boolean takeStep(final int i1, final int i2) throws MaxIterationsExceede
         if (Math.abs(low - high) < EPSILON) {
             return false;
         }
-        double k11 = m_kernel.evaluate(m_inputData[i1], m_inputData[i1]);
-        double k12 = m_kernel.evaluate(m_inputData[i1], m_inputData[i2]);
-        double k22 = m_kernel.evaluate(m_inputData[i2], m_inputData[i2]);
+        double k11 = m_cache.diagonal(i1);
+        double k12 = m_cache.evaluate(i1, i2);
+        double k22 = m_cache.diagonal(i2);
         //-eta as in the Pratt paper.
         double eta = k11 + k22 - 2.0 * k12; // value of second derivative
         double a2;
@@ -403,17 +478,13 @@ private boolean takeStep(final int i1, final int i2) throws MaxIterationsExceede
         m_alpha[i1] = a1;
         m_alpha[i2] = a2;
         updateSets(i1, i2);
+        unshrink(i1);
+        unshrink(i2);
         for (int i : m_i0) {
             if ((i != i1) && (i != i2)) {
                 m_fcache[i] +=
-                        y1
-                                * (a1 - alpha1)
-                                * m_kernel.evaluate(m_inputData[i1],
-                                        m_inputData[i])
-                                + y2
-                                * (a2 - alpha2)
-                                * m_kernel.evaluate(m_inputData[i2],
-                                        m_inputData[i]);
+                        y1 * (a1 - alpha1) * m_cache.evaluate(i1, i)
+                                + y2 * (a2 - alpha2) * m_cache.evaluate(i2, i);
             }
         }
         m_fcache[i1] += y1 * (a1 - alpha1) * k11 + y2 * (a2 - alpha2) * k12;
@@ -479,6 +550,58 @@ private boolean examineExample(final int i2) throws MaxIterationsExceededExcepti
         return takeStep(i1, i2);
     }
 
+    /**
+     * Called after the i'th example was examined without optimization. An
+     * example at a bound is shrunk if its error is beyond the current offsets
+     * in several consecutive passes, i.e. it is unlikely to be optimized.
+     *
+     * @param i the index of the example
+     */
+    private void updateShrinking(final int i) {
+        if (!m_shrinking || m_i0.contains(i)) {
+            return;
+        }
+        boolean candidate;
+        if (m_i1.contains(i) || m_i2.contains(i)) {
+            candidate = m_fcache[i] > m_bLow;
+        } else {
+            candidate = m_fcache[i] < m_bUp;
+        }
+        if (!candidate) {
+            m_shrinkCount[i] = 0;
+        } else if (++m_shrinkCount[i] >= SHRINK_PASSES) {
+            m_shrunk[i] = true;
+        }
+    }
+
+    /**
+     * Reverts the shrinking of the i'th example, e.g. because its Lagrange
+     * coefficient changed.
+     *
+     * @param i the index of the example
+     */
+    private void unshrink(final int i) {
+        m_shrunk[i] = false;
+        m_shrinkCount[i] = 0;
+    }
+
+    /**
+     * Reverts the shrinking of all examples and disables shrinking for the
+     * next pass over all examples.
+     *
+     * @return true if there were shrunk examples
+     */
+    private boolean unshrinkAll() {
+        boolean shrunk = false;
+        for (int i = 0; i < m_shrunk.length; i++) {
+            shrunk |= m_shrunk[i];
+        }
+        Arrays.fill(m_shrunk, false);
+        Arrays.fill(m_shrinkCount, 0);
+        m_shrinking = false;
+        return shrunk;
+    }
+
     /**
      * Check the amount by which the KKT conditions for the i'th example are
      * violated.
@@ -558,6 +681,10 @@ private void mainAlgorithm(final ExecutionMonitor exec)
         m_i3 = new LinkedHashSet<Integer>();
         m_i4 = new LinkedHashSet<Integer>();
 
+        m_shrinkCount = new int[m_alpha.length];
+        m_shrunk = new boolean[m_alpha.length];
+        m_shrinking = true;
+
         for (int i = 0; i < m_alpha.length; ++i) {
             if (target(i) == 1.0) {
                 m_i1.add(i);
@@ -587,9 +714,14 @@ private void mainAlgorithm(final ExecutionMonitor exec)
                 numChanged = 0;
                 if (examineAll) {
                     for (int i = 0; i < m_inputData.length; ++i) {
+                        if (m_shrunk[i]) {
+                            continue;
+                        }
                         exec.checkCanceled();
                         if (examineExample(i)) {
                             numChanged++;
+                        } else {
+                            updateShrinking(i);
                         }
                     }
                 } else {
@@ -611,6 +743,12 @@ private void mainAlgorithm(final ExecutionMonitor exec)
             }
 
             if (examineAll) {
+                if (numChanged > 0) {
+                    m_shrinking = true;
+                } else if (unshrinkAll()) {
+                    // the shrunk examples need to be examined before stopping
+                    continue;
+                }
                 examineAll = false;
             } else if (numChanged == 0) {
                 examineAll = true;
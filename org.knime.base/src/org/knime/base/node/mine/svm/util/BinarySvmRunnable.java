@@ -78,7 +78,45 @@ public BinarySvmRunnable(final DoubleVector[] inputData,
             final String positiveClass,
             final Kernel kernel, final double paramC,
             final ExecutionMonitor exec) {
-        m_svmAlgo = new SvmAlgorithm(inputData, positiveClass, kernel, paramC);
+        this(inputData, positiveClass, kernel, paramC,
+                KernelCache.DEFAULT_CACHE_SIZE_MB, exec);
+    }
+
+    /**
+     * @param inputData the input data to train with
+     * @param positiveClass the positive class value
+     * @param kernel the kernel to use
+     * @param paramC overlapping penalty to use
+     * @param cacheSizeMB the size of the kernel cache in MB
+     * @param exec the execution process to report to
+     * @since 4.2
+     */
+    public BinarySvmRunnable(final DoubleVector[] inputData,
+            final String positiveClass,
+            final Kernel kernel, final double paramC, final int cacheSizeMB,
+            final ExecutionMonitor exec) {
+        m_svmAlgo = new SvmAlgorithm(inputData, positiveClass, kernel, paramC,
+                cacheSizeMB);
+        m_exception = null;
+        m_exec = exec;
+    }
+
+    /**
+     * @param inputData the input data to train with
+     * @param positiveClass the positive class value
+     * @param kernel the kernel to use
+     * @param paramC overlapping penalty to use
+     * @param cache the cache of the kernel values of the input data, which
+     *            may be shared with other runnables
+     * @param exec the execution process to report to
+     * @since 4.2
+     */
+    public BinarySvmRunnable(final DoubleVector[] inputData,
+            final String positiveClass,
+            final Kernel kernel, final double paramC, final KernelCache cache,
+            final ExecutionMonitor exec) {
+        m_svmAlgo = new SvmAlgorithm(inputData, positiveClass, kernel, paramC,
+                cache);
         m_exception = null;
         m_exec = exec;
     }
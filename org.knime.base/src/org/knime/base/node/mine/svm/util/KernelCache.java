@@ -0,0 +1,241 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.base.node.mine.svm.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.knime.base.node.mine.svm.kernel.Kernel;
+
+/**
+ * Caches the kernel values of the training vectors of a SVM. The diagonal of the kernel matrix is computed once, the
+ * other values are kept in columns of which only the least recently used ones are held in memory. The size of the
+ * cache is bounded by a memory budget. The entries of a column are computed lazily, i.e. only the values that are
+ * actually requested are evaluated.
+ * <p>
+ * The kernel values do not depend on the class values of the training vectors, hence a single cache can be shared
+ * by the binary SVMs of a one-vs-rest training. This class is thread-safe. The columns are distributed over several
+ * stripes with their own lock, such that threads requesting different columns rarely block each other. A column that
+ * is evicted from the cache is not reused, hence threads still holding it keep reading valid values. The values of a
+ * column are stored as the raw bits of the doubles in an {@link AtomicLongArray}, such that concurrent threads never
+ * read partially written values.
+ *
+ * @author agent
+ * @since 4.2
+ */
+public final class KernelCache {
+
+    /** The default size of the cache in MB. */
+    public static final int DEFAULT_CACHE_SIZE_MB = 100;
+
+    private static final long BYTES_PER_MB = 1024L * 1024L;
+
+    /** The bits of the entries of a column whose kernel value has not been computed yet. */
+    private static final long NOT_COMPUTED = Double.doubleToRawLongBits(Double.NaN);
+
+    /** The maximal number of stripes. */
+    static final int NUM_STRIPES = 16;
+
+    private final Kernel m_kernel;
+
+    private final DoubleVector[] m_data;
+
+    private final double[] m_diagonal;
+
+    /** The cached column per index or <code>null</code> if the column is not cached. */
+    private final AtomicReferenceArray<AtomicLongArray> m_columnOf;
+
+    /** The least recently used columns per stripe, a stripe is locked by its map. */
+    private final Map<Integer, AtomicLongArray>[] m_stripes;
+
+    /**
+     * @param kernel the kernel to evaluate, must support concurrent evaluation if the cache is shared among threads
+     * @param data the training vectors
+     * @param cacheSizeMB the maximal size of the cached columns in MB
+     */
+    @SuppressWarnings("unchecked")
+    public KernelCache(final Kernel kernel, final DoubleVector[] data, final int cacheSizeMB) {
+        m_kernel = kernel;
+        m_data = data;
+        m_diagonal = new double[data.length];
+        for (int i = 0; i < data.length; i++) {
+            m_diagonal[i] = kernel.evaluate(data[i], data[i]);
+        }
+        m_columnOf = new AtomicReferenceArray<>(data.length);
+        final int maxColumns = getMaxColumns(cacheSizeMB, data.length);
+        // each stripe must hold at least one column
+        final int numStripes = Math.min(NUM_STRIPES, maxColumns);
+        m_stripes = new Map[numStripes];
+        for (int s = 0; s < numStripes; s++) {
+            final int stripeColumns = maxColumns / numStripes + (s < maxColumns % numStripes ? 1 : 0);
+            m_stripes[s] = new LinkedHashMap<Integer, AtomicLongArray>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<Integer, AtomicLongArray> eldest) {
+                    if (size() > stripeColumns) {
+                        m_columnOf.set(eldest.getKey(), null);
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+    }
+
+    /**
+     * @param cacheSizeMB the size of the cache in MB
+     * @param numVectors the number of training vectors
+     * @return the number of columns that fit into the cache, at least two
+     */
+    static int getMaxColumns(final int cacheSizeMB, final int numVectors) {
+        final long columnBytes = Math.max(1L, Double.BYTES * (long)numVectors);
+        final long columns = cacheSizeMB * BYTES_PER_MB / columnBytes;
+        return (int)Math.max(2, Math.min(columns, numVectors));
+    }
+
+    /**
+     * @return the number of training vectors
+     */
+    public int size() {
+        return m_data.length;
+    }
+
+    /**
+     * @param i the index of a training vector
+     * @return the kernel value of the vector with itself
+     */
+    public double diagonal(final int i) {
+        return m_diagonal[i];
+    }
+
+    /**
+     * Returns the kernel value of the i-th and the j-th training vector. The column of the i-th vector is added to the
+     * cache if it is not cached yet, hence this method should be used for vectors whose values are requested
+     * repeatedly.
+     *
+     * @param i the index of the first vector
+     * @param j the index of the second vector
+     * @return the kernel value
+     */
+    public double evaluate(final int i, final int j) {
+        if (i == j) {
+            return m_diagonal[i];
+        }
+        final AtomicLongArray column = getColumn(i);
+        final long bits = column.get(j);
+        if (bits != NOT_COMPUTED) {
+            return Double.longBitsToDouble(bits);
+        }
+        // concurrent threads may compute the same value, which is harmless
+        final double value = compute(i, j);
+        set(column, j, value);
+        return value;
+    }
+
+    /**
+     * Returns the kernel value of the i-th and the j-th training vector. Cached columns are used if possible, but no
+     * column is added to the cache.
+     *
+     * @param i the index of the first vector
+     * @param j the index of the second vector
+     * @return the kernel value
+     */
+    public double peek(final int i, final int j) {
+        if (i == j) {
+            return m_diagonal[i];
+        }
+        final AtomicLongArray columnI = m_columnOf.get(i);
+        if (columnI != null && columnI.get(j) != NOT_COMPUTED) {
+            return Double.longBitsToDouble(columnI.get(j));
+        }
+        final AtomicLongArray columnJ = m_columnOf.get(j);
+        if (columnJ != null && columnJ.get(i) != NOT_COMPUTED) {
+            return Double.longBitsToDouble(columnJ.get(i));
+        }
+        final double value = compute(i, j);
+        if (columnI != null) {
+            set(columnI, j, value);
+        }
+        return value;
+    }
+
+    private AtomicLongArray getColumn(final int i) {
+        final Map<Integer, AtomicLongArray> stripe = m_stripes[i % m_stripes.length];
+        synchronized (stripe) {
+            AtomicLongArray column = stripe.get(i);
+            if (column == null) {
+                column = new AtomicLongArray(m_data.length);
+                for (int j = 0; j < m_data.length; j++) {
+                    column.lazySet(j, NOT_COMPUTED);
+                }
+                stripe.put(i, column);
+                m_columnOf.set(i, column);
+            }
+            return column;
+        }
+    }
+
+    private double compute(final int i, final int j) {
+        // the kernel is symmetric, copy the value if the other column is cached
+        final double value = m_kernel.evaluate(m_data[i], m_data[j]);
+        final AtomicLongArray columnJ = m_columnOf.get(j);
+        if (columnJ != null) {
+            set(columnJ, i, value);
+        }
+        return value;
+    }
+
+    /** Stores a value, the write is atomic but need not be visible to other threads immediately. */
+    private static void set(final AtomicLongArray column, final int index, final double value) {
+        column.lazySet(index, Double.doubleToRawLongBits(value));
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.base.node.mine.svm.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TimerTask;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.knime.base.node.mine.svm.Svm;
+import org.knime.base.node.mine.svm.kernel.Kernel;
+import org.knime.base.util.ExecutionExceptionUtil;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.util.KNIMETimer;
+import org.knime.core.util.ThreadPool;
+
+/**
+ * Learns one binary SVM per class that separates the class from all other classes. The binary problems are solved
+ * concurrently on a bounded number of threads and share a single {@link KernelCache}, such that kernel values are
+ * computed once for all classes.
+ *
+ * @author agent
+ * @since 4.2
+ */
+public final class OneVsRestSvmLearner {
+
+    private final DoubleVector[] m_inputData;
+
+    private final List<String> m_categories;
+
+    private final Kernel m_kernel;
+
+    private final double m_paramC;
+
+    private final int m_cacheSizeMB;
+
+    private final int m_maxThreads;
+
+    private final List<String> m_warnings = new ArrayList<>();
+
+    /**
+     * @param inputData the input data to train with
+     * @param categories the class values, one binary SVM is learned per class value
+     * @param kernel the kernel to use
+     * @param paramC overlapping penalty to use
+     * @param cacheSizeMB the size of the shared kernel cache in MB
+     * @param maxThreads the maximal number of binary SVMs that are learned concurrently
+     */
+    public OneVsRestSvmLearner(final DoubleVector[] inputData, final List<String> categories, final Kernel kernel,
+        final double paramC, final int cacheSizeMB, final int maxThreads) {
+        m_inputData = inputData;
+        m_categories = categories;
+        m_kernel = kernel;
+        m_paramC = paramC;
+        m_cacheSizeMB = cacheSizeMB;
+        m_maxThreads = maxThreads;
+    }
+
+    /**
+     * Learns the binary SVMs.
+     *
+     * @param exec progress is reported here
+     * @return the SVMs in the order of the categories
+     * @throws CanceledExecutionException if the execution is canceled
+     * @throws Exception if a binary SVM could not be learned
+     */
+    public Svm[] learn(final ExecutionMonitor exec) throws CanceledExecutionException, Exception {
+        m_warnings.clear();
+        final int numCategories = m_categories.size();
+        final KernelCache cache = new KernelCache(m_kernel, m_inputData, m_cacheSizeMB);
+        final BinarySvmRunnable[] bst = new BinarySvmRunnable[numCategories];
+        for (int i = 0; i < numCategories; i++) {
+            bst[i] = new BinarySvmRunnable(m_inputData, m_categories.get(i), m_kernel, m_paramC, cache,
+                exec.createSubProgress(1.0 / numCategories));
+        }
+        final ThreadPool pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(Math.max(1, m_maxThreads));
+        final Future<?>[] fut = new Future<?>[numCategories];
+        final TimerTask timerTask = new TimerTask() {
+            @Override
+            public void run() {
+                try {
+                    exec.checkCanceled();
+                } catch (final CanceledExecutionException ce) {
+                    for (int i = 0; i < fut.length; i++) {
+                        if (fut[i] != null) {
+                            fut[i].cancel(true);
+                        }
+                    }
+                    super.cancel();
+                }
+            }
+        };
+        KNIMETimer.getInstance().scheduleAtFixedRate(timerTask, 0, 3000);
+        for (int i = 0; i < numCategories; i++) {
+            fut[i] = pool.enqueue(bst[i]);
+        }
+
+        final Svm[] svms = new Svm[numCategories];
+        try {
+            pool.runInvisible(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    for (int i = 0; i < fut.length; ++i) {
+                        fut[i].get();
+                        bst[i].ok();
+                        if (bst[i].getWarning() != null && !m_warnings.contains(bst[i].getWarning())) {
+                            m_warnings.add(bst[i].getWarning());
+                        }
+                        svms[i] = bst[i].getSvm();
+                    }
+                    return null;
+                }
+            });
+        } catch (ExecutionException ex) {
+            exec.checkCanceled();
+            // the futures are queried within runInvisible, hence the cause might be wrapped twice
+            final Throwable t = ExecutionExceptionUtil.getCause(ex);
+            if (t instanceof Exception) {
+                throw (Exception)t;
+            } else if (t instanceof Error) {
+                throw (Error)t;
+            }
+            throw new Exception(t);
+        } finally {
+            for (int i = 0; i < fut.length; i++) {
+                if (fut[i] != null) {
+                    fut[i].cancel(true);
+                }
+            }
+            timerTask.cancel();
+        }
+        return svms;
+    }
+
+    /**
+     * @return the distinct warnings of the last learning, empty if there were none
+     */
+    public List<String> getWarnings() {
+        return m_warnings;
+    }
+}
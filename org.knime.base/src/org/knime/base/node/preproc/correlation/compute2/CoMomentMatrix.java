@@ -0,0 +1,478 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   15.10.2026 (agent): created
+ */
+package org.knime.base.node.preproc.correlation.compute2;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.knime.base.util.ExecutionExceptionUtil;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.util.ThreadPool;
+
+/**
+ * Accumulates the pairwise co-moments of numeric columns in a single pass over the rows, ignoring missing values
+ * pairwise. For each pair of columns (i, j) the number of rows where both are present, the means of both columns on
+ * these rows, the sums of squared deviations from these means and the sum of the products of the deviations are
+ * kept. The rows are collected in blocks. The co-moments of a block are computed relative to the block means and
+ * merged into the accumulated ones with the update formulas of Chan et al., which is numerically stable. The pairs are
+ * split into tiles of consecutive first columns with roughly the same number of pairs, the tiles of a block are
+ * processed in parallel while the next block is filled.
+ *
+ * @author agent
+ */
+final class CoMomentMatrix implements AutoCloseable {
+
+    /** The target size of a block of rows in bytes. */
+    private static final long BLOCK_BYTES = 4L << 20;
+
+    private final int m_numColumns;
+
+    private final int m_blockRows;
+
+    private final Block[] m_blocks;
+
+    private int m_currentBlock;
+
+    /** The first column of each tile, with the number of columns as last entry. */
+    private final int[] m_tiles;
+
+    private final ThreadPool m_pool;
+
+    private final List<Future<Void>> m_pending = new ArrayList<>();
+
+    // the co-moments of the columns (over their present values)
+
+    private final long[] m_colCounts;
+
+    private final double[] m_colMeans;
+
+    private final double[] m_colM2;
+
+    // the co-moments of the pairs i < j, index see #pairIndex
+
+    private final long[] m_counts;
+
+    private final double[] m_meansI;
+
+    private final double[] m_meansJ;
+
+    private final double[] m_m2I;
+
+    private final double[] m_m2J;
+
+    private final double[] m_comoments;
+
+    /**
+     * @param numColumns the number of numeric columns
+     */
+    CoMomentMatrix(final int numColumns) {
+        this(numColumns, (int)Math.max(64, Math.min(4096, BLOCK_BYTES / 8 / Math.max(1, numColumns))),
+            Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param numColumns the number of numeric columns
+     * @param blockRows the number of rows per block
+     * @param numThreads the number of threads
+     */
+    CoMomentMatrix(final int numColumns, final int blockRows, final int numThreads) {
+        m_numColumns = numColumns;
+        m_blockRows = blockRows;
+        final long numPairs = (long)numColumns * (numColumns - 1) / 2;
+        if (numPairs > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Too many numeric columns: " + numColumns);
+        }
+        m_colCounts = new long[numColumns];
+        m_colMeans = new double[numColumns];
+        m_colM2 = new double[numColumns];
+        m_counts = new long[(int)numPairs];
+        m_meansI = new double[(int)numPairs];
+        m_meansJ = new double[(int)numPairs];
+        m_m2I = new double[(int)numPairs];
+        m_m2J = new double[(int)numPairs];
+        m_comoments = new double[(int)numPairs];
+        m_blocks = new Block[]{new Block(numColumns, blockRows), new Block(numColumns, blockRows)};
+        final int threads = Math.max(1, numThreads);
+        m_tiles = createTiles(numColumns, threads == 1 ? 1 : 4 * threads);
+        m_pool = threads == 1 ? null : KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(threads);
+    }
+
+    /**
+     * Splits the first columns into tiles such that each tile holds about the same number of pairs.
+     */
+    private static int[] createTiles(final int numColumns, final int maxTiles) {
+        final int numTiles = Math.max(1, Math.min(maxTiles, numColumns));
+        // the pairs of column i plus its own moments
+        final long total = (long)numColumns * (numColumns + 1) / 2;
+        final int[] tiles = new int[numTiles + 1];
+        int tile = 1;
+        long sum = 0;
+        for (int i = 0; i < numColumns && tile < numTiles; i++) {
+            sum += numColumns - i;
+            if (sum * numTiles >= total * tile) {
+                tiles[tile++] = i + 1;
+            }
+        }
+        while (tile <= numTiles) {
+            tiles[tile++] = numColumns;
+        }
+        return tiles;
+    }
+
+    private int pairIndex(final int i, final int j) {
+        return (int)((long)i * (2L * m_numColumns - i - 1) / 2 + (j - i - 1));
+    }
+
+    /**
+     * Adds a row.
+     *
+     * @param values the values of the numeric columns, ignored where missing
+     * @param missing whether the value of the column is missing
+     * @throws CanceledExecutionException if the processing of a previous block was canceled
+     */
+    void addRow(final double[] values, final boolean[] missing) throws CanceledExecutionException {
+        final Block block = m_blocks[m_currentBlock];
+        final int row = block.m_numRows++;
+        for (int c = 0; c < m_numColumns; c++) {
+            if (missing[c]) {
+                block.setMissing(c, row);
+            } else {
+                block.m_values[c][row] = values[c];
+                if (block.m_hasMissing[c]) {
+                    block.m_present[c][row] = true;
+                }
+            }
+        }
+        if (block.m_numRows == m_blockRows) {
+            flush();
+        }
+    }
+
+    /**
+     * Processes the remaining rows and waits until all blocks are merged.
+     *
+     * @throws CanceledExecutionException if the processing was canceled
+     */
+    void finish() throws CanceledExecutionException {
+        if (m_blocks[m_currentBlock].m_numRows > 0) {
+            flush();
+        }
+        waitForPending();
+    }
+
+    private void flush() throws CanceledExecutionException {
+        final Block block = m_blocks[m_currentBlock];
+        block.prepare();
+        // the tiles of the previous block must be merged before the same accumulators are updated again
+        waitForPending();
+        if (m_pool == null) {
+            for (int t = 0; t < m_tiles.length - 1; t++) {
+                processTile(block, m_tiles[t], m_tiles[t + 1]);
+            }
+            block.reset();
+            return;
+        }
+        for (int t = 0; t < m_tiles.length - 1; t++) {
+            final int from = m_tiles[t];
+            final int to = m_tiles[t + 1];
+            if (from < to) {
+                m_pending.add(m_pool.enqueue(() -> {
+                    processTile(block, from, to);
+                    return null;
+                }));
+            }
+        }
+        // the other block is free since its tiles have been merged
+        m_currentBlock = 1 - m_currentBlock;
+        m_blocks[m_currentBlock].reset();
+    }
+
+    private void waitForPending() throws CanceledExecutionException {
+        if (m_pending.isEmpty()) {
+            return;
+        }
+        try {
+            m_pool.runInvisible(() -> {
+                for (Future<Void> future : m_pending) {
+                    future.get();
+                }
+                return null;
+            });
+        } catch (ExecutionException e) {
+            throw ExecutionExceptionUtil.rethrowCause(e, "Computing the correlation failed");
+        } finally {
+            m_pending.clear();
+        }
+    }
+
+    /**
+     * Merges the co-moments of the block into the accumulated ones of the columns [from, to) and their pairs with all
+     * following columns.
+     */
+    private void processTile(final Block block, final int from, final int to) {
+        final int n = block.m_numRows;
+        for (int i = from; i < to; i++) {
+            final long colCountA = m_colCounts[i];
+            final long colCountB = block.m_counts[i];
+            if (colCountA == 0) {
+                m_colMeans[i] = block.m_means[i];
+                m_colM2[i] = block.m_m2[i];
+            } else if (colCountB > 0) {
+                final double total = colCountA + colCountB;
+                final double delta = block.m_means[i] - m_colMeans[i];
+                m_colMeans[i] += delta * colCountB / total;
+                m_colM2[i] += block.m_m2[i] + delta * delta * colCountA * (double)colCountB / total;
+            }
+            m_colCounts[i] = colCountA + colCountB;
+            final double[] centeredI = block.m_centered[i];
+            final boolean[] presentI = block.m_hasMissing[i] ? block.m_present[i] : null;
+            for (int j = i + 1; j < m_numColumns; j++) {
+                final double[] centeredJ = block.m_centered[j];
+                final boolean[] presentJ = block.m_hasMissing[j] ? block.m_present[j] : null;
+                final long count;
+                final double meanI;
+                final double meanJ;
+                final double m2I;
+                final double m2J;
+                final double comoment;
+                if (presentI == null && presentJ == null) {
+                    // no missing values, the column moments are the pair moments
+                    count = n;
+                    meanI = block.m_means[i];
+                    meanJ = block.m_means[j];
+                    m2I = block.m_m2[i];
+                    m2J = block.m_m2[j];
+                    double c = 0;
+                    for (int r = 0; r < n; r++) {
+                        c += centeredI[r] * centeredJ[r];
+                    }
+                    comoment = c;
+                } else {
+                    // shifted sums over the rows where both are present, shifted by the column means
+                    long k = 0;
+                    double sumI = 0;
+                    double sumJ = 0;
+                    double sumII = 0;
+                    double sumJJ = 0;
+                    double sumIJ = 0;
+                    for (int r = 0; r < n; r++) {
+                        if ((presentI == null || presentI[r]) && (presentJ == null || presentJ[r])) {
+                            final double a = centeredI[r];
+                            final double b = centeredJ[r];
+                            k++;
+                            sumI += a;
+                            sumJ += b;
+                            sumII += a * a;
+                            sumJJ += b * b;
+                            sumIJ += a * b;
+                        }
+                    }
+                    if (k == 0) {
+                        continue;
+                    }
+                    count = k;
+                    meanI = block.m_means[i] + sumI / k;
+                    meanJ = block.m_means[j] + sumJ / k;
+                    m2I = Math.max(0, sumII - sumI * sumI / k);
+                    m2J = Math.max(0, sumJJ - sumJ * sumJ / k);
+                    comoment = sumIJ - sumI * sumJ / k;
+                }
+                final int p = pairIndex(i, j);
+                final long countA = m_counts[p];
+                if (countA == 0) {
+                    m_meansI[p] = meanI;
+                    m_meansJ[p] = meanJ;
+                    m_m2I[p] = m2I;
+                    m_m2J[p] = m2J;
+                    m_comoments[p] = comoment;
+                } else {
+                    final double total = countA + count;
+                    final double deltaI = meanI - m_meansI[p];
+                    final double deltaJ = meanJ - m_meansJ[p];
+                    final double factor = countA * (double)count / total;
+                    m_meansI[p] += deltaI * count / total;
+                    m_meansJ[p] += deltaJ * count / total;
+                    m_m2I[p] += m2I + deltaI * deltaI * factor;
+                    m_m2J[p] += m2J + deltaJ * deltaJ * factor;
+                    m_comoments[p] += comoment + deltaI * deltaJ * factor;
+                }
+                m_counts[p] = countA + count;
+            }
+        }
+    }
+
+    /**
+     * @param i a column
+     * @param j another column or <b>i</b>
+     * @return the number of rows where both columns are present
+     */
+    long getCount(final int i, final int j) {
+        if (i == j) {
+            return m_colCounts[i];
+        }
+        return m_counts[pairIndex(Math.min(i, j), Math.max(i, j))];
+    }
+
+    /**
+     * @param i a column
+     * @param j another column or <b>i</b>
+     * @return the sum of the squared deviations of the values of column <b>i</b> from their mean, over the rows where
+     *         both columns are present
+     */
+    double getSumOfSquares(final int i, final int j) {
+        if (i == j) {
+            return m_colM2[i];
+        }
+        return i < j ? m_m2I[pairIndex(i, j)] : m_m2J[pairIndex(j, i)];
+    }
+
+    /**
+     * @param i a column
+     * @param j another column
+     * @return the sum of the products of the deviations of both columns from their means, over the rows where both
+     *         are present
+     */
+    double getComoment(final int i, final int j) {
+        return m_comoments[pairIndex(Math.min(i, j), Math.max(i, j))];
+    }
+
+    /**
+     * Cancels the processing of pending blocks.
+     */
+    @Override
+    public void close() {
+        for (Future<Void> future : m_pending) {
+            future.cancel(true);
+        }
+        m_pending.clear();
+    }
+
+    /** A block of rows in column major order. */
+    private static final class Block {
+
+        private final double[][] m_values;
+
+        /** Per column the values minus the column mean of the block, 0 where missing. */
+        private final double[][] m_centered;
+
+        /** Per column whether the value is present, only valid if {@link #m_hasMissing} is set for the column. */
+        private final boolean[][] m_present;
+
+        private final boolean[] m_hasMissing;
+
+        private final long[] m_counts;
+
+        private final double[] m_means;
+
+        private final double[] m_m2;
+
+        private int m_numRows;
+
+        Block(final int numColumns, final int blockRows) {
+            m_values = new double[numColumns][blockRows];
+            m_centered = m_values;
+            m_present = new boolean[numColumns][];
+            m_hasMissing = new boolean[numColumns];
+            m_counts = new long[numColumns];
+            m_means = new double[numColumns];
+            m_m2 = new double[numColumns];
+        }
+
+        void setMissing(final int column, final int row) {
+            if (!m_hasMissing[column]) {
+                if (m_present[column] == null) {
+                    m_present[column] = new boolean[m_values[column].length];
+                }
+                Arrays.fill(m_present[column], 0, row, true);
+                m_hasMissing[column] = true;
+            }
+            m_present[column][row] = false;
+            m_values[column][row] = 0;
+        }
+
+        /** Computes the column moments and centers the values in place. */
+        void prepare() {
+            for (int c = 0; c < m_values.length; c++) {
+                final double[] values = m_values[c];
+                final boolean[] present = m_hasMissing[c] ? m_present[c] : null;
+                long count = 0;
+                double sum = 0;
+                for (int r = 0; r < m_numRows; r++) {
+                    if (present == null || present[r]) {
+                        count++;
+                        sum += values[r];
+                    }
+                }
+                final double mean = count == 0 ? 0 : sum / count;
+                double m2 = 0;
+                for (int r = 0; r < m_numRows; r++) {
+                    if (present == null || present[r]) {
+                        final double d = values[r] - mean;
+                        values[r] = d;
+                        m2 += d * d;
+                    } else {
+                        values[r] = 0;
+                    }
+                }
+                m_counts[c] = count;
+                m_means[c] = mean;
+                m_m2[c] = m2;
+            }
+        }
+
+        void reset() {
+            m_numRows = 0;
+            Arrays.fill(m_hasMissing, false);
+        }
+    }
+}
@@ -202,18 +202,12 @@ protected PortObject[] execute(final PortObject[] inData, final ExecutionContext
         CorrelationComputer2 calculator =
             new CorrelationComputer2(filteredTableSpec, m_maxPossValueCountModel.getIntValue());
 
-        // Calculate statistics on the table
-        exec.setMessage("Calculating table statistics");
-        ExecutionContext execStep1 = exec.createSubExecutionContext(PROG_STEP1);
-        calculator.calculateStatistics(filteredTable, execStep1);
-        execStep1.setProgress(1.0);
-
-        // Calculate the correlation
+        // Calculate statistics and correlation in a single scan on the table
         exec.setMessage("Calculating correlation values");
-        ExecutionMonitor execStep2 = exec.createSubExecutionContext(PROG_STEP2);
+        ExecutionMonitor execStep = exec.createSubExecutionContext(PROG_STEP1 + PROG_STEP2);
         CorrelationResult correlationResult =
-            calculator.calculateOutput(filteredTable, execStep2, selectedPValAlternative());
-        execStep2.setProgress(1.0);
+            calculator.calculateStatisticsAndOutput(filteredTable, execStep, selectedPValAlternative());
+        execStep.setProgress(1.0);
 
         // Create the output
         exec.setMessage("Assembling output");
@@ -120,6 +120,12 @@ public final class CorrelationComputer2 {
      */
     private double[][] m_numericStdDevMatrix;
 
+    /**
+     * The co-moments of the pairs of numeric columns (upper half), only set during
+     * {@link #calculateStatisticsAndOutput(BufferedDataTable, ExecutionMonitor, PValueAlternative)}.
+     */
+    private double[][] m_coMomentMatrix;
+
     /** Counts the number of valid records for each pair of numeric columns. */
     private HalfIntMatrix m_numericValidCountMatrix;
 
@@ -358,6 +364,207 @@ public CorrelationResult calculateOutput(final BufferedDataTable table, final Ex
         return new CorrelationResult(nominatorMatrix, pValMatrix, dofMatrix);
     }
 
+    /**
+     * Computes the pair wise correlation for numeric columns and the contingency tables of pairs of categorical
+     * columns in a single scan on the data. This is an alternative to {@link #calculateStatistics(BufferedDataTable,
+     * ExecutionMonitor)} followed by {@link #calculateOutput(BufferedDataTable, ExecutionMonitor, PValueAlternative)}.
+     * The co-moments of the numeric column pairs are accumulated in blocks of rows, which are processed in parallel
+     * tiles of column pairs while the next block is read.
+     *
+     * @param table ...
+     * @param exec ...
+     * @param pValueAlternative which p value should be computed
+     * @return the output matrix to be turned into the output model
+     * @throws CanceledExecutionException
+     * @since 4.2
+     */
+    @SuppressWarnings("unchecked")
+    public CorrelationResult calculateStatisticsAndOutput(final BufferedDataTable table, final ExecutionMonitor exec,
+        final PValueAlternative pValueAlternative) throws CanceledExecutionException {
+        assert table.getDataTableSpec().equalStructure(m_tableSpec);
+        m_possibleValues = new LinkedHashMap[m_categoricalColIndexMap.length];
+        for (int i = 0; i < m_possibleValues.length; i++) {
+            m_possibleValues[i] = new LinkedHashMap<>();
+        }
+        final int catCount = m_categoricalColIndexMap.length;
+        // grown while new values are seen, the indices are assigned in the order of appearance
+        final int[][][] contingencyTables = new int[(catCount - 1) * catCount / 2][][];
+        final int[] categoricalIndexBuffer = new int[catCount];
+
+        final int numericColCount = m_numericColIndexMap.length;
+        final double[] numericValues = new double[numericColCount];
+        final boolean[] numericMissing = new boolean[numericColCount];
+        try (final CoMomentMatrix coMoments = new CoMomentMatrix(numericColCount)) {
+            long rowIndex = 1;
+            final long rowCount = table.size();
+            for (DataRow r : table) {
+                for (int i = 0; i < numericColCount; i++) {
+                    final DataCell c = r.getCell(m_numericColIndexMap[i]);
+                    numericMissing[i] = c.isMissing();
+                    if (numericMissing[i]) {
+                        // Remember that there was a missing cell
+                        m_numericsWithMissings.add(m_numericColIndexMap[i]);
+                    } else {
+                        numericValues[i] = ((DoubleValue)c).getDoubleValue();
+                    }
+                }
+                coMoments.addRow(numericValues, numericMissing);
+
+                addRowToGrowingContingencyTables(r, contingencyTables, categoricalIndexBuffer);
+
+                exec.checkCanceled();
+                final long currentRow = rowIndex;
+                exec.setProgress(currentRow / (double)rowCount,
+                    () -> String.format("Calculating statistics - %d/%d (\"%s\")", currentRow, rowCount, r.getKey()));
+                rowIndex += 1;
+            }
+            coMoments.finish();
+            computeStdDevMatrix(coMoments);
+        }
+
+        final int numColumns = m_tableSpec.getNumColumns();
+        final HalfDoubleMatrix nominatorMatrix = new HalfDoubleMatrix(numColumns, /*includeDiagonal=*/false);
+        nominatorMatrix.fill(Double.NaN);
+
+        final HalfDoubleMatrix pValMatrix = new HalfDoubleMatrix(numColumns, false);
+        pValMatrix.fill(Double.NaN);
+
+        final HalfIntMatrix dofMatrix = new HalfIntMatrix(numColumns, false);
+        dofMatrix.fill(0);
+
+        handleZeroStdDev(nominatorMatrix);
+
+        // the nominator is the sum of the products of the standardized values, as filled by the second scan
+        for (int i = 0; i < numericColCount; i++) {
+            for (int j = i + 1; j < numericColCount; j++) {
+                final int tableI = m_numericColIndexMap[i];
+                final int tableJ = m_numericColIndexMap[j];
+                if (!Double.isNaN(nominatorMatrix.get(tableI, tableJ))) {
+                    nominatorMatrix.set(tableI, tableJ, m_coMomentMatrix[i][j]
+                        / (m_numericStdDevMatrix[i][j] * m_numericStdDevMatrix[j][i]));
+                }
+            }
+        }
+        m_coMomentMatrix = null;
+
+        normalizeNumericCorrelation(nominatorMatrix);
+
+        computeNumericPValues(nominatorMatrix, pValMatrix, dofMatrix, pValueAlternative);
+
+        fillCategoricalCorrelation(trimContingencyTables(contingencyTables), nominatorMatrix, pValMatrix, dofMatrix);
+
+        return new CorrelationResult(nominatorMatrix, pValMatrix, dofMatrix);
+    }
+
+    /**
+     * Fills the valid count and std dev matrix from the co-moments, the co-moments of the pairs are kept in
+     * {@link #m_coMomentMatrix}.
+     */
+    private void computeStdDevMatrix(final CoMomentMatrix coMoments) {
+        final int numericColCount = m_numericColIndexMap.length;
+        m_numericValidCountMatrix = new HalfIntMatrix(numericColCount, true);
+        m_numericStdDevMatrix = new double[numericColCount][numericColCount];
+        m_coMomentMatrix = new double[numericColCount][];
+        for (int i = 0; i < numericColCount; i++) {
+            m_coMomentMatrix[i] = new double[numericColCount];
+            for (int j = 0; j < numericColCount; j++) {
+                final long validCount = coMoments.getCount(i, j);
+                if (j >= i) {
+                    m_numericValidCountMatrix.set(i, j, (int)validCount);
+                }
+                if (validCount > 1) {
+                    double variance = coMoments.getSumOfSquares(i, j) / (validCount - 1);
+                    if (variance < PMCCPortObjectAndSpec.ROUND_ERROR_OK) {
+                        variance = 0.0;
+                    }
+                    m_numericStdDevMatrix[i][j] = Math.sqrt(variance);
+                } else {
+                    m_numericStdDevMatrix[i][j] = 0.0;
+                }
+                if (j > i) {
+                    m_coMomentMatrix[i][j] = coMoments.getComoment(i, j);
+                }
+            }
+        }
+    }
+
+    /**
+     * Adds the categorical values of the given row to the possible values and to the contingency tables, which are
+     * grown if a value is seen for the first time.
+     */
+    private void addRowToGrowingContingencyTables(final DataRow row, final int[][][] contingencyTables,
+        final int[] indexBuffer) {
+        for (int i = 0; i < m_categoricalColIndexMap.length; i++) {
+            indexBuffer[i] = -1;
+            final LinkedHashMap<DataCell, Integer> possibleValues = m_possibleValues[i];
+            // If null: To many possible values
+            if (possibleValues != null) {
+                // note: also take missing value as possible value
+                final DataCell c = row.getCell(m_categoricalColIndexMap[i]);
+                Integer index = possibleValues.get(c);
+                if (index == null) {
+                    index = possibleValues.size();
+                    possibleValues.put(c, index);
+                }
+                if (possibleValues.size() > m_maxPossibleValues) {
+                    m_possibleValues[i] = null;
+                } else {
+                    indexBuffer[i] = index;
+                }
+            }
+        }
+        int valIndex = 0;
+        for (int i = 0; i < m_categoricalColIndexMap.length; i++) {
+            for (int j = i + 1; j < m_categoricalColIndexMap.length; j++, valIndex++) {
+                final int indexI = indexBuffer[i];
+                final int indexJ = indexBuffer[j];
+                if (indexI < 0 || indexJ < 0) {
+                    contingencyTables[valIndex] = null;
+                    continue;
+                }
+                int[][] table = contingencyTables[valIndex];
+                if (table == null) {
+                    table = new int[indexI + 4][indexJ + 4];
+                    contingencyTables[valIndex] = table;
+                } else if (indexI >= table.length || indexJ >= table[0].length) {
+                    final int rows = Math.max(table.length, 2 * indexI + 1);
+                    final int cols = Math.max(table[0].length, 2 * indexJ + 1);
+                    final int[][] grown = new int[rows][];
+                    for (int k = 0; k < rows; k++) {
+                        grown[k] = k < table.length ? Arrays.copyOf(table[k], cols) : new int[cols];
+                    }
+                    table = grown;
+                    contingencyTables[valIndex] = table;
+                }
+                table[indexI][indexJ]++;
+            }
+        }
+    }
+
+    /** Cuts the grown contingency tables to the number of possible values, like {@link #initContingencyTables()}. */
+    private int[][][] trimContingencyTables(final int[][][] contingencyTables) {
+        int valIndex = 0;
+        for (int i = 0; i < m_categoricalColIndexMap.length; i++) {
+            for (int j = i + 1; j < m_categoricalColIndexMap.length; j++, valIndex++) {
+                final LinkedHashMap<DataCell, Integer> valuesI = m_possibleValues[i];
+                final LinkedHashMap<DataCell, Integer> valuesJ = m_possibleValues[j];
+                if (valuesI == null || valuesJ == null) {
+                    contingencyTables[valIndex] = null;
+                    continue;
+                }
+                final int[][] grown = contingencyTables[valIndex];
+                final int[][] table = new int[valuesI.size()][valuesJ.size()];
+                if (grown != null) {
+                    for (int k = 0; k < table.length; k++) {
+                        System.arraycopy(grown[k], 0, table[k], 0, table[k].length);
+                    }
+                }
+                contingencyTables[valIndex] = table;
+            }
+        }
+        return contingencyTables;
+    }
+
     private int[][][] initContingencyTables() {
         final int catCount = m_categoricalColIndexMap.length;
         final int categoricalPairsCount = (catCount - 1) * catCount / 2;
@@ -0,0 +1,243 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.base.node.preproc.crossjoin;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.BinaryOperator;
+
+import org.knime.base.util.ExecutionExceptionUtil;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.data.util.memory.MemoryAlertSystem;
+import org.knime.core.data.util.memory.MemoryAlertSystem.MemoryActionIndicator;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.node.streamable.RowInput;
+import org.knime.core.node.streamable.RowOutput;
+import org.knime.core.util.ThreadPool;
+
+/**
+ * Block nested loop cross join whose block size is determined by the available memory. The rows of the left input
+ * are collected into a block until half of the memory that is free before the {@link MemoryAlertSystem} reports low
+ * memory is used, the other half is left for the chunk of the right table and the joined rows. The right table is then
+ * read once per block in chunks of the block size, the last block keeps the chunk size of the previous one. The rows
+ * are combined by several threads, each combining a range of the block with the current chunk of the right table. The
+ * joined rows are pushed in the same order as the fixed chunk size path of the {@link CrossJoinerNodeModel} with the
+ * chunk size set to the block size, i.e. for each chunk of the right table all rows of the block are combined with the
+ * rows of the chunk.
+ *
+ * @author agent
+ */
+final class BlockCrossJoiner {
+
+    /** The number of joined rows a single task creates. */
+    private static final int ROWS_PER_TASK = 4096;
+
+    /** The number of rows added to the block before the memory usage is checked again. */
+    private static final int USAGE_CHECK_INTERVAL = 1024;
+
+    private final BinaryOperator<DataRow> m_joiner;
+
+    private final int m_numThreads;
+
+    private final ThreadPool m_pool;
+
+    private int m_maxBlockSize = Integer.MAX_VALUE;
+
+    /**
+     * @param joiner creates the joined row of a left and a right row, called concurrently
+     * @param numThreads the number of threads to use
+     */
+    BlockCrossJoiner(final BinaryOperator<DataRow> joiner, final int numThreads) {
+        m_joiner = joiner;
+        m_numThreads = Math.max(1, numThreads);
+        m_pool = m_numThreads == 1 ? null : KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(m_numThreads);
+    }
+
+    /**
+     * Used for testing, only. Limits the number of rows in a block as if memory got low after that many rows.
+     *
+     * @param maxBlockSize the maximum number of rows in a block
+     */
+    void setMaxBlockSize(final int maxBlockSize) {
+        m_maxBlockSize = maxBlockSize;
+    }
+
+    /**
+     * Cross joins the left and right data input and writes the result to the output, which is closed afterwards.
+     *
+     * @param lData the left data input
+     * @param rData the right data input
+     * @param output the output, i.e., the joined table
+     * @param totalNumRows the row count of the resulting table. Use 0 if it's not known in advance
+     * @param exec the execution context
+     * @throws InterruptedException if the execution was interrupted
+     * @throws CanceledExecutionException if the execution was canceled
+     */
+    void crossJoin(final RowInput lData, final BufferedDataTable rData, final RowOutput output,
+        final long totalNumRows, final ExecutionContext exec) throws InterruptedException, CanceledExecutionException {
+        final ArrayDeque<Future<DataRow[]>> pending = new ArrayDeque<>();
+        long rowCounter = 0;
+        int chunkSize = 0;
+        try {
+            boolean finished = false;
+            while (!finished) {
+                final List<DataRow> block = new ArrayList<>();
+                finished = fillBlock(block, lData, exec);
+                if (block.isEmpty() || rData.size() == 0) {
+                    continue;
+                }
+                // the last block is usually smaller, the bottom table is still read in chunks of the previous size
+                if (!finished || chunkSize == 0) {
+                    chunkSize = block.size();
+                }
+                final int blockRowsPerTask = Math.max(1, ROWS_PER_TASK / chunkSize);
+                try (CloseableRowIterator rRowIt = rData.iterator()) {
+                    while (rRowIt.hasNext()) {
+                        final List<DataRow> chunk = new ArrayList<>(chunkSize);
+                        while (chunk.size() < chunkSize && rRowIt.hasNext()) {
+                            exec.checkCanceled();
+                            chunk.add(rRowIt.next());
+                        }
+                        for (int from = 0; from < block.size(); from += blockRowsPerTask) {
+                            final List<DataRow> leftRows =
+                                block.subList(from, Math.min(block.size(), from + blockRowsPerTask));
+                            if (m_pool == null) {
+                                rowCounter = push(join(leftRows, chunk), output, rowCounter, totalNumRows, exec);
+                                continue;
+                            }
+                            // keep the threads busy but only hold the rows of the running tasks once memory is low
+                            final int maxPending =
+                                MemoryAlertSystem.getInstance().isMemoryLow() ? m_numThreads - 1 : 2 * m_numThreads;
+                            while (pending.size() > maxPending) {
+                                rowCounter = push(waitFor(pending.poll()), output, rowCounter, totalNumRows, exec);
+                            }
+                            pending.add(m_pool.enqueue(() -> join(leftRows, chunk)));
+                        }
+                    }
+                }
+                // the block must not be released before all its rows are joined
+                while (!pending.isEmpty()) {
+                    rowCounter = push(waitFor(pending.poll()), output, rowCounter, totalNumRows, exec);
+                }
+            }
+        } finally {
+            for (Future<DataRow[]> future : pending) {
+                future.cancel(true);
+            }
+        }
+        output.close();
+    }
+
+    /**
+     * Adds rows of the left input to the block until half of the memory that is free before the memory alert is used,
+     * at least one row.
+     *
+     * @return true if the left input is exhausted
+     */
+    private boolean fillBlock(final List<DataRow> block, final RowInput lData, final ExecutionContext exec)
+        throws InterruptedException, CanceledExecutionException {
+        final MemoryActionIndicator memIndicator = MemoryAlertSystem.getInstance().newIndicator();
+        final double startUsage = MemoryAlertSystem.getUsage();
+        final double maxUsage = startUsage + (MemoryAlertSystem.DEFAULT_USAGE_THRESHOLD - startUsage) / 2;
+        while (block.size() < m_maxBlockSize) {
+            exec.checkCanceled();
+            if (!block.isEmpty() && (memIndicator.lowMemoryActionRequired()
+                || (block.size() % USAGE_CHECK_INTERVAL == 0 && MemoryAlertSystem.getUsage() > maxUsage))) {
+                return false;
+            }
+            final DataRow row = lData.poll();
+            if (row == null) {
+                return true;
+            }
+            block.add(row);
+        }
+        return false;
+    }
+
+    private DataRow[] join(final List<DataRow> leftRows, final List<DataRow> rightRows) {
+        final DataRow[] rows = new DataRow[leftRows.size() * rightRows.size()];
+        int i = 0;
+        for (final DataRow lRow : leftRows) {
+            for (final DataRow rRow : rightRows) {
+                rows[i++] = m_joiner.apply(lRow, rRow);
+            }
+        }
+        return rows;
+    }
+
+    private static long push(final DataRow[] rows, final RowOutput output, final long rowCounter,
+        final long totalNumRows, final ExecutionContext exec) throws InterruptedException, CanceledExecutionException {
+        exec.checkCanceled();
+        for (final DataRow row : rows) {
+            output.push(row);
+        }
+        final long counter = rowCounter + rows.length;
+        if (rows.length > 0) {
+            final DataRow last = rows[rows.length - 1];
+            exec.setProgress((double)counter / totalNumRows, () -> "Generating Row " + last.getKey().toString());
+        }
+        return counter;
+    }
+
+    private DataRow[] waitFor(final Future<DataRow[]> future) throws InterruptedException,
+        CanceledExecutionException {
+        try {
+            return m_pool.runInvisible(future::get);
+        } catch (ExecutionException e) {
+            throw ExecutionExceptionUtil.rethrowCause(e, "Cross join failed");
+        }
+    }
+}
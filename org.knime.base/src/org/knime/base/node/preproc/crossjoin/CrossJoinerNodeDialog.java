@@ -67,8 +67,10 @@ final class CrossJoinerNodeDialog extends DefaultNodeSettingsPane {
                                                      "Bottom table's column name suffix"));
         addDialogComponent(new DialogComponentString(
                             CrossJoinerNodeModel.createRowKeySeparatorSettingsModel(), "Separator for new RowIds"));
+        final SettingsModelBoolean autoBlockSizeModel = CrossJoinerNodeModel.createAutomaticBlockSizeSettingsModel();
+        addDialogComponent(new DialogComponentBoolean(autoBlockSizeModel, "Determine chunk size automatically"));
         addDialogComponent(new DialogComponentNumber(
-                            CrossJoinerNodeModel.createCacheSizeSettingsModel(), "Chunk size: ", 10));
+                            CrossJoinerNodeModel.createCacheSizeSettingsModel(autoBlockSizeModel), "Chunk size: ", 10));
 
         final SettingsModelBoolean showFirstRowIdsModel = CrossJoinerNodeModel.createshowFirstRowIdsSettingsModel();
         addDialogComponent(new DialogComponentBoolean(showFirstRowIdsModel, "Append top data tables RowIds"));
@@ -100,7 +100,9 @@ final class CrossJoinerNodeModel extends NodeModel {
 
     private final SettingsModelString m_rightColumnNameSuffix = createRightColumnNameSuffixSettingsModel();
 
-    private final SettingsModelIntegerBounded m_cacheSize = createCacheSizeSettingsModel();
+    private final SettingsModelBoolean m_autoBlockSize = createAutomaticBlockSizeSettingsModel();
+
+    private final SettingsModelIntegerBounded m_cacheSize = createCacheSizeSettingsModel(m_autoBlockSize);
 
     private final SettingsModelString m_rkseparator = createRowKeySeparatorSettingsModel();
 
@@ -181,6 +183,11 @@ public void runFinal(final PortInput[] inputs, final PortOutput[] outputs, final
      */
     private void crossJoin(final RowInput lData, final BufferedDataTable rData, final RowOutput output,
         final long totalNumRows, final ExecutionContext exec) throws Exception {
+        if (m_autoBlockSize.getBooleanValue()) {
+            new BlockCrossJoiner(this::joinRows, Runtime.getRuntime().availableProcessors()).crossJoin(lData, rData,
+                output, totalNumRows, exec);
+            return;
+        }
         int chunksize = m_cacheSize.getIntValue();
         double rowCounter = 0;
         final List<DataRow> lDataChunk = new ArrayList<DataRow>();
@@ -265,7 +272,7 @@ private static void fillLeftDataChunk(final List<DataRow> list, final RowInput d
      *         columns
      * @since 2.9.1
      */
-    private DataRow joinRows(final DataRow left, final DataRow right) {
+    DataRow joinRows(final DataRow left, final DataRow right) {
         final boolean showLeft = m_showLeft.getBooleanValue();
         final boolean showRight = m_showRight.getBooleanValue();
         final String delimiter = m_rkseparator.getStringValue();
@@ -369,6 +376,8 @@ protected void saveSettingsTo(final NodeSettingsWO settings) {
         m_showRight.saveSettingsTo(settings);
         m_nameLeft.saveSettingsTo(settings);
         m_nameRight.saveSettingsTo(settings);
+        // new since 4.2
+        m_autoBlockSize.saveSettingsTo(settings);
     }
 
     /**
@@ -387,6 +396,12 @@ protected void loadValidatedSettingsFrom(final NodeSettingsRO settings) throws I
             m_nameLeft.loadSettingsFrom(settings);
             m_nameRight.loadSettingsFrom(settings);
         }
+        // new since 4.2, old nodes keep the fixed chunk size and thereby the row order
+        if (settings.containsKey(createAutomaticBlockSizeSettingsModel().getKey())) {
+            m_autoBlockSize.loadSettingsFrom(settings);
+        } else {
+            m_autoBlockSize.setBooleanValue(false);
+        }
     }
 
     /**
@@ -417,6 +432,10 @@ protected void validateSettings(final NodeSettingsRO settings) throws InvalidSet
             m_nameLeft.validateSettings(settings);
             m_nameRight.validateSettings(settings);
         }
+        // new since 4.2
+        if (settings.containsKey(createAutomaticBlockSizeSettingsModel().getKey())) {
+            m_autoBlockSize.validateSettings(settings);
+        }
     }
 
     /**
@@ -442,6 +461,32 @@ static SettingsModelIntegerBounded createCacheSizeSettingsModel() {
         return new SettingsModelIntegerBounded("CFG_CACHE", 1, 1, Integer.MAX_VALUE);
     }
 
+    /**
+     * @param autoBlockSizeSettingsModel the enable checker model, the cache size is only enabled if the block size is
+     *            not determined automatically
+     * @return the settings model for the cache size
+     */
+    static SettingsModelIntegerBounded
+        createCacheSizeSettingsModel(final SettingsModelBoolean autoBlockSizeSettingsModel) {
+        final SettingsModelIntegerBounded settingsModel = createCacheSizeSettingsModel();
+        autoBlockSizeSettingsModel.addChangeListener(new ChangeListener() {
+            @Override
+            public void stateChanged(final ChangeEvent e) {
+                settingsModel.setEnabled(!autoBlockSizeSettingsModel.getBooleanValue());
+            }
+        });
+        settingsModel.setEnabled(!autoBlockSizeSettingsModel.getBooleanValue());
+        return settingsModel;
+    }
+
+    /**
+     * @return the SM for determining the number of top table rows held in memory from the available memory, off by
+     *         default as the row order then depends on the available memory
+     */
+    static SettingsModelBoolean createAutomaticBlockSizeSettingsModel() {
+        return new SettingsModelBoolean("CFG_AUTO_BLOCK_SIZE", false);
+    }
+
     /**
      * @return the SM for the string separating the two rowkeys
      */
@@ -122,10 +122,25 @@ protected static KnimeRowFilterConfig getRowFilterConfig() {
      *             condition) encountered.
      */
     RowPredicate createRowPredicate(final DataTableSpec tableSpec) throws InvalidSettingsException {
+        return createRowPredicate(tableSpec, false);
+    }
+
+    /**
+     * Creates the {@link RowPredicate} to filter the rows of the input table.
+     *
+     * @param tableSpec holds the input {@link DataTableSpec}.
+     * @param adaptive if the conditions of a group should be evaluated in the order that is measured to decide the
+     *            result the fastest, see {@link RowPredicate#adaptiveAnd(java.util.Iterator)}
+     * @return the created {@link RowPredicate}
+     * @throws InvalidSettingsException in case of no condition, empty group or not known elements (neither group or
+     *             condition) encountered.
+     */
+    RowPredicate createRowPredicate(final DataTableSpec tableSpec, final boolean adaptive)
+        throws InvalidSettingsException {
         final Node root = m_rowFilterConfig.getRoot();
         RowPredicate rowPredicate;
         if (root != null) {
-            rowPredicate = consumeNode(root, tableSpec);
+            rowPredicate = consumeNode(root, tableSpec, adaptive);
             if (!m_rowFilterConfig.isQueryDefinesInclude()) {
                 rowPredicate = RowPredicate.negate(rowPredicate);
             }
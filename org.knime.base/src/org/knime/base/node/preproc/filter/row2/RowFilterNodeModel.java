@@ -47,7 +47,14 @@
  */
 package org.knime.base.node.preproc.filter.row2;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
 import org.knime.base.node.preproc.filter.row2.operator.RowPredicate;
+import org.knime.base.util.ExecutionExceptionUtil;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.container.CloseableRowIterator;
@@ -57,6 +64,7 @@
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.KNIMEConstants;
 import org.knime.core.node.port.PortObjectSpec;
 import org.knime.core.node.streamable.InputPortRole;
 import org.knime.core.node.streamable.OutputPortRole;
@@ -67,6 +75,7 @@
 import org.knime.core.node.streamable.RowOutput;
 import org.knime.core.node.streamable.StreamableOperator;
 import org.knime.core.node.streamable.StreamableOperatorInternals;
+import org.knime.core.util.ThreadPool;
 
 /**
  * Model of a node filtering rows. It keeps an instance of a row filter, which tells whether or not to include a row
@@ -74,12 +83,18 @@
  * normal filter instance is performance. If we are leaving the row number range we can immediately flag the end of the
  * table, while if we would use a filter instance we would have to run to the end of the input table (always getting a
  * mismatch because the row number is out of the valid range).
+ * <p>
+ * The conditions of groups are evaluated in the order that is measured to decide the result the fastest. Large tables
+ * are filtered in batches of rows by several threads, the order of the rows is retained.
  *
  * @author Perla Gjoka, KNIME GmbH, Konstanz, Germany
  * @author Adrian Nembach, KNIME GmbH, Konstanz, Germany
  */
 public class RowFilterNodeModel extends AbstractRowFilterNodeModel {
 
+    /** The number of rows tested by a single task if the table is filtered in parallel. */
+    private static final int BATCH_SIZE = 1024;
+
     /**
      * Creates a new Row Filter Node Model.
      */
@@ -121,14 +136,19 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final Ex
         final BufferedDataContainer container = exec.createDataContainer(in.getDataTableSpec());
         exec.setMessage("Searching first matching row...");
         // Create RowPredicate
-        final RowPredicate rowPredicate = createRowPredicate(in.getDataTableSpec());
+        final RowPredicate rowPredicate = createRowPredicate(in.getDataTableSpec(), true);
+        final int numThreads = Runtime.getRuntime().availableProcessors();
         // test rows with row predicate and add only matching rows to the container
         try (CloseableRowIterator rowIterator = in.filter(createTableFilter(rowPredicate), exec).iterator()) {
-            for (long i = getStartIdx(rowPredicate); rowIterator.hasNext(); i++) {
-                exec.checkCanceled();
-                final DataRow row = rowIterator.next();
-                if (rowPredicate.test(row, i)) {
-                    container.addRowToTable(row);
+            if (numThreads > 1 && in.size() > BATCH_SIZE) {
+                filterInParallel(rowIterator, getStartIdx(rowPredicate), rowPredicate, container, numThreads, exec);
+            } else {
+                for (long i = getStartIdx(rowPredicate); rowIterator.hasNext(); i++) {
+                    exec.checkCanceled();
+                    final DataRow row = rowIterator.next();
+                    if (rowPredicate.test(row, i)) {
+                        container.addRowToTable(row);
+                    }
                 }
             }
         }
@@ -136,6 +156,71 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final Ex
         return new BufferedDataTable[]{container.getTable()};
     }
 
+    /**
+     * Tests the rows in batches on a thread pool and adds the matching rows to the container in the order of the
+     * input.
+     */
+    private static void filterInParallel(final CloseableRowIterator rowIterator, final long startIdx,
+        final RowPredicate rowPredicate, final BufferedDataContainer container, final int numThreads,
+        final ExecutionContext exec) throws InterruptedException, CanceledExecutionException {
+        final ThreadPool pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(numThreads);
+        final ArrayDeque<Future<List<DataRow>>> pending = new ArrayDeque<>();
+        try {
+            long i = startIdx;
+            while (rowIterator.hasNext()) {
+                exec.checkCanceled();
+                final DataRow[] batch = new DataRow[BATCH_SIZE];
+                int size = 0;
+                while (size < BATCH_SIZE && rowIterator.hasNext()) {
+                    batch[size++] = rowIterator.next();
+                }
+                final long batchStartIdx = i;
+                final int batchSize = size;
+                pending.add(pool.enqueue(() -> testBatch(batch, batchSize, batchStartIdx, rowPredicate)));
+                i += size;
+                // keep the threads busy but limit the number of rows held in memory
+                if (pending.size() > 2 * numThreads) {
+                    addRows(waitFor(pending.poll(), pool), container, exec);
+                }
+            }
+            while (!pending.isEmpty()) {
+                addRows(waitFor(pending.poll(), pool), container, exec);
+            }
+        } finally {
+            for (Future<List<DataRow>> future : pending) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    private static List<DataRow> testBatch(final DataRow[] batch, final int size, final long startIdx,
+        final RowPredicate rowPredicate) {
+        final List<DataRow> matches = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            if (rowPredicate.test(batch[i], startIdx + i)) {
+                matches.add(batch[i]);
+            }
+        }
+        return matches;
+    }
+
+    private static void addRows(final List<DataRow> rows, final BufferedDataContainer container,
+        final ExecutionContext exec) throws CanceledExecutionException {
+        exec.checkCanceled();
+        for (final DataRow row : rows) {
+            container.addRowToTable(row);
+        }
+    }
+
+    private static List<DataRow> waitFor(final Future<List<DataRow>> future, final ThreadPool pool)
+        throws InterruptedException, CanceledExecutionException {
+        try {
+            return pool.runInvisible(future::get);
+        } catch (ExecutionException e) {
+            throw ExecutionExceptionUtil.rethrowCause(e, "Filtering rows failed");
+        }
+    }
+
     private static long getStartIdx(final RowPredicate rowPredicate) {
         if (rowPredicate.getRowIndexRange().hasLowerBound()) {
             return rowPredicate.getRowIndexRange().lowerEndpoint();
@@ -185,7 +270,7 @@ public void runFinal(final PortInput[] inputs, final PortOutput[] outputs, final
                 throws Exception {
                 final RowInput inData = (RowInput)inputs[0];
                 final RowOutput output = (RowOutput)outputs[0];
-                final RowPredicate rowPredicate = createRowPredicate(inData.getDataTableSpec());
+                final RowPredicate rowPredicate = createRowPredicate(inData.getDataTableSpec(), true);
 
                 RowFilterNodeModel.filterInput(inData, output, rowPredicate, ctx);
             }
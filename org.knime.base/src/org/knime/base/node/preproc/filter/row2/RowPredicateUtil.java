@@ -91,6 +91,15 @@ private RowPredicateUtil() {
      * consumeGroup.
      */
     static RowPredicate consumeNode(final Node node, final DataTableSpec tableSpec) throws InvalidSettingsException {
+        return consumeNode(node, tableSpec, false);
+    }
+
+    /**
+     * Same as {@link #consumeNode(Node, DataTableSpec)} but allows to combine the conditions of groups by predicates
+     * that adapt the evaluation order to the measured run time and selectivity of the conditions.
+     */
+    static RowPredicate consumeNode(final Node node, final DataTableSpec tableSpec, final boolean adaptive)
+        throws InvalidSettingsException {
         final AbstractElement value = node.getElement();
 
         if (value instanceof Condition) {
@@ -99,7 +108,7 @@ static RowPredicate consumeNode(final Node node, final DataTableSpec tableSpec)
             return consumeCondition(condition, tableSpec);
 
         } else if (value instanceof Group) {
-            return consumeGroup((Group)value, node.getChildren().iterator(), tableSpec);
+            return consumeGroup((Group)value, node.getChildren().iterator(), tableSpec, adaptive);
         } else {
             throw new InvalidSettingsException(String.format("Unknown element %s encountered", value));
         }
@@ -111,7 +120,7 @@ static RowPredicate consumeNode(final Node node, final DataTableSpec tableSpec)
      * calling the method combine group.
      */
     private static RowPredicate consumeGroup(final Group group, final Iterator<Node> childIterator,
-        final DataTableSpec tableSpec) throws InvalidSettingsException {
+        final DataTableSpec tableSpec, final boolean adaptive) throws InvalidSettingsException {
         //find the first predicate
         assert childIterator.hasNext() : "Encountered empty group.";
         // create list
@@ -119,22 +128,23 @@ private static RowPredicate consumeGroup(final Group group, final Iterator<Node>
 
         while (childIterator.hasNext()) {
             // add to list
-            final RowPredicate rowPredicate = consumeNode(childIterator.next(), tableSpec);
+            final RowPredicate rowPredicate = consumeNode(childIterator.next(), tableSpec, adaptive);
             rowPredicateList.add(rowPredicate);
         }
         // combine list
-        return combineGroup(group.getType(), rowPredicateList);
+        return combineGroup(group.getType(), rowPredicateList, adaptive);
     }
 
     /**
      * Iterates through all the list of RowPredicates created by the consume group and based on the condition, combines
      * them either by logical And or logical Or.
      */
-    private static RowPredicate combineGroup(final GroupType type, final List<RowPredicate> predicates) {
+    private static RowPredicate combineGroup(final GroupType type, final List<RowPredicate> predicates,
+        final boolean adaptive) {
         if (type.equals(DefaultGroupTypes.AND)) {
-            return RowPredicate.and(predicates.iterator());
+            return adaptive ? RowPredicate.adaptiveAnd(predicates.iterator()) : RowPredicate.and(predicates.iterator());
         } else if (type.equals(DefaultGroupTypes.OR)) {
-            return RowPredicate.or(predicates.iterator());
+            return adaptive ? RowPredicate.adaptiveOr(predicates.iterator()) : RowPredicate.or(predicates.iterator());
         } else {
             throw new IllegalArgumentException("Unknown group type " + type);
         }
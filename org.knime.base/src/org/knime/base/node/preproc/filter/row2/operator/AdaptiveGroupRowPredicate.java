@@ -0,0 +1,195 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.base.node.preproc.filter.row2.operator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BinaryOperator;
+import java.util.stream.IntStream;
+
+import org.knime.core.data.DataRow;
+import org.knime.core.node.util.CheckUtils;
+
+import com.google.common.collect.Range;
+
+/**
+ * Combines multiple {@link RowPredicate RowPredicates} with a logical AND or OR and evaluates them in the order that
+ * is expected to decide the result the fastest. For rows whose index is a multiple of {@link #SAMPLING_INTERVAL} all
+ * predicates are evaluated and their run time and how often they decided the result is recorded. After
+ * {@link #SAMPLES_PER_REORDERING} sampled rows the predicates are sorted by their run time divided by the probability
+ * to decide the result, e.g. a cheap numeric comparison that rejects many rows is evaluated before an expensive
+ * pattern match. The predicates must be free of side effects, the order does then not change the result.
+ * <p>
+ * This class is thread-safe provided the combined predicates are.
+ *
+ * @author agent
+ */
+final class AdaptiveGroupRowPredicate implements RowPredicate {
+
+    /** Rows with an index that is a multiple of this value are used to measure the predicates. */
+    static final int SAMPLING_INTERVAL = 64;
+
+    /** The number of sampled rows after which the predicates are reordered. */
+    static final int SAMPLES_PER_REORDERING = 32;
+
+    private final RowPredicate[] m_predicates;
+
+    /** The result that makes the evaluation of the remaining predicates obsolete, false for AND and true for OR. */
+    private final boolean m_decisiveResult;
+
+    private final Set<Integer> m_requiredColumns;
+
+    private final Range<Long> m_indexRange;
+
+    private final long[] m_nanos;
+
+    private final long[] m_decisiveCounts;
+
+    private int m_samples;
+
+    private volatile int[] m_order;
+
+    /**
+     * @param predicateIterator is an iterator of row predicates, created by multiple conditions given by the user.
+     * @param decisiveResult false if the predicates are combined with AND, true if they are combined with OR
+     * @param rangeCombiner combines the row index ranges of the predicates
+     */
+    AdaptiveGroupRowPredicate(final Iterator<RowPredicate> predicateIterator, final boolean decisiveResult,
+        final BinaryOperator<Range<Long>> rangeCombiner) {
+        CheckUtils.checkArgument(predicateIterator.hasNext(), "Empty iterators are not allowed.");
+        final List<RowPredicate> predicates = new ArrayList<>();
+        final Set<Integer> requiredColumns = new HashSet<>();
+        Range<Long> indexRange = null;
+        while (predicateIterator.hasNext()) {
+            final RowPredicate predicate = predicateIterator.next();
+            predicates.add(predicate);
+            requiredColumns.addAll(predicate.getRequiredColumns());
+            indexRange = indexRange == null ? predicate.getRowIndexRange()
+                : rangeCombiner.apply(indexRange, predicate.getRowIndexRange());
+        }
+        m_predicates = predicates.toArray(new RowPredicate[0]);
+        m_decisiveResult = decisiveResult;
+        m_requiredColumns = Collections.unmodifiableSet(requiredColumns);
+        m_indexRange = indexRange;
+        m_nanos = new long[m_predicates.length];
+        m_decisiveCounts = new long[m_predicates.length];
+        // start with the order configured by the user
+        m_order = IntStream.range(0, m_predicates.length).toArray();
+    }
+
+    @Override
+    public boolean test(final DataRow t, final Long index) {
+        if (m_predicates.length > 1 && index % SAMPLING_INTERVAL == 0) {
+            return testAndMeasure(t, index);
+        }
+        for (final int i : m_order) {
+            if (m_predicates[i].test(t, index) == m_decisiveResult) {
+                return m_decisiveResult;
+            }
+        }
+        return !m_decisiveResult;
+    }
+
+    private boolean testAndMeasure(final DataRow t, final Long index) {
+        final long[] nanos = new long[m_predicates.length];
+        final boolean[] decisive = new boolean[m_predicates.length];
+        boolean decided = false;
+        for (int i = 0; i < m_predicates.length; i++) {
+            final long start = System.nanoTime();
+            decisive[i] = m_predicates[i].test(t, index) == m_decisiveResult;
+            nanos[i] = System.nanoTime() - start;
+            decided |= decisive[i];
+        }
+        synchronized (m_nanos) {
+            for (int i = 0; i < m_predicates.length; i++) {
+                m_nanos[i] += nanos[i];
+                m_decisiveCounts[i] += decisive[i] ? 1 : 0;
+            }
+            m_samples++;
+            if (m_samples % SAMPLES_PER_REORDERING == 0) {
+                reorder();
+            }
+        }
+        return decided ? m_decisiveResult : !m_decisiveResult;
+    }
+
+    /** Must be called while holding the lock on {@link #m_nanos}. */
+    private void reorder() {
+        // the counts are smoothed to rank predicates that never decided the result, too
+        final double[] ranks = new double[m_predicates.length];
+        for (int i = 0; i < m_predicates.length; i++) {
+            ranks[i] = (m_nanos[i] + 1.0) / (m_decisiveCounts[i] + 1.0);
+        }
+        // the sort is stable and keeps the user order for ties
+        final Integer[] order = IntStream.range(0, m_predicates.length).boxed().toArray(Integer[]::new);
+        Arrays.sort(order, (i, j) -> Double.compare(ranks[i], ranks[j]));
+        m_order = Arrays.stream(order).mapToInt(Integer::intValue).toArray();
+        // let older measurements fade out so that the order can follow changes in the data
+        for (int i = 0; i < m_predicates.length; i++) {
+            m_nanos[i] /= 2;
+            m_decisiveCounts[i] /= 2;
+        }
+    }
+
+    @Override
+    public Set<Integer> getRequiredColumns() {
+        return m_requiredColumns;
+    }
+
+    @Override
+    public Range<Long> getRowIndexRange() {
+        return m_indexRange;
+    }
+
+}
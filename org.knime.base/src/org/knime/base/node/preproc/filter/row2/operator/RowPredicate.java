@@ -100,6 +100,30 @@ static RowPredicate or(final Iterator<RowPredicate> predicateIterator) {
         return new GroupRowPredicate(predicateIterator, (p, q) -> p.or(q), (p, q) -> p.span(q));
     }
 
+    /**
+     * Combines the predicates with a logical AND. In contrast to {@link #and(Iterator)} the predicates are evaluated in
+     * the order that is measured to reject rows the fastest.
+     *
+     * @param predicateIterator is an iterator of row predicates, created by multiple conditions given by the user.
+     * @return the combined predicate, thread-safe if the combined predicates are.
+     * @since 4.2
+     */
+    static RowPredicate adaptiveAnd(final Iterator<RowPredicate> predicateIterator) {
+        return new AdaptiveGroupRowPredicate(predicateIterator, false, (p, q) -> p.intersection(q));
+    }
+
+    /**
+     * Combines the predicates with a logical OR. In contrast to {@link #or(Iterator)} the predicates are evaluated in
+     * the order that is measured to accept rows the fastest.
+     *
+     * @param predicateIterator is an iterator of row predicates, created by multiple conditions given by the user.
+     * @return the combined predicate, thread-safe if the combined predicates are.
+     * @since 4.2
+     */
+    static RowPredicate adaptiveOr(final Iterator<RowPredicate> predicateIterator) {
+        return new AdaptiveGroupRowPredicate(predicateIterator, true, (p, q) -> p.span(q));
+    }
+
     /**
      * Negates a given {@link RowPredicate}.
      *
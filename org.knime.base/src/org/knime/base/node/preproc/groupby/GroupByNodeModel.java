@@ -65,6 +65,7 @@
 import org.knime.base.data.aggregation.GlobalSettings.AggregationContext;
 import org.knime.base.data.aggregation.dialogutil.pattern.PatternAggregator;
 import org.knime.base.data.aggregation.dialogutil.type.DataTypeAggregator;
+import org.knime.base.node.util.CompactHiLiteMapper;
 import org.knime.core.data.DataColumnSpec;
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.DataType;
@@ -89,6 +90,7 @@
 import org.knime.core.node.port.PortObjectSpec;
 import org.knime.core.node.property.hilite.DefaultHiLiteMapper;
 import org.knime.core.node.property.hilite.HiLiteHandler;
+import org.knime.core.node.property.hilite.HiLiteMapper;
 import org.knime.core.node.property.hilite.HiLiteTranslator;
 
 /**
@@ -210,6 +212,9 @@ static TypeMatch loadSettingsFrom(final NodeSettingsRO settings) throws InvalidS
 
     private static final String INTERNALS_FILE_NAME = "hilite_mapping.xml.gz";
 
+    /** The file name of the compact hilite mapping, used instead of the XML file since KNIME 4.2. */
+    private static final String COMPACT_INTERNALS_FILE_NAME = "hilite_mapping.bin";
+
     /** Configuration key of the selected group by columns. */
     protected static final String CFG_GROUP_BY_COLUMNS = "grouByColumns";
 
@@ -326,6 +331,12 @@ protected void inMemoryChanged() {
     protected void loadInternals(final File nodeInternDir,
             final ExecutionMonitor exec) throws IOException {
         if (m_enableHilite.getBooleanValue()) {
+            final File compactFile = new File(nodeInternDir, COMPACT_INTERNALS_FILE_NAME);
+            if (compactFile.exists()) {
+                setHiliteMapping(CompactHiLiteMapper.load(compactFile));
+                m_hilite.addToHiLiteHandler(getInHiLiteHandler(0));
+                return;
+            }
             final NodeSettingsRO config = NodeSettings
                     .loadFromXML(new FileInputStream(new File(nodeInternDir,
                             INTERNALS_FILE_NAME)));
@@ -346,6 +357,11 @@ protected void loadInternals(final File nodeInternDir,
     protected void saveInternals(final File nodeInternDir,
             final ExecutionMonitor exec) throws IOException {
         if (m_enableHilite.getBooleanValue()) {
+            if (m_hilite.getMapper() instanceof CompactHiLiteMapper) {
+                ((CompactHiLiteMapper)m_hilite.getMapper()).save(
+                    new File(nodeInternDir, COMPACT_INTERNALS_FILE_NAME));
+                return;
+            }
             final NodeSettings config = new NodeSettings("hilite_mapping");
             final DefaultHiLiteMapper mapper = (DefaultHiLiteMapper) m_hilite.getMapper();
             if (mapper != null) {
@@ -536,7 +552,17 @@ protected void loadValidatedSettingsFrom(final NodeSettingsRO settings) throws I
      * @param mapper new hilite mapping, or null
      */
     protected final void setHiliteMapping(final DefaultHiLiteMapper mapper) {
-        m_hilite.setMapper(mapper);
+        setHiliteMapping((HiLiteMapper)mapper);
+    }
+
+    /**
+     * Applies a new mapping to the hilite translator. A replaced
+     * {@link CompactHiLiteMapper} is closed.
+     * @param mapper new hilite mapping, or null
+     * @since 4.2
+     */
+    protected final void setHiliteMapping(final HiLiteMapper mapper) {
+        CompactHiLiteMapper.setMapper(m_hilite, mapper);
     }
 
     /**
@@ -544,7 +570,7 @@ protected final void setHiliteMapping(final DefaultHiLiteMapper mapper) {
      */
     @Override
     protected void reset() {
-        m_hilite.setMapper(null);
+        setHiliteMapping((HiLiteMapper)null);
         for (final ColumnAggregator colAggr : m_columnAggregators) {
             colAggr.reset();
         }
@@ -758,15 +784,22 @@ protected final GroupByTable createGroupByTable(final ExecutionContext exec, fin
             colAggr.reset();
         }
         final GroupByTable resultTable;
-        if (inMemory || groupByCols.isEmpty()) {
-            resultTable = new MemoryGroupByTable(exec, table, groupByCols, aggregators.toArray(new ColumnAggregator[0]),
+        final ColumnAggregator[] colAggregators = aggregators.toArray(new ColumnAggregator[0]);
+        if ((inMemory || groupByCols.isEmpty()) && useParallelAggregation(table, colAggregators, globalSettings)) {
+            resultTable = new ParallelMemoryGroupByTable(exec, table, groupByCols, colAggregators, globalSettings,
+                enableHilite, colNamePolicy);
+        } else if (inMemory || groupByCols.isEmpty()) {
+            resultTable = new MemoryGroupByTable(exec, table, groupByCols, colAggregators,
+                globalSettings, enableHilite, colNamePolicy, retainOrder);
+        } else if (useHashAggregation(table, groupByCols)) {
+            resultTable = new HashGroupByTable(exec, table, groupByCols, colAggregators,
                 globalSettings, enableHilite, colNamePolicy, retainOrder);
         } else {
-            resultTable = new BigGroupByTable(exec, table, groupByCols, aggregators.toArray(new ColumnAggregator[0]),
+            resultTable = new BigGroupByTable(exec, table, groupByCols, colAggregators,
                     globalSettings, enableHilite, colNamePolicy, retainOrder);
         }
         if (m_enableHilite.getBooleanValue()) {
-            setHiliteMapping(new DefaultHiLiteMapper(resultTable.getHiliteMapping()));
+            setHiliteMapping(resultTable.getHiLiteMapper());
         }
         // check for skipped columns
         final String warningMsg = resultTable.getSkippedGroupsMessage(3, 3);
@@ -777,6 +810,30 @@ protected final GroupByTable createGroupByTable(final ExecutionContext exec, fin
         return resultTable;
     }
 
+    /**
+     * Aggregating chunks of rows concurrently only pays off for tables with more than one chunk, if more than one
+     * processor is available and all operators support merging of their partial results.
+     */
+    private static boolean useParallelAggregation(final BufferedDataTable table,
+        final ColumnAggregator[] colAggregators, final GlobalSettings globalSettings) {
+        return table.size() > ParallelMemoryGroupByTable.CHUNK_SIZE && Runtime.getRuntime().availableProcessors() > 1
+            && ParallelMemoryGroupByTable.supportsAggregators(colAggregators, globalSettings);
+    }
+
+    /**
+     * Sorting the input table by the group columns only pays off for a large number of groups. Otherwise the
+     * groups are aggregated in a single pass using hash tables. Tables with no more rows than the group limit cannot
+     * exceed it, hence their groups are not estimated.
+     */
+    static boolean useHashAggregation(final BufferedDataTable table, final List<String> groupByCols) {
+        if (table.size() <= HashGroupByTable.MAX_GROUPS) {
+            return true;
+        }
+        final long estimatedGroups = HashGroupByTable.estimateGroupCount(table, groupByCols);
+        LOGGER.debug("Estimated number of groups: " + estimatedGroups);
+        return estimatedGroups <= HashGroupByTable.MAX_GROUPS;
+    }
+
     /**
      * Creates the {@link GlobalSettings} object that is passed to all
      * {@link AggregationMethod}s.
@@ -61,6 +61,7 @@
 import org.knime.base.data.aggregation.GlobalSettings;
 import org.knime.base.data.sort.SortedTable;
 import org.knime.base.node.preproc.sorter.SorterNodeDialogPanel2;
+import org.knime.base.node.util.CompactHiLiteMapper;
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataColumnSpec;
 import org.knime.core.data.DataColumnSpecCreator;
@@ -90,7 +91,7 @@ public abstract class GroupByTable {
     private final GlobalSettings m_globalSettings;
     private final boolean m_enableHilite;
     private final ColumnNamePolicy m_colNamePolicy;
-    private final Map<RowKey, Set<RowKey>> m_hiliteMapping;
+    private final CompactHiLiteMapper m_hiliteMapping;
     private final Map<String, Collection<Pair<String, String>>> m_skippedGroupsByColName = new HashMap<>();
     private final boolean m_retainOrder;
     private final ColumnAggregator[] m_colAggregators;
@@ -160,7 +161,7 @@ protected GroupByTable(final ExecutionContext exec, final BufferedDataTable inDa
         }
         m_enableHilite = enableHilite;
         if (m_enableHilite) {
-            m_hiliteMapping = new HashMap<>();
+            m_hiliteMapping = new CompactHiLiteMapper();
         } else {
             m_hiliteMapping = null;
         }
@@ -410,7 +411,7 @@ public static String createSkippedGroupName(final DataCell[] groupVals) {
      * @param oldKeys all old {@link RowKey}s
      */
     protected void addHiliteMapping(final RowKey newKey, final Set<RowKey> oldKeys) {
-        m_hiliteMapping.put(newKey, oldKeys);
+        m_hiliteMapping.addMapping(newKey, oldKeys);
     }
 
     /**
@@ -496,8 +497,24 @@ public static final DataTableSpec createGroupByTableSpec(final DataTableSpec spe
      * keys which belong to this group.
      * @return the hilite translation <code>Map</code> or <code>null</code> if
      * the enableHilte flag in the constructor was set to <code>false</code>.
+     * @deprecated creates the <code>Map</code> from the compact hilite
+     * mapping, use {@link #getHiLiteMapper()} instead
      */
+    @Deprecated
     public Map<RowKey, Set<RowKey>> getHiliteMapping() {
+        return m_hiliteMapping == null ? null : m_hiliteMapping.toMap();
+    }
+
+    /**
+     * The hilite translation from the row key of a group row to the row keys
+     * of all rows which belong to this group or <code>null</code> if the
+     * enableHilte flag in the constructor was set to <code>false</code>.
+     * The mapping is kept in a temporary file until it is used the first time.
+     * @return the hilite translation or <code>null</code> if the enableHilte
+     * flag in the constructor was set to <code>false</code>
+     * @since 4.2
+     */
+    public CompactHiLiteMapper getHiLiteMapper() {
         return m_hiliteMapping;
     }
 
@@ -0,0 +1,459 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.base.node.preproc.groupby;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.knime.base.data.aggregation.AggregationOperator;
+import org.knime.base.data.aggregation.ColumnAggregator;
+import org.knime.base.data.aggregation.GlobalSettings;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.data.container.filter.TableFilter;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.util.memory.MemoryAlertSystem;
+import org.knime.core.data.util.memory.MemoryAlertSystem.MemoryActionIndicator;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.util.MutableInteger;
+import org.knime.core.util.Pair;
+
+/**
+ * A group by table that aggregates the input table in a single pass using hash tables instead of sorting it by the
+ * group columns first. This pays off if the number of groups is small compared to the number of rows.
+ * <p>
+ * The groups are distributed among a fixed number of partitions by their hash code. As long as enough memory is
+ * available all partitions are kept in memory. If the {@link MemoryAlertSystem} reports low memory, half of the
+ * non-empty partitions are evicted and all rows that belong to them are written to disk. The evicted partitions are
+ * aggregated in a subsequent pass over the spilled rows which uses different hash bits for the partitioning.
+ * <p>
+ * The groups of the result table are sorted by the group columns as in the {@link BigGroupByTable} unless the
+ * original row order should be retained.
+ *
+ * @author agent
+ * @since 4.2
+ */
+public class HashGroupByTable extends GroupByTable {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(HashGroupByTable.class);
+
+    /** The number of groups up to which the hash based aggregation is preferred over sorting the input. */
+    public static final long MAX_GROUPS = 1000000;
+
+    /** The number of rows that are used to estimate the number of groups. */
+    static final int SAMPLE_SIZE = 100000;
+
+    /** The number of hash bits used for the partitioning per pass. */
+    private static final int PARTITION_BITS = 6;
+
+    private static final int NUM_PARTITIONS = 1 << PARTITION_BITS;
+
+    /** The pass in which all hash bits are used and no further partitions can be spilled. */
+    private static final int MAX_LEVEL = (Integer.SIZE - 1) / PARTITION_BITS;
+
+    private Map<RowKey, Set<RowKey>> m_tempHiliteMapping;
+
+    /**
+     * Constructor for class HashGroupByTable.
+     *
+     * @param exec the <code>ExecutionContext</code>
+     * @param inDataTable the table to aggregate
+     * @param groupByCols the name of all columns to group by
+     * @param colAggregators the aggregation columns with the aggregation method to use in the order the columns
+     *            should be appear in the result table numerical columns
+     * @param globalSettings the global settings
+     * @param enableHilite <code>true</code> if a row key map should be maintained to enable hiliting
+     * @param colNamePolicy the {@link ColumnNamePolicy} for the aggregation columns
+     * @param retainOrder returns the row of the table in the same order as the input table if set to
+     *            <code>true</code>
+     * @throws CanceledExecutionException if the user has canceled the execution
+     */
+    public HashGroupByTable(final ExecutionContext exec, final BufferedDataTable inDataTable,
+        final List<String> groupByCols, final ColumnAggregator[] colAggregators, final GlobalSettings globalSettings,
+        final boolean enableHilite, final ColumnNamePolicy colNamePolicy, final boolean retainOrder)
+        throws CanceledExecutionException {
+        super(exec, inDataTable, groupByCols, colAggregators, globalSettings, enableHilite, colNamePolicy,
+            retainOrder);
+    }
+
+    /**
+     * Estimates the number of distinct groups of the given table based on the first {@value #SAMPLE_SIZE} rows. If
+     * the second half of the sample contains almost no new groups the number of groups in the sample is returned,
+     * otherwise the number of groups is extrapolated to the whole table.
+     *
+     * @param table the table to group
+     * @param groupByCols the name of all columns to group by
+     * @return the estimated number of groups
+     */
+    public static long estimateGroupCount(final BufferedDataTable table, final List<String> groupByCols) {
+        final int[] groupColIdx = table.getDataTableSpec().columnsToIndices(groupByCols.toArray(new String[0]));
+        final Set<GroupKey> groups = new HashSet<>();
+        final long sampleSize = Math.min(SAMPLE_SIZE, table.size());
+        long rowCounter = 0;
+        long newInSecondHalf = 0;
+        try (final CloseableRowIterator it = table.filter(TableFilter.materializeCols(groupColIdx)).iterator()) {
+            while (it.hasNext() && rowCounter < sampleSize) {
+                final boolean added = groups.add(createGroupKey(it.next(), groupColIdx));
+                if (added && rowCounter >= sampleSize / 2) {
+                    newInSecondHalf++;
+                }
+                rowCounter++;
+            }
+        }
+        if (rowCounter == 0 || rowCounter >= table.size() || newInSecondHalf <= groups.size() / 100) {
+            return groups.size();
+        }
+        return (long)(groups.size() * (table.size() / (double)rowCounter));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected BufferedDataTable createGroupByTable(final ExecutionContext exec, final BufferedDataTable table,
+        final DataTableSpec resultSpec, final int[] groupColIdx) throws CanceledExecutionException {
+        LOGGER.debug("Entering createGroupByTable(exec, table) of class HashGroupByTable.");
+        initMissingValuesMap();
+        final DataTableSpec spec = table.getDataTableSpec();
+        final ColumnAggregator[] origAggregators = getColAggregators();
+        final int[] aggrColIdx = new int[origAggregators.length];
+        for (int i = 0; i < origAggregators.length; i++) {
+            aggrColIdx[i] = spec.findColumnIndex(origAggregators[i].getOriginalColName());
+        }
+        final boolean sortResult = !isRetainOrder() && groupColIdx.length > 0;
+        final ExecutionContext groupExec = sortResult ? exec.createSubExecutionContext(0.8) : exec;
+        m_tempHiliteMapping = isEnableHilite() ? new HashMap<>() : null;
+        final BufferedDataContainer dc = groupExec.createDataContainer(resultSpec);
+        final MutableInteger groupCounter = new MutableInteger(0);
+        List<BufferedDataTable> sources = Collections.singletonList(table);
+        double remainingProgress = 1;
+        for (int level = 0; !sources.isEmpty(); level++) {
+            final double passProgress = level < MAX_LEVEL ? remainingProgress / 2 : remainingProgress;
+            remainingProgress -= passProgress;
+            final List<BufferedDataTable> spilled = aggregate(groupExec.createSubExecutionContext(passProgress),
+                sources, level, groupColIdx, aggrColIdx, dc, groupCounter);
+            if (level > 0) {
+                //the spilled tables of the previous pass are no longer needed
+                sources.forEach(groupExec::clearTable);
+            }
+            sources = spilled;
+        }
+        dc.close();
+        final BufferedDataTable groupTable = dc.getTable();
+        if (!sortResult) {
+            if (isEnableHilite()) {
+                m_tempHiliteMapping.forEach(this::addHiliteMapping);
+            }
+            m_tempHiliteMapping = null;
+            return groupTable;
+        }
+        final BufferedDataTable result = sortAndRenumber(exec.createSubExecutionContext(0.2), groupTable);
+        exec.clearTable(groupTable);
+        m_tempHiliteMapping = null;
+        return result;
+    }
+
+    /**
+     * Performs a single aggregation pass over the given tables and writes the groups of all partitions that
+     * could be kept in memory to the given container.
+     *
+     * @return the tables with the rows of the evicted partitions, empty if all partitions could be kept in memory
+     */
+    private List<BufferedDataTable> aggregate(final ExecutionContext exec, final List<BufferedDataTable> sources,
+        final int level, final int[] groupColIdx, final int[] aggrColIdx, final BufferedDataContainer dc,
+        final MutableInteger groupCounter) throws CanceledExecutionException {
+        final List<Map<GroupKey, Pair<ColumnAggregator[], Set<RowKey>>>> partitions = new ArrayList<>(NUM_PARTITIONS);
+        for (int i = 0; i < NUM_PARTITIONS; i++) {
+            partitions.add(new LinkedHashMap<>());
+        }
+        //the index of the row at which a partition was evicted, -1 if the partition is still in memory
+        final long[] evictedAt = new long[NUM_PARTITIONS];
+        Arrays.fill(evictedAt, -1);
+        final MemoryActionIndicator memIndicator = MemoryAlertSystem.getInstance().newIndicator();
+        final ExecutionContext readExec = exec.createSubExecutionContext(0.9);
+        final double numRows = sources.stream().mapToLong(BufferedDataTable::size).sum();
+        exec.setMessage(level == 0 ? "Creating groups" : ("Creating groups of spilled partitions (pass " + level + ")"));
+        BufferedDataContainer spill = null;
+        long rowIdx = 0;
+        long maxEvictedAt = -1;
+        long groupsInMemory = 0;
+        boolean warnedAboutMemory = false;
+        for (final BufferedDataTable source : sources) {
+            for (final DataRow row : source) {
+                readExec.checkCanceled();
+                readExec.setProgress(rowIdx / numRows);
+                final GroupKey groupKey = createGroupKey(row, groupColIdx);
+                final int partition = getPartition(groupKey, level);
+                if (evictedAt[partition] >= 0) {
+                    if (spill == null) {
+                        spill = exec.createDataContainer(source.getDataTableSpec());
+                    }
+                    spill.addRowToTable(row);
+                } else if (addRow(partitions.get(partition), groupKey, row, aggrColIdx)) {
+                    groupsInMemory++;
+                }
+                rowIdx++;
+                if (isMemoryLow(memIndicator, groupsInMemory)) {
+                    if (evictPartitions(partitions, evictedAt, rowIdx, level)) {
+                        maxEvictedAt = rowIdx;
+                        groupsInMemory = 0;
+                        for (final Map<GroupKey, Pair<ColumnAggregator[], Set<RowKey>>> groups : partitions) {
+                            groupsInMemory += groups.size();
+                        }
+                    } else if (!warnedAboutMemory) {
+                        LOGGER.warn("Memory is low. No more partitions can be spilled to disk.");
+                        warnedAboutMemory = true;
+                    }
+                }
+            }
+        }
+        //write the results of all partitions that have been processed completely
+        for (int i = 0; i < NUM_PARTITIONS; i++) {
+            if (evictedAt[i] < 0) {
+                createTableRows(dc, partitions.get(i), groupCounter);
+            }
+            partitions.get(i).clear();
+        }
+        if (maxEvictedAt < 0) {
+            exec.setProgress(1.0);
+            return Collections.emptyList();
+        }
+        //the rows of the evicted partitions that have been read prior their eviction need to be spilled as well
+        final BufferedDataContainer prefix = exec.createDataContainer(sources.get(0).getDataTableSpec());
+        final ExecutionContext prefixExec = exec.createSubExecutionContext(0.1);
+        rowIdx = 0;
+        for (final BufferedDataTable source : sources) {
+            try (final CloseableRowIterator it = source.iterator()) {
+                while (it.hasNext() && rowIdx < maxEvictedAt) {
+                    prefixExec.checkCanceled();
+                    prefixExec.setProgress(rowIdx / (double)maxEvictedAt);
+                    final DataRow row = it.next();
+                    final int partition = getPartition(createGroupKey(row, groupColIdx), level);
+                    if (rowIdx < evictedAt[partition]) {
+                        prefix.addRowToTable(row);
+                    }
+                    rowIdx++;
+                }
+            }
+        }
+        prefix.close();
+        final List<BufferedDataTable> spilled = new ArrayList<>(2);
+        spilled.add(prefix.getTable());
+        if (spill != null) {
+            spill.close();
+            spilled.add(spill.getTable());
+        }
+        exec.setProgress(1.0);
+        return spilled;
+    }
+
+    /**
+     * Evicts half of the non-empty partitions that are in memory starting with the largest one.
+     *
+     * @return <code>true</code> if at least one partition has been evicted
+     */
+    private static boolean evictPartitions(
+        final List<Map<GroupKey, Pair<ColumnAggregator[], Set<RowKey>>>> partitions, final long[] evictedAt,
+        final long rowIdx, final int level) {
+        final List<Integer> nonEmpty = new ArrayList<>();
+        for (int i = 0; i < NUM_PARTITIONS; i++) {
+            if (evictedAt[i] < 0 && !partitions.get(i).isEmpty()) {
+                nonEmpty.add(i);
+            }
+        }
+        if (nonEmpty.isEmpty() || level >= MAX_LEVEL) {
+            //all hash bits are used, the remaining partitions can't be split any further
+            return false;
+        }
+        nonEmpty.sort((p1, p2) -> Integer.compare(partitions.get(p2).size(), partitions.get(p1).size()));
+        final int numEvict = Math.max(1, nonEmpty.size() / 2);
+        final List<Integer> evicted = nonEmpty.subList(0, numEvict);
+        for (final int partition : evicted) {
+            partitions.get(partition).clear();
+            evictedAt[partition] = rowIdx;
+        }
+        LOGGER.debug("Memory is low. Spill partitions " + evicted + " to disk in pass " + level + ".");
+        return true;
+    }
+
+    /**
+     * Tells whether partitions have to be spilled to disk. Tests override this method to simulate low memory.
+     *
+     * @param memIndicator the memory indicator of the current pass
+     * @param groupsInMemory the number of groups currently held in memory
+     * @return <code>true</code> if memory is low
+     */
+    boolean isMemoryLow(final MemoryActionIndicator memIndicator, final long groupsInMemory) {
+        return memIndicator.lowMemoryActionRequired();
+    }
+
+    /**
+     * @return <code>true</code> if the row started a new group
+     */
+    private boolean addRow(final Map<GroupKey, Pair<ColumnAggregator[], Set<RowKey>>> groups,
+        final GroupKey groupKey, final DataRow row, final int[] aggrColIdx) {
+        Pair<ColumnAggregator[], Set<RowKey>> member = groups.get(groupKey);
+        final boolean newGroup = member == null;
+        if (newGroup) {
+            final ColumnAggregator[] origAggregators = getColAggregators();
+            final ColumnAggregator[] aggregators = new ColumnAggregator[origAggregators.length];
+            for (int i = 0, length = origAggregators.length; i < length; i++) {
+                aggregators[i] = origAggregators[i].clone();
+            }
+            final Set<RowKey> rowKeys = isEnableHilite() ? new HashSet<>() : Collections.emptySet();
+            member = new Pair<>(aggregators, rowKeys);
+            groups.put(groupKey, member);
+        }
+        final ColumnAggregator[] aggregators = member.getFirst();
+        for (int i = 0; i < aggregators.length; i++) {
+            aggregators[i].getOperator(getGlobalSettings()).compute(row, aggrColIdx[i]);
+        }
+        if (isEnableHilite()) {
+            member.getSecond().add(row.getKey());
+        }
+        return newGroup;
+    }
+
+    private void createTableRows(final BufferedDataContainer dc,
+        final Map<GroupKey, Pair<ColumnAggregator[], Set<RowKey>>> groups, final MutableInteger groupCounter) {
+        for (final Entry<GroupKey, Pair<ColumnAggregator[], Set<RowKey>>> e : groups.entrySet()) {
+            final DataCell[] groupVals = e.getKey().getGroupVals();
+            final ColumnAggregator[] colAggregators = e.getValue().getFirst();
+            final RowKey rowKey = RowKey.createRowKey(groupCounter.intValue());
+            groupCounter.inc();
+            final DataCell[] rowVals = new DataCell[groupVals.length + colAggregators.length];
+            //add the group values first
+            int valIdx = 0;
+            for (final DataCell groupCell : groupVals) {
+                rowVals[valIdx++] = groupCell;
+            }
+            //add the aggregation values
+            for (final ColumnAggregator colAggr : colAggregators) {
+                final AggregationOperator operator = colAggr.getOperator(getGlobalSettings());
+                rowVals[valIdx++] = operator.getResult();
+                if (operator.isSkipped()) {
+                    //add skipped groups and the column that causes the
+                    //skipping into the skipped groups map
+                    addSkippedGroup(colAggr.getOriginalColName(), operator.getSkipMessage(), groupVals);
+                }
+                addToMissingValuesMap(colAggr.getOriginalColName(), operator.getMissingValuesCount());
+            }
+            dc.addRowToTable(new DefaultRow(rowKey, rowVals));
+            if (isEnableHilite()) {
+                m_tempHiliteMapping.put(rowKey, e.getValue().getSecond());
+            }
+        }
+    }
+
+    /**
+     * Sorts the groups by the group columns and assigns the row keys in the sorted order as the
+     * {@link BigGroupByTable} does.
+     */
+    private BufferedDataTable sortAndRenumber(final ExecutionContext exec, final BufferedDataTable groupTable)
+        throws CanceledExecutionException {
+        exec.setMessage("Sorting groups...");
+        final BufferedDataTable sortedTable = sortTable(exec.createSubExecutionContext(0.8), groupTable,
+            getGroupCols());
+        final ExecutionContext renumberExec = exec.createSubExecutionContext(0.2);
+        final BufferedDataContainer dc = renumberExec.createDataContainer(sortedTable.getDataTableSpec());
+        final double numRows = sortedTable.size();
+        long rowCounter = 0;
+        for (final DataRow row : sortedTable) {
+            renumberExec.checkCanceled();
+            renumberExec.setProgress(rowCounter / numRows);
+            final RowKey rowKey = RowKey.createRowKey(rowCounter++);
+            final DataCell[] cells = new DataCell[row.getNumCells()];
+            for (int i = 0; i < cells.length; i++) {
+                cells[i] = row.getCell(i);
+            }
+            dc.addRowToTable(new DefaultRow(rowKey, cells));
+            if (isEnableHilite()) {
+                addHiliteMapping(rowKey, m_tempHiliteMapping.get(row.getKey()));
+            }
+        }
+        dc.close();
+        exec.clearTable(sortedTable);
+        return dc.getTable();
+    }
+
+    private static GroupKey createGroupKey(final DataRow row, final int[] groupColIdx) {
+        final DataCell[] groupVals = new DataCell[groupColIdx.length];
+        for (int i = 0, length = groupColIdx.length; i < length; i++) {
+            groupVals[i] = row.getCell(groupColIdx[i]);
+        }
+        return new GroupKey(groupVals);
+    }
+
+    /**
+     * Each pass uses different bits of the (spread) hash code such that the groups of an evicted partition are
+     * distributed among all partitions of the next pass.
+     */
+    private static int getPartition(final GroupKey groupKey, final int level) {
+        int h = groupKey.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        return (h >>> (level * PARTITION_BITS)) & (NUM_PARTITIONS - 1);
+    }
+}
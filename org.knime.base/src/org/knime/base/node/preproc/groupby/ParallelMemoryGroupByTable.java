@@ -0,0 +1,314 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.base.node.preproc.groupby;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.knime.base.data.aggregation.AggregationOperator;
+import org.knime.base.data.aggregation.ColumnAggregator;
+import org.knime.base.data.aggregation.GlobalSettings;
+import org.knime.base.util.ExecutionExceptionUtil;
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.node.BufferedDataContainer;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.core.util.ThreadPool;
+
+/**
+ * In memory group by table that aggregates chunks of consecutive rows concurrently. Each chunk is aggregated into
+ * its own hash table of partial aggregates by a worker thread. The partial results are merged into the final hash
+ * table in the order of the chunks, which ensures that the groups appear in the order of their first occurrence as
+ * in the {@link MemoryGroupByTable}.
+ * <p>
+ * This table can only be used if all operators are {@link AggregationOperator#isMergeable() mergeable}, see
+ * {@link #supportsAggregators(ColumnAggregator[], GlobalSettings)}.
+ *
+ * @author agent
+ * @since 4.2
+ */
+public class ParallelMemoryGroupByTable extends GroupByTable {
+
+    /** The number of rows that are aggregated by a single task. */
+    static final int CHUNK_SIZE = 10000;
+
+    private Map<GroupKey, Set<RowKey>> m_rowKeys;
+
+    private Map<GroupKey, ColumnAggregator[]> m_vals;
+
+    /**
+     * Constructor for class ParallelMemoryGroupByTable.
+     *
+     * @param exec the <code>ExecutionContext</code>
+     * @param inDataTable the table to aggregate
+     * @param groupByCols the name of all columns to group by
+     * @param colAggregators the aggregation columns with the aggregation method to use in the order the columns
+     *            should be appear in the result table, all operators must be mergeable
+     * @param globalSettings the global settings
+     * @param enableHilite <code>true</code> if a row key map should be maintained to enable hiliting
+     * @param colNamePolicy the {@link ColumnNamePolicy} for the aggregation columns
+     * @throws CanceledExecutionException if the user has canceled the execution
+     */
+    public ParallelMemoryGroupByTable(final ExecutionContext exec, final BufferedDataTable inDataTable,
+        final List<String> groupByCols, final ColumnAggregator[] colAggregators, final GlobalSettings globalSettings,
+        final boolean enableHilite, final ColumnNamePolicy colNamePolicy) throws CanceledExecutionException {
+        //the row order is automatically maintained by the order in which the partial results are merged
+        super(exec, inDataTable, groupByCols, colAggregators, globalSettings, enableHilite, colNamePolicy, false);
+    }
+
+    /**
+     * @param colAggregators the aggregation columns to check
+     * @param globalSettings the global settings used to create the operators
+     * @return <code>true</code> if the operators of all given {@link ColumnAggregator}s can be merged and thus
+     *         this table can be used
+     */
+    public static boolean supportsAggregators(final ColumnAggregator[] colAggregators,
+        final GlobalSettings globalSettings) {
+        for (final ColumnAggregator colAggr : colAggregators) {
+            if (!colAggr.getOperator(globalSettings).isMergeable()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected BufferedDataTable createGroupByTable(final ExecutionContext exec, final BufferedDataTable dataTable,
+        final DataTableSpec resultSpec, final int[] groupColIdx) throws CanceledExecutionException {
+        m_rowKeys = new HashMap<>();
+        m_vals = new LinkedHashMap<>();
+        initMissingValuesMap();
+        final ExecutionMonitor groupExec = exec.createSubProgress(0.7);
+        final DataTableSpec spec = dataTable.getDataTableSpec();
+        final ColumnAggregator[] origAggregators = getColAggregators();
+        final int[] aggrColIdx = new int[origAggregators.length];
+        for (int i = 0; i < origAggregators.length; i++) {
+            aggrColIdx[i] = spec.findColumnIndex(origAggregators[i].getOriginalColName());
+        }
+        final int numThreads = Runtime.getRuntime().availableProcessors();
+        final ThreadPool pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(numThreads);
+        //limit the number of chunks that are held in memory at the same time
+        final int maxPendingChunks = 2 * numThreads;
+        final Queue<Future<Map<GroupKey, PartialGroup>>> pending = new ArrayDeque<>(maxPendingChunks);
+        final long rowCount = dataTable.size();
+        long rowCounter = 0;
+        try {
+            List<DataRow> chunk = new ArrayList<>(CHUNK_SIZE);
+            for (final DataRow row : dataTable) {
+                groupExec.checkCanceled();
+                groupExec.setProgress(rowCounter++ / (double)rowCount,
+                    "Analyzing row " + rowCounter + " of " + rowCount);
+                chunk.add(row);
+                if (chunk.size() == CHUNK_SIZE) {
+                    final List<DataRow> rows = chunk;
+                    pending.add(pool.enqueue(() -> aggregateChunk(rows, groupColIdx, aggrColIdx)));
+                    chunk = new ArrayList<>(CHUNK_SIZE);
+                    if (pending.size() >= maxPendingChunks) {
+                        mergeChunk(pool, pending.poll());
+                    }
+                }
+            }
+            if (!chunk.isEmpty()) {
+                final List<DataRow> rows = chunk;
+                pending.add(pool.enqueue(() -> aggregateChunk(rows, groupColIdx, aggrColIdx)));
+            }
+            while (!pending.isEmpty()) {
+                groupExec.checkCanceled();
+                mergeChunk(pool, pending.poll());
+            }
+        } finally {
+            pending.forEach(f -> f.cancel(true));
+        }
+        return createResultTable(exec.createSubExecutionContext(0.3), resultSpec);
+    }
+
+    /**
+     * Aggregates the given rows into a new map of partial groups. Called by the worker threads.
+     */
+    private Map<GroupKey, PartialGroup> aggregateChunk(final List<DataRow> rows, final int[] groupColIdx,
+        final int[] aggrColIdx) {
+        final Map<GroupKey, PartialGroup> groups = new LinkedHashMap<>();
+        final GlobalSettings globalSettings = getGlobalSettings();
+        final ColumnAggregator[] origAggregators = getColAggregators();
+        for (final DataRow row : rows) {
+            final DataCell[] currentGroup = new DataCell[groupColIdx.length];
+            for (int i = 0, length = groupColIdx.length; i < length; i++) {
+                currentGroup[i] = row.getCell(groupColIdx[i]);
+            }
+            final GroupKey groupKey = new GroupKey(currentGroup);
+            PartialGroup group = groups.get(groupKey);
+            if (group == null) {
+                group = new PartialGroup(origAggregators, isEnableHilite());
+                groups.put(groupKey, group);
+            }
+            if (group.m_rowKeys != null) {
+                group.m_rowKeys.add(row.getKey());
+            }
+            for (int i = 0; i < aggrColIdx.length; i++) {
+                group.m_aggregators[i].getOperator(globalSettings).compute(row, aggrColIdx[i]);
+            }
+        }
+        return groups;
+    }
+
+    /**
+     * Waits for the given chunk and merges its partial groups into the final groups.
+     */
+    private void mergeChunk(final ThreadPool pool, final Future<Map<GroupKey, PartialGroup>> future)
+        throws CanceledExecutionException {
+        final Map<GroupKey, PartialGroup> partial;
+        try {
+            partial = pool.runInvisible(future::get);
+        } catch (ExecutionException ex) {
+            throw ExecutionExceptionUtil.rethrowCause(ex, "Aggregation failed");
+        }
+        final GlobalSettings globalSettings = getGlobalSettings();
+        for (final Entry<GroupKey, PartialGroup> entry : partial.entrySet()) {
+            final GroupKey groupKey = entry.getKey();
+            final PartialGroup group = entry.getValue();
+            final ColumnAggregator[] aggregators = m_vals.get(groupKey);
+            if (aggregators == null) {
+                m_vals.put(groupKey, group.m_aggregators);
+            } else {
+                for (int i = 0; i < aggregators.length; i++) {
+                    aggregators[i].getOperator(globalSettings)
+                        .merge(group.m_aggregators[i].getOperator(globalSettings));
+                }
+            }
+            if (group.m_rowKeys != null) {
+                final Set<RowKey> keySet = m_rowKeys.get(groupKey);
+                if (keySet == null) {
+                    m_rowKeys.put(groupKey, group.m_rowKeys);
+                } else {
+                    keySet.addAll(group.m_rowKeys);
+                }
+            }
+        }
+    }
+
+    private BufferedDataTable createResultTable(final ExecutionContext exec, final DataTableSpec resultSpec)
+        throws CanceledExecutionException {
+        final BufferedDataContainer dc = exec.createDataContainer(resultSpec);
+        int groupCounter = 0;
+        final int size = m_vals.size();
+        for (final Entry<GroupKey, ColumnAggregator[]> entry : m_vals.entrySet()) {
+            exec.checkCanceled();
+            exec.setProgress(groupCounter / (double)size, "Writing group " + groupCounter + " of " + size);
+            final GroupKey groupVals = entry.getKey();
+            final ColumnAggregator[] colAggregators = entry.getValue();
+            final RowKey rowKey = RowKey.createRowKey(groupCounter++);
+            final DataCell[] rowVals = new DataCell[groupVals.size() + colAggregators.length];
+            //add the group values first
+            int valIdx = 0;
+            for (final DataCell groupCell : groupVals.getGroupVals()) {
+                rowVals[valIdx++] = groupCell;
+            }
+            //add the aggregation values
+            for (final ColumnAggregator colAggr : colAggregators) {
+                final AggregationOperator operator = colAggr.getOperator(getGlobalSettings());
+                rowVals[valIdx++] = operator.getResult();
+                if (operator.isSkipped()) {
+                    //add skipped groups and the column that causes the skipping
+                    //into the skipped groups map
+                    addSkippedGroup(colAggr.getOriginalColName(), operator.getSkipMessage(),
+                        groupVals.getGroupVals());
+                }
+                addToMissingValuesMap(colAggr.getOriginalColName(), operator.getMissingValuesCount());
+            }
+            dc.addRowToTable(new DefaultRow(rowKey, rowVals));
+            //add hilite mappings if enabled
+            if (isEnableHilite()) {
+                addHiliteMapping(rowKey, m_rowKeys.get(groupVals));
+            }
+        }
+        dc.close();
+        //release the partial results
+        m_vals = null;
+        m_rowKeys = null;
+        return dc.getTable();
+    }
+
+    /**
+     * The aggregators and optional row keys of a group within a single chunk.
+     */
+    private static final class PartialGroup {
+
+        private final ColumnAggregator[] m_aggregators;
+
+        private final Set<RowKey> m_rowKeys;
+
+        PartialGroup(final ColumnAggregator[] origAggregators, final boolean enableHilite) {
+            m_aggregators = new ColumnAggregator[origAggregators.length];
+            for (int i = 0; i < origAggregators.length; i++) {
+                m_aggregators[i] = origAggregators[i].clone();
+            }
+            m_rowKeys = enableHilite ? new HashSet<>() : null;
+        }
+    }
+}
@@ -49,12 +49,10 @@
 
 import java.util.Arrays;
 import java.util.Comparator;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Iterator;
-import java.util.Set;
 
 import org.knime.base.data.sort.SortedTable;
+import org.knime.base.node.util.CompactHiLiteMapper;
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
@@ -79,9 +77,9 @@ class DataHiliteOutputContainer {
 
     private boolean m_enableHiLite;
 
-    private HashMap<RowKey, Set<RowKey>> m_leftRowKeyMap;
+    private CompactHiLiteMapper m_leftHiLiteMapper;
 
-    private HashMap<RowKey, Set<RowKey>> m_rightRowKeyMap;
+    private CompactHiLiteMapper m_rightHiLiteMapper;
 
     private BufferedDataTable m_leftTable;
 
@@ -116,10 +114,9 @@ class DataHiliteOutputContainer {
             final JoinedRowKeyFactory rowKeyFactory) {
         m_spec = spec;
         m_enableHiLite = enableHiLite;
-        if (enableHiLite) {
-            m_leftRowKeyMap = new HashMap<RowKey, Set<RowKey>>();
-            m_rightRowKeyMap = new HashMap<RowKey, Set<RowKey>>();
-        }
+        // the mappers are empty if HiLite is disabled
+        m_leftHiLiteMapper = new CompactHiLiteMapper();
+        m_rightHiLiteMapper = new CompactHiLiteMapper();
         m_leftTable = leftTable;
 
         m_leftSurvivors = leftSurvivors;
@@ -140,17 +137,19 @@ class DataHiliteOutputContainer {
     }
 
     /**
-     * @return the rowKeyMap
+     * @return the mapping from the keys of the left input rows to the keys of
+     * the joined rows
      */
-    HashMap<RowKey, Set<RowKey>> getLeftRowKeyMap() {
-        return m_leftRowKeyMap;
+    CompactHiLiteMapper getLeftHiLiteMapper() {
+        return m_leftHiLiteMapper;
     }
 
     /**
-     * @return the rowKeyMap
+     * @return the mapping from the keys of the right input rows to the keys of
+     * the joined rows
      */
-    HashMap<RowKey, Set<RowKey>> getRightRowKeyMap() {
-        return m_rightRowKeyMap;
+    CompactHiLiteMapper getRightHiLiteMapper() {
+        return m_rightHiLiteMapper;
     }
 
     /** Add the given row to m_dc. */
@@ -190,29 +189,45 @@ private void addRow(final DataRow row) {
             cells[c] = right.getCell(i);
             c++;
         }
+        addJoinedRow(cells, left.getKey(), right);
+    }
+
+    /**
+     * Add the given row to m_dc. The row includes the cells of the left
+     * survivors and the row key of the left row.
+     */
+    private void addRowIncludingLeft(final DataRow row) {
+        // the first elements of the given row are equal to the elements
+        // of the right row, followed by the elements of the left row
+        DataCell[] cells =
+                new DataCell[m_leftSurvivors.length + m_rightSurvivors.length];
+        int c = 0;
+        for (int i = 0; i < m_leftSurvivors.length; i++) {
+            cells[c] = row.getCell(m_rightSurvivors.length + i);
+            c++;
+        }
+        for (int i = 0; i < m_rightSurvivors.length; i++) {
+            cells[c] = row.getCell(i);
+            c++;
+        }
+        addJoinedRow(cells, OutputRow.getLeftKey(row), row);
+    }
+
+    private void addJoinedRow(final DataCell[] cells, final RowKey leftKey,
+            final DataRow right) {
         RowKey joinedKey =
-                m_rowKeyFactory.createJoinedKey(left.getKey(),
-                        OutputRow.getRightKey(row));
+                m_rowKeyFactory.createJoinedKey(leftKey,
+                        OutputRow.getRightKey(right));
         DataRow joinedRow = new DefaultRow(joinedKey, cells);
 
         m_dc.addRowToTable(joinedRow);
         if (m_enableHiLite) {
             // Remember RowKeys for HiLiting
-            if (null != left.getKey()) {
-                Set<RowKey> keySet = m_leftRowKeyMap.get(left.getKey());
-                if (null == keySet) {
-                    keySet = new HashSet<RowKey>();
-                    m_leftRowKeyMap.put(left.getKey(), keySet);
-                }
-                keySet.add(joinedKey);
+            if (null != leftKey) {
+                m_leftHiLiteMapper.addMapping(leftKey, joinedKey);
             }
             if (null != right.getKey()) {
-                Set<RowKey> keySet = m_rightRowKeyMap.get(right.getKey());
-                if (null == keySet) {
-                    keySet = new HashSet<RowKey>();
-                    m_rightRowKeyMap.put(right.getKey(), keySet);
-                }
-                keySet.add(joinedKey);
+                m_rightHiLiteMapper.addMapping(right.getKey(), joinedKey);
             }
         }
     }
@@ -313,6 +328,30 @@ void addTableAndFilterDuplicates(final SortedTable table,
         }
     }
 
+    /**
+     * Adds the rows of the given table to the container in the order of the
+     * table. The rows are supposed to be created with the factory methods in
+     * OutputRow using settings that include the left rows.
+     *
+     * @param table The table with the rows that should be added.
+     * @param exec The execution context
+     */
+    void addTable(final BufferedDataTable table,
+            final ExecutionContext exec) {
+        if (null == m_dc) {
+            m_dc = exec.createDataContainer(m_spec);
+        }
+        if (null == table) {
+            return;
+        }
+        long count = 1;
+        final double maxRows = table.size();
+        for (DataRow row : table) {
+            exec.setProgress(count++ / maxRows);
+            addRowIncludingLeft(row);
+        }
+    }
+
     /** Return the table.
      * @return the table
      */
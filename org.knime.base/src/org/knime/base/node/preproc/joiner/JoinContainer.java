@@ -71,14 +71,33 @@ final class JoinContainer {
 
     private long m_rowCount;
 
+    private final int m_segment;
+
+    private final int m_numSegments;
+
     /**
      * Create a new instance.
      * @param settings The settings object of the OutputRow.
      */
     JoinContainer(
             final OutputRow.Settings settings) {
+        this(settings, 0, 1);
+    }
+
+    /**
+     * Create a new instance that is one of several segments whose tables are
+     * concatenated later on.
+     * @param settings The settings object of the OutputRow.
+     * @param segment The index of this segment.
+     * @param numSegments The total number of segments.
+     */
+    JoinContainer(
+            final OutputRow.Settings settings,
+            final int segment, final int numSegments) {
         m_spec = settings.getSpec();
         m_rowCount = 0;
+        m_segment = segment;
+        m_numSegments = numSegments;
     }
 
 
@@ -89,6 +108,13 @@ long getRowCount() {
         return m_rowCount;
     }
 
+    /**
+     * @return the index of the next row, which is unique among all segments
+     */
+    long getNextRowIndex() {
+        return m_rowCount * m_numSegments + m_segment;
+    }
+
     /**
      * Add an inner match to the {@link JoinContainer}.
      *
@@ -0,0 +1,297 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   18.10.2026 (agent): created
+ */
+package org.knime.base.node.preproc.joiner;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+import org.knime.core.data.DataRow;
+
+/**
+ * An open addressing hash table that maps {@link JoinTuple}s to the indices of the rows they belong to. Each
+ * distinct tuple is stored once together with its hash code, the row indices of a tuple are stored as a linked
+ * list in contiguous primitive arrays. Compared to a <code>Map&lt;JoinTuple, Set&lt;Integer&gt;&gt;</code> this
+ * avoids a boxed integer and a hash set entry per row.
+ * <p>
+ * Usage:
+ *
+ * <pre>
+ * for (int e = table.getFirstEntry(tuple, hash); e &gt;= 0; e = table.getNextEntry(e)) {
+ *     int rowIndex = table.getRowIndex(e);
+ * }
+ * </pre>
+ *
+ * @author agent
+ */
+final class JoinTupleHashTable {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private static final int INITIAL_ROW_CAPACITY = 16;
+
+    /** The distinct tuples, <code>null</code> for empty slots. */
+    private JoinTuple[] m_keys;
+
+    /** The hash codes of the tuples in {@link #m_keys}. */
+    private int[] m_hashes;
+
+    /** The most recently added entry per slot. */
+    private int[] m_heads;
+
+    private int m_numKeys;
+
+    /** The row index per entry. */
+    private int[] m_rows;
+
+    /** The next (earlier added) entry of the same tuple per entry, -1 marks the end of the list. */
+    private int[] m_next;
+
+    private int m_numEntries;
+
+    /** The row per entry if rows are stored, <code>null</code> otherwise. */
+    private DataRow[] m_values;
+
+    /** Creates an empty table. */
+    JoinTupleHashTable() {
+        m_keys = new JoinTuple[INITIAL_CAPACITY];
+        m_hashes = new int[INITIAL_CAPACITY];
+        m_heads = new int[INITIAL_CAPACITY];
+        m_rows = new int[INITIAL_ROW_CAPACITY];
+        m_next = new int[INITIAL_ROW_CAPACITY];
+    }
+
+    /**
+     * Adds a row to the table. Adding the same row consecutively for the same tuple has no effect.
+     *
+     * @param tuple the join tuple of the row
+     * @param hash the hash code of the tuple
+     * @param rowIndex the index of the row
+     */
+    void add(final JoinTuple tuple, final int hash, final int rowIndex) {
+        add(tuple, hash, rowIndex, null);
+    }
+
+    /**
+     * Adds a row to the table and stores the given row with it. Adding the same row consecutively for the same tuple
+     * has no effect.
+     *
+     * @param tuple the join tuple of the row
+     * @param hash the hash code of the tuple
+     * @param rowIndex the index of the row
+     * @param row the row to store or <code>null</code>
+     */
+    void add(final JoinTuple tuple, final int hash, final int rowIndex, final DataRow row) {
+        int slot = findSlot(tuple, hash);
+        if (m_keys[slot] == null) {
+            if (2 * (m_numKeys + 1) > m_keys.length) {
+                rehash(2 * m_keys.length);
+                slot = findSlot(tuple, hash);
+            }
+            m_keys[slot] = tuple;
+            m_hashes[slot] = hash;
+            m_heads[slot] = -1;
+            m_numKeys++;
+        } else if (m_rows[m_heads[slot]] == rowIndex) {
+            // the rows are added in order, hence a duplicate is always the head of the list
+            return;
+        }
+        if (m_numEntries == m_rows.length) {
+            m_rows = Arrays.copyOf(m_rows, 2 * m_rows.length);
+            m_next = Arrays.copyOf(m_next, 2 * m_next.length);
+            if (m_values != null) {
+                m_values = Arrays.copyOf(m_values, m_rows.length);
+            }
+        }
+        if (row != null && m_values == null) {
+            m_values = new DataRow[m_rows.length];
+        }
+        if (m_values != null) {
+            m_values[m_numEntries] = row;
+        }
+        m_rows[m_numEntries] = rowIndex;
+        m_next[m_numEntries] = m_heads[slot];
+        m_heads[slot] = m_numEntries;
+        m_numEntries++;
+    }
+
+    /**
+     * @param tuple the tuple to look up
+     * @param hash the hash code of the tuple
+     * @return the first entry of the rows with the given tuple or -1 if there is none
+     */
+    int getFirstEntry(final JoinTuple tuple, final int hash) {
+        final int slot = findSlot(tuple, hash);
+        return m_keys[slot] == null ? -1 : m_heads[slot];
+    }
+
+    /**
+     * @param entry an entry
+     * @return the next entry with the same tuple or -1 if there is none
+     */
+    int getNextEntry(final int entry) {
+        return m_next[entry];
+    }
+
+    /**
+     * @param entry an entry
+     * @return the row index of the entry
+     */
+    int getRowIndex(final int entry) {
+        return m_rows[entry];
+    }
+
+    /**
+     * @param entry an entry
+     * @return the row stored with the entry or <code>null</code> if there is none
+     */
+    DataRow getRow(final int entry) {
+        return m_values != null ? m_values[entry] : null;
+    }
+
+    /** @return the number of entries, entries are numbered from 0 to the number of entries - 1 */
+    int getNumEntries() {
+        return m_numEntries;
+    }
+
+    /**
+     * @param consumer receives the row indices of all entries
+     */
+    void forEachRowIndex(final IntConsumer consumer) {
+        for (int i = 0; i < m_numEntries; i++) {
+            consumer.accept(m_rows[i]);
+        }
+    }
+
+    /** @return the number of distinct tuples */
+    int getNumTuples() {
+        return m_numKeys;
+    }
+
+    /** @return <code>true</code> if the table contains no rows */
+    boolean isEmpty() {
+        return m_numEntries == 0;
+    }
+
+    /**
+     * Removes all tuples whose hash code does not fall into the given partition.
+     *
+     * @param bitMask the mask applied to the hash codes
+     * @param partition the partition to retain
+     */
+    void retainPartition(final int bitMask, final int partition) {
+        final JoinTuple[] keys = m_keys;
+        final int[] hashes = m_hashes;
+        final int[] heads = m_heads;
+        final int[] rows = m_rows;
+        final int[] next = m_next;
+        final DataRow[] values = m_values;
+        m_keys = new JoinTuple[INITIAL_CAPACITY];
+        m_hashes = new int[INITIAL_CAPACITY];
+        m_heads = new int[INITIAL_CAPACITY];
+        m_rows = new int[INITIAL_ROW_CAPACITY];
+        m_next = new int[INITIAL_ROW_CAPACITY];
+        m_numKeys = 0;
+        m_values = null;
+        m_numEntries = 0;
+        final int[] chain = new int[INITIAL_ROW_CAPACITY];
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null && (hashes[i] & bitMask) == partition) {
+                // re-add the rows in their original order
+                int[] entries = chain;
+                int numEntries = 0;
+                for (int e = heads[i]; e >= 0; e = next[e]) {
+                    if (numEntries == entries.length) {
+                        entries = Arrays.copyOf(entries, 2 * entries.length);
+                    }
+                    entries[numEntries++] = e;
+                }
+                for (int k = numEntries - 1; k >= 0; k--) {
+                    add(keys[i], hashes[i], rows[entries[k]], values != null ? values[entries[k]] : null);
+                }
+            }
+        }
+    }
+
+    private int findSlot(final JoinTuple tuple, final int hash) {
+        final int mask = m_keys.length - 1;
+        // the low bits of the hash codes within a partition are equal, hence they need to be spread
+        int slot = spread(hash) & mask;
+        while (m_keys[slot] != null && (m_hashes[slot] != hash || !m_keys[slot].equals(tuple))) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void rehash(final int capacity) {
+        final JoinTuple[] keys = m_keys;
+        final int[] hashes = m_hashes;
+        final int[] heads = m_heads;
+        m_keys = new JoinTuple[capacity];
+        m_hashes = new int[capacity];
+        m_heads = new int[capacity];
+        final int mask = capacity - 1;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                // tuples are distinct, hence the next free slot can be used
+                int slot = spread(hashes[i]) & mask;
+                while (m_keys[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                m_keys[slot] = keys[i];
+                m_hashes[slot] = hashes[i];
+                m_heads[slot] = heads[i];
+            }
+        }
+    }
+
+    private static int spread(final int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
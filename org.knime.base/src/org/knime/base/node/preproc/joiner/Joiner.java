@@ -47,23 +47,35 @@
  */
 package org.knime.base.node.preproc.joiner;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import org.knime.base.data.sort.SortedTable;
 import org.knime.base.node.preproc.joiner.Joiner2Settings.CompositionMode;
 import org.knime.base.node.preproc.joiner.Joiner2Settings.DuplicateHandling;
 import org.knime.base.node.preproc.joiner.Joiner2Settings.JoinMode;
+import org.knime.base.node.preproc.joiner.Joiner2Settings.OutputRowOrder;
+import org.knime.base.node.util.CompactHiLiteMapper;
+import org.knime.base.util.ExecutionExceptionUtil;
+import org.knime.core.data.DataCell;
 import org.knime.core.data.DataColumnSpec;
 import org.knime.core.data.DataColumnSpecCreator;
 import org.knime.core.data.DataRow;
@@ -72,6 +84,7 @@
 import org.knime.core.data.DoubleValue;
 import org.knime.core.data.RowKey;
 import org.knime.core.data.container.CloseableRowIterator;
+import org.knime.core.data.def.DefaultRow;
 import org.knime.core.data.def.DoubleCell;
 import org.knime.core.data.def.IntCell;
 import org.knime.core.data.def.StringCell;
@@ -81,8 +94,10 @@
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.KNIMEConstants;
 import org.knime.core.node.NodeLogger;
 import org.knime.core.node.util.ConvenienceMethods;
+import org.knime.core.util.ThreadPool;
 import org.knime.core.util.UniqueNameGenerator;
 
 /**
@@ -116,14 +131,25 @@ public final class Joiner {
      * holds the row indices of the left table that did not match to a row
      * of the right table.
      */
-    private Set<Integer> m_globalLeftOuterJoins;
+    private BitSet m_globalLeftOuterJoins;
+
+    /**
+     * True when the output row order is arbitrary and m_matchAny is false.
+     * The left rows are then kept in memory together with their join tuples
+     * so that the joined rows need not be sorted by the index of the left
+     * rows.
+     */
+    private boolean m_keepLeftRows;
+
+    /** The indices of the left survivors, only used when m_keepLeftRows. */
+    private int[] m_leftSurvivorIndices;
 
     private InputRow.Settings m_inputDataRowSettings;
     private OutputRow.Settings m_outputDataRowSettings;
 
 
-    private HashMap<RowKey, Set<RowKey>> m_leftRowKeyMap;
-    private HashMap<RowKey, Set<RowKey>> m_rightRowKeyMap;
+    private CompactHiLiteMapper m_leftHiLiteMapper;
+    private CompactHiLiteMapper m_rightHiLiteMapper;
 
     private List<String> m_leftSurvivors;
     private List<String> m_rightSurvivors;
@@ -145,6 +171,18 @@ public final class Joiner {
     /** Only used for testcases, simulates an out-of-memory event after that many rows added in memory. */
     private int m_rowsAddedBeforeForcedOOM;
 
+    /** The number of rows of the outer table that are probed by a single task. */
+    static final int PROBE_BATCH_SIZE = 1000;
+
+    /** The number of threads used to probe the outer table (changed in testing routines). */
+    private int m_numProbeThreads = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * The output segments of the probe tasks, one per thread. Empty if the
+     * outer table is probed on the calling thread.
+     */
+    private List<ProbeSegment> m_probeSegments = Collections.emptyList();
+
     /**
      * Creates a new instance.
      *
@@ -160,8 +198,8 @@ public Joiner(final DataTableSpec leftTableSpec,
         m_rightDataTableSpec = rightTableSpec;
         m_settings = settings;
 
-        m_leftRowKeyMap = new HashMap<RowKey, Set<RowKey>>();
-        m_rightRowKeyMap = new HashMap<RowKey, Set<RowKey>>();
+        m_leftHiLiteMapper = new CompactHiLiteMapper();
+        m_rightHiLiteMapper = new CompactHiLiteMapper();
 
         m_configWarnings = new ArrayList<String>();
         m_runtimeWarnings = new ArrayList<String>();
@@ -169,17 +207,19 @@ public Joiner(final DataTableSpec leftTableSpec,
     }
 
     /**
-     * @return the rowKeyMap
+     * @return the mapping from the keys of the left input rows to the keys of
+     * the joined rows
      */
-    HashMap<RowKey, Set<RowKey>> getLeftRowKeyMap() {
-        return m_leftRowKeyMap;
+    CompactHiLiteMapper getLeftHiLiteMapper() {
+        return m_leftHiLiteMapper;
     }
 
     /**
-     * @return the rowKeyMap
+     * @return the mapping from the keys of the right input rows to the keys of
+     * the joined rows
      */
-    HashMap<RowKey, Set<RowKey>> getRightRowKeyMap() {
-        return m_rightRowKeyMap;
+    CompactHiLiteMapper getRightHiLiteMapper() {
+        return m_rightHiLiteMapper;
     }
 
     /**
@@ -468,8 +508,8 @@ public BufferedDataTable computeJoinTable(
             final BufferedDataTable rightTable, final ExecutionContext exec)
     throws CanceledExecutionException, InvalidSettingsException {
         m_runtimeWarnings.clear();
-        m_leftRowKeyMap.clear();
-        m_rightRowKeyMap.clear();
+        m_leftHiLiteMapper = new CompactHiLiteMapper();
+        m_rightHiLiteMapper = new CompactHiLiteMapper();
 
         // This does some input data checking, too
         DataTableSpec joinedTableSpec = createSpec(new DataTableSpec[] {
@@ -506,19 +546,30 @@ public BufferedDataTable computeJoinTable(
             && m_settings.getLeftJoinColumns().length > 1;
 
         if (m_retainLeft && m_matchAny) {
-            m_globalLeftOuterJoins = new HashSet<Integer>();
-            for (int i = 0; i < leftTable.getRowCount(); i++) {
-                m_globalLeftOuterJoins.add(i);
-            }
+            m_globalLeftOuterJoins = new BitSet(leftTable.getRowCount());
+            m_globalLeftOuterJoins.set(0, leftTable.getRowCount());
         }
 
 
+        // with match any the same pair of rows may be joined more than once,
+        // the duplicates are filtered in the sorted table
+        m_keepLeftRows = OutputRowOrder.Arbitrary.equals(
+                m_settings.getOutputRowOrder()) && !m_matchAny;
+
         m_inputDataRowSettings = createInputDataRowSettings(leftTable,
                 rightTable);
+        int[] leftSurvivors = getIndicesOf(leftTable, m_leftSurvivors);
         int[] rightSurvivors = getIndicesOf(rightTable, m_rightSurvivors);
-        m_outputDataRowSettings = new OutputRow.Settings(
-                rightTable.getDataTableSpec(),
-                rightSurvivors);
+        if (m_keepLeftRows) {
+            m_leftSurvivorIndices = leftSurvivors;
+            m_outputDataRowSettings = new OutputRow.Settings(
+                    rightTable.getDataTableSpec(), rightSurvivors,
+                    leftTable.getDataTableSpec(), leftSurvivors);
+        } else {
+            m_outputDataRowSettings = new OutputRow.Settings(
+                    rightTable.getDataTableSpec(),
+                    rightSurvivors);
+        }
 
         /* numBits -> numPartitions
          * 0 -> 1
@@ -543,8 +594,18 @@ public BufferedDataTable computeJoinTable(
         }
 
 
+        // the outer table is probed by several threads that write to
+        // separate segments, segment 0 is used by the calling thread
+        final boolean parallelProbe = m_numProbeThreads > 1
+            && rightTable.size() > PROBE_BATCH_SIZE;
+        final int numSegments = parallelProbe ? m_numProbeThreads + 1 : 1;
         JoinContainer joinCont = new JoinContainer(
-                m_outputDataRowSettings);
+                m_outputDataRowSettings, 0, numSegments);
+        m_probeSegments = new ArrayList<ProbeSegment>();
+        for (int i = 1; i < numSegments; i++) {
+            m_probeSegments.add(new ProbeSegment(new JoinContainer(
+                    m_outputDataRowSettings, i, numSegments)));
+        }
 
         double[] progressIntervals = new double[] {0.6, 0.2, 0.2};
         exec.setProgress(0.0);
@@ -559,7 +620,8 @@ public BufferedDataTable computeJoinTable(
         if (m_retainLeft && m_matchAny) {
             // Add left outer joins
             int c = 0;
-            for (Integer index : m_globalLeftOuterJoins) {
+            for (int index = m_globalLeftOuterJoins.nextSetBit(0); index >= 0;
+                    index = m_globalLeftOuterJoins.nextSetBit(index + 1)) {
                 DataRow outRow = OutputRow.createDataRow(c, index, -1,
                         m_outputDataRowSettings);
                 joinCont.addLeftOuter(outRow, exec);
@@ -567,53 +629,85 @@ public BufferedDataTable computeJoinTable(
             }
         }
         joinCont.close();
+        List<JoinContainer> containers = new ArrayList<JoinContainer>();
+        containers.add(joinCont);
+        for (ProbeSegment segment : m_probeSegments) {
+            segment.m_container.close();
+            containers.add(segment.m_container);
+        }
+        m_probeSegments = Collections.emptyList();
+        // the segments of the parallel probe are combined, their row keys
+        // are unique among all segments
+        List<BufferedDataTable> matchesParts = new ArrayList<BufferedDataTable>();
+        List<BufferedDataTable> leftOuterParts = new ArrayList<BufferedDataTable>();
+        List<BufferedDataTable> rightOuterParts = new ArrayList<BufferedDataTable>();
+        long totalNumJoins = 0;
+        for (JoinContainer cont : containers) {
+            totalNumJoins += cont.getRowCount();
+            addIfNotNull(matchesParts, cont.getMatches());
+            addIfNotNull(leftOuterParts, cont.getLeftOuter());
+            addIfNotNull(rightOuterParts, cont.getRightOuter());
+        }
+        BufferedDataTable matchesTable = concatenate(matchesParts, exec);
+        BufferedDataTable leftOuterTable = concatenate(leftOuterParts, exec);
+        BufferedDataTable rightOuterTable = concatenate(rightOuterParts, exec);
 
         // numbers are needed to report progress more precisely
-        long totalNumJoins = joinCont.getRowCount();
-        long numMatches = null != joinCont.getMatches() ? joinCont.getMatches().size() : 0;
-        long numLeftOuter = null != joinCont.getLeftOuter() ? joinCont.getLeftOuter().size() : 0;
-        long numRightOuter = null != joinCont.getRightOuter() ? joinCont.getRightOuter().size() : 0;
-
-        exec.setMessage("Sort Joined Partitions");
-        Comparator<DataRow> joinComp = OutputRow.createRowComparator();
-        SortedTable matches = null != joinCont.getMatches()
-        ? new SortedTable(joinCont.getMatches(), joinComp, false,
-                exec.createSubExecutionContext(
-                        progressIntervals[1] * numMatches / totalNumJoins))
-        : null;
-        SortedTable leftOuter = null != joinCont.getLeftOuter()
-        ? new SortedTable(joinCont.getLeftOuter(), joinComp, false,
-                exec.createSubExecutionContext(
-                        progressIntervals[1] * numLeftOuter / totalNumJoins))
-        : null;
-        SortedTable rightOuter = null != joinCont.getRightOuter()
-        ? new SortedTable(joinCont.getRightOuter(), joinComp, false,
-                exec.createSubExecutionContext(
-                        progressIntervals[1] * numRightOuter / totalNumJoins))
-        : null;
-
-        exec.setMessage("Merge Joined Partitions");
-        // Build sorted table
-        int[] leftSurvivors = getIndicesOf(leftTable, m_leftSurvivors);
+        long numMatches = null != matchesTable ? matchesTable.size() : 0;
+        long numLeftOuter = null != leftOuterTable ? leftOuterTable.size() : 0;
+        long numRightOuter = null != rightOuterTable ? rightOuterTable.size() : 0;
 
         DataHiliteOutputContainer oc =
             new DataHiliteOutputContainer(joinedTableSpec,
                     m_settings.getEnableHiLite(), leftTable,
                     leftSurvivors, rightSurvivors,
                     createRowKeyFactory(leftTable, rightTable));
-        oc.addTableAndFilterDuplicates(matches,
-                exec.createSubExecutionContext(
-                        progressIntervals[2] * numMatches / totalNumJoins));
-        oc.addTableAndFilterDuplicates(leftOuter,
-                exec.createSubExecutionContext(
-                        progressIntervals[2] * numLeftOuter / totalNumJoins));
-        oc.addTableAndFilterDuplicates(rightOuter,
-                exec.createSubExecutionContext(
-                        progressIntervals[2] * numRightOuter / totalNumJoins));
+        if (m_keepLeftRows) {
+            // The joined rows include the cells of the left rows, hence
+            // there is no need to sort them by the index of the left rows.
+            exec.setMessage("Merge Joined Partitions");
+            double progressMerge = progressIntervals[1] + progressIntervals[2];
+            oc.addTable(matchesTable, exec.createSubExecutionContext(
+                    progressMerge * numMatches / totalNumJoins));
+            oc.addTable(leftOuterTable, exec.createSubExecutionContext(
+                    progressMerge * numLeftOuter / totalNumJoins));
+            oc.addTable(rightOuterTable, exec.createSubExecutionContext(
+                    progressMerge * numRightOuter / totalNumJoins));
+        } else {
+            exec.setMessage("Sort Joined Partitions");
+            Comparator<DataRow> joinComp = OutputRow.createRowComparator();
+            SortedTable matches = null != matchesTable
+            ? new SortedTable(matchesTable, joinComp, false,
+                    exec.createSubExecutionContext(
+                            progressIntervals[1] * numMatches / totalNumJoins))
+            : null;
+            SortedTable leftOuter = null != leftOuterTable
+            ? new SortedTable(leftOuterTable, joinComp, false,
+                    exec.createSubExecutionContext(
+                            progressIntervals[1] * numLeftOuter / totalNumJoins))
+            : null;
+            SortedTable rightOuter = null != rightOuterTable
+            ? new SortedTable(rightOuterTable, joinComp, false,
+                    exec.createSubExecutionContext(
+                            progressIntervals[1] * numRightOuter / totalNumJoins))
+            : null;
+
+            exec.setMessage("Merge Joined Partitions");
+            // Build sorted table
+            oc.addTableAndFilterDuplicates(matches,
+                    exec.createSubExecutionContext(
+                            progressIntervals[2] * numMatches / totalNumJoins));
+            oc.addTableAndFilterDuplicates(leftOuter,
+                    exec.createSubExecutionContext(
+                            progressIntervals[2] * numLeftOuter / totalNumJoins));
+            oc.addTableAndFilterDuplicates(rightOuter,
+                    exec.createSubExecutionContext(
+                            progressIntervals[2] * numRightOuter / totalNumJoins));
+        }
         oc.close();
 
-        m_leftRowKeyMap = oc.getLeftRowKeyMap();
-        m_rightRowKeyMap = oc.getRightRowKeyMap();
+        m_leftHiLiteMapper = oc.getLeftHiLiteMapper();
+        m_rightHiLiteMapper = oc.getRightHiLiteMapper();
 
         return oc.getTable();
     }
@@ -650,13 +744,8 @@ private Collection<Integer> performJoin(
         setMessage("Read", exec, pendingParts, currParts);
 
         // Partition left table
-        Map <Integer, Map<JoinTuple, Set<Integer>>> leftTableHashed =
-            new HashMap<Integer, Map<JoinTuple, Set<Integer>>>();
-        // This is only used when m_leftRetain is true and m_matchAny is false.
-        // It holds the row indices of the left table that do not match to
-        // any row of the right table
-        Map <Integer, Set<Integer>> leftOuterJoins =
-            new HashMap<Integer, Set<Integer>>();
+        Map<Integer, JoinTupleHashTable> leftTableHashed =
+            new HashMap<Integer, JoinTupleHashTable>();
 
         MemoryActionIndicator memIndicator = MemoryAlertSystem.getInstance().newIndicator();
 
@@ -676,11 +765,14 @@ private Collection<Integer> performJoin(
                         InputRow.Settings.InDataPort.Left,
                         m_inputDataRowSettings);
 
+                DataRow leftRow = m_keepLeftRows
+                    ? createLeftRow(row, m_leftSurvivorIndices) : null;
                 for (JoinTuple tuple : inputDataRow.getJoinTuples()) {
-                    int partition = tuple.hashCode() & m_bitMask;
+                    int hash = tuple.hashCode();
+                    int partition = hash & m_bitMask;
                     if (currParts.contains(partition)) {
-                        addRow(leftTableHashed, leftOuterJoins,
-                                partition, tuple, inputDataRow);
+                        addRow(leftTableHashed, partition, tuple, hash,
+                                inputDataRow, leftRow);
                         rowsAdded++;
                     }
                 }
@@ -708,9 +800,6 @@ private Collection<Integer> performJoin(
                     // remove collected data of the no longer processed
                     for (int i : removeParts) {
                         leftTableHashed.remove(i);
-                        if (m_retainLeft && !m_matchAny) {
-                            leftOuterJoins.remove(i);
-                        }
                     }
                     currParts.removeAll(removeParts);
                     LOGGER.debug("Skip partitions while "
@@ -743,8 +832,8 @@ private Collection<Integer> performJoin(
                         currParts.clear();
                         currParts.add(currPart);
                         // update chunk size
-                        retainPartitions(leftTableHashed, leftOuterJoins,
-                                currPart);
+                        leftTableHashed.get(currPart).retainPartition(
+                                m_bitMask, currPart);
                         // update increment for reporting progress
                         numRows += leftTable.size() + rightTable.size();
                         inc = (progressDiff - progress) / numRows;
@@ -771,7 +860,7 @@ private Collection<Integer> performJoin(
 
         setMessage("Join", exec, pendingParts, currParts);
         // Join with outer table
-        joinInMemory(leftTableHashed, leftOuterJoins,
+        joinInMemory(leftTableHashed,
                 currParts, rightTable,
                 outputContainer,
                 exec, inc);
@@ -780,14 +869,13 @@ private Collection<Integer> performJoin(
         // Log which parts were successfully joined
         for (int part : currParts) {
             int numTuples = leftTableHashed.get(part) != null
-            ? leftTableHashed.get(part).values().size() : 0;
+            ? leftTableHashed.get(part).getNumTuples() : 0;
             LOGGER.debug("Joined " + part + " with "
                     + numTuples + " tuples.");
         }
 
         // Garbage collector has problems without this explicit clearance.
         leftTableHashed.clear();
-        leftOuterJoins.clear();
 
         // return successfully joined parts
         return currParts;
@@ -810,76 +898,63 @@ private void setMessage(final String activity,
                 + " parts.");
     }
 
+    private static void addIfNotNull(final List<BufferedDataTable> tables,
+            final BufferedDataTable table) {
+        if (null != table) {
+            tables.add(table);
+        }
+    }
+
     /**
-     * Called when the number of partitions is doubled. The innerHash is
-     * traversed and only those entries that are in the given part are
-     * retained. The innerIndexMap is build up so that it contains only
-     * the entries that are in the given part.
+     * Concatenates the given tables whose row keys are known to be unique.
+     * @return The concatenated table or null if no table is given.
      */
-    private void retainPartitions(
-            final Map<Integer, Map<JoinTuple, Set<Integer>>> innerHash,
-            final Map<Integer, Set<Integer>> innerIndexMap,
-            final int part) {
-        innerIndexMap.clear();
-
-        Map<JoinTuple, Set<Integer>> thisInnerHash = innerHash.get(part);
-        for (Iterator<JoinTuple> iter = thisInnerHash.keySet().iterator();
-        iter.hasNext();) {
-            JoinTuple tuple = iter.next();
-            int index = tuple.hashCode() & m_bitMask;
-            if (index != part) {
-                iter.remove();
-            } else if (m_retainLeft && !m_matchAny) {
-                Set<Integer> thisInnerIndexMap = innerIndexMap.get(index);
-                if (null == thisInnerIndexMap) {
-                    thisInnerIndexMap = new HashSet<Integer>();
-                    innerIndexMap.put(index, thisInnerIndexMap);
-                }
-                for (Integer rowIndex : thisInnerHash.get(tuple)) {
-                    thisInnerIndexMap.add(rowIndex);
-                }
-            }
+    private static BufferedDataTable concatenate(
+            final List<BufferedDataTable> tables,
+            final ExecutionContext exec) throws CanceledExecutionException {
+        if (tables.isEmpty()) {
+            return null;
+        } else if (tables.size() == 1) {
+            return tables.get(0);
         }
+        return exec.createConcatenateTable(exec, Optional.empty(), false,
+                tables.toArray(new BufferedDataTable[tables.size()]));
     }
 
     /**
-     * Add a row to innerHash and innerIndexMap.
+     * Add a row to the hash table of its partition.
      * @param partition The index of the partition.
      * @param joinTuple The join tuples of the row.
+     * @param hash The hash code of the join tuple.
      * @param row The row to be added.
+     * @param leftRow The left row that is stored with the join tuple or null.
      */
-    private void addRow(
-            final Map <Integer, Map<JoinTuple, Set<Integer>>> leftTableHashed,
-            final Map <Integer, Set<Integer>> leftOuterJoins,
-            final int partition, final JoinTuple joinTuple,
-            final InputRow row) {
-        if (m_retainLeft  && !m_matchAny) {
-            Set<Integer> indices = leftOuterJoins.get(partition);
-            if (null == indices) {
-                indices = new HashSet<Integer>();
-                leftOuterJoins.put(partition, indices);
-            }
-            indices.add(row.getIndex());
-        }
-
-        Map<JoinTuple, Set<Integer>> partTuples =
-            leftTableHashed.get(partition);
+    private static void addRow(
+            final Map<Integer, JoinTupleHashTable> leftTableHashed,
+            final int partition, final JoinTuple joinTuple, final int hash,
+            final InputRow row, final DataRow leftRow) {
+        JoinTupleHashTable partTuples = leftTableHashed.get(partition);
         if (null == partTuples) {
-            partTuples = new HashMap<JoinTuple, Set<Integer>>();
+            partTuples = new JoinTupleHashTable();
             leftTableHashed.put(partition, partTuples);
         }
+        partTuples.add(joinTuple, hash, row.getIndex(), leftRow);
+    }
 
-
-        Set<Integer> c = partTuples.get(joinTuple);
-        if (null != c) {
-            c.add(row.getIndex());
-        } else {
-            Set<Integer> list = new HashSet<Integer>();
-            list.add(row.getIndex());
-            partTuples.put(joinTuple, list);
+    /**
+     * Creates a row with the cells of the left survivors only, to keep the
+     * memory footprint of the stored left rows small.
+     * @param row The row of the left table.
+     * @param leftSurvivors The indices of the left survivors.
+     * @return The row to store with the join tuples.
+     */
+    private static DataRow createLeftRow(final DataRow row,
+            final int[] leftSurvivors) {
+        DataCell[] cells = new DataCell[leftSurvivors.length];
+        for (int i = 0; i < leftSurvivors.length; i++) {
+            cells[i] = row.getCell(leftSurvivors[i]);
         }
-
-
+        return new DefaultRow(row.getKey(), cells);
     }
 
 
@@ -887,8 +962,6 @@ private void addRow(
      * Join given rows in memory and append joined row to the outputCont.
      *
      * @param leftTableHashed Stores the rows of the left input table in parts.
-     * @param leftOuterJoins The same number as found in leftTableHashed used
-     * for left outer joins.
      * @param currParts The parts of the outer table that will be joined.
      * @param rightTable The outer table.
      * @param outputCont The joined rows will be added to this container.
@@ -897,96 +970,238 @@ private void addRow(
      * @throws CanceledExecutionException When execution is canceled
      */
     private void joinInMemory(
-            final Map <Integer, Map<JoinTuple, Set<Integer>>> leftTableHashed,
-            final Map <Integer, Set<Integer>> leftOuterJoins,
+            final Map<Integer, JoinTupleHashTable> leftTableHashed,
             final Collection<Integer> currParts,
             final BufferedDataTable rightTable,
             final JoinContainer outputCont,
             final ExecutionContext exec,
             final double incProgress) throws CanceledExecutionException {
-        double progress = exec.getProgressMonitor().getProgress();
-        int counter = 0;
-        for (DataRow dataRow : rightTable) {
-            progress += incProgress;
-            exec.getProgressMonitor().setProgress(progress);
-            exec.checkCanceled();
-
-            InputRow rightRow = new InputRow(dataRow, counter,
-                    InputRow.Settings.InDataPort.Right,
-                    m_inputDataRowSettings);
-
-            boolean matchFoundForRightRow = false;
-            boolean deferMatch = false;
-
-            for (JoinTuple joinTuple : rightRow.getJoinTuples()) {
-                int partition = joinTuple.hashCode() & m_bitMask;
-                if (!currParts.contains(partition)) {
-                    deferMatch = true;
-                    // skip and defer non-match when partition is not in the current partitions
-                    continue;
-                }
+        // This is only used when m_leftRetain is true. It marks the row
+        // indices of the left table that match to a row of the right table
+        final BitSet leftMatches;
+        if (m_probeSegments.isEmpty()) {
+            leftMatches = new BitSet();
+            double progress = exec.getProgressMonitor().getProgress();
+            int counter = 0;
+            for (DataRow dataRow : rightTable) {
+                progress += incProgress;
+                exec.getProgressMonitor().setProgress(progress);
+                exec.checkCanceled();
+                probe(dataRow, counter, leftTableHashed, currParts,
+                        outputCont, leftMatches, exec);
+                counter++;
+            }
+        } else {
+            leftMatches = probeInParallel(leftTableHashed, currParts,
+                    rightTable, exec, incProgress);
+        }
 
-                Map<JoinTuple, Set<Integer>> leftTuples =
-                    leftTableHashed.get(partition);
+        if (m_retainLeft && m_matchAny) {
+            m_globalLeftOuterJoins.andNot(leftMatches);
+        }
+        if (m_retainLeft && !m_matchAny) {
+            for (int partition : currParts) {
+                JoinTupleHashTable leftTuples = leftTableHashed.get(partition);
                 if (null == leftTuples) {
-                    // skip and check for outer join when the left table does not have rows that fall
-                    // in this partition
-                    deferMatch = false;
                     continue;
                 }
-
-                Set<Integer> localLeftOuterJoins = null;
-                if (m_retainLeft  && !m_matchAny) {
-                    localLeftOuterJoins = leftOuterJoins.get(partition);
-                }
-
-                Set<Integer> leftRows = leftTuples.get(joinTuple);
-                if (null != leftRows) {
-                    matchFoundForRightRow = true;
-                    for (Integer leftRowIndex : leftRows) {
-                        // add inner join
+                // every left row has a single join tuple, hence it is
+                // contained exactly once
+                for (int e = 0; e < leftTuples.getNumEntries(); e++) {
+                    int row = leftTuples.getRowIndex(e);
+                    if (!leftMatches.get(row)) {
+                        // add left outer join
                         DataRow outRow = OutputRow.createDataRow(
-                                outputCont.getRowCount(),
-                                leftRowIndex, rightRow.getIndex(),
-                                dataRow,
+                                outputCont.getNextRowIndex(),
+                                row, -1, leftTuples.getRow(e), null,
                                 m_outputDataRowSettings);
-                        outputCont.addMatch(outRow, exec);
-                        if (m_retainLeft && !m_matchAny) {
-                            localLeftOuterJoins.remove(leftRowIndex);
-                        }
-                        if (m_retainLeft && m_matchAny) {
-                            m_globalLeftOuterJoins.remove(leftRowIndex);
-                        }
+                        outputCont.addLeftOuter(outRow, exec);
                     }
                 }
             }
+        }
+
+    }
 
+    /**
+     * Probes a single row of the outer table against the partitions in
+     * memory. This method is called concurrently if the outer table is probed
+     * by several threads, hence it must only read the shared state.
+     *
+     * @param dataRow The row of the outer table.
+     * @param index The index of the row in the outer table.
+     * @param leftTableHashed Stores the rows of the left input table in parts.
+     * @param currParts The parts of the outer table that will be joined.
+     * @param outputCont The joined rows will be added to this container.
+     * @param leftMatches The indices of the matching left rows are set here.
+     * @param exec The {@link ExecutionContext}
+     */
+    private void probe(final DataRow dataRow, final int index,
+            final Map<Integer, JoinTupleHashTable> leftTableHashed,
+            final Collection<Integer> currParts,
+            final JoinContainer outputCont,
+            final BitSet leftMatches,
+            final ExecutionContext exec) {
+        InputRow rightRow = new InputRow(dataRow, index,
+                InputRow.Settings.InDataPort.Right,
+                m_inputDataRowSettings);
+
+        boolean matchFoundForRightRow = false;
+        boolean deferMatch = false;
+
+        for (JoinTuple joinTuple : rightRow.getJoinTuples()) {
+            int hash = joinTuple.hashCode();
+            int partition = hash & m_bitMask;
+            if (!currParts.contains(partition)) {
+                deferMatch = true;
+                // skip and defer non-match when partition is not in the current partitions
+                continue;
+            }
 
-            if (m_retainRight && !matchFoundForRightRow && !deferMatch) {
-                long outRowIndex = outputCont.getRowCount();
-                // add right outer join
-                DataRow outRow = OutputRow.createDataRow(outRowIndex,
-                        -1, rightRow.getIndex(),
-                        dataRow,
-                        m_outputDataRowSettings);
-                outputCont.addRightOuter(outRow, exec);
+            JoinTupleHashTable leftTuples =
+                leftTableHashed.get(partition);
+            if (null == leftTuples) {
+                // skip and check for outer join when the left table does not have rows that fall
+                // in this partition
+                deferMatch = false;
+                continue;
             }
-            counter++;
-        }
 
-        if (m_retainLeft && !m_matchAny) {
-            for (int partition : leftOuterJoins.keySet()) {
-                for (Integer row : leftOuterJoins.get(partition)) {
-                    // add left outer join
+            int entry = leftTuples.getFirstEntry(joinTuple, hash);
+            if (entry >= 0) {
+                matchFoundForRightRow = true;
+                for (; entry >= 0; entry = leftTuples.getNextEntry(entry)) {
+                    int leftRowIndex = leftTuples.getRowIndex(entry);
+                    // add inner join
                     DataRow outRow = OutputRow.createDataRow(
-                            outputCont.getRowCount(),
-                            row, -1,
+                            outputCont.getNextRowIndex(),
+                            leftRowIndex, rightRow.getIndex(),
+                            leftTuples.getRow(entry), dataRow,
                             m_outputDataRowSettings);
-                    outputCont.addLeftOuter(outRow, exec);
+                    outputCont.addMatch(outRow, exec);
+                    if (m_retainLeft) {
+                        leftMatches.set(leftRowIndex);
+                    }
+                }
+            }
+        }
+
+
+        if (m_retainRight && !matchFoundForRightRow && !deferMatch) {
+            long outRowIndex = outputCont.getNextRowIndex();
+            // add right outer join
+            DataRow outRow = OutputRow.createDataRow(outRowIndex,
+                    -1, rightRow.getIndex(),
+                    dataRow,
+                    m_outputDataRowSettings);
+            outputCont.addRightOuter(outRow, exec);
+        }
+    }
+
+    /**
+     * Reads the outer table in batches that are probed concurrently. Each
+     * task writes to one of the {@link #m_probeSegments} that are not in use.
+     * The order of the joined rows is restored when the segments are sorted.
+     *
+     * @return The indices of the matching left rows.
+     */
+    private BitSet probeInParallel(
+            final Map<Integer, JoinTupleHashTable> leftTableHashed,
+            final Collection<Integer> currParts,
+            final BufferedDataTable rightTable,
+            final ExecutionContext exec,
+            final double incProgress) throws CanceledExecutionException {
+        final int numThreads = m_probeSegments.size();
+        final ThreadPool pool =
+            KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(numThreads);
+        final BlockingQueue<ProbeSegment> idleSegments =
+            new ArrayBlockingQueue<ProbeSegment>(numThreads, false,
+                    m_probeSegments);
+        // limit the number of batches that are held in memory
+        final int maxPendingBatches = 2 * numThreads;
+        final Queue<Future<Void>> pending = new ArrayDeque<Future<Void>>();
+        double progress = exec.getProgressMonitor().getProgress();
+        int counter = 0;
+        int batchStart = 0;
+        List<DataRow> batch = new ArrayList<DataRow>(PROBE_BATCH_SIZE);
+        try {
+            for (DataRow dataRow : rightTable) {
+                progress += incProgress;
+                exec.getProgressMonitor().setProgress(progress);
+                exec.checkCanceled();
+                batch.add(dataRow);
+                counter++;
+                if (batch.size() == PROBE_BATCH_SIZE) {
+                    pending.add(enqueueProbe(pool, idleSegments, batch,
+                            batchStart, leftTableHashed, currParts, exec));
+                    batch = new ArrayList<DataRow>(PROBE_BATCH_SIZE);
+                    batchStart = counter;
+                    if (pending.size() >= maxPendingBatches) {
+                        waitForProbe(pool, pending.poll());
+                    }
                 }
             }
+            if (!batch.isEmpty()) {
+                pending.add(enqueueProbe(pool, idleSegments, batch,
+                        batchStart, leftTableHashed, currParts, exec));
+            }
+            while (!pending.isEmpty()) {
+                exec.checkCanceled();
+                waitForProbe(pool, pending.poll());
+            }
+        } finally {
+            for (Future<Void> future : pending) {
+                future.cancel(true);
+            }
         }
+        final BitSet leftMatches = new BitSet();
+        for (ProbeSegment segment : m_probeSegments) {
+            leftMatches.or(segment.m_leftMatches);
+            segment.m_leftMatches.clear();
+        }
+        return leftMatches;
+    }
+
+    private Future<Void> enqueueProbe(final ThreadPool pool,
+            final BlockingQueue<ProbeSegment> idleSegments,
+            final List<DataRow> batch, final int batchStart,
+            final Map<Integer, JoinTupleHashTable> leftTableHashed,
+            final Collection<Integer> currParts,
+            final ExecutionContext exec) {
+        return pool.enqueue(new Callable<Void>() {
+            @Override
+            public Void call() throws Exception {
+                // there are as many segments as threads
+                ProbeSegment segment = idleSegments.take();
+                try {
+                    int index = batchStart;
+                    for (DataRow dataRow : batch) {
+                        probe(dataRow, index, leftTableHashed, currParts,
+                                segment.m_container, segment.m_leftMatches,
+                                exec);
+                        index++;
+                    }
+                } finally {
+                    idleSegments.add(segment);
+                }
+                return null;
+            }
+        });
+    }
 
+    private static void waitForProbe(final ThreadPool pool,
+            final Future<Void> future) throws CanceledExecutionException {
+        try {
+            pool.runInvisible(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    return future.get();
+                }
+            });
+        } catch (ExecutionException e) {
+            throw ExecutionExceptionUtil.rethrowCause(e,
+                    "Probing the outer table failed");
+        }
     }
 
     private List<Integer> getLeftJoinIndices(
@@ -1239,5 +1454,27 @@ void setNumBitsMaximal(final int bits) {
         m_numBitsMaximal = bits;
     }
 
+    /**
+     * Used for testing, only.
+     * @param numThreads number of threads used to probe the outer table
+     */
+    void setNumProbeThreads(final int numThreads) {
+        m_numProbeThreads = numThreads;
+    }
+
+    /**
+     * The output container and the matching left rows of the probe tasks.
+     * A segment is used by a single task at a time.
+     */
+    private static final class ProbeSegment {
+        private final JoinContainer m_container;
+
+        private final BitSet m_leftMatches = new BitSet();
+
+        ProbeSegment(final JoinContainer container) {
+            m_container = container;
+        }
+    }
+
 }
 
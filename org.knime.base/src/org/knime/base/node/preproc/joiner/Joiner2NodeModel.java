@@ -51,11 +51,9 @@
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.Set;
 
+import org.knime.base.node.util.CompactHiLiteMapper;
 import org.knime.core.data.DataTableSpec;
-import org.knime.core.data.RowKey;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionContext;
@@ -81,11 +79,12 @@ public class Joiner2NodeModel extends NodeModel {
     private final Joiner2Settings m_settings = new Joiner2Settings();
 
 
-    private HashMap<RowKey, Set<RowKey>> m_leftRowKeyMap
-        = new HashMap<RowKey, Set<RowKey>>();
-    private HashMap<RowKey, Set<RowKey>> m_rightRowKeyMap
-        = new HashMap<RowKey, Set<RowKey>>();
-
+    /** The files of the compact hilite mappings, used instead of the XML
+     * settings since KNIME 4.2. */
+    private static final String LEFT_MAPPING_FILE_NAME =
+        "leftHiliteMapping.bin";
+    private static final String RIGHT_MAPPING_FILE_NAME =
+        "rightHiliteMapping.bin";
 
     private HiLiteHandler m_outHandler;
     private HiLiteTranslator m_rightTranslator;
@@ -138,12 +137,10 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] inData,
                 setWarningMessage(warning);
             }
         }
-        m_leftRowKeyMap = joiner.getLeftRowKeyMap();
-        m_rightRowKeyMap = joiner.getRightRowKeyMap();
-        m_leftMapper = new DefaultHiLiteMapper(m_leftRowKeyMap);
-        m_rightMapper = new DefaultHiLiteMapper(m_rightRowKeyMap);
-        m_leftTranslator.setMapper(m_leftMapper);
-        m_rightTranslator.setMapper(m_rightMapper);
+        m_leftMapper = joiner.getLeftHiLiteMapper();
+        m_rightMapper = joiner.getRightHiLiteMapper();
+        CompactHiLiteMapper.setMapper(m_leftTranslator, m_leftMapper);
+        CompactHiLiteMapper.setMapper(m_rightTranslator, m_rightMapper);
 
         return joinedTable;
     }
@@ -188,10 +185,10 @@ protected void loadValidatedSettingsFrom(final NodeSettingsRO settings)
      */
     @Override
     protected void reset() {
-        m_leftRowKeyMap = null;
-        m_rightRowKeyMap = null;
-        m_leftTranslator.setMapper(null);
-        m_rightTranslator.setMapper(null);
+        m_leftMapper = null;
+        m_rightMapper = null;
+        CompactHiLiteMapper.setMapper(m_leftTranslator, null);
+        CompactHiLiteMapper.setMapper(m_rightTranslator, null);
     }
 
 
@@ -202,6 +199,15 @@ protected void reset() {
     protected void loadInternals(final File nodeInternDir,
             final ExecutionMonitor exec) throws IOException,
             CanceledExecutionException {
+        File leftFile = new File(nodeInternDir, LEFT_MAPPING_FILE_NAME);
+        File rightFile = new File(nodeInternDir, RIGHT_MAPPING_FILE_NAME);
+        if (leftFile.exists() && rightFile.exists()) {
+            m_leftMapper = CompactHiLiteMapper.load(leftFile);
+            CompactHiLiteMapper.setMapper(m_leftTranslator, m_leftMapper);
+            m_rightMapper = CompactHiLiteMapper.load(rightFile);
+            CompactHiLiteMapper.setMapper(m_rightTranslator, m_rightMapper);
+            return;
+        }
         File settingsFile = new File(nodeInternDir, "joinerInternalSettings");
         FileInputStream in = new FileInputStream(settingsFile);
         NodeSettingsRO settings = NodeSettings.loadFromXML(in);
@@ -228,6 +234,15 @@ protected void loadInternals(final File nodeInternDir,
     protected void saveInternals(final File nodeInternDir,
             final ExecutionMonitor exec) throws IOException,
             CanceledExecutionException {
+        if (m_leftTranslator.getMapper() instanceof CompactHiLiteMapper
+                && m_rightTranslator.getMapper()
+                    instanceof CompactHiLiteMapper) {
+            ((CompactHiLiteMapper)m_leftTranslator.getMapper()).save(
+                new File(nodeInternDir, LEFT_MAPPING_FILE_NAME));
+            ((CompactHiLiteMapper)m_rightTranslator.getMapper()).save(
+                new File(nodeInternDir, RIGHT_MAPPING_FILE_NAME));
+            return;
+        }
         NodeSettings internalSettings = new NodeSettings("joiner");
         NodeSettingsWO leftMapSet =
             internalSettings.addNodeSettings("leftHiliteMapping");
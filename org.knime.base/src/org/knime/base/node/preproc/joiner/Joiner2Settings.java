@@ -74,6 +74,7 @@ public class Joiner2Settings {
     private static final String MAX_OPEN_FILES = "maxOpenFiles";
     private static final String ROW_KEY_SEPARATOR = "rowKeySeparator";
     private static final String ENABLE_HILITE = "enableHiLite";
+    private static final String OUTPUT_ROW_ORDER = "outputRowOrder";
     private static final String VERSION = "version";
 
     /**
@@ -156,6 +157,32 @@ public enum CompositionMode {
         MatchAny;
     }
 
+    /**
+     * This enum holds all ways of ordering the rows of the joined table.
+     *
+     * @since 4.2
+     */
+    public enum OutputRowOrder {
+        /** Order by the rows of the left table, then by the rows of the right table. */
+        LeftRight("Left table, then right table"),
+        /** Output the rows as they are joined, no sorting is done. */
+        Arbitrary("Arbitrary (faster)");
+
+        private final String m_text;
+
+        private OutputRowOrder(final String text) {
+            m_text = text;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public String toString() {
+            return m_text;
+        }
+    }
+
 
     /** Internally used row key identifier. */
     static final String ROW_KEY_IDENTIFIER = "$RowID$";
@@ -184,6 +211,7 @@ public enum CompositionMode {
     private int m_maxOpenFiles = 200;
     private String m_rowKeySeparator = "_";
     private boolean m_enableHiLite = false;
+    private OutputRowOrder m_outputRowOrder = OutputRowOrder.LeftRight;
 
     private String m_version = VERSION_3;
 
@@ -495,6 +523,26 @@ public void setEnableHiLite(final boolean enableHiLite) {
         m_enableHiLite = enableHiLite;
     }
 
+    /**
+     * Returns the order of the rows in the joined table.
+     *
+     * @return the outputRowOrder
+     * @since 4.2
+     */
+    public OutputRowOrder getOutputRowOrder() {
+        return m_outputRowOrder;
+    }
+
+    /**
+     * Set the order of the rows in the joined table.
+     *
+     * @param outputRowOrder the outputRowOrder to set
+     * @since 4.2
+     */
+    public void setOutputRowOrder(final OutputRowOrder outputRowOrder) {
+        m_outputRowOrder = outputRowOrder;
+    }
+
     /**
      * Loads the settings from the node settings object.
      *
@@ -531,6 +579,9 @@ public void loadSettings(final NodeSettingsRO settings)
         m_maxOpenFiles = settings.getInt(MAX_OPEN_FILES);
         m_rowKeySeparator = settings.getString(ROW_KEY_SEPARATOR);
         m_enableHiLite = settings.getBoolean(ENABLE_HILITE);
+        // added in 4.2
+        m_outputRowOrder = OutputRowOrder.valueOf(settings.getString(
+                OUTPUT_ROW_ORDER, OutputRowOrder.LeftRight.name()));
 
 
     }
@@ -583,6 +634,8 @@ public void loadSettingsForDialog(final NodeSettingsRO settings) {
         m_maxOpenFiles = settings.getInt(MAX_OPEN_FILES, 200);
         m_rowKeySeparator = settings.getString(ROW_KEY_SEPARATOR, "_");
         m_enableHiLite = settings.getBoolean(ENABLE_HILITE, false);
+        m_outputRowOrder = OutputRowOrder.valueOf(settings.getString(
+                OUTPUT_ROW_ORDER, OutputRowOrder.LeftRight.name()));
 
 
     }
@@ -611,6 +664,7 @@ public void saveSettings(final NodeSettingsWO settings) {
         settings.addInt(MAX_OPEN_FILES, m_maxOpenFiles);
         settings.addString(ROW_KEY_SEPARATOR, m_rowKeySeparator);
         settings.addBoolean(ENABLE_HILITE, m_enableHiLite);
+        settings.addString(OUTPUT_ROW_ORDER, m_outputRowOrder.name());
         // save default values for settings that were removed in 2.5, so that
         // a workflow created with 2.5 can be opened in 2.4.
         settings.addInt("numBitsInitial", 6);
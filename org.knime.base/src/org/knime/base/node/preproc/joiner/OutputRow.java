@@ -66,7 +66,8 @@
 /**
  * Stores information of a inner or outer join in a DataRow. Stored are the
  * cells of the right row, its rowkey and the indices of the left and the
- * right row. This class provides static method to retrieve the stored data.
+ * right row. Optionally, the cells of the left row and its rowkey are stored
+ * as well. This class provides static method to retrieve the stored data.
  *
  * @author Heiko Hofer
  */
@@ -92,23 +93,8 @@ static DataRow createDataRow(final long index,
             final long leftIndex, final long rightIndex,
             final DataRow rightDataRow,
             final OutputRow.Settings settings) {
-
-        int[] survivors = settings.getSurvivors();
-
-        DataCell[] cells =
-                new DataCell[survivors.length + 3];
-        int c = 0;
-        for (int i = 0; i < survivors.length; i++) {
-            cells[c] = rightDataRow.getCell(survivors[i]);
-            c++;
-        }
-        cells[c] = new StringCell(rightDataRow.getKey().getString());
-        c++;
-        cells[c] = new LongCell(leftIndex);
-        c++;
-        cells[c] = new LongCell(rightIndex);
-        RowKey rowID = new RowKey(Long.toString(index));
-        return  new DefaultRow(rowID, cells);
+        return createDataRow(index, leftIndex, rightIndex, null, rightDataRow,
+                settings);
     }
 
     /**
@@ -124,23 +110,64 @@ static DataRow createDataRow(final long index,
     static DataRow createDataRow(final long index,
             final long leftIndex, final long rightIndex,
             final OutputRow.Settings settings) {
+        return createDataRow(index, leftIndex, rightIndex, null, null,
+                settings);
+    }
+
+    /**
+     * Create a {@link DataRow} that stores information of a inner or
+     * outer joins. The cells of the left row are only stored if the settings
+     * include the left rows, see {@link Settings#includesLeftRows()}.
+     *
+     * @param index The index of this row.
+     * @param leftIndex The index of the left row.
+     * @param rightIndex The index of the right row.
+     * @param leftDataRow The left row holding the cells of the left
+     * survivors or null if there is no left row.
+     * @param rightDataRow The right row or null if there is no right row.
+     * @param settings The common settings object.
+     * @return New instance of {@link DataRow} populated with the given
+     * information.
+     */
+    static DataRow createDataRow(final long index,
+            final long leftIndex, final long rightIndex,
+            final DataRow leftDataRow,
+            final DataRow rightDataRow,
+            final OutputRow.Settings settings) {
 
         int[] survivors = settings.getSurvivors();
+        int numLeftCells = settings.includesLeftRows()
+            ? settings.getNumLeftCells() + 1 : 0;
 
         DataCell[] cells =
-                new DataCell[survivors.length + 3];
+                new DataCell[survivors.length + numLeftCells + 3];
         int c = 0;
         for (int i = 0; i < survivors.length; i++) {
-            cells[c] = DataType.getMissingCell();
+            cells[c] = null != rightDataRow
+                ? rightDataRow.getCell(survivors[i])
+                : DataType.getMissingCell();
             c++;
         }
-        cells[c] = DataType.getMissingCell();
+        if (settings.includesLeftRows()) {
+            for (int i = 0; i < settings.getNumLeftCells(); i++) {
+                cells[c] = null != leftDataRow ? leftDataRow.getCell(i)
+                    : DataType.getMissingCell();
+                c++;
+            }
+            cells[c] = null != leftDataRow
+                ? new StringCell(leftDataRow.getKey().getString())
+                : DataType.getMissingCell();
+            c++;
+        }
+        cells[c] = null != rightDataRow
+            ? new StringCell(rightDataRow.getKey().getString())
+            : DataType.getMissingCell();
         c++;
         cells[c] = new LongCell(leftIndex);
         c++;
         cells[c] = new LongCell(rightIndex);
         RowKey rowID = new RowKey(Long.toString(index));
-        return new DefaultRow(rowID, cells);
+        return  new DefaultRow(rowID, cells);
     }
 
 
@@ -178,6 +205,20 @@ static RowKey getRightKey(final DataRow row) {
         }
     }
 
+    /**
+     * @param row A {@link DataRow} created by the factory methods of this
+     * class with settings that include the left rows.
+     * @return the row ID of the left row or null if missing (right outer join)
+     */
+    static RowKey getLeftKey(final DataRow row) {
+        DataCell cell = row.getCell(row.getNumCells() - 4);
+        if (!cell.isMissing()) {
+            return new RowKey(((StringCell)cell).getStringValue());
+        } else {
+            return null;
+        }
+    }
+
     /**
      * Creates a comparator which can be used to order {@link DataRow}s
      * created by the factory methods of this class.
@@ -205,6 +246,7 @@ public int compare(final DataRow o1, final DataRow o2) {
     static class Settings {
         private DataTableSpec m_spec;
         private int[] m_rightTableSurvivors;
+        private int m_numLeftCells;
 
         /**
          * @param rightTableSpec The spec of the right table.
@@ -213,10 +255,31 @@ static class Settings {
         public Settings(
                 final DataTableSpec rightTableSpec,
                 final int[] rightTableSurvivors) {
+            this(rightTableSpec, rightTableSurvivors, null, null);
+        }
+
+        /**
+         * @param rightTableSpec The spec of the right table.
+         * @param rightTableSurvivors The survivors of the right table.
+         * @param leftTableSpec The spec of the left table or null if the
+         * rows do not include the cells of the left row.
+         * @param leftTableSurvivors The survivors of the left table or null
+         * if the rows do not include the cells of the left row.
+         */
+        public Settings(
+                final DataTableSpec rightTableSpec,
+                final int[] rightTableSurvivors,
+                final DataTableSpec leftTableSpec,
+                final int[] leftTableSurvivors) {
             m_rightTableSurvivors = rightTableSurvivors;
+            m_numLeftCells = null != leftTableSurvivors
+                ? leftTableSurvivors.length : -1;
 
+            int numLeftCols = null != leftTableSurvivors
+                ? leftTableSurvivors.length + 1 : 0;
             DataColumnSpec[] cspec =
-                new DataColumnSpec[rightTableSurvivors.length + 3];
+                new DataColumnSpec[rightTableSurvivors.length + numLeftCols
+                                   + 3];
             Integer c = 0;
             for (int i = 0; i < rightTableSurvivors.length; i++) {
                 cspec[c] = new DataColumnSpecCreator(c.toString(),
@@ -224,6 +287,17 @@ public Settings(
                         rightTableSurvivors[i]).getType()).createSpec();
                 c++;
             }
+            if (null != leftTableSurvivors) {
+                for (int i = 0; i < leftTableSurvivors.length; i++) {
+                    cspec[c] = new DataColumnSpecCreator(c.toString(),
+                            leftTableSpec.getColumnSpec(
+                            leftTableSurvivors[i]).getType()).createSpec();
+                    c++;
+                }
+                cspec[c] = new DataColumnSpecCreator(c.toString(),
+                        StringCell.TYPE).createSpec();
+                c++;
+            }
             cspec[c] = new DataColumnSpecCreator(c.toString(), StringCell.TYPE).createSpec();
             c++;
             cspec[c] = new DataColumnSpecCreator(c.toString(), LongCell.TYPE).createSpec();
@@ -240,6 +314,22 @@ public int[] getSurvivors() {
             return m_rightTableSurvivors;
         }
 
+        /**
+         * @return true if the rows include the cells and the row ID of the
+         * left row.
+         */
+        public boolean includesLeftRows() {
+            return m_numLeftCells >= 0;
+        }
+
+        /**
+         * @return The number of cells of the left row, which are the cells
+         * of the survivors of the left table.
+         */
+        public int getNumLeftCells() {
+            return Math.max(m_numLeftCells, 0);
+        }
+
         /**
          * The spec of an {@link OutputRow}.
          *
@@ -55,6 +55,7 @@
 import javax.swing.event.ChangeListener;
 
 import org.knime.base.data.append.column.AppendedColumnTable;
+import org.knime.base.node.util.CompactHiLiteMapper;
 import org.knime.core.data.DataColumnSpec;
 import org.knime.core.data.DataColumnSpecCreator;
 import org.knime.core.data.DataRow;
@@ -112,6 +113,9 @@ public class RowKeyNodeModel2 extends NodeModel {
 
     private static final String INTERNALS_FILE_NAME = "hilite_mapping.xml.gz";
 
+    /** The file name of the compact hilite mapping, used instead of the XML file since KNIME 4.2. */
+    private static final String COMPACT_INTERNALS_FILE_NAME = "hilite_mapping.bin";
+
     /**
      * The name of the settings tag which holds the boolean if the user
      * wants to replace the row key with values of the selected column.*/
@@ -394,8 +398,7 @@ private void replaceKey(final RowInput rowInput, final RowOutput rowOutput, fina
             m_appendRowKey.getBooleanValue(), newColSpec, ensureUniqueness, handleMissing, removeRowKeyCol,
             m_enableHilite.getBooleanValue(), totalNoOfOutCols, totalNoOfRows);
         if (m_enableHilite.getBooleanValue()) {
-            m_hilite.setMapper(new DefaultHiLiteMapper(
-                    util.getHiliteMapping()));
+            CompactHiLiteMapper.setMapper(m_hilite, util.getHiLiteMapper());
         }
         final int missingValueCounter = util.getMissingValueCounter();
         final int duplicatesCounter = util.getDuplicatesCounter();
@@ -479,7 +482,7 @@ private DataColumnSpec createAppendRowKeyColSpec(final String newColName) {
      */
     @Override
     protected void reset() {
-        m_hilite.setMapper(null);
+        CompactHiLiteMapper.setMapper(m_hilite, null);
     }
 
     /**
@@ -620,11 +623,17 @@ protected void validateSettings(final NodeSettingsRO settings)
     protected void loadInternals(final File nodeInternDir,
             final ExecutionMonitor exec) throws IOException  {
         if (m_enableHilite.getBooleanValue()) {
+            final File compactFile = new File(nodeInternDir, COMPACT_INTERNALS_FILE_NAME);
+            if (compactFile.exists()) {
+                CompactHiLiteMapper.setMapper(m_hilite, CompactHiLiteMapper.load(compactFile));
+                m_hilite.addToHiLiteHandler(getInHiLiteHandler(0));
+                return;
+            }
             final NodeSettingsRO config = NodeSettings.loadFromXML(
                     new FileInputStream(new File(nodeInternDir,
                             INTERNALS_FILE_NAME)));
             try {
-                m_hilite.setMapper(DefaultHiLiteMapper.load(config));
+                CompactHiLiteMapper.setMapper(m_hilite, DefaultHiLiteMapper.load(config));
                 m_hilite.addToHiLiteHandler(getInHiLiteHandler(0));
             } catch (final InvalidSettingsException ex) {
                 throw new IOException(ex.getMessage());
@@ -639,6 +648,11 @@ protected void loadInternals(final File nodeInternDir,
     protected void saveInternals(final File nodeInternDir,
             final ExecutionMonitor exec) throws IOException  {
         if (m_enableHilite.getBooleanValue()) {
+            if (m_hilite.getMapper() instanceof CompactHiLiteMapper) {
+                ((CompactHiLiteMapper)m_hilite.getMapper()).save(
+                    new File(nodeInternDir, COMPACT_INTERNALS_FILE_NAME));
+                return;
+            }
             final NodeSettings config = new NodeSettings("hilite_mapping");
             final DefaultHiLiteMapper mapper =
                 (DefaultHiLiteMapper) m_hilite.getMapper();
@@ -47,12 +47,11 @@
  */
 package org.knime.base.node.preproc.rowkey2;
 
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 
 import org.knime.base.data.append.column.AppendedColumnTable;
+import org.knime.base.node.util.CompactHiLiteMapper;
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataColumnSpec;
 import org.knime.core.data.DataColumnSpecCreator;
@@ -74,7 +73,6 @@
 import org.knime.core.node.streamable.DataTableRowInput;
 import org.knime.core.node.streamable.RowInput;
 import org.knime.core.node.streamable.RowOutput;
-import org.knime.core.util.MutableInteger;
 
 /**
  * Provides methods to append a new row with the row key values or
@@ -95,7 +93,7 @@ public class RowKeyUtil2 {
 
     private int m_missingValueCounter = 0;
 
-    private Map<RowKey, Set<RowKey>> m_hiliteMapping = null;
+    private CompactHiLiteMapper m_hiliteMapping = null;
 
 
     /**
@@ -232,10 +230,20 @@ void changeRowKey(final RowInput inData, final RowOutput outData, final Executio
             newRowKeyColIdx = -1;
         }
         if (hiliteMap) {
-            m_hiliteMapping = new HashMap<RowKey, Set<RowKey>>(totalNoOfRows);
+            m_hiliteMapping = new CompactHiLiteMapper();
         }
-        final Map<String, MutableInteger> vals =
-            new HashMap<String, MutableInteger>(totalNoOfRows > 0 ? totalNoOfRows : 100);
+        // keeps the keys in memory as long as possible and spills them to disk if memory gets low
+        try (final UniqueRowKeyGenerator keyGenerator = ensureUniqueness ? new UniqueRowKeyGenerator() : null) {
+            changeRowKey(inData, outData, exec, newRowKeyColIdx, appendColumn, replaceMissingVals, removeRowKeyCol,
+                hiliteMap, totalNoOfOutColumns, totalNoOfRows, keyGenerator);
+        }
+    }
+
+    private void changeRowKey(final RowInput inData, final RowOutput outData, final ExecutionContext exec,
+        final int newRowKeyColIdx, final boolean appendColumn, final boolean replaceMissingVals,
+        final boolean removeRowKeyCol, final boolean hiliteMap, final int totalNoOfOutColumns,
+        final int totalNoOfRows, final UniqueRowKeyGenerator keyGenerator) throws Exception {
+        final DataTableSpec inSpec = inData.getDataTableSpec();
         final double progressPerRow = 1.0 / totalNoOfRows;
         //update the progress monitor every percent
         final int checkPoint = Math.max((totalNoOfRows / 1000), 1);
@@ -271,25 +279,13 @@ void changeRowKey(final RowInput inData, final RowOutput outData, final Executio
                 } else {
                     key = keyCell.toString();
                 }
-                if (ensureUniqueness) {
-                    if (vals.containsKey(key)) {
-                        if (!keyCell.isMissing()) {
-                            m_duplicatesCounter++;
-                        }
-                        StringBuilder uniqueKey = new StringBuilder(key);
-                        final MutableInteger index = vals.get(uniqueKey.toString());
-                        while (vals.containsKey(uniqueKey.toString())) {
-                            index.inc();
-                            uniqueKey = new StringBuilder(key);
-                            uniqueKey.append("(");
-                            uniqueKey.append(index.toString());
-                            uniqueKey.append(")");
-                        }
-                        key = uniqueKey.toString();
+                if (keyGenerator != null) {
+                    final String uniqueKey = keyGenerator.createUniqueKey(key);
+                    // a key that has been seen before always gets an index appended
+                    if (!uniqueKey.equals(key) && !keyCell.isMissing()) {
+                        m_duplicatesCounter++;
                     }
-                    //put the current key which is new into the values map
-                    final MutableInteger index = new MutableInteger(0);
-                    vals.put(key, index);
+                    key = uniqueKey;
                 }
                 newKeyVal = new RowKey(key);
             } else {
@@ -299,9 +295,7 @@ void changeRowKey(final RowInput inData, final RowOutput outData, final Executio
             final DefaultRow newRow = new DefaultRow(newKeyVal, cells);
             outData.push(newRow);
             if (hiliteMap) {
-                final Set<RowKey> oldKeys = new HashSet<RowKey>(1);
-                oldKeys.add(row.getKey());
-                m_hiliteMapping.put(newKeyVal, oldKeys);
+                m_hiliteMapping.addMapping(newKeyVal, row.getKey());
             }
             exec.checkCanceled();
             if (rowCounter % checkPoint == 0) {
@@ -342,8 +336,23 @@ public int getDuplicatesCounter() {
      * old row key.
      * @return the hilite translation <code>Map</code> or <code>null</code> if
      * the enableHilte flag in the constructor was set to <code>false</code>.
+     * @deprecated creates the <code>Map</code> from the compact hilite
+     * mapping, use {@link #getHiLiteMapper()} instead
      */
+    @Deprecated
     public Map<RowKey, Set<RowKey>> getHiliteMapping() {
+        return m_hiliteMapping == null ? null : m_hiliteMapping.toMap();
+    }
+
+    /**
+     * The hilite translation from the new row key to the old row key or
+     * <code>null</code> if the enableHilte flag was set to <code>false</code>.
+     * The mapping is kept in a temporary file until it is used the first time.
+     * @return the hilite translation or <code>null</code> if the enableHilte
+     * flag was set to <code>false</code>
+     * @since 4.2
+     */
+    public CompactHiLiteMapper getHiLiteMapper() {
         return m_hiliteMapping;
     }
 
@@ -0,0 +1,590 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   18.10.2026 (agent): created
+ */
+package org.knime.base.node.preproc.rowkey2;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import org.knime.core.data.util.memory.MemoryAlertSystem;
+import org.knime.core.data.util.memory.MemoryAlertSystem.MemoryActionIndicator;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.util.FileUtil;
+import org.knime.core.util.MutableInteger;
+
+/**
+ * Creates unique row keys from possibly duplicate values by appending a running index in brackets, e.g.
+ * <code>key(1)</code>, <code>key(2)</code>.
+ * <p>
+ * As long as enough memory is available all keys are kept in a hash map together with the last index used for them.
+ * If the {@link MemoryAlertSystem} reports low memory, the map is written to a temporary file sorted by a 64 bit
+ * fingerprint of the keys. Only the sorted fingerprints of such a run and the file offsets of every
+ * {@value #BLOCK_SIZE}th entry are kept in memory. A key is looked up in the runs by its fingerprint; only if the
+ * fingerprint is found (which is rare for keys that have not been seen before), one block of the file is read to
+ * confirm the key and to retrieve its index. If the number of runs gets too large, they are merged into one.
+ *
+ * @author agent
+ */
+final class UniqueRowKeyGenerator implements AutoCloseable {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(UniqueRowKeyGenerator.class);
+
+    /** The number of entries of a run for which one file offset is kept in memory. */
+    static final int BLOCK_SIZE = 128;
+
+    /** The minimum number of keys in memory before they are spilled. */
+    private static final int MIN_KEYS_TO_SPILL = 1024;
+
+    /** The number of runs at which all runs are merged into one. */
+    private static final int MAX_RUNS = 8;
+
+    private final MemoryActionIndicator m_memIndicator = MemoryAlertSystem.getInstance().newIndicator();
+
+    private final int m_maxKeysInMemory;
+
+    /** The keys that have been added since the last spill (or whose index has been updated since). */
+    private Map<String, MutableInteger> m_keys = new HashMap<>();
+
+    /** The spilled runs, the oldest first. */
+    private final List<Run> m_runs = new ArrayList<>();
+
+    /** Creates a generator that keeps the keys in memory until memory gets low. */
+    UniqueRowKeyGenerator() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param maxKeysInMemory the maximum number of keys to keep in memory before they are spilled to disk even if
+     *            enough memory is available
+     */
+    UniqueRowKeyGenerator(final int maxKeysInMemory) {
+        m_maxKeysInMemory = maxKeysInMemory;
+    }
+
+    /**
+     * Returns the given key if it has not been returned before. Otherwise <code>key(i)</code> is returned where i is
+     * the smallest index larger than the index used the last time for the key such that the result is unique.
+     *
+     * @param key the key, which might not be unique
+     * @return the unique key
+     * @throws IOException if the spilled keys cannot be written or read
+     */
+    String createUniqueKey(final String key) throws IOException {
+        String uniqueKey = key;
+        if (contains(key)) {
+            final MutableInteger index = getIndex(key);
+            while (contains(uniqueKey)) {
+                index.inc();
+                uniqueKey = key + "(" + index.toString() + ")";
+            }
+        }
+        m_keys.put(uniqueKey, new MutableInteger(0));
+        if (m_keys.size() >= MIN_KEYS_TO_SPILL
+            && (m_keys.size() >= m_maxKeysInMemory || m_memIndicator.lowMemoryActionRequired())) {
+            spill();
+        }
+        return uniqueKey;
+    }
+
+    /** @return the number of runs currently spilled to disk */
+    int getNumberOfRuns() {
+        return m_runs.size();
+    }
+
+    private boolean contains(final String key) throws IOException {
+        if (m_keys.containsKey(key)) {
+            return true;
+        }
+        if (m_runs.isEmpty()) {
+            return false;
+        }
+        final long fingerprint = fingerprint(key);
+        for (int r = m_runs.size() - 1; r >= 0; r--) {
+            if (m_runs.get(r).find(key, fingerprint) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Returns the index of a contained key, which is moved to memory if it has been spilled. */
+    private MutableInteger getIndex(final String key) throws IOException {
+        MutableInteger index = m_keys.get(key);
+        if (index == null) {
+            final long fingerprint = fingerprint(key);
+            for (int r = m_runs.size() - 1; r >= 0 && index == null; r--) {
+                final int spilledIndex = m_runs.get(r).find(key, fingerprint);
+                if (spilledIndex >= 0) {
+                    index = new MutableInteger(spilledIndex);
+                }
+            }
+            if (index == null) {
+                throw new IllegalStateException("Key '" + key + "' not found.");
+            }
+            // the key shadows the older entries of the runs from now on
+            m_keys.put(key, index);
+        }
+        return index;
+    }
+
+    private void spill() throws IOException {
+        final int size = m_keys.size();
+        final String[] keys = new String[size];
+        final int[] indices = new int[size];
+        final long[] fingerprints = new long[size];
+        int i = 0;
+        for (final Map.Entry<String, MutableInteger> e : m_keys.entrySet()) {
+            keys[i] = e.getKey();
+            indices[i] = e.getValue().intValue();
+            fingerprints[i] = fingerprint(keys[i]);
+            i++;
+        }
+        // release the memory of the map before the keys are sorted
+        m_keys = new HashMap<>();
+        sort(fingerprints, keys, indices, 0, size);
+        try (final RunWriter writer = new RunWriter()) {
+            for (i = 0; i < size; i++) {
+                writer.write(fingerprints[i], keys[i], indices[i]);
+            }
+            m_runs.add(writer.finish(fingerprints));
+        }
+        LOGGER.debugWithFormat("Spilled %d row keys to disk (%d runs).", size, m_runs.size());
+        if (m_runs.size() >= MAX_RUNS) {
+            mergeRuns();
+        }
+    }
+
+    /**
+     * Sorts the entries in [from, to) by fingerprint and key in place, swapping the three arrays alongside. The keys
+     * are unique, hence no two entries are equal.
+     */
+    private static void sort(final long[] fingerprints, final String[] keys, final int[] indices, final int from,
+        final int to) {
+        int lo = from;
+        int hi = to;
+        while (hi - lo > 16) {
+            final int pivot = medianOfThree(fingerprints, keys, lo, (lo + hi) >>> 1, hi - 1);
+            final long pivotFingerprint = fingerprints[pivot];
+            final String pivotKey = keys[pivot];
+            int i = lo;
+            int j = hi - 1;
+            while (i <= j) {
+                while (compare(fingerprints, keys, i, pivotFingerprint, pivotKey) < 0) {
+                    i++;
+                }
+                while (compare(fingerprints, keys, j, pivotFingerprint, pivotKey) > 0) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(fingerprints, keys, indices, i++, j--);
+                }
+            }
+            // recurse into the smaller part only to bound the depth of the stack
+            if (j + 1 - lo < hi - i) {
+                sort(fingerprints, keys, indices, lo, j + 1);
+                lo = i;
+            } else {
+                sort(fingerprints, keys, indices, i, hi);
+                hi = j + 1;
+            }
+        }
+        for (int i = lo + 1; i < hi; i++) {
+            for (int j = i; j > lo && compare(fingerprints, keys, j, fingerprints[j - 1], keys[j - 1]) < 0; j--) {
+                swap(fingerprints, keys, indices, j, j - 1);
+            }
+        }
+    }
+
+    private static int medianOfThree(final long[] fingerprints, final String[] keys, final int a, final int b,
+        final int c) {
+        final boolean ab = compare(fingerprints, keys, a, fingerprints[b], keys[b]) < 0;
+        final boolean bc = compare(fingerprints, keys, b, fingerprints[c], keys[c]) < 0;
+        if (ab == bc) {
+            return b;
+        }
+        final boolean ac = compare(fingerprints, keys, a, fingerprints[c], keys[c]) < 0;
+        return ab == ac ? c : a;
+    }
+
+    private static int compare(final long[] fingerprints, final String[] keys, final int i, final long fingerprint,
+        final String key) {
+        final int c = Long.compare(fingerprints[i], fingerprint);
+        return c != 0 ? c : keys[i].compareTo(key);
+    }
+
+    private static void swap(final long[] fingerprints, final String[] keys, final int[] indices, final int i,
+        final int j) {
+        final long fingerprint = fingerprints[i];
+        fingerprints[i] = fingerprints[j];
+        fingerprints[j] = fingerprint;
+        final String key = keys[i];
+        keys[i] = keys[j];
+        keys[j] = key;
+        final int index = indices[i];
+        indices[i] = indices[j];
+        indices[j] = index;
+    }
+
+    /**
+     * Merges all runs into one, entries of newer runs replace the ones of older runs with the same key. The
+     * fingerprints of the merged run are read back from its file once the old runs are released, so the fingerprints
+     * of the old and the new runs are never held in memory at the same time.
+     */
+    private void mergeRuns() throws IOException {
+        // newer runs first for equal keys
+        final PriorityQueue<RunReader> queue = new PriorityQueue<>(Comparator.<RunReader> comparingLong(
+            r -> r.m_fingerprint).thenComparing(r -> r.m_key).thenComparingInt(r -> -r.m_age));
+        try {
+            for (int r = 0; r < m_runs.size(); r++) {
+                final RunReader reader = new RunReader(m_runs.get(r).m_file, m_runs.get(r).m_fingerprints.length, r);
+                if (reader.next()) {
+                    queue.add(reader);
+                }
+            }
+            try (final RunWriter writer = new RunWriter()) {
+                String lastKey = null;
+                while (!queue.isEmpty()) {
+                    final RunReader reader = queue.poll();
+                    if (!reader.m_key.equals(lastKey)) {
+                        writer.write(reader.m_fingerprint, reader.m_key, reader.m_index);
+                        lastKey = reader.m_key;
+                    }
+                    if (reader.next()) {
+                        queue.add(reader);
+                    }
+                }
+                writer.closeOutput();
+                for (final Run run : m_runs) {
+                    run.close();
+                }
+                m_runs.clear();
+                m_runs.add(writer.finish(writer.readFingerprints()));
+            }
+        } finally {
+            for (final RunReader reader : queue) {
+                reader.close();
+            }
+        }
+    }
+
+    /**
+     * Computes a 64 bit fingerprint of a string (FNV-1a followed by the finalizer of MurmurHash3).
+     */
+    static long fingerprint(final String key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0, length = key.length(); i < length; i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void close() {
+        m_keys = new HashMap<>();
+        for (final Run run : m_runs) {
+            run.close();
+        }
+        m_runs.clear();
+    }
+
+    /**
+     * A file with entries (fingerprint, key, index) sorted by fingerprint and key. The fingerprints are held in
+     * memory as well as the file offset of every {@value UniqueRowKeyGenerator#BLOCK_SIZE}th entry.
+     */
+    private static final class Run implements AutoCloseable {
+
+        private final File m_file;
+
+        private final long[] m_fingerprints;
+
+        /** The file offsets of the blocks, plus the length of the file. */
+        private final long[] m_blockOffsets;
+
+        private RandomAccessFile m_raf;
+
+        private byte[] m_buffer = new byte[0];
+
+        Run(final File file, final long[] fingerprints, final long[] blockOffsets) {
+            m_file = file;
+            m_fingerprints = fingerprints;
+            m_blockOffsets = blockOffsets;
+        }
+
+        /**
+         * @return the index of the key or -1 if the key is not in this run
+         */
+        int find(final String key, final long fingerprint) throws IOException {
+            int pos = Arrays.binarySearch(m_fingerprints, fingerprint);
+            if (pos < 0) {
+                return -1;
+            }
+            while (pos > 0 && m_fingerprints[pos - 1] == fingerprint) {
+                pos--;
+            }
+            // read the blocks containing the entries with the fingerprint and compare the keys
+            int block = pos / BLOCK_SIZE;
+            ByteBuffer buffer = readBlock(block);
+            for (int entry = block * BLOCK_SIZE; entry < m_fingerprints.length
+                && m_fingerprints[entry] <= fingerprint; entry++) {
+                if (entry == (block + 1) * BLOCK_SIZE) {
+                    block++;
+                    buffer = readBlock(block);
+                }
+                buffer.getLong();
+                final int length = buffer.getInt();
+                boolean equal = entry >= pos && length == key.length();
+                for (int c = 0; c < length; c++) {
+                    final char ch = buffer.getChar();
+                    equal = equal && ch == key.charAt(c);
+                }
+                final int index = buffer.getInt();
+                if (equal) {
+                    return index;
+                }
+            }
+            return -1;
+        }
+
+        private ByteBuffer readBlock(final int block) throws IOException {
+            if (m_raf == null) {
+                m_raf = new RandomAccessFile(m_file, "r");
+            }
+            final int length = (int)(m_blockOffsets[block + 1] - m_blockOffsets[block]);
+            if (m_buffer.length < length) {
+                m_buffer = new byte[Math.max(length, 2 * m_buffer.length)];
+            }
+            m_raf.seek(m_blockOffsets[block]);
+            m_raf.readFully(m_buffer, 0, length);
+            return ByteBuffer.wrap(m_buffer, 0, length);
+        }
+
+        @Override
+        public void close() {
+            if (m_raf != null) {
+                try {
+                    m_raf.close();
+                } catch (IOException e) {
+                    LOGGER.debug("Could not close file " + m_file + ": " + e.getMessage(), e);
+                }
+                m_raf = null;
+            }
+            if (!m_file.delete()) {
+                LOGGER.debug("Could not delete file " + m_file);
+            }
+        }
+    }
+
+    /** Writes the sorted entries of a new run. */
+    private static final class RunWriter implements AutoCloseable {
+
+        private final File m_file;
+
+        private final DataOutputStream m_out;
+
+        private long[] m_blockOffsets = new long[16];
+
+        private int m_numBlocks;
+
+        private int m_size;
+
+        private long m_offset;
+
+        private boolean m_closed;
+
+        private boolean m_finished;
+
+        RunWriter() throws IOException {
+            m_file = FileUtil.createTempFile("row_keys", ".bin");
+            m_file.deleteOnExit();
+            m_out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(m_file)));
+        }
+
+        void write(final long fingerprint, final String key, final int index) throws IOException {
+            if (m_size % BLOCK_SIZE == 0) {
+                addBlockOffset(m_offset);
+            }
+            m_size++;
+            m_out.writeLong(fingerprint);
+            m_out.writeInt(key.length());
+            m_out.writeChars(key);
+            m_out.writeInt(index);
+            m_offset += 8 + 4 + 2L * key.length() + 4;
+        }
+
+        private void addBlockOffset(final long offset) {
+            if (m_numBlocks == m_blockOffsets.length) {
+                m_blockOffsets = Arrays.copyOf(m_blockOffsets, 2 * m_numBlocks);
+            }
+            m_blockOffsets[m_numBlocks++] = offset;
+        }
+
+        void closeOutput() throws IOException {
+            if (!m_closed) {
+                m_out.close();
+                m_closed = true;
+            }
+        }
+
+        /** @return the fingerprints of the written entries, read from the closed file */
+        long[] readFingerprints() throws IOException {
+            final long[] fingerprints = new long[m_size];
+            try (final RunReader reader = new RunReader(m_file, m_size, 0)) {
+                for (int i = 0; i < m_size; i++) {
+                    fingerprints[i] = reader.nextFingerprint();
+                }
+            }
+            return fingerprints;
+        }
+
+        /**
+         * @param fingerprints the fingerprints of the written entries, which are kept by the run
+         * @return the run of the written entries
+         */
+        Run finish(final long[] fingerprints) throws IOException {
+            closeOutput();
+            addBlockOffset(m_offset);
+            m_finished = true;
+            return new Run(m_file, fingerprints, Arrays.copyOf(m_blockOffsets, m_numBlocks));
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!m_finished) {
+                closeOutput();
+                m_file.delete();
+            }
+        }
+    }
+
+    /** Reads the entries of a run sequentially, used to merge runs. */
+    private static final class RunReader implements AutoCloseable {
+
+        private final DataInputStream m_in;
+
+        private final int m_age;
+
+        private final long m_size;
+
+        private long m_read;
+
+        long m_fingerprint;
+
+        String m_key;
+
+        int m_index;
+
+        RunReader(final File file, final long size, final int age) throws IOException {
+            m_in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+            m_age = age;
+            m_size = size;
+        }
+
+        boolean next() throws IOException {
+            if (m_read == m_size) {
+                close();
+                return false;
+            }
+            m_read++;
+            m_fingerprint = m_in.readLong();
+            final char[] chars = new char[m_in.readInt()];
+            for (int c = 0; c < chars.length; c++) {
+                chars[c] = m_in.readChar();
+            }
+            m_key = new String(chars);
+            m_index = m_in.readInt();
+            return true;
+        }
+
+        /** Reads the next entry and returns its fingerprint only, the key is skipped. */
+        long nextFingerprint() throws IOException {
+            m_read++;
+            final long fingerprint = m_in.readLong();
+            final int length = m_in.readInt();
+            int toSkip = 2 * length;
+            while (toSkip > 0) {
+                final int skipped = m_in.skipBytes(toSkip);
+                if (skipped <= 0) {
+                    throw new EOFException();
+                }
+                toSkip -= skipped;
+            }
+            m_in.readInt();
+            return fingerprint;
+        }
+
+        @Override
+        public void close() throws IOException {
+            m_in.close();
+        }
+    }
+}
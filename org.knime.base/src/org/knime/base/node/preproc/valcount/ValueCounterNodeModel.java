@@ -56,14 +56,13 @@
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.Map.Entry;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
 
+import org.knime.base.node.util.CompactHiLiteMapper;
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataColumnSpec;
 import org.knime.core.data.DataColumnSpecCreator;
@@ -145,8 +144,9 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] inData,
                         m_settings.columnName());
         final double max = inData[0].getRowCount();
         int rowCount = 0;
-        Map<DataCell, Set<RowKey>> hlMap =
-                new HashMap<DataCell, Set<RowKey>>();
+        // the mapping is written to disk and only built when hilited
+        final CompactHiLiteMapper hlMapper =
+            m_settings.hiliting() ? new CompactHiLiteMapper() : null;
         Map<DataCell, MutableInteger> countMap =
             new HashMap<DataCell, MutableInteger>();
 
@@ -163,13 +163,8 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] inData,
             }
             count.inc();
 
-            if (m_settings.hiliting()) {
-                Set<RowKey> s = hlMap.get(cell);
-                if (s == null) {
-                    s = new HashSet<RowKey>();
-                    hlMap.put(cell, s);
-                }
-                s.add(row.getKey());
+            if (hlMapper != null) {
+                hlMapper.addMapping(new RowKey(cell.toString()), row.getKey());
             }
         }
 
@@ -197,13 +192,8 @@ public int compare(
         }
         cont.close();
 
-        if (m_settings.hiliting()) {
-            Map<RowKey, Set<RowKey>> temp = new HashMap<RowKey, Set<RowKey>>();
-            for (Map.Entry<DataCell, Set<RowKey>> entry : hlMap.entrySet()) {
-                RowKey newKey = new RowKey(entry.getKey().toString());
-                temp.put(newKey, entry.getValue());
-            }
-            m_translator.setMapper(new DefaultHiLiteMapper(temp));
+        if (hlMapper != null) {
+            CompactHiLiteMapper.setMapper(m_translator, hlMapper);
         }
         return new BufferedDataTable[]{cont.getTable()};
     }
@@ -215,6 +205,11 @@ public int compare(
     protected void loadInternals(final File nodeInternDir,
             final ExecutionMonitor exec) throws IOException,
             CanceledExecutionException {
+        File compactFile = new File(nodeInternDir, "Hiliting.bin");
+        if (compactFile.exists()) {
+            CompactHiLiteMapper.setMapper(m_translator, CompactHiLiteMapper.load(compactFile));
+            return;
+        }
         File f = new File(nodeInternDir, "Hiliting.conf.gz");
         if (f.exists() && f.canRead()) {
             InputStream in = new GZIPInputStream(new BufferedInputStream(
@@ -222,7 +217,7 @@ protected void loadInternals(final File nodeInternDir,
             NodeSettingsRO s = NodeSettings.loadFromXML(in);
             in.close();
             try {
-                m_translator.setMapper(DefaultHiLiteMapper.load(s));
+                CompactHiLiteMapper.setMapper(m_translator, DefaultHiLiteMapper.load(s));
             } catch (InvalidSettingsException ex) {
                 throw new IOException(ex);
             }
@@ -243,7 +238,7 @@ protected void loadValidatedSettingsFrom(final NodeSettingsRO settings)
      */
     @Override
     protected void reset() {
-        m_translator.setMapper(null);
+        CompactHiLiteMapper.setMapper(m_translator, null);
     }
 
     /**
@@ -253,7 +248,11 @@ protected void reset() {
     protected void saveInternals(final File nodeInternDir,
             final ExecutionMonitor exec) throws IOException,
             CanceledExecutionException {
-        if (m_settings.hiliting()) {
+        if (m_settings.hiliting()
+                && m_translator.getMapper() instanceof CompactHiLiteMapper) {
+            ((CompactHiLiteMapper)m_translator.getMapper()).save(
+                    new File(nodeInternDir, "Hiliting.bin"));
+        } else if (m_settings.hiliting()) {
             NodeSettings s = new NodeSettings("Hiliting");
             ((DefaultHiLiteMapper)m_translator.getMapper()).save(s);
             File f = new File(nodeInternDir, "Hiliting.conf.gz");
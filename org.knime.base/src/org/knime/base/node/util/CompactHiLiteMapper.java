@@ -0,0 +1,606 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   18.10.2026 (agent): created
+ */
+package org.knime.base.node.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.knime.core.data.RowKey;
+import org.knime.core.node.NodeLogger;
+import org.knime.core.node.property.hilite.DefaultHiLiteMapper;
+import org.knime.core.node.property.hilite.HiLiteMapper;
+import org.knime.core.node.property.hilite.HiLiteTranslator;
+import org.knime.core.util.FileUtil;
+
+/**
+ * A {@link HiLiteMapper} that needs (almost) no memory until it is used for hiliting.
+ * <p>
+ * While a node executes, the mappings are only appended to a temporary file. The lookup structure is built when the
+ * mapper is queried the first time: all row keys are interned into a single character array and the mapped keys of
+ * a key are stored as a range of an index array (compressed sparse rows). This needs a fraction of the memory of a
+ * {@link DefaultHiLiteMapper}, which holds a set of {@link RowKey} objects for each key. The mapper is saved and
+ * loaded as a binary file, which is copied and not parsed.
+ * <p>
+ * Mapped keys that are added more than once for the same key are only contained once. The sets returned by the mapper
+ * are unmodifiable views, which create the {@link RowKey}s on access.
+ *
+ * @author agent
+ * @since 4.2
+ */
+public final class CompactHiLiteMapper implements HiLiteMapper, AutoCloseable {
+
+    private static final NodeLogger LOGGER = NodeLogger.getLogger(CompactHiLiteMapper.class);
+
+    /** The file the mappings are appended to, <code>null</code> if no mapping was added yet. */
+    private File m_file;
+
+    private DataOutputStream m_out;
+
+    /** The lookup structure, built on first use. */
+    private volatile Index m_index;
+
+    /** Creates an empty mapper. */
+    public CompactHiLiteMapper() {
+    }
+
+    /**
+     * Adds a mapping from a key to a mapped key, e.g. from the key of an output row to the key of an input row it was
+     * created from.
+     *
+     * @param key the key
+     * @param mappedKey the mapped key
+     * @throws IllegalStateException if the mapper has been used already or the mapping cannot be written
+     */
+    public void addMapping(final RowKey key, final RowKey mappedKey) {
+        try {
+            final DataOutputStream out = getOutput();
+            out.writeInt(1);
+            writeKey(out, key.getString());
+            writeKey(out, mappedKey.getString());
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not write hilite mapping: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Adds mappings from a key to a number of mapped keys.
+     *
+     * @param key the key
+     * @param mappedKeys the mapped keys
+     * @throws IllegalStateException if the mapper has been used already or the mapping cannot be written
+     */
+    public void addMapping(final RowKey key, final Collection<RowKey> mappedKeys) {
+        try {
+            final DataOutputStream out = getOutput();
+            out.writeInt(mappedKeys.size());
+            writeKey(out, key.getString());
+            for (final RowKey mappedKey : mappedKeys) {
+                writeKey(out, mappedKey.getString());
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not write hilite mapping: " + e.getMessage(), e);
+        }
+    }
+
+    private DataOutputStream getOutput() throws IOException {
+        if (m_index != null) {
+            throw new IllegalStateException("Mappings cannot be added to a mapper that has been used");
+        }
+        if (m_out == null) {
+            m_file = FileUtil.createTempFile("hilite_mapping", ".bin");
+            m_file.deleteOnExit();
+            m_out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(m_file)));
+        }
+        return m_out;
+    }
+
+    private static void writeKey(final DataOutputStream out, final String key) throws IOException {
+        out.writeInt(key.length());
+        out.writeChars(key);
+    }
+
+    private static String readKey(final DataInputStream in, final char[][] buffer) throws IOException {
+        final int length = in.readInt();
+        if (buffer[0].length < length) {
+            buffer[0] = new char[Math.max(length, 2 * buffer[0].length)];
+        }
+        final char[] chars = buffer[0];
+        for (int i = 0; i < length; i++) {
+            chars[i] = in.readChar();
+        }
+        return new String(chars, 0, length);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<RowKey> getKeys(final RowKey key) {
+        final Index index = getIndex();
+        final int id = index.m_keys.find(key.getString());
+        if (id < 0 || id >= index.m_numKeys) {
+            return null;
+        }
+        return new MappedKeySet(index, index.m_offsets[id], index.m_offsets[id + 1]);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<RowKey> keySet() {
+        final Index index = getIndex();
+        return new AbstractSet<RowKey>() {
+            @Override
+            public Iterator<RowKey> iterator() {
+                return new KeyIterator(index.m_keys, 0, index.m_numKeys, null);
+            }
+
+            @Override
+            public int size() {
+                return index.m_numKeys;
+            }
+
+            @Override
+            public boolean contains(final Object o) {
+                if (!(o instanceof RowKey)) {
+                    return false;
+                }
+                final int id = index.m_keys.find(((RowKey)o).getString());
+                return id >= 0 && id < index.m_numKeys;
+            }
+        };
+    }
+
+    /**
+     * Creates a map of the mappings, e.g. for methods that still need to return one.
+     *
+     * @return a new map from each key to the set of its mapped keys
+     */
+    public Map<RowKey, Set<RowKey>> toMap() {
+        final Map<RowKey, Set<RowKey>> map = new LinkedHashMap<>();
+        for (final RowKey key : keySet()) {
+            map.put(key, new LinkedHashSet<>(getKeys(key)));
+        }
+        return map;
+    }
+
+    private Index getIndex() {
+        Index index = m_index;
+        if (index == null) {
+            synchronized (this) {
+                index = m_index;
+                if (index == null) {
+                    try {
+                        index = buildIndex();
+                    } catch (IOException e) {
+                        throw new IllegalStateException("Could not read hilite mapping: " + e.getMessage(), e);
+                    }
+                    m_index = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    private Index buildIndex() throws IOException {
+        closeOutput();
+        final KeyPool pool = new KeyPool();
+        if (m_file == null) {
+            return new Index(pool, 0, new int[1], new int[0]);
+        }
+        // first pass: intern the keys such that the keys get the smallest ids, count the mapped keys per key
+        int[] counts = new int[1024];
+        long numMappings = 0;
+        final char[][] buffer = new char[][]{new char[64]};
+        try (final DataInputStream in = openInput()) {
+            int numMapped;
+            while ((numMapped = readRecordSize(in)) >= 0) {
+                final int id = pool.intern(readKey(in, buffer));
+                if (id >= counts.length) {
+                    counts = Arrays.copyOf(counts, 2 * counts.length);
+                }
+                counts[id] += numMapped;
+                numMappings += numMapped;
+                for (int i = 0; i < numMapped; i++) {
+                    in.skipBytes(2 * in.readInt());
+                }
+            }
+        }
+        if (numMappings > Integer.MAX_VALUE - 8) {
+            throw new IOException("Too many hilite mappings: " + numMappings);
+        }
+        final int numKeys = pool.size();
+        final int[] offsets = new int[numKeys + 1];
+        for (int id = 0; id < numKeys; id++) {
+            offsets[id + 1] = offsets[id] + counts[id];
+        }
+        // second pass: intern the mapped keys and fill their ids into the ranges of the keys
+        final int[] mapped = new int[(int)numMappings];
+        final int[] fill = Arrays.copyOf(offsets, numKeys);
+        try (final DataInputStream in = openInput()) {
+            int numMapped;
+            while ((numMapped = readRecordSize(in)) >= 0) {
+                final int id = pool.find(readKey(in, buffer));
+                for (int i = 0; i < numMapped; i++) {
+                    mapped[fill[id]++] = pool.intern(readKey(in, buffer));
+                }
+            }
+        }
+        // remove duplicates within the ranges
+        int size = 0;
+        int start = 0;
+        for (int id = 0; id < numKeys; id++) {
+            final int end = offsets[id + 1];
+            Arrays.sort(mapped, start, end);
+            offsets[id] = size;
+            for (int i = start; i < end; i++) {
+                if (i == start || mapped[i] != mapped[i - 1]) {
+                    mapped[size++] = mapped[i];
+                }
+            }
+            start = end;
+        }
+        offsets[numKeys] = size;
+        pool.trim();
+        LOGGER.debugWithFormat("Built hilite mapping of %d keys with %d mapped keys.", numKeys, size);
+        return new Index(pool, numKeys, offsets, size == mapped.length ? mapped : Arrays.copyOf(mapped, size));
+    }
+
+    private DataInputStream openInput() throws IOException {
+        return new DataInputStream(new BufferedInputStream(new FileInputStream(m_file)));
+    }
+
+    /** @return the number of mapped keys of the next record or -1 at the end of the file */
+    private static int readRecordSize(final DataInputStream in) throws IOException {
+        try {
+            return in.readInt();
+        } catch (EOFException e) {
+            return -1;
+        }
+    }
+
+    private void closeOutput() throws IOException {
+        if (m_out != null) {
+            m_out.close();
+            m_out = null;
+        }
+    }
+
+    /**
+     * Saves the mappings to the given file.
+     *
+     * @param file the file to write
+     * @throws IOException if the file cannot be written
+     */
+    public synchronized void save(final File file) throws IOException {
+        closeOutput();
+        if (m_file == null) {
+            Files.write(file.toPath(), new byte[0]);
+        } else {
+            Files.copy(m_file.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Loads a mapper saved by {@link #save(File)}. The lookup structure is built on first use.
+     *
+     * @param file the file to read
+     * @return the loaded mapper
+     * @throws IOException if the file cannot be read
+     */
+    public static CompactHiLiteMapper load(final File file) throws IOException {
+        final CompactHiLiteMapper mapper = new CompactHiLiteMapper();
+        mapper.m_file = FileUtil.createTempFile("hilite_mapping", ".bin");
+        mapper.m_file.deleteOnExit();
+        Files.copy(file.toPath(), mapper.m_file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        return mapper;
+    }
+
+    /**
+     * Sets the mapper of the given translator. The replaced mapper is closed if it is a compact mapper other than
+     * the new one.
+     *
+     * @param translator the translator to update
+     * @param mapper the new mapper, or <code>null</code>
+     */
+    public static void setMapper(final HiLiteTranslator translator, final HiLiteMapper mapper) {
+        final HiLiteMapper oldMapper = translator.getMapper();
+        if (oldMapper != mapper && oldMapper instanceof CompactHiLiteMapper) {
+            ((CompactHiLiteMapper)oldMapper).close();
+        }
+        translator.setMapper(mapper);
+    }
+
+    /**
+     * Deletes the temporary file of the mappings. The mapper must not be used afterwards.
+     */
+    @Override
+    public synchronized void close() {
+        try {
+            closeOutput();
+        } catch (IOException e) {
+            LOGGER.debug("Could not close hilite mapping file: " + e.getMessage(), e);
+        }
+        if (m_file != null && !m_file.delete()) {
+            LOGGER.debug("Could not delete hilite mapping file " + m_file);
+        }
+        m_file = null;
+    }
+
+    /** The lookup structure, the keys have the ids 0 to numKeys - 1. */
+    private static final class Index {
+
+        private final KeyPool m_keys;
+
+        private final int m_numKeys;
+
+        private final int[] m_offsets;
+
+        private final int[] m_mapped;
+
+        Index(final KeyPool keys, final int numKeys, final int[] offsets, final int[] mapped) {
+            m_keys = keys;
+            m_numKeys = numKeys;
+            m_offsets = offsets;
+            m_mapped = mapped;
+        }
+    }
+
+    /** The mapped keys of a key, a range of the mapped key ids. */
+    private static final class MappedKeySet extends AbstractSet<RowKey> {
+
+        private final Index m_index;
+
+        private final int m_start;
+
+        private final int m_end;
+
+        MappedKeySet(final Index index, final int start, final int end) {
+            m_index = index;
+            m_start = start;
+            m_end = end;
+        }
+
+        @Override
+        public Iterator<RowKey> iterator() {
+            return new KeyIterator(m_index.m_keys, m_start, m_end, m_index.m_mapped);
+        }
+
+        @Override
+        public int size() {
+            return m_end - m_start;
+        }
+
+        @Override
+        public boolean contains(final Object o) {
+            if (!(o instanceof RowKey)) {
+                return false;
+            }
+            final int id = m_index.m_keys.find(((RowKey)o).getString());
+            // the ids within a range are sorted
+            return id >= 0 && Arrays.binarySearch(m_index.m_mapped, m_start, m_end, id) >= 0;
+        }
+    }
+
+    /** Iterates over a range of ids or over a range of an array of ids. */
+    private static final class KeyIterator implements Iterator<RowKey> {
+
+        private final KeyPool m_keys;
+
+        private final int[] m_ids;
+
+        private final int m_end;
+
+        private int m_pos;
+
+        KeyIterator(final KeyPool keys, final int start, final int end, final int[] ids) {
+            m_keys = keys;
+            m_pos = start;
+            m_end = end;
+            m_ids = ids;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return m_pos < m_end;
+        }
+
+        @Override
+        public RowKey next() {
+            if (m_pos >= m_end) {
+                throw new NoSuchElementException();
+            }
+            final int id = m_ids == null ? m_pos : m_ids[m_pos];
+            m_pos++;
+            return new RowKey(m_keys.get(id));
+        }
+    }
+
+    /**
+     * Interns strings into a single character array, each string gets the next id. The strings are found via an open
+     * addressing hash table of ids.
+     */
+    private static final class KeyPool {
+
+        private char[] m_chars = new char[1024];
+
+        private int m_numChars;
+
+        /** The start of each string in m_chars plus the end of the last one. */
+        private int[] m_starts = new int[1025];
+
+        private int m_size;
+
+        /** The ids + 1 of the strings, 0 for empty slots. */
+        private int[] m_table = new int[2048];
+
+        int size() {
+            return m_size;
+        }
+
+        String get(final int id) {
+            return new String(m_chars, m_starts[id], m_starts[id + 1] - m_starts[id]);
+        }
+
+        /** @return the id of the string or -1 if it has not been interned */
+        int find(final String s) {
+            final int mask = m_table.length - 1;
+            for (int slot = hash(s) & mask;; slot = (slot + 1) & mask) {
+                final int id = m_table[slot] - 1;
+                if (id < 0) {
+                    return -1;
+                }
+                if (equals(id, s)) {
+                    return id;
+                }
+            }
+        }
+
+        /** @return the id of the string, which is added if it has not been interned before */
+        int intern(final String s) {
+            final int mask = m_table.length - 1;
+            int slot = hash(s) & mask;
+            for (;; slot = (slot + 1) & mask) {
+                final int id = m_table[slot] - 1;
+                if (id < 0) {
+                    break;
+                }
+                if (equals(id, s)) {
+                    return id;
+                }
+            }
+            final int length = s.length();
+            if (m_numChars + length > m_chars.length) {
+                m_chars = Arrays.copyOf(m_chars, (int)Math.min(Integer.MAX_VALUE - 8,
+                    Math.max(m_numChars + (long)length, 2L * m_chars.length)));
+            }
+            s.getChars(0, length, m_chars, m_numChars);
+            m_numChars += length;
+            if (m_size + 2 > m_starts.length) {
+                m_starts = Arrays.copyOf(m_starts, 2 * m_starts.length);
+            }
+            final int id = m_size++;
+            m_starts[id + 1] = m_numChars;
+            m_table[slot] = id + 1;
+            if (2 * m_size > m_table.length) {
+                rehash();
+            }
+            return id;
+        }
+
+        private boolean equals(final int id, final String s) {
+            final int start = m_starts[id];
+            final int length = m_starts[id + 1] - start;
+            if (length != s.length()) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (m_chars[start + i] != s.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void rehash() {
+            final int[] table = new int[2 * m_table.length];
+            final int mask = table.length - 1;
+            for (int id = 0; id < m_size; id++) {
+                int slot = hash(id) & mask;
+                while (table[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                table[slot] = id + 1;
+            }
+            m_table = table;
+        }
+
+        /** Releases the unused capacity. */
+        void trim() {
+            m_chars = Arrays.copyOf(m_chars, m_numChars);
+            m_starts = Arrays.copyOf(m_starts, m_size + 1);
+        }
+
+        private static int hash(final String s) {
+            return mix(s.hashCode());
+        }
+
+        /** Same as {@link #hash(String)} for an interned string. */
+        private int hash(final int id) {
+            int h = 0;
+            for (int i = m_starts[id], end = m_starts[id + 1]; i < end; i++) {
+                h = 31 * h + m_chars[i];
+            }
+            return mix(h);
+        }
+
+        private static int mix(final int h) {
+            return (h ^ (h >>> 16)) * 0x45d9f3b;
+        }
+    }
+}
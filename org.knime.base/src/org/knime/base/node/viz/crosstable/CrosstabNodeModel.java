@@ -68,6 +68,7 @@
 import org.knime.base.node.preproc.groupby.BigGroupByTable;
 import org.knime.base.node.preproc.groupby.ColumnNamePolicy;
 import org.knime.base.node.preproc.groupby.GroupByTable;
+import org.knime.base.node.util.CompactHiLiteMapper;
 import org.knime.base.node.viz.crosstable.CrosstabStatisticsCalculator.CrosstabStatistics;
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataColumnSpec;
@@ -94,6 +95,7 @@
 import org.knime.core.node.NodeSettingsWO;
 import org.knime.core.node.property.hilite.DefaultHiLiteMapper;
 import org.knime.core.node.property.hilite.HiLiteHandler;
+import org.knime.core.node.property.hilite.HiLiteMapper;
 import org.knime.core.node.property.hilite.HiLiteTranslator;
 
 /**
@@ -115,6 +117,9 @@ public class CrosstabNodeModel extends NodeModel
     private final HiLiteTranslator m_hilite = new HiLiteTranslator();
     private static final String INTERNALS_FILE_NAME = "hilite_mapping.xml.gz";
 
+    /** The file name of the compact hilite mapping, used instead of the XML file since KNIME 4.2. */
+    private static final String COMPACT_INTERNALS_FILE_NAME = "hilite_mapping.bin";
+
 
     /**
      * Creates a new model with no input port and one output port.
@@ -498,8 +503,7 @@ private final GroupByTable createGroupByTable(final ExecutionContext exec,
                     globalSettings, enableHilite, colNamePolicy, retainOrder);
 
         if (enableHilite) {
-            setHiliteMapping(new DefaultHiLiteMapper(
-                    resultTable.getHiliteMapping()));
+            setHiliteMapping(resultTable.getHiLiteMapper());
         }
         // check for skipped columns
         final String warningMsg = resultTable.getSkippedGroupsMessage(3, 3);
@@ -603,7 +607,17 @@ public void setInternalTables(final BufferedDataTable[] tables) {
      * @param mapper new hilite mapping, or null
      */
     protected final void setHiliteMapping(final DefaultHiLiteMapper mapper) {
-        m_hilite.setMapper(mapper);
+        setHiliteMapping((HiLiteMapper)mapper);
+    }
+
+    /**
+     * Applies a new mapping to the hilite translator. A replaced
+     * {@link CompactHiLiteMapper} is closed.
+     * @param mapper new hilite mapping, or null
+     * @since 4.2
+     */
+    protected final void setHiliteMapping(final HiLiteMapper mapper) {
+        CompactHiLiteMapper.setMapper(m_hilite, mapper);
     }
 
     /**
@@ -611,7 +625,7 @@ protected final void setHiliteMapping(final DefaultHiLiteMapper mapper) {
      */
     @Override
     protected void reset() {
-        m_hilite.setMapper(null);
+        setHiliteMapping((HiLiteMapper)null);
         m_outTable = null;
         m_statOutTable = null;
     }
@@ -642,6 +656,13 @@ protected HiLiteHandler getOutHiLiteHandler(final int outIndex) {
     protected void loadInternals(final File nodeInternDir,
             final ExecutionMonitor exec) throws IOException {
         if (m_settings.getEnableHiliting()) {
+            final File compactFile =
+                new File(nodeInternDir, COMPACT_INTERNALS_FILE_NAME);
+            if (compactFile.exists()) {
+                setHiliteMapping(CompactHiLiteMapper.load(compactFile));
+                m_hilite.addToHiLiteHandler(getInHiLiteHandler(0));
+                return;
+            }
             final NodeSettingsRO config = NodeSettings
                     .loadFromXML(new FileInputStream(new File(nodeInternDir,
                             INTERNALS_FILE_NAME)));
@@ -661,6 +682,11 @@ protected void loadInternals(final File nodeInternDir,
     protected void saveInternals(final File nodeInternDir,
             final ExecutionMonitor exec) throws IOException {
         if (m_settings.getEnableHiliting()) {
+            if (m_hilite.getMapper() instanceof CompactHiLiteMapper) {
+                ((CompactHiLiteMapper)m_hilite.getMapper()).save(
+                    new File(nodeInternDir, COMPACT_INTERNALS_FILE_NAME));
+                return;
+            }
             final NodeSettings config = new NodeSettings("hilite_mapping");
             final DefaultHiLiteMapper mapper = (DefaultHiLiteMapper) m_hilite
                     .getMapper();
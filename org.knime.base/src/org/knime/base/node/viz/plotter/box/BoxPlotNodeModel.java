@@ -57,8 +57,8 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 
-import org.knime.base.data.sort.SortedTable;
 import org.knime.base.node.util.DataArray;
 import org.knime.base.node.util.DefaultDataArray;
 import org.knime.core.data.DataCell;
@@ -87,8 +87,9 @@
 import org.knime.core.node.property.hilite.HiLiteHandler;
 
 /**
- * The input data is sorted for each numeric column and the necessary
- * parameters are determined: minimum, lower whisker
+ * The values of all numeric columns are read in one pass and the necessary
+ * parameters are determined by selection, the outliers in a second pass:
+ * minimum, lower whisker
  * (in case of outliers it is the first non-outlier), lower quartile, median,
  * upper quartile, upper whisker and maximum. Each column is then associated
  * with a double array of these parameters, which are passed to the
@@ -195,136 +196,89 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] inData,
             = new LinkedHashMap<String, Map<Double, Set<RowKey>>>();
         m_extremeOutliers
             = new LinkedHashMap<String, Map<Double, Set<RowKey>>>();
-        int colIdx = 0;
+        DataTableSpec spec = table.getDataTableSpec();
         List<DataColumnSpec> outputColSpecs = new ArrayList<DataColumnSpec>();
-        double subProgress = 1.0 / getNumNumericColumns(
-                table.getDataTableSpec());
-        for (DataColumnSpec colSpec : table.getDataTableSpec()) {
-            ExecutionContext colExec = exec.createSubExecutionContext(
-                    subProgress);
-            exec.checkCanceled();
-            if (colSpec.getType().isCompatible(DoubleValue.class)) {
-                double[] statistic = new double[SIZE];
-                outputColSpecs.add(colSpec);
-                List<String> col = new ArrayList<String>();
-                col.add(colSpec.getName());
-                ExecutionContext sortExec = colExec.createSubExecutionContext(
-                        0.75);
-                ExecutionContext findExec = colExec.createSubExecutionContext(
-                        0.25);
-                SortedTable sorted = new SortedTable(table,
-                        col, new boolean[]{true},
-                        sortExec);
-                long currRowAbsolute = 0;
-                int currCountingRow = 1;
-                double lastValue = 1;
-                long nrOfRows = table.size();
-                boolean first = true;
-                for (DataRow row : sorted) {
-                    exec.checkCanceled();
-                    double rowProgress = currRowAbsolute
-                    / (double)table.size();
-                    findExec.setProgress(rowProgress,
-                            "determining statistics for: "
-                            + table.getDataTableSpec().getColumnSpec(colIdx)
-                            .getName());
-                    if (row.getCell(colIdx).isMissing()) {
-                        // asserts that the missing values are sorted at
-                        // the top of the table
-                        currRowAbsolute++;
-                        nrOfRows--;
-                        continue;
-                    }
-                    // get the first value = actually observed minimum
-                    if (first) {
-                        statistic[MIN] = ((DoubleValue)row
-                                .getCell(colIdx)).getDoubleValue();
-                        // initialize the statistics with first value
-                        // if the table is large enough it will be overriden
-                        // this is just for the case of tables with < 5 rows
-                        statistic[MEDIAN] = statistic[MIN];
-                        statistic[LOWER_QUARTILE] = statistic[MIN];
-                        statistic[UPPER_QUARTILE] = statistic[MIN];
-                        first = false;
-                    }
-                    // get the last value = actually observed maximum
-                    if (currRowAbsolute == table.size() - 1) {
-                        statistic[MAX] = ((DoubleValue)row
-                                .getCell(colIdx)).getDoubleValue();
-                    }
-                    float medianPos = nrOfRows * 0.5f;
-                    float lowerQuartilePos = nrOfRows * 0.25f;
-                    float upperQuartilePos = nrOfRows * 0.75f;
-                    if (currCountingRow == (int)Math.floor(lowerQuartilePos) + 1) {
-                        if (lowerQuartilePos % 1 != 0) {
-                            // get the row's value
-                            statistic[LOWER_QUARTILE] = ((DoubleValue)row
-                                    .getCell(colIdx)).getDoubleValue();
-                        } else {
-                            // calculate the mean between row and last row
-                            double value =
-                                ((DoubleValue)row.getCell(colIdx))
-                                .getDoubleValue();
-                            statistic[LOWER_QUARTILE] = (value + lastValue) / 2;
-                        }
-                    }
-                    if (currCountingRow == (int)Math.floor(medianPos) + 1) {
-                        if (medianPos % 1 != 0) {
-                            // get the row's value
-                            statistic[MEDIAN] = ((DoubleValue)row
-                                    .getCell(colIdx)).getDoubleValue();
-                        } else {
-                            // calculate the mean between row and last row
-                            double value =
-                                ((DoubleValue)row.getCell(colIdx))
-                                .getDoubleValue();
-                            statistic[MEDIAN] = (value + lastValue) / 2;
-                        }
-                    }
-                    if (currCountingRow == (int)Math.floor(upperQuartilePos) + 1) {
-                        if (upperQuartilePos % 1 != 0) {
-                            // get the row's value
-                            statistic[UPPER_QUARTILE] = ((DoubleValue)row
-                                    .getCell(colIdx)).getDoubleValue();
-                        } else {
-                            // calculate the mean between row and last row
-                            double value =
-                                ((DoubleValue)row.getCell(colIdx))
-                                .getDoubleValue();
-                            statistic[UPPER_QUARTILE] = (value + lastValue) / 2;
+        int[] colIndices = new int[getNumNumericColumns(spec)];
+        for (int colIdx = 0; colIdx < spec.getNumColumns(); colIdx++) {
+            if (spec.getColumnSpec(colIdx).getType().isCompatible(
+                    DoubleValue.class)) {
+                colIndices[outputColSpecs.size()] = colIdx;
+                outputColSpecs.add(spec.getColumnSpec(colIdx));
+            }
+        }
+        // read all columns at once, the quartiles are selected
+        // afterwards instead of sorting the table for each column
+        double[][] statistics = new double[colIndices.length][];
+        try (QuartileCalculator calculator =
+            new QuartileCalculator(colIndices.length)) {
+            ExecutionContext readExec = exec.createSubExecutionContext(0.6);
+            long currRow = 0;
+            for (DataRow row : table) {
+                exec.checkCanceled();
+                readExec.setProgress(currRow++ / (double)table.size(),
+                        "reading values");
+                for (int i = 0; i < colIndices.length; i++) {
+                    DataCell cell = row.getCell(colIndices[i]);
+                    if (!cell.isMissing()) {
+                        double value = ((DoubleValue)cell).getDoubleValue();
+                        if (!Double.isNaN(value)) {
+                            calculator.add(i, value);
                         }
                     }
-                    lastValue = ((DoubleValue)row.getCell(colIdx))
-                        .getDoubleValue();
-                    currRowAbsolute++;
-                    currCountingRow++;
                 }
-                double iqr = statistic[UPPER_QUARTILE]
-                                       - statistic[LOWER_QUARTILE];
-                Map<Double, Set<RowKey>> mild
-                    = new LinkedHashMap<Double, Set<RowKey>>();
-                Map<Double, Set<RowKey>>extreme
-                    = new LinkedHashMap<Double, Set<RowKey>>();
-                // per default the whiskers are at min and max
-                double[] whiskers = new double[]{
-                        statistic[MIN],
-                        statistic[MAX]
-                };
-                if (statistic[MIN] < (statistic[LOWER_QUARTILE] - (1.5 * iqr))
-                    ||
-                    statistic[MAX] > statistic[UPPER_QUARTILE] + (1.5 * iqr)) {
-                        detectOutliers(sorted, iqr,
-                                new double[]{statistic[LOWER_QUARTILE],
-                                statistic[UPPER_QUARTILE]},
-                                mild, extreme, whiskers, colIdx);
+            }
+            ExecutionContext quartileExec = exec.createSubExecutionContext(
+                    0.2);
+            for (int i = 0; i < colIndices.length; i++) {
+                quartileExec.setProgress(i / (double)colIndices.length,
+                        "determining statistics for: "
+                        + outputColSpecs.get(i).getName());
+                statistics[i] = createStatistic(
+                        calculator.computeQuartiles(i, quartileExec));
+            }
+        }
+        List<Map<Double, Set<RowKey>>> mild
+            = new ArrayList<Map<Double, Set<RowKey>>>();
+        List<Map<Double, Set<RowKey>>> extreme
+            = new ArrayList<Map<Double, Set<RowKey>>>();
+        boolean hasOutliers = false;
+        for (int i = 0; i < colIndices.length; i++) {
+            mild.add(new TreeMap<Double, Set<RowKey>>());
+            extreme.add(new TreeMap<Double, Set<RowKey>>());
+            hasOutliers |= hasOutliers(statistics[i]);
+        }
+        if (hasOutliers) {
+            ExecutionContext outlierExec = exec.createSubExecutionContext(
+                    0.2);
+            long currRow = 0;
+            for (DataRow row : table) {
+                exec.checkCanceled();
+                outlierExec.setProgress(currRow++ / (double)table.size(),
+                        "detecting outliers");
+                for (int i = 0; i < colIndices.length; i++) {
+                    DataCell cell = row.getCell(colIndices[i]);
+                    if (!cell.isMissing() && hasOutliers(statistics[i])) {
+                        detectOutlier(((DoubleValue)cell).getDoubleValue(),
+                                row.getKey(), statistics[i], mild.get(i),
+                                extreme.get(i));
+                    }
                 }
-                statistic[LOWER_WHISKER] = whiskers[0];
-                statistic[UPPER_WHISKER] = whiskers[1];
-                m_mildOutliers.put(colSpec.getName(), mild);
-                m_extremeOutliers.put(colSpec.getName(), extreme);
-                m_statistics.put(colSpec, statistic);
             }
-            colIdx++;
+        }
+        for (int i = 0; i < colIndices.length; i++) {
+            double[] statistic = statistics[i];
+            // per default the whiskers are at min and max
+            if (statistic[LOWER_WHISKER] > statistic[UPPER_WHISKER]) {
+                statistic[LOWER_WHISKER] = statistic[MIN];
+                statistic[UPPER_WHISKER] = statistic[MAX];
+            }
+            // keep the outliers sorted by value
+            String colName = outputColSpecs.get(i).getName();
+            m_mildOutliers.put(colName,
+                    new LinkedHashMap<Double, Set<RowKey>>(mild.get(i)));
+            m_extremeOutliers.put(colName,
+                    new LinkedHashMap<Double, Set<RowKey>>(extreme.get(i)));
+            m_statistics.put(outputColSpecs.get(i), statistic);
         }
         DataContainer container = createOutputTable(exec, outputColSpecs);
         // return a data array with just one row but with the data table spec
@@ -334,6 +288,66 @@ protected BufferedDataTable[] execute(final BufferedDataTable[] inData,
                 container.getTable(), exec)};
     }
 
+    /**
+     * Creates the statistics array from the quartiles of a column, the
+     * whiskers are initialized such that the outlier detection can
+     * narrow them down to the smallest and largest non-outlier.
+     */
+    private static double[] createStatistic(final double[] quartiles) {
+        double[] statistic = new double[SIZE];
+        if (quartiles == null) {
+            // only missing values
+            return statistic;
+        }
+        statistic[MIN] = quartiles[QuartileCalculator.MIN];
+        statistic[LOWER_QUARTILE] = quartiles[QuartileCalculator.LOWER_QUARTILE];
+        statistic[MEDIAN] = quartiles[QuartileCalculator.MEDIAN];
+        statistic[UPPER_QUARTILE] = quartiles[QuartileCalculator.UPPER_QUARTILE];
+        statistic[MAX] = quartiles[QuartileCalculator.MAX];
+        statistic[LOWER_WHISKER] = Double.POSITIVE_INFINITY;
+        statistic[UPPER_WHISKER] = Double.NEGATIVE_INFINITY;
+        return statistic;
+    }
+
+    private static boolean hasOutliers(final double[] statistic) {
+        double iqr = statistic[UPPER_QUARTILE] - statistic[LOWER_QUARTILE];
+        return statistic[MIN] < statistic[LOWER_QUARTILE] - (1.5 * iqr)
+            || statistic[MAX] > statistic[UPPER_QUARTILE] + (1.5 * iqr);
+    }
+
+    /**
+     * Classifies a value as mild (= < 3 * IQR) or extreme (= > 3 * IQR)
+     * outlier, or updates the whiskers if it is none.
+     */
+    private static void detectOutlier(final double value, final RowKey key,
+            final double[] statistic, final Map<Double, Set<RowKey>> mild,
+            final Map<Double, Set<RowKey>> extreme) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        double iqr = statistic[UPPER_QUARTILE] - statistic[LOWER_QUARTILE];
+        Map<Double, Set<RowKey>> outliers;
+        if (value < statistic[LOWER_QUARTILE] - (1.5 * iqr)) {
+            // lower outlier
+            outliers = value > statistic[LOWER_QUARTILE] - (3.0 * iqr)
+                ? mild : extreme;
+        } else if (value > statistic[UPPER_QUARTILE] + (1.5 * iqr)) {
+            // upper outlier
+            outliers = value < statistic[UPPER_QUARTILE] + (3.0 * iqr)
+                ? mild : extreme;
+        } else {
+            statistic[LOWER_WHISKER] = Math.min(statistic[LOWER_WHISKER], value);
+            statistic[UPPER_WHISKER] = Math.max(statistic[UPPER_WHISKER], value);
+            return;
+        }
+        Set<RowKey> keys = outliers.get(value);
+        if (keys == null) {
+            keys = new HashSet<RowKey>();
+            outliers.put(value, keys);
+        }
+        keys.add(key);
+    }
+
 
 
     private DataContainer createOutputTable(final ExecutionContext exec,
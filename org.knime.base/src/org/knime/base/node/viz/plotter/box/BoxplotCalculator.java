@@ -48,25 +48,22 @@
  */
 package org.knime.base.node.viz.plotter.box;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map.Entry;
+import java.util.Map;
 import java.util.Set;
 
-import org.knime.base.data.sort.SortedTable;
 import org.knime.core.data.DataCell;
 import org.knime.core.data.DataRow;
 import org.knime.core.data.DataTableSpec;
-import org.knime.core.data.DataType;
 import org.knime.core.data.DoubleValue;
 import org.knime.core.data.MissingCell;
-import org.knime.core.data.container.DataContainer;
-import org.knime.core.data.def.DefaultRow;
-import org.knime.core.data.def.DoubleCell;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.CanceledExecutionException;
 import org.knime.core.node.ExecutionContext;
@@ -200,176 +197,77 @@ public int compare(final DataCell o1, final DataCell o2) {
             catNames.add(cell.isMissing() ? MISSING_VALUES_CLASS : cell.toString());
         }
 
-        LinkedHashMap<String, LinkedHashMap<String, DataContainer>> containers = new LinkedHashMap<>();
-        m_ignoredMissVals = new LinkedHashMap<>();
-
-        for (int i = 0; i < numCol.length; i++) {
-            LinkedHashMap<String, DataContainer> map = new LinkedHashMap<>();
-            LinkedHashMap<String, Long> missValMap = new LinkedHashMap<>();
-            for (DataCell c : vals) {
-                String name = c.isMissing() ? MISSING_VALUES_CLASS : c.toString();
-                map.put(name, exec.createDataContainer(new DataTableSpec(new String[] {"col"},
-                    new DataType[] {DoubleCell.TYPE})));
-                missValMap.put(name, 0L);
-            }
-            containers.put(numCol[i], map);
-            m_ignoredMissVals.put(numCol[i], missValMap);
+        final int numCats = catNames.size();
+        final HashMap<String, Integer> catIndices = new HashMap<>();
+        for (int j = 0; j < numCats; j++) {
+            catIndices.put(catNames.get(j), j);
         }
-        ExecutionContext subExec = exec.createSubExecutionContext(0.7);
-        //long[][] ignoredMissVals = new long[numCol.length][vals.size()];  // count missing values per data col per class
-        long count = 0;
-        final long numOfRows = table.size();
-        for (DataRow row : table) {
-            exec.checkCanceled();
-            subExec.setProgress(count++ / (double)numOfRows);
-            DataCell catCell = row.getCell(catColIdx);
-            String catName = catCell.isMissing() ? MISSING_VALUES_CLASS : catCell.toString();
-            for (int i = 0; i < numCol.length; i++) {
-                DataCell cell = row.getCell(numColIdxs[i]);
-                boolean isSpecialDouble = cellContainsSpecialDouble(failOnSpecialDoubles, cell);
-                if (!cell.isMissing() && !isSpecialDouble) {
-                    containers.get(numCol[i]).get(catName).addRowToTable(
-                        new DefaultRow(row.getKey(), cell));
-                } else {
-                    // increment missing values
-                    LinkedHashMap<String, Long> missValMap = m_ignoredMissVals.get(numCol[i]);
-                    missValMap.replace(catName, missValMap.get(catName) + 1);
+
+        // one series of values per data column and class
+        final double[][] quartiles = new double[numCol.length * numCats][];
+        final long[][] ignoredMissVals = new long[numCol.length][numCats];
+        try (QuartileCalculator calculator = new QuartileCalculator(quartiles.length)) {
+            ExecutionContext subExec = exec.createSubExecutionContext(0.5);
+            long count = 0;
+            final long numOfRows = table.size();
+            for (DataRow row : table) {
+                exec.checkCanceled();
+                subExec.setProgress(count++ / (double)numOfRows);
+                DataCell catCell = row.getCell(catColIdx);
+                String catName = catCell.isMissing() ? MISSING_VALUES_CLASS : catCell.toString();
+                Integer catIdx = catIndices.get(catName);
+                if (catIdx == null) {
+                    throw new InvalidSettingsException(
+                        "Category \"" + catName + "\" is not contained in the domain of the category column");
+                }
+                for (int i = 0; i < numCol.length; i++) {
+                    DataCell cell = row.getCell(numColIdxs[i]);
+                    boolean isSpecialDouble = cellContainsSpecialDouble(failOnSpecialDoubles, cell);
+                    if (!cell.isMissing() && !isSpecialDouble) {
+                        calculator.add(i * numCats + catIdx, ((DoubleValue)cell).getDoubleValue());
+                    } else {
+                        ignoredMissVals[i][catIdx]++;
+                    }
                 }
             }
+            computeQuartiles(calculator, quartiles, exec.createSubExecutionContext(0.2));
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not buffer the box plot values: " + e.getMessage(), e);
         }
 
+        OutlierCollector[] collectors = collectOutliers(table, numColIdxs, quartiles, numCats, catColIdx, catIndices,
+            exec.createSubExecutionContext(0.3));
+
         LinkedHashMap<String, LinkedHashMap<String, BoxplotStatistics>> statsMap
         = new LinkedHashMap<>();
         excludedClasses = new LinkedHashMap<>();
+        m_ignoredMissVals = new LinkedHashMap<>();
 
-        ExecutionContext subExec2 = exec.createSubExecutionContext(1.0);
-        int count2 = 0;
-        for (Entry<String, LinkedHashMap<String, DataContainer>> entry : containers.entrySet()) {
-            exec.checkCanceled();
-            subExec2.setProgress(count2++ / (double)containers.size());
-            LinkedHashMap<String, DataContainer> containers2 = entry.getValue();
+        for (int i = 0; i < numCol.length; i++) {
             LinkedHashMap<String, BoxplotStatistics> colStats = new LinkedHashMap<String, BoxplotStatistics>();
-            String colName = entry.getKey();
-
+            LinkedHashMap<String, Long> missValMap = new LinkedHashMap<>();
             List<String> excludedColClassesList = new ArrayList<>();
 
-            for (Entry<String, DataContainer> entry2 : containers2.entrySet()) {
-                Set<Outlier> extremeOutliers = new HashSet<Outlier>();
-                Set<Outlier> mildOutliers = new HashSet<Outlier>();
-                entry2.getValue().close();
-                String catName = entry2.getKey();
-
-                BufferedDataTable catTable = (BufferedDataTable)entry2.getValue().getTable();
-                LinkedHashMap<String, Long> missValMap = m_ignoredMissVals.get(colName);
-                if (catTable.size() == 0) {
-                    if (!(catName.equals(MISSING_VALUES_CLASS) && missValMap.get(catName) == 0)) {  // we should add missing values to this list, only if they were there
+            for (int j = 0; j < numCats; j++) {
+                String catName = catNames.get(j);
+                long numMissing = ignoredMissVals[i][j];
+                if (quartiles[i * numCats + j] == null) {
+                    if (!(catName.equals(MISSING_VALUES_CLASS) && numMissing == 0)) {  // we should add missing values to this list, only if they were there
                         excludedColClassesList.add(catName);
                     }
-                    missValMap.remove(catName);
                     continue;
-                } else {
-                    if (missValMap.get(catName) == 0) {
-                        missValMap.remove(catName);
-                    }
                 }
-
-                SortedTable st = new SortedTable(catTable, new Comparator<DataRow>() {
-                    @Override
-                    public int compare(final DataRow o1, final DataRow o2) {
-                        double d1 = ((DoubleValue)o1.getCell(0)).getDoubleValue();
-                        double d2 = ((DoubleValue)o2.getCell(0)).getDoubleValue();
-                        if (d1 == d2) {
-                            return 0;
-                        } else {
-                            return d1 < d2 ? -1 : 1;
-                        }
-                    }
-                }, false, exec);
-
-                double min = 0, max = 0, q1 = 0, q3 = 0, median = 0;
-                boolean dq1 = catTable.size() % 4 == 0;
-                long q1Idx = catTable.size() / 4;
-                boolean dq3 = 3 * catTable.size() % 4 == 0;
-                long q3Idx = 3 * catTable.size() / 4;
-                boolean dMedian = catTable.size() % 2 == 0;
-                long medianIdx = catTable.size() / 2;
-                int counter = 0;
-                for (DataRow row : st) {
-                    double val = ((DoubleValue)row.getCell(0)).getDoubleValue();
-                    if (counter == 0) {
-                        min = val;
-                    }
-                    if (counter == catTable.size() - 1) {
-                        max = val;
-                    }
-                    if (counter == q1Idx - 1 && dq1) {
-                        q1 = val;
-                    }
-                    if (counter == q1Idx || (counter == 0 && st.size() <= 3)) {
-                        if (dq1) {
-                            q1 = (q1 + val) / 2.0;
-                        } else {
-                            q1 = val;
-                        }
-                    }
-                    if (counter == medianIdx - 1 && dMedian) {
-                        median = val;
-                    }
-                    if (counter == medianIdx) {
-                        if (dMedian) {
-                            median = (median + val) / 2;
-                        } else {
-                            median = val;
-                        }
-                    }
-                    if (counter == q3Idx - 1 && dq3) {
-                        q3 = val;
-                    }
-                    if (counter == q3Idx || (counter == st.size() - 1 && st.size() <= 3)) {
-                        if (dq3) {
-                            q3 = (q3 + val) / 2.0;
-                        } else {
-                            q3 = val;
-                        }
-                    }
-                    counter++;
-                }
-
-                double iqr = q3 - q1;
-                double lowerWhisker = min;
-                double upperWhisker = max;
-                double upperWhiskerFence = q3 + (1.5 * iqr);
-                double lowerWhiskerFence = q1 - (1.5 * iqr);
-                double lowerFence = q1 - (3 * iqr);
-                double upperFence = q3 + (3 * iqr);
-
-                for (DataRow row : st) {
-                    double value = ((DoubleValue)row.getCell(0)).getDoubleValue();
-                    String rowKey = row.getKey().getString();
-                    if (value < lowerFence) {
-                        extremeOutliers.add(new Outlier(value, rowKey));
-                    } else if (value < lowerWhiskerFence) {
-                        mildOutliers.add(new Outlier(value, rowKey));
-                    } else if (lowerWhisker < lowerWhiskerFence
-                            && value >= lowerWhiskerFence) {
-                        lowerWhisker = value;
-                    } else if (value <= upperWhiskerFence) {
-                        upperWhisker = value;
-                    } else if (value > upperFence) {
-                        extremeOutliers.add(new Outlier(value, rowKey));
-                    } else if (value > upperWhiskerFence) {
-                        mildOutliers.add(new Outlier(value, rowKey));
-                    }
+                if (numMissing > 0) {
+                    missValMap.put(catName, numMissing);
                 }
-
-                colStats.put(catName, new BoxplotStatistics(mildOutliers, extremeOutliers,
-                    min, max, lowerWhisker, q1, median, q3, upperWhisker));
+                colStats.put(catName, collectors[i * numCats + j].createStatistics());
             }
-            statsMap.put(colName, colStats);
+            statsMap.put(numCol[i], colStats);
+            m_ignoredMissVals.put(numCol[i], missValMap);
 
             // missing values part
             String[] excludedColClasses = excludedColClassesList.toArray(new String[excludedColClassesList.size()]);
-            excludedClasses.put(colName, excludedColClasses);
+            excludedClasses.put(numCol[i], excludedColClasses);
         }
 
         return statsMap;
@@ -421,143 +319,40 @@ public LinkedHashMap<String, BoxplotStatistics> calculateMultiple(final Buffered
             numColIdxs[i] = spec.findColumnIndex(numCol[i]);
         }
 
-        LinkedHashMap<String, DataContainer> containers = new LinkedHashMap<String, DataContainer>();
-        for (int i = 0; i < numCol.length; i++) {
-            containers.put(numCol[i], exec.createDataContainer(new DataTableSpec(new String[] {"col"},
-                new DataType[] {DoubleCell.TYPE})));
-        }
-
-        ExecutionContext subExec = exec.createSilentSubExecutionContext(0.7);
+        final double[][] quartiles = new double[numCol.length][];
         long[] numMissValPerCol = new long[numCol.length];
-        int count = 0;
-        for (DataRow row : table) {
-            exec.checkCanceled();
-            subExec.setProgress((double)count++ / table.size());
-            for (int i = 0; i < numCol.length; i++) {
-                DataCell cell = row.getCell(numColIdxs[i]);
-                boolean isSpecialDouble = cellContainsSpecialDouble(failOnSpecialDoubles, cell);
-                if (!cell.isMissing() && !isSpecialDouble) {
-                    containers.get(numCol[i]).addRowToTable(
-                        new DefaultRow(row.getKey(), cell));
-                } else {
-                    numMissValPerCol[i]++;
+        try (QuartileCalculator calculator = new QuartileCalculator(numCol.length)) {
+            ExecutionContext subExec = exec.createSilentSubExecutionContext(0.5);
+            int count = 0;
+            for (DataRow row : table) {
+                exec.checkCanceled();
+                subExec.setProgress((double)count++ / table.size());
+                for (int i = 0; i < numCol.length; i++) {
+                    DataCell cell = row.getCell(numColIdxs[i]);
+                    boolean isSpecialDouble = cellContainsSpecialDouble(failOnSpecialDoubles, cell);
+                    if (!cell.isMissing() && !isSpecialDouble) {
+                        calculator.add(i, ((DoubleValue)cell).getDoubleValue());
+                    } else {
+                        numMissValPerCol[i]++;
+                    }
                 }
             }
+            computeQuartiles(calculator, quartiles, exec.createSilentSubExecutionContext(0.2));
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not buffer the box plot values: " + e.getMessage(), e);
         }
 
-        LinkedHashMap<String, BoxplotStatistics> statsMap = new LinkedHashMap<>();
-
-        ExecutionContext subExec2 = exec.createSilentSubExecutionContext(1.0);
-        count = 0;
+        OutlierCollector[] collectors =
+            collectOutliers(table, numColIdxs, quartiles, 1, -1, null, exec.createSilentSubExecutionContext(0.3));
 
+        LinkedHashMap<String, BoxplotStatistics> statsMap = new LinkedHashMap<>();
         List<String> excludedDataColList = new ArrayList<String>();
-        for (Entry<String, DataContainer> entry : containers.entrySet()) {
-            exec.checkCanceled();
-            subExec2.setProgress((double)count++ / containers.size());
-            Set<Outlier> extremeOutliers = new HashSet<Outlier>();
-            Set<Outlier> mildOutliers = new HashSet<Outlier>();
-            entry.getValue().close();
-
-            BufferedDataTable catTable = (BufferedDataTable)entry.getValue().getTable();
-            if (catTable.size() == 0) {
-                excludedDataColList.add(entry.getKey());
+        for (int i = 0; i < numCol.length; i++) {
+            if (quartiles[i] == null) {
+                excludedDataColList.add(numCol[i]);
                 continue;
             }
-
-            SortedTable st = new SortedTable(catTable, new Comparator<DataRow>() {
-                @Override
-                public int compare(final DataRow o1, final DataRow o2) {
-                    DataCell c1 = o1.getCell(0);
-                    DataCell c2 = o2.getCell(0);
-                    double d1 = ((DoubleValue)c1).getDoubleValue();
-                    double d2 = ((DoubleValue)c2).getDoubleValue();
-                    if (d1 == d2) {
-                        return 0;
-                    } else {
-                        return d1 < d2 ? -1 : 1;
-                    }
-                }
-            }, false, exec);
-
-            double min = 0, max = 0, q1 = 0, q3 = 0, median = 0;
-            boolean dq1 = catTable.size() % 4 == 0;
-            long q1Idx = catTable.size() / 4;
-            boolean dq3 = 3 * catTable.size() % 4 == 0;
-            long q3Idx = 3 * catTable.size() / 4;
-            boolean dMedian = catTable.size() % 2 == 0;
-            long medianIdx = catTable.size() / 2;
-            int counter = 0;
-            for (DataRow row : st) {
-                double val = ((DoubleValue)row.getCell(0)).getDoubleValue();
-                if (counter == 0) {
-                    min = val;
-                }
-                if (counter == catTable.size() - 1) {
-                    max = val;
-                }
-                if (counter == q1Idx - 1 && dq1) {
-                    q1 = val;
-                }
-                if (counter == q1Idx || (counter == 0 && st.size() <= 3)) {
-                    if (dq1) {
-                        q1 = (q1 + val) / 2.0;
-                    } else {
-                        q1 = val;
-                    }
-                }
-                if (counter == medianIdx - 1 && dMedian) {
-                    median = val;
-                }
-                if (counter == medianIdx) {
-                    if (dMedian) {
-                        median = (median + val) / 2;
-                    } else {
-                        median = val;
-                    }
-                }
-                if (counter == q3Idx - 1 && dq3) {
-                    q3 = val;
-                }
-                if (counter == q3Idx || (counter == st.size() - 1 && st.size() <= 3)) {
-                    if (dq3) {
-                        q3 = (q3 + val) / 2.0;
-                    } else {
-                        q3 = val;
-                    }
-                }
-                counter++;
-            }
-
-            double iqr = q3 - q1;
-            double lowerWhisker = min;
-            double upperWhisker = max;
-            double upperWhiskerFence = q3 + (1.5 * iqr);
-            double lowerWhiskerFence = q1 - (1.5 * iqr);
-            double lowerFence = q1 - (3 * iqr);
-            double upperFence = q3 + (3 * iqr);
-
-            for (DataRow row : st) {
-                double value = ((DoubleValue)row.getCell(0)).getDoubleValue();
-                String rowKey = row.getKey().getString();
-
-                if (value < lowerFence) {
-                    extremeOutliers.add(new Outlier(value, rowKey));
-                } else if (value < lowerWhiskerFence) {
-                    mildOutliers.add(new Outlier(value, rowKey));
-                } else if (lowerWhisker < lowerWhiskerFence
-                        && value >= lowerWhiskerFence) {
-                    lowerWhisker = value;
-                } else if (value <= upperWhiskerFence) {
-                    upperWhisker = value;
-                } else if (value > upperFence) {
-                    extremeOutliers.add(new Outlier(value, rowKey));
-                } else if (value > upperWhiskerFence) {
-                    mildOutliers.add(new Outlier(value, rowKey));
-                }
-            }
-
-            statsMap.put(entry.getKey(), new BoxplotStatistics(mildOutliers, extremeOutliers,
-                min, max, lowerWhisker, q1, median, q3, upperWhisker));
+            statsMap.put(numCol[i], collectors[i].createStatistics());
         }
 
         // missing values part
@@ -571,4 +366,127 @@ public int compare(final DataRow o1, final DataRow o2) {
 
         return statsMap;
     }
+
+    /**
+     * Computes the quartiles of all series of the calculator, <code>null</code> entries denote empty series.
+     */
+    private static void computeQuartiles(final QuartileCalculator calculator, final double[][] quartiles,
+        final ExecutionContext exec) throws IOException, CanceledExecutionException {
+        for (int s = 0; s < quartiles.length; s++) {
+            exec.checkCanceled();
+            exec.setProgress(s / (double)quartiles.length);
+            quartiles[s] = calculator.computeQuartiles(s, exec);
+        }
+    }
+
+    /**
+     * Determines outliers and whiskers of all series in a second pass over the table. The pass is skipped if none of
+     * the series has values outside the whisker fences.
+     *
+     * @param catColIdx the index of the category column or -1 if there is only one series per column
+     * @param catIndices maps the category names to their index within the series of a column
+     */
+    private static OutlierCollector[] collectOutliers(final BufferedDataTable table, final int[] numColIdxs,
+        final double[][] quartiles, final int numCats, final int catColIdx, final Map<String, Integer> catIndices,
+        final ExecutionContext exec) throws CanceledExecutionException {
+        final OutlierCollector[] collectors = new OutlierCollector[quartiles.length];
+        boolean hasOutliers = false;
+        for (int s = 0; s < quartiles.length; s++) {
+            if (quartiles[s] != null) {
+                collectors[s] = new OutlierCollector(quartiles[s]);
+                hasOutliers |= collectors[s].hasOutliers();
+            }
+        }
+        if (!hasOutliers) {
+            return collectors;
+        }
+        long count = 0;
+        final long numOfRows = table.size();
+        for (DataRow row : table) {
+            exec.checkCanceled();
+            exec.setProgress(count++ / (double)numOfRows);
+            int catIdx = 0;
+            if (catColIdx >= 0) {
+                DataCell catCell = row.getCell(catColIdx);
+                catIdx = catIndices.get(catCell.isMissing() ? MISSING_VALUES_CLASS : catCell.toString());
+            }
+            for (int i = 0; i < numColIdxs.length; i++) {
+                OutlierCollector collector = collectors[i * numCats + catIdx];
+                DataCell cell = row.getCell(numColIdxs[i]);
+                if (collector != null && collector.hasOutliers() && !cell.isMissing()) {
+                    double value = ((DoubleValue)cell).getDoubleValue();
+                    if (!Double.isNaN(value) && !Double.isInfinite(value)) {
+                        collector.add(value, row.getKey().getString());
+                    }
+                }
+            }
+        }
+        return collectors;
+    }
+
+    /**
+     * Classifies the values of one series as mild or extreme outliers and finds the whiskers, i.e. the smallest and
+     * largest value that is not an outlier.
+     */
+    private static final class OutlierCollector {
+
+        private final double[] m_quartiles;
+
+        private final double m_lowerFence;
+
+        private final double m_lowerWhiskerFence;
+
+        private final double m_upperWhiskerFence;
+
+        private final double m_upperFence;
+
+        private final Set<Outlier> m_mildOutliers = new HashSet<Outlier>();
+
+        private final Set<Outlier> m_extremeOutliers = new HashSet<Outlier>();
+
+        private double m_lowerWhisker = Double.POSITIVE_INFINITY;
+
+        private double m_upperWhisker = Double.NEGATIVE_INFINITY;
+
+        OutlierCollector(final double[] quartiles) {
+            m_quartiles = quartiles;
+            double q1 = quartiles[QuartileCalculator.LOWER_QUARTILE];
+            double q3 = quartiles[QuartileCalculator.UPPER_QUARTILE];
+            double iqr = q3 - q1;
+            m_upperWhiskerFence = q3 + (1.5 * iqr);
+            m_lowerWhiskerFence = q1 - (1.5 * iqr);
+            m_lowerFence = q1 - (3 * iqr);
+            m_upperFence = q3 + (3 * iqr);
+        }
+
+        boolean hasOutliers() {
+            return m_quartiles[QuartileCalculator.MIN] < m_lowerWhiskerFence
+                || m_quartiles[QuartileCalculator.MAX] > m_upperWhiskerFence;
+        }
+
+        void add(final double value, final String rowKey) {
+            if (value < m_lowerFence) {
+                m_extremeOutliers.add(new Outlier(value, rowKey));
+            } else if (value < m_lowerWhiskerFence) {
+                m_mildOutliers.add(new Outlier(value, rowKey));
+            } else if (value > m_upperFence) {
+                m_extremeOutliers.add(new Outlier(value, rowKey));
+            } else if (value > m_upperWhiskerFence) {
+                m_mildOutliers.add(new Outlier(value, rowKey));
+            } else {
+                m_lowerWhisker = Math.min(m_lowerWhisker, value);
+                m_upperWhisker = Math.max(m_upperWhisker, value);
+            }
+        }
+
+        BoxplotStatistics createStatistics() {
+            double min = m_quartiles[QuartileCalculator.MIN];
+            double max = m_quartiles[QuartileCalculator.MAX];
+            double lowerWhisker = m_lowerWhisker > m_upperWhisker ? min : m_lowerWhisker;
+            double upperWhisker = m_lowerWhisker > m_upperWhisker ? max : m_upperWhisker;
+            return new BoxplotStatistics(m_mildOutliers, m_extremeOutliers, min, max, lowerWhisker,
+                m_quartiles[QuartileCalculator.LOWER_QUARTILE], m_quartiles[QuartileCalculator.MEDIAN],
+                m_quartiles[QuartileCalculator.UPPER_QUARTILE], upperWhisker);
+        }
+    }
 }
@@ -0,0 +1,496 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   18.10.2026 (agent): created
+ */
+package org.knime.base.node.viz.plotter.box;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.DoubleConsumer;
+
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.util.FileUtil;
+
+/**
+ * Computes minimum, quartiles and maximum of several series of double values (e.g. one series per numeric column or
+ * per column and category) from a single pass over the data. The values of each series are collected in primitive
+ * chunks; once the chunks of all series exceed the memory budget, further chunks are written to a temporary file.
+ * The quartiles are found by selection rather than by sorting, series that do not fit into memory are narrowed down
+ * with histogram passes over their file.
+ *
+ * <p>
+ * The quartiles are defined as in the box plot nodes: for <i>n</i> values sorted ascending, the p-quantile is the value
+ * at (0-based) index <code>floor(n * p)</code>, or the mean of the values at that index and its predecessor if
+ * <code>n * p</code> is integer.
+ *
+ * <p>
+ * NaN values must not be added, infinite values are allowed. Instances must be closed to delete the temporary files.
+ *
+ * @author agent
+ */
+final class QuartileCalculator implements AutoCloseable {
+
+    /** Index of the minimum in the arrays returned by {@link #computeQuartiles(int, ExecutionMonitor)}. */
+    static final int MIN = 0;
+
+    /** Index of the lower quartile in the arrays returned by {@link #computeQuartiles(int, ExecutionMonitor)}. */
+    static final int LOWER_QUARTILE = 1;
+
+    /** Index of the median in the arrays returned by {@link #computeQuartiles(int, ExecutionMonitor)}. */
+    static final int MEDIAN = 2;
+
+    /** Index of the upper quartile in the arrays returned by {@link #computeQuartiles(int, ExecutionMonitor)}. */
+    static final int UPPER_QUARTILE = 3;
+
+    /** Index of the maximum in the arrays returned by {@link #computeQuartiles(int, ExecutionMonitor)}. */
+    static final int MAX = 4;
+
+    private static final int CHUNK_SIZE = 8192;
+
+    private static final int INITIAL_CHUNK_SIZE = 16;
+
+    private static final int NUM_BUCKETS = 4096;
+
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    /** The maximum number of doubles held in memory. */
+    private final long m_memoryLimit;
+
+    private final int m_chunkSize;
+
+    private final Series[] m_series;
+
+    private long m_inMemory;
+
+    /**
+     * Creates a calculator for the given number of series that keeps up to an eighth of the heap in memory.
+     *
+     * @param numSeries the number of series
+     */
+    QuartileCalculator(final int numSeries) {
+        this(numSeries, Runtime.getRuntime().maxMemory() / (8 * Double.BYTES), CHUNK_SIZE);
+    }
+
+    /**
+     * Creates a calculator for the given number of series.
+     *
+     * @param numSeries the number of series
+     * @param memoryLimit the number of values to keep in memory before writing to disk
+     * @param chunkSize the number of values written to disk at once
+     */
+    QuartileCalculator(final int numSeries, final long memoryLimit, final int chunkSize) {
+        m_memoryLimit = Math.max(chunkSize, Math.min(memoryLimit, MAX_ARRAY_SIZE));
+        m_chunkSize = chunkSize;
+        m_series = new Series[numSeries];
+        for (int i = 0; i < numSeries; i++) {
+            m_series[i] = new Series();
+        }
+    }
+
+    /**
+     * Adds a value to a series.
+     *
+     * @param series the index of the series
+     * @param value the value, not NaN
+     * @throws IOException if the values cannot be written to disk
+     */
+    void add(final int series, final double value) throws IOException {
+        final Series s = m_series[series];
+        if (s.m_current == null) {
+            s.m_current = new double[Math.min(INITIAL_CHUNK_SIZE, m_chunkSize)];
+            m_inMemory += s.m_current.length;
+        }
+        s.m_current[s.m_pos++] = value;
+        s.m_count++;
+        s.m_min = Math.min(s.m_min, value);
+        s.m_max = Math.max(s.m_max, value);
+        if (value == Double.NEGATIVE_INFINITY) {
+            s.m_negInf++;
+        } else if (value == Double.POSITIVE_INFINITY) {
+            s.m_posInf++;
+        } else {
+            s.m_finiteMin = Math.min(s.m_finiteMin, value);
+            s.m_finiteMax = Math.max(s.m_finiteMax, value);
+        }
+        if (s.m_pos == s.m_current.length) {
+            if (s.m_current.length < m_chunkSize) {
+                final int newLength = Math.min(2 * s.m_current.length, m_chunkSize);
+                m_inMemory += newLength - s.m_current.length;
+                s.m_current = Arrays.copyOf(s.m_current, newLength);
+            } else if (m_inMemory + m_chunkSize > m_memoryLimit) {
+                s.spill();
+            } else {
+                s.m_chunks.add(s.m_current);
+                s.m_current = new double[m_chunkSize];
+                s.m_pos = 0;
+                m_inMemory += m_chunkSize;
+            }
+        }
+    }
+
+    /**
+     * @param series the index of the series
+     * @return the number of values added to the series
+     */
+    long getCount(final int series) {
+        return m_series[series].m_count;
+    }
+
+    /**
+     * Computes the minimum, the quartiles and the maximum of a series and releases its values afterwards, i.e. this
+     * method can only be called once per series.
+     *
+     * @param series the index of the series
+     * @param exec the monitor to check for cancellation
+     * @return an array indexed by {@link #MIN}, {@link #LOWER_QUARTILE}, {@link #MEDIAN}, {@link #UPPER_QUARTILE} and
+     *         {@link #MAX}, or <code>null</code> if the series is empty
+     * @throws IOException if the values cannot be read from disk
+     * @throws CanceledExecutionException if the execution has been canceled
+     */
+    double[] computeQuartiles(final int series, final ExecutionMonitor exec)
+        throws IOException, CanceledExecutionException {
+        final Series s = m_series[series];
+        if (s.m_count == 0) {
+            return null;
+        }
+        final double[] result = new double[5];
+        result[MIN] = s.m_min;
+        result[MAX] = s.m_max;
+        try {
+            if (s.m_out != null) {
+                s.m_out.close();
+                s.m_out = null;
+            }
+            if (s.m_count <= m_memoryLimit) {
+                final double[] values = s.load();
+                m_inMemory -= s.release();
+                result[LOWER_QUARTILE] = quantile(values, 1, 4);
+                result[MEDIAN] = quantile(values, 1, 2);
+                result[UPPER_QUARTILE] = quantile(values, 3, 4);
+            } else {
+                result[LOWER_QUARTILE] = quantile(s, 1, 4, exec);
+                result[MEDIAN] = quantile(s, 1, 2, exec);
+                result[UPPER_QUARTILE] = quantile(s, 3, 4, exec);
+            }
+        } finally {
+            m_inMemory -= s.release();
+        }
+        return result;
+    }
+
+    /** Deletes all temporary files. */
+    @Override
+    public void close() {
+        for (Series s : m_series) {
+            m_inMemory -= s.release();
+        }
+    }
+
+    private static double quantile(final double[] values, final int num, final int den) {
+        final long pos = (long)values.length * num;
+        final int idx = (int)(pos / den);
+        final double value = select(values, idx);
+        if (pos % den == 0 && idx > 0) {
+            // after the selection all values left of idx are smaller or equal
+            double prev = values[0];
+            for (int i = 1; i < idx; i++) {
+                prev = Math.max(prev, values[i]);
+            }
+            return (prev + value) / 2;
+        }
+        return value;
+    }
+
+    private double quantile(final Series s, final int num, final int den, final ExecutionMonitor exec)
+        throws IOException, CanceledExecutionException {
+        final long pos = s.m_count * num;
+        final long idx = pos / den;
+        final double value = select(s, idx, exec);
+        if (pos % den == 0 && idx > 0) {
+            return (select(s, idx - 1, exec) + value) / 2;
+        }
+        return value;
+    }
+
+    /**
+     * Rearranges the array such that the value at index k is the one it would have in the sorted array and all values
+     * left of it are smaller or equal.
+     */
+    static double select(final double[] a, final int k) {
+        int lo = 0;
+        int hi = a.length - 1;
+        while (hi > lo) {
+            final int mid = (lo + hi) >>> 1;
+            final double pivot = medianOf3(a[lo], a[mid], a[hi]);
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (a[i] < pivot) {
+                    i++;
+                }
+                while (a[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    final double tmp = a[i];
+                    a[i] = a[j];
+                    a[j] = tmp;
+                    i++;
+                    j--;
+                }
+            }
+            if (k <= j) {
+                hi = j;
+            } else if (k >= i) {
+                lo = i;
+            } else {
+                return a[k];
+            }
+        }
+        return a[k];
+    }
+
+    private static double medianOf3(final double a, final double b, final double c) {
+        if (a < b) {
+            return b < c ? b : Math.max(a, c);
+        }
+        return a < c ? a : Math.max(b, c);
+    }
+
+    /**
+     * Selects the value of the given rank of a series that does not fit into memory. Each pass over the values counts
+     * them in a histogram over the current value range and narrows the range down to the bucket containing the rank,
+     * until the bucket is small enough to be selected in memory.
+     */
+    private double select(final Series s, final long rank, final ExecutionMonitor exec)
+        throws IOException, CanceledExecutionException {
+        if (rank < s.m_negInf) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        if (rank >= s.m_count - s.m_posInf) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double lo = s.m_finiteMin;
+        double hi = s.m_finiteMax;
+        long below = s.m_negInf;
+        while (lo < hi) {
+            exec.checkCanceled();
+            final Histogram histogram = new Histogram(lo, hi);
+            s.forEach(histogram);
+            int b = 0;
+            while (below + histogram.m_counts[b] <= rank) {
+                below += histogram.m_counts[b++];
+            }
+            final long count = histogram.m_counts[b];
+            lo = histogram.m_min[b];
+            hi = histogram.m_max[b];
+            if (count <= m_memoryLimit) {
+                final double[] values = new double[(int)count];
+                final double from = lo;
+                final double to = hi;
+                final int[] pos = new int[1];
+                s.forEach(v -> {
+                    if (v >= from && v <= to) {
+                        values[pos[0]++] = v;
+                    }
+                });
+                return select(values, (int)(rank - below));
+            }
+        }
+        return lo;
+    }
+
+    /** Counts values in equally wide buckets and keeps track of the smallest and largest value in each bucket. */
+    private static final class Histogram implements DoubleConsumer {
+
+        private final long[] m_counts = new long[NUM_BUCKETS];
+
+        private final double[] m_min = new double[NUM_BUCKETS];
+
+        private final double[] m_max = new double[NUM_BUCKETS];
+
+        private final double m_lo;
+
+        private final double m_hi;
+
+        private final double m_scale;
+
+        private final double m_offset;
+
+        private final double m_width;
+
+        Histogram(final double lo, final double hi) {
+            m_lo = lo;
+            m_hi = hi;
+            // avoid an infinite width for ranges beyond Double.MAX_VALUE
+            m_scale = Double.isInfinite(hi - lo) ? 0.5 : 1;
+            m_offset = lo * m_scale;
+            m_width = hi * m_scale - m_offset;
+            Arrays.fill(m_min, Double.POSITIVE_INFINITY);
+            Arrays.fill(m_max, Double.NEGATIVE_INFINITY);
+        }
+
+        @Override
+        public void accept(final double value) {
+            if (value < m_lo || value > m_hi) {
+                return;
+            }
+            // monotone in the value, hence each bucket covers the range between its min and max
+            final int b = Math.min((int)((value * m_scale - m_offset) / m_width * NUM_BUCKETS), NUM_BUCKETS - 1);
+            m_counts[b]++;
+            m_min[b] = Math.min(m_min[b], value);
+            m_max[b] = Math.max(m_max[b], value);
+        }
+    }
+
+    /** The values of one series, in memory and on disk. */
+    private final class Series {
+
+        private List<double[]> m_chunks = new ArrayList<>();
+
+        private double[] m_current;
+
+        private int m_pos;
+
+        private File m_file;
+
+        private DataOutputStream m_out;
+
+        private long m_spilled;
+
+        private long m_count;
+
+        private long m_negInf;
+
+        private long m_posInf;
+
+        private double m_min = Double.POSITIVE_INFINITY;
+
+        private double m_max = Double.NEGATIVE_INFINITY;
+
+        private double m_finiteMin = Double.POSITIVE_INFINITY;
+
+        private double m_finiteMax = Double.NEGATIVE_INFINITY;
+
+        private void spill() throws IOException {
+            if (m_out == null) {
+                m_file = FileUtil.createTempFile("boxplot_quartiles", ".bin");
+                m_file.deleteOnExit();
+                m_out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(m_file)));
+            }
+            for (int i = 0; i < m_pos; i++) {
+                m_out.writeDouble(m_current[i]);
+            }
+            m_spilled += m_pos;
+            m_pos = 0;
+        }
+
+        private void forEach(final DoubleConsumer consumer) throws IOException {
+            for (double[] chunk : m_chunks) {
+                for (double v : chunk) {
+                    consumer.accept(v);
+                }
+            }
+            if (m_spilled > 0) {
+                try (DataInputStream in =
+                    new DataInputStream(new BufferedInputStream(new FileInputStream(m_file)))) {
+                    for (long i = 0; i < m_spilled; i++) {
+                        consumer.accept(in.readDouble());
+                    }
+                }
+            }
+            for (int i = 0; i < m_pos; i++) {
+                consumer.accept(m_current[i]);
+            }
+        }
+
+        private double[] load() throws IOException {
+            final double[] values = new double[(int)m_count];
+            final int[] pos = new int[1];
+            forEach(v -> values[pos[0]++] = v);
+            return values;
+        }
+
+        /** Frees the values and returns the number of doubles no longer held in memory. */
+        private long release() {
+            long released = 0;
+            if (m_chunks != null) {
+                released = (long)m_chunks.size() * m_chunkSize;
+                m_chunks = null;
+            }
+            if (m_current != null) {
+                released += m_current.length;
+                m_current = null;
+            }
+            m_pos = 0;
+            m_spilled = 0;
+            if (m_out != null) {
+                try {
+                    m_out.close();
+                } catch (IOException e) {
+                    // the file is deleted anyway
+                }
+                m_out = null;
+            }
+            if (m_file != null) {
+                m_file.delete();
+                m_file = null;
+            }
+            return released;
+        }
+    }
+}
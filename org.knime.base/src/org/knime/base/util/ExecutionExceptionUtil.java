@@ -0,0 +1,139 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.base.util;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ExecutionException;
+
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.util.ThreadPool;
+
+/**
+ * Utility methods to handle the {@link ExecutionException ExecutionExceptions} thrown when waiting for tasks that were
+ * submitted to a {@link ThreadPool}. Futures are usually queried within
+ * {@link ThreadPool#runInvisible(java.util.concurrent.Callable)}, hence the actual cause might be wrapped twice.
+ *
+ * @author agent
+ * @since 4.2
+ */
+public final class ExecutionExceptionUtil {
+
+    private ExecutionExceptionUtil() {
+        // utility class
+    }
+
+    /**
+     * Returns the actual cause of the given exception, i.e. the first cause that is not an {@link ExecutionException}.
+     *
+     * @param e the exception thrown when waiting for a task
+     * @return the actual cause, or <b>e</b> if it has no cause
+     */
+    public static Throwable getCause(final ExecutionException e) {
+        Throwable cause = e.getCause();
+        while (cause instanceof ExecutionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause == null ? e : cause;
+    }
+
+    /**
+     * Rethrows the actual cause of the given exception if it is a {@link CanceledExecutionException}, a
+     * {@link RuntimeException} or an {@link Error}. Any other cause is wrapped into an {@link IllegalStateException}
+     * which is returned in order to be thrown by the caller:
+     *
+     * <pre>
+     * throw ExecutionExceptionUtil.rethrowCause(e, "Computing the result failed");
+     * </pre>
+     *
+     * @param e the exception thrown when waiting for a task
+     * @param failureMessage the message of the returned exception, the message of the cause is appended
+     * @return the exception to throw if the cause is a checked exception other than
+     *         {@link CanceledExecutionException}
+     * @throws CanceledExecutionException if the task was canceled
+     */
+    public static IllegalStateException rethrowCause(final ExecutionException e, final String failureMessage)
+        throws CanceledExecutionException {
+        final Throwable cause = getCause(e);
+        if (cause instanceof CanceledExecutionException) {
+            throw (CanceledExecutionException)cause;
+        } else if (cause instanceof RuntimeException) {
+            throw (RuntimeException)cause;
+        } else if (cause instanceof Error) {
+            throw (Error)cause;
+        }
+        return new IllegalStateException(failureMessage + ": " + cause.getMessage(), cause);
+    }
+
+    /**
+     * Rethrows the actual cause of the given exception if it is a {@link RuntimeException} or an {@link Error} and
+     * returns an {@link IOException} to be thrown by the caller otherwise. That is the cause itself if it is an
+     * {@link IOException}, an {@link InterruptedIOException} if the cause is an {@link InterruptedException} and an
+     * {@link IOException} wrapping the cause in any other case.
+     *
+     * @param e the exception thrown when waiting for a task reading data
+     * @return the exception to throw
+     */
+    public static IOException rethrowIOCause(final ExecutionException e) {
+        final Throwable cause = getCause(e);
+        if (cause instanceof IOException) {
+            return (IOException)cause;
+        } else if (cause instanceof RuntimeException) {
+            throw (RuntimeException)cause;
+        } else if (cause instanceof Error) {
+            throw (Error)cause;
+        } else if (cause instanceof InterruptedException) {
+            final InterruptedIOException iioe = new InterruptedIOException("Interrupted while reading the data.");
+            iioe.initCause(cause);
+            return iioe;
+        }
+        return new IOException(cause);
+    }
+
+}
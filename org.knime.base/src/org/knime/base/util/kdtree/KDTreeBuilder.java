@@ -146,6 +146,208 @@ public KDTree<T> buildTree(final int bucketSize) {
         return new KDTree<T>(m_k, rootNode, m_nodes.size());
     }
 
+    /**
+     * Builds a packed k-d tree using all the patterns that have been added to
+     * the builder so far. In contrast to the {@link KDTree} the packed tree
+     * can be queried concurrently.
+     * 
+     * @param progMon an optional progress monitor, can be <code>null</code>
+     * @return a packed k-d tree
+     * @throws CanceledExecutionException if the execution has been canceled
+     * @since 4.2
+     */
+    public PackedKDTree<T> buildPackedTree(final ExecutionMonitor progMon)
+            throws CanceledExecutionException {
+        return buildPackedTree(DEFAULT_BUCKET_SIZE, progMon);
+    }
+
+    /**
+     * Builds a packed k-d tree using all the patterns that have been added to
+     * the builder so far. In contrast to the {@link KDTree} the packed tree
+     * can be queried concurrently.
+     * 
+     * @param bucketSize the number of patterns inside the terminal nodes
+     * @param progMon an optional progress monitor, can be <code>null</code>
+     * @return a packed k-d tree
+     * @throws CanceledExecutionException if the execution has been canceled
+     * @since 4.2
+     */
+    public PackedKDTree<T> buildPackedTree(final int bucketSize,
+            final ExecutionMonitor progMon) throws CanceledExecutionException {
+        if (bucketSize < 1) {
+            throw new IllegalArgumentException(
+                    "The bucket size must be at least 1");
+        }
+        final int size = m_nodes.size();
+        final double[] values = new double[size * m_k];
+        final int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            System.arraycopy(m_nodes.get(i).getPattern(), 0, values, i * m_k,
+                    m_k);
+            order[i] = i;
+        }
+
+        final PackedLayout layout =
+                new PackedLayout(countNodes(size, bucketSize));
+        m_processedPatterns = 0;
+        buildPackedTree(values, order, 0, size, bucketSize, layout, progMon);
+
+        // store the patterns in the order of the terminal buckets
+        final double[] patterns = new double[size * m_k];
+        final Object[] data = new Object[size];
+        for (int i = 0; i < size; i++) {
+            System.arraycopy(values, order[i] * m_k, patterns, i * m_k, m_k);
+            data[i] = m_nodes.get(order[i]).getData();
+        }
+        return new PackedKDTree<T>(m_k, patterns, data,
+                layout.m_splitDimensions, layout.m_splitValues,
+                layout.m_rightChildren, layout.m_bucketStarts,
+                layout.m_bucketEnds);
+    }
+
+    /** The nodes of a packed tree in pre-order. */
+    private static final class PackedLayout {
+        private final int[] m_splitDimensions;
+
+        private final double[] m_splitValues;
+
+        private final int[] m_rightChildren;
+
+        private final int[] m_bucketStarts;
+
+        private final int[] m_bucketEnds;
+
+        private int m_nextNode;
+
+        PackedLayout(final int numNodes) {
+            m_splitDimensions = new int[numNodes];
+            m_splitValues = new double[numNodes];
+            m_rightChildren = new int[numNodes];
+            m_bucketStarts = new int[numNodes];
+            m_bucketEnds = new int[numNodes];
+        }
+    }
+
+    private static int countNodes(final int size, final int bSize) {
+        if (size <= bSize) {
+            return 1;
+        }
+        return 1 + countNodes(size / 2, bSize)
+                + countNodes(size - size / 2, bSize);
+    }
+
+    /**
+     * Recursive method to build the packed tree. It splits the patterns in the
+     * same way as {@link #buildTree(List, int, ExecutionMonitor)}, but only
+     * selects the median instead of sorting the patterns.
+     * 
+     * @param values the patterns one after another
+     * @param order the pattern indices, which are rearranged so that each
+     *            terminal bucket covers a range of them
+     * @param start the first index in the order of the current (sub)tree
+     * @param end the index after the last index of the current (sub)tree
+     * @param bSize the number of patterns inside the terminal nodes
+     * @param layout the nodes built so far
+     * @param progMon an optional progress monitor, can be <code>null</code>
+     * @throws CanceledExecutionException if the execution has been canceled
+     */
+    private void buildPackedTree(final double[] values, final int[] order,
+            final int start, final int end, final int bSize,
+            final PackedLayout layout, final ExecutionMonitor progMon)
+            throws CanceledExecutionException {
+        final int node = layout.m_nextNode++;
+        if (end - start <= bSize) {
+            m_processedPatterns += end - start;
+            layout.m_splitDimensions[node] = -1;
+            layout.m_bucketStarts[node] = start;
+            layout.m_bucketEnds[node] = end;
+            return;
+        }
+
+        double maxSpread = -1;
+        int maxSpreadKey = 0;
+        for (int i = 0; i < m_k; i++) {
+            double curSpread = computeSpread(values, order, start, end, i);
+            if (curSpread > maxSpread) {
+                maxSpread = curSpread;
+                maxSpreadKey = i;
+            }
+        }
+
+        // find the median and split the nodes
+        final int mid = start + (end - start) / 2;
+        select(values, order, start, end - 1, mid - 1, maxSpreadKey);
+        layout.m_splitDimensions[node] = maxSpreadKey;
+        layout.m_splitValues[node] =
+                values[order[mid - 1] * m_k + maxSpreadKey];
+
+        buildPackedTree(values, order, start, mid, bSize, layout, progMon);
+        layout.m_rightChildren[node] = layout.m_nextNode;
+        buildPackedTree(values, order, mid, end, bSize, layout, progMon);
+
+        if (progMon != null) {
+            progMon.checkCanceled();
+            progMon.setProgress(m_processedPatterns / (double)m_nodes.size(),
+                    "Added " + m_processedPatterns + " patterns to the tree");
+        }
+    }
+
+    /**
+     * Rearranges the order between the two (inclusive) indices such that the
+     * pattern with the passed rank is at its sorted position, with all
+     * patterns before being smaller or equal and all patterns after being
+     * greater or equal in the key attribute.
+     */
+    private void select(final double[] values, final int[] order,
+            final int first, final int last, final int rank, final int key) {
+        int lo = first;
+        int hi = last;
+        while (hi > lo) {
+            final double pivot = values[order[(lo + hi) >>> 1] * m_k + key];
+            int i = lo;
+            int j = hi;
+            while (i <= j) {
+                while (values[order[i] * m_k + key] < pivot) {
+                    i++;
+                }
+                while (values[order[j] * m_k + key] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    final int temp = order[i];
+                    order[i] = order[j];
+                    order[j] = temp;
+                    i++;
+                    j--;
+                }
+            }
+            if (rank <= j) {
+                hi = j;
+            } else if (rank >= i) {
+                lo = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private double computeSpread(final double[] values, final int[] order,
+            final int start, final int end, final int key) {
+        double sum = 0;
+        double squareSum = 0;
+
+        for (int i = start; i < end; i++) {
+            final double v = values[order[i] * m_k + key];
+            sum += v;
+            squareSum += v * v;
+        }
+
+        sum /= end - start;
+
+        final double variance = squareSum / (end - start) - sum * sum;
+        return variance;
+    }
+
     /**
      * Recursive method to build the tree.
      * 
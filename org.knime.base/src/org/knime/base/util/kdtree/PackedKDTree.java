@@ -0,0 +1,447 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.base.util.kdtree;
+
+import java.util.Arrays;
+
+/**
+ * A k-d tree with the same search semantics as the {@link KDTree}, but with a packed memory layout: the split
+ * dimensions and values of the nodes are stored in primitive arrays and all patterns are stored in one contiguous
+ * array, ordered as the terminal buckets of the tree. The tree is immutable and all search state lives in a
+ * {@link SearchBuffer} that is supplied by the caller, hence the tree can be queried concurrently by several threads,
+ * each using its own buffer. Apart from growing the buffer on many equidistant patterns, a search does not allocate
+ * any memory.
+ *
+ * For creating a packed k-d tree use {@link KDTreeBuilder#buildPackedTree(int,
+ * org.knime.core.node.ExecutionMonitor)}.
+ *
+ * @param <T> the type of the data that is to be stored in the tree
+ *
+ * @author agent
+ * @since 4.2
+ */
+public final class PackedKDTree<T> {
+
+    /**
+     * The state of a nearest neighbour search and its result. A buffer must only be used by one thread at a time.
+     */
+    public static final class SearchBuffer {
+        private final double[] m_lowerBounds;
+
+        private final double[] m_upperBounds;
+
+        // a max-heap of the candidates during the search, sorted ascending afterwards
+        private double[] m_distances;
+
+        private int[] m_patterns;
+
+        private int m_heapSize;
+
+        private int m_resultSize;
+
+        private SearchBuffer(final int dimensions, final int capacity) {
+            m_lowerBounds = new double[dimensions];
+            m_upperBounds = new double[dimensions];
+            m_distances = new double[capacity];
+            m_patterns = new int[capacity];
+        }
+
+        /**
+         * Returns the number of neighbours found by the last search.
+         *
+         * @return the number of neighbours
+         */
+        public int size() {
+            return m_resultSize;
+        }
+
+        /**
+         * Returns the distance of a neighbour to the query pattern.
+         *
+         * @param index the index of the neighbour, the neighbours are sorted by increasing distance
+         * @return the distance
+         */
+        public double getDistance(final int index) {
+            return m_distances[index];
+        }
+
+        /**
+         * Returns the index of a neighbour inside the tree, see {@link PackedKDTree#getData(int)}.
+         *
+         * @param index the index of the neighbour, the neighbours are sorted by increasing distance
+         * @return the index of the pattern inside the tree
+         */
+        public int getPatternIndex(final int index) {
+            return m_patterns[index];
+        }
+
+        private double farthest(final int k) {
+            return m_heapSize < k ? Double.MAX_VALUE : m_distances[0];
+        }
+
+        private void push(final double distance, final int pattern) {
+            if (m_heapSize == m_distances.length) {
+                m_distances = Arrays.copyOf(m_distances, 2 * m_heapSize + 1);
+                m_patterns = Arrays.copyOf(m_patterns, 2 * m_heapSize + 1);
+            }
+            int i = m_heapSize++;
+            while (i > 0) {
+                final int parent = (i - 1) >>> 1;
+                if (m_distances[parent] >= distance) {
+                    break;
+                }
+                m_distances[i] = m_distances[parent];
+                m_patterns[i] = m_patterns[parent];
+                i = parent;
+            }
+            m_distances[i] = distance;
+            m_patterns[i] = pattern;
+        }
+
+        /*
+         * Removes the farthest candidates after a nearer one has been added, unless they are still needed as
+         * k-th nearest neighbours. All candidates beyond k are equidistant to the farthest one, hence at most
+         * that many are removed.
+         */
+        private void trim(final int k) {
+            final int excess = m_heapSize - k;
+            final double farthest = m_distances[0];
+            int removed = 0;
+            while (removed < excess && m_distances[0] == farthest) {
+                pop();
+                removed++;
+            }
+            if (m_distances[0] == farthest) {
+                // the removed candidates are still in the array, right behind the heap
+                for (int i = 0; i < removed; i++) {
+                    push(m_distances[m_heapSize], m_patterns[m_heapSize]);
+                }
+            }
+        }
+
+        private void pop() {
+            m_heapSize--;
+            swap(0, m_heapSize);
+            siftDown(0, m_heapSize);
+        }
+
+        private void siftDown(final int start, final int heapSize) {
+            int i = start;
+            while (true) {
+                final int left = 2 * i + 1;
+                if (left >= heapSize) {
+                    return;
+                }
+                final int right = left + 1;
+                final int larger =
+                    right < heapSize && m_distances[right] > m_distances[left] ? right : left;
+                if (m_distances[i] >= m_distances[larger]) {
+                    return;
+                }
+                swap(i, larger);
+                i = larger;
+            }
+        }
+
+        private void swap(final int i, final int j) {
+            final double d = m_distances[i];
+            m_distances[i] = m_distances[j];
+            m_distances[j] = d;
+            final int p = m_patterns[i];
+            m_patterns[i] = m_patterns[j];
+            m_patterns[j] = p;
+        }
+
+        /* Sorts the candidates by increasing distance and keeps the k nearest plus all equidistant to the k-th. */
+        private void finish(final int k) {
+            for (int size = m_heapSize - 1; size > 0; size--) {
+                swap(0, size);
+                siftDown(0, size);
+            }
+            int count = Math.min(k, m_heapSize);
+            while (count < m_heapSize && m_distances[count] == m_distances[k - 1]) {
+                count++;
+            }
+            for (int i = 0; i < count; i++) {
+                m_distances[i] = Math.sqrt(m_distances[i]);
+            }
+            m_resultSize = count;
+            m_heapSize = 0;
+        }
+    }
+
+    private final int m_k, m_size;
+
+    private final double[] m_patterns;
+
+    private final Object[] m_data;
+
+    // per node: the split dimension or -1 for terminal buckets
+    private final int[] m_splitDimensions;
+
+    private final double[] m_splitValues;
+
+    // per node: the index of the right child, the left child always directly follows its parent
+    private final int[] m_rightChildren;
+
+    // per terminal bucket: the range of its patterns
+    private final int[] m_bucketStarts;
+
+    private final int[] m_bucketEnds;
+
+    /**
+     * Creates a new packed k-d tree. This constructor is called by the {@link KDTreeBuilder}.
+     *
+     * @param k the number of dimensions of the patterns
+     * @param patterns the patterns in the order of the terminal buckets, one after another
+     * @param data the data associated with the patterns
+     * @param splitDimensions the split dimension per node, -1 for terminal buckets
+     * @param splitValues the split value per node
+     * @param rightChildren the index of the right child per node
+     * @param bucketStarts the index of the first pattern per terminal bucket
+     * @param bucketEnds the index after the last pattern per terminal bucket
+     */
+    PackedKDTree(final int k, final double[] patterns, final Object[] data, final int[] splitDimensions,
+        final double[] splitValues, final int[] rightChildren, final int[] bucketStarts, final int[] bucketEnds) {
+        m_k = k;
+        m_size = data.length;
+        m_patterns = patterns;
+        m_data = data;
+        m_splitDimensions = splitDimensions;
+        m_splitValues = splitValues;
+        m_rightChildren = rightChildren;
+        m_bucketStarts = bucketStarts;
+        m_bucketEnds = bucketEnds;
+    }
+
+    /**
+     * Returns the tree's size, i.e. the number of stored patterns.
+     *
+     * @return the tree's size
+     */
+    public int size() {
+        return m_size;
+    }
+
+    /**
+     * Returns the data associated with a pattern.
+     *
+     * @param patternIndex the index of the pattern inside the tree
+     * @return the data, can be <code>null</code>
+     * @see SearchBuffer#getPatternIndex(int)
+     */
+    @SuppressWarnings("unchecked")
+    public T getData(final int patternIndex) {
+        return (T)m_data[patternIndex];
+    }
+
+    /**
+     * Creates a new buffer for searches in this tree.
+     *
+     * @param k the expected number of nearest neighbours, the buffer grows if necessary
+     * @return a new search buffer
+     */
+    public SearchBuffer createSearchBuffer(final int k) {
+        return new SearchBuffer(m_k, k + 1);
+    }
+
+    /**
+     * Searches for the <code>k</code> nearest neighbours of the <code>query</code> pattern. The result is stored in
+     * the passed buffer, sorted by the distance to the query pattern in increasing order. The result may contain more
+     * than <code>k</code> patterns if the patterns from <code>k</code> to the end have equal distance to the query
+     * pattern.
+     *
+     * @param query the query pattern, must have the same dimensionality as the patterns inside the tree
+     * @param k the number of nearest neighbours to retrieve
+     * @param buffer the buffer for the search state and the result
+     * @return the number of nearest neighbours found
+     */
+    public int getKNearestNeighbours(final double[] query, final int k, final SearchBuffer buffer) {
+        if (query.length != m_k) {
+            throw new IllegalArgumentException("The query vector has not length " + m_k);
+        }
+        if (k > m_size) {
+            throw new IllegalArgumentException(
+                "The tree contains only " + m_size + " elements, but " + k + " were requested");
+        }
+        if (k <= 0) {
+            buffer.m_resultSize = 0;
+            return 0;
+        }
+
+        Arrays.fill(buffer.m_lowerBounds, -Double.MAX_VALUE);
+        Arrays.fill(buffer.m_upperBounds, Double.MAX_VALUE);
+        buffer.m_heapSize = 0;
+        search(0, query, k, buffer);
+        buffer.finish(k);
+        return buffer.m_resultSize;
+    }
+
+    /**
+     * Adds the pattern to the candidates if it is at least as near to the query pattern as the currently farthest
+     * candidate.
+     *
+     * @return <code>true</code> if the pattern was added, <code>false</code> otherwise
+     */
+    private boolean addNewNearestNeighbour(final int pattern, final double[] query, final int k,
+        final SearchBuffer buffer) {
+        final double farthest = buffer.farthest(k);
+        final int offset = pattern * m_k;
+        double distance = 0;
+        for (int i = 0; i < m_k; i++) {
+            final double diff = m_patterns[offset + i] - query[i];
+            distance += diff * diff;
+            if (distance > farthest) {
+                return false;
+            }
+        }
+
+        buffer.push(distance, pattern);
+        if (buffer.m_heapSize > k && farthest > distance) {
+            buffer.trim(k);
+        }
+        return true;
+    }
+
+    /**
+     * Does the recursive search, see {@link KDTree}.
+     *
+     * @return <code>true</code> if the search can be aborted, <code>false</code> if it should be continued
+     */
+    private boolean search(final int node, final double[] query, final int k, final SearchBuffer buffer) {
+        final double[] lowerBounds = buffer.m_lowerBounds;
+        final double[] upperBounds = buffer.m_upperBounds;
+        final int keyIndex = m_splitDimensions[node];
+        if (keyIndex < 0) {
+            boolean newFound = false;
+            for (int p = m_bucketStarts[node]; p < m_bucketEnds[node]; p++) {
+                newFound |= addNewNearestNeighbour(p, query, k, buffer);
+            }
+            return newFound && ballWithinBounds(query, buffer.farthest(k), lowerBounds, upperBounds);
+        }
+
+        final double keyValue = m_splitValues[node];
+        final int left = node + 1;
+        final int right = m_rightChildren[node];
+
+        // recursive call on the closer child node
+        if (query[keyIndex] <= keyValue) {
+            final double temp = upperBounds[keyIndex];
+            upperBounds[keyIndex] = keyValue;
+            final boolean finished = search(left, query, k, buffer);
+            upperBounds[keyIndex] = temp;
+            if (finished) {
+                return true;
+            }
+        } else {
+            final double temp = lowerBounds[keyIndex];
+            lowerBounds[keyIndex] = keyValue;
+            final boolean finished = search(right, query, k, buffer);
+            lowerBounds[keyIndex] = temp;
+            if (finished) {
+                return true;
+            }
+        }
+
+        // recursive call on the farther child node
+        if (query[keyIndex] <= keyValue) {
+            final double temp = lowerBounds[keyIndex];
+            lowerBounds[keyIndex] = keyValue;
+            if (boundsOverlapBall(query, buffer.farthest(k), lowerBounds, upperBounds)) {
+                search(right, query, k, buffer);
+            }
+            lowerBounds[keyIndex] = temp;
+        } else {
+            final double temp = upperBounds[keyIndex];
+            upperBounds[keyIndex] = keyValue;
+            if (boundsOverlapBall(query, buffer.farthest(k), lowerBounds, upperBounds)) {
+                search(left, query, k, buffer);
+            }
+            upperBounds[keyIndex] = temp;
+        }
+
+        return ballWithinBounds(query, buffer.farthest(k), lowerBounds, upperBounds);
+    }
+
+    private boolean boundsOverlapBall(final double[] query, final double farthestDist, final double[] lowerBounds,
+        final double[] upperBounds) {
+        double sum = 0;
+        for (int i = 0; i < m_k; i++) {
+            if (query[i] < lowerBounds[i]) {
+                final double dist = query[i] - lowerBounds[i];
+                sum += dist * dist;
+                if (sum > farthestDist) {
+                    return false;
+                }
+            } else if (query[i] > upperBounds[i]) {
+                final double dist = query[i] - upperBounds[i];
+                sum += dist * dist;
+                if (sum > farthestDist) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private boolean ballWithinBounds(final double[] query, final double farthestDist, final double[] lowerBounds,
+        final double[] upperBounds) {
+        for (int i = 0; i < m_k; i++) {
+            double x = query[i] - lowerBounds[i];
+            if (x * x <= farthestDist) {
+                return false;
+            }
+            x = query[i] - upperBounds[i];
+            if (x * x <= farthestDist) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
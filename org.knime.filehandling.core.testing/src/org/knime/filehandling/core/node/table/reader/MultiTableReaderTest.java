@@ -215,6 +215,24 @@ public void testFillRowOutputWithCallingCreateSpecFirstAndInValidPaths() throws
         verify(m_rowOutput, times(1)).close();
     }
 
+    /**
+     * Tests if {@code fillRowOutput} reads all paths and closes the output if multiple read threads are configured.
+     *
+     * @throws Exception never thrown
+     */
+    @Test
+    public void testFillRowOutputInParallel() throws Exception {
+        stubForCreateSpec();
+        stubForFillRowOutput();
+        when(m_multiReadConfig.getNumReadThreads()).thenReturn(2);
+        m_testInstance.fillRowOutput(asList(m_path1, m_path2), m_multiReadConfig, m_rowOutput, m_exec);
+        verify(m_reader, times(2)).readSpec(any(), any());
+        verify(m_individualTableReader, times(2)).fillOutput(any(), eq(m_rowOutput), eq(m_monitor));
+        verify(m_monitor, times(2)).setProgress(1.0);
+        verify(m_read, times(2)).close();
+        verify(m_rowOutput, times(1)).close();
+    }
+
     /**
      * Tests the {@code reset} method.
      *
@@ -0,0 +1,136 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 5, 2026 (agent): created
+ */
+package org.knime.filehandling.core.node.table.reader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.knime.core.node.KNIMEConstants;
+import org.knime.filehandling.core.node.table.reader.randomaccess.RandomAccessible;
+import org.knime.filehandling.core.node.table.reader.randomaccess.RandomAccessibleUtils;
+import org.knime.filehandling.core.node.table.reader.read.Read;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+/**
+ * Contains unit tests for PrefetchingRead.
+ *
+ * @author agent
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class PrefetchingReadTest {
+
+    @Mock
+    private Read<String> m_source;
+
+    /**
+     * Tests if all rows are returned in the order of the source together with the number of read bytes.
+     *
+     * @throws IOException never thrown
+     */
+    @Test
+    public void testNext() throws IOException {
+        final RandomAccessible<String> first = RandomAccessibleUtils.createFromArray("a", "b");
+        final RandomAccessible<String> second = RandomAccessibleUtils.createFromArray("c", "d");
+        when(m_source.next()).thenReturn(first, second, null);
+        when(m_source.readBytes()).thenReturn(10L, 20L);
+        try (final PrefetchingRead<String> read = new PrefetchingRead<>(m_source, 1)) {
+            read.startPrefetching(KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(1));
+            RandomAccessible<String> next = read.next();
+            assertEquals("a", next.get(0));
+            assertEquals("b", next.get(1));
+            assertEquals(10L, read.readBytes());
+            next = read.next();
+            assertEquals("c", next.get(0));
+            assertEquals("d", next.get(1));
+            assertEquals(20L, read.readBytes());
+            assertNull(read.next());
+            assertNull(read.next());
+        }
+        verify(m_source).close();
+    }
+
+    /**
+     * Tests if an {@link IOException} thrown by the source is rethrown by the consumer.
+     *
+     * @throws IOException expected
+     */
+    @Test(expected = IOException.class)
+    public void testNextRethrowsFailure() throws IOException {
+        when(m_source.next()).thenThrow(new IOException("failure"));
+        try (final PrefetchingRead<String> read = new PrefetchingRead<>(m_source, 1)) {
+            read.startPrefetching(KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(1));
+            read.next();
+        }
+    }
+
+    /**
+     * Tests if closing the read before all rows are consumed stops the prefetching and closes the source.
+     *
+     * @throws IOException never thrown
+     */
+    @Test
+    public void testCloseBeforeConsumption() throws IOException {
+        when(m_source.next()).thenReturn(RandomAccessibleUtils.createFromArray("a"));
+        final PrefetchingRead<String> read = new PrefetchingRead<>(m_source, 1);
+        read.startPrefetching(KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(1));
+        assertEquals("a", read.next().get(0));
+        // the source never ends, hence the producer blocks on the full buffer
+        read.close();
+        read.close();
+        verify(m_source).close();
+    }
+
+}
@@ -49,18 +49,24 @@
 package org.knime.filehandling.core.node.table.reader;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import org.knime.core.data.DataTableSpec;
 import org.knime.core.data.filestore.FileStoreFactory;
 import org.knime.core.node.BufferedDataTable;
 import org.knime.core.node.ExecutionContext;
 import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.KNIMEConstants;
 import org.knime.core.node.streamable.BufferedDataTableRowOutput;
 import org.knime.core.node.streamable.RowOutput;
+import org.knime.core.util.ThreadPool;
 import org.knime.filehandling.core.node.table.reader.config.MultiTableReadConfig;
 import org.knime.filehandling.core.node.table.reader.config.ReaderSpecificConfig;
 import org.knime.filehandling.core.node.table.reader.config.TableReadConfig;
@@ -76,7 +82,11 @@
  * Uses a {@link TableReader} to read tables from multiple paths, combines them according to the user settings and
  * performs type mapping.
  *
- * All I/O is performed in this class and the IndividualTableReader.
+ * All I/O is performed in this class and the IndividualTableReader.</br>
+ * If {@link MultiTableReadConfig#getNumReadThreads()} is larger than 1, the specs of all paths are guessed
+ * concurrently and up to that many paths are read ahead into bounded per-path buffers. The buffered rows are converted
+ * and pushed to the output strictly in path order, hence the output (including the generated row keys) is the same as
+ * for sequential reading.
  *
  * @author Adrian Nembach, KNIME GmbH, Konstanz, Germany
  * @param <T> the type used by the reader to identify individual data types
@@ -84,6 +94,11 @@
  */
 final class MultiTableReader<C extends ReaderSpecificConfig<C>, T, V> {
 
+    /**
+     * The maximal number of rows buffered per path when reading in parallel.
+     */
+    private static final int PREFETCH_BUFFER_SIZE = 1024;
+
     private final TableReader<C, T, V> m_reader;
 
     private final MultiTableReadFactory<T, V> m_multiTableReadFactory;
@@ -125,16 +140,68 @@ public DataTableSpec createTableSpec(final List<Path> paths, final MultiTableRea
 
     private MultiTableRead<V> createMultiRead(final List<Path> paths, final MultiTableReadConfig<C> config)
         throws IOException {
-        final Map<Path, ReaderTableSpec<T>> specs = new LinkedHashMap<>(paths.size());
-        // TODO parallelize
-        for (Path path : paths) {
-            final ReaderTableSpec<T> spec = m_reader.readSpec(path, config.getTableReadConfig());
-            specs.put(path, MultiTableUtils.assignNamesIfMissing(spec));
+        final Map<Path, ReaderTableSpec<T>> specs;
+        if (readInParallel(paths, config)) {
+            specs = readSpecsInParallel(paths, config);
+        } else {
+            specs = new LinkedHashMap<>(paths.size());
+            for (Path path : paths) {
+                final ReaderTableSpec<T> spec = m_reader.readSpec(path, config.getTableReadConfig());
+                specs.put(path, MultiTableUtils.assignNamesIfMissing(spec));
+            }
         }
         m_currentMultiRead = m_multiTableReadFactory.create(specs, config);
         return m_currentMultiRead;
     }
 
+    private static boolean readInParallel(final List<Path> paths, final MultiTableReadConfig<?> config) {
+        return paths.size() > 1 && config.getNumReadThreads() > 1;
+    }
+
+    private Map<Path, ReaderTableSpec<T>> readSpecsInParallel(final List<Path> paths,
+        final MultiTableReadConfig<C> config) throws IOException {
+        final ThreadPool pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(config.getNumReadThreads());
+        final List<Future<ReaderTableSpec<T>>> futures = new ArrayList<>(paths.size());
+        for (Path path : paths) {
+            futures.add(pool.enqueue(() -> m_reader.readSpec(path, config.getTableReadConfig())));
+        }
+        try {
+            return pool.runInvisible(() -> {
+                final Map<Path, ReaderTableSpec<T>> specs = new LinkedHashMap<>(paths.size());
+                for (int i = 0; i < paths.size(); i++) {
+                    specs.put(paths.get(i), MultiTableUtils.assignNamesIfMissing(futures.get(i).get()));
+                }
+                return specs;
+            });
+        } catch (ExecutionException ex) {
+            throw unwrap(ex);
+        } finally {
+            futures.forEach(f -> f.cancel(true));
+        }
+    }
+
+    /**
+     * Unwraps the cause of an {@link ExecutionException} that is possibly nested because the futures are queried from
+     * within {@link ThreadPool#runInvisible(java.util.concurrent.Callable)}.
+     */
+    private static IOException unwrap(final ExecutionException ex) {
+        Throwable cause = ex.getCause();
+        while (cause instanceof ExecutionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        if (cause instanceof IOException) {
+            return (IOException)cause;
+        } else if (cause instanceof RuntimeException) {
+            throw (RuntimeException)cause;
+        } else if (cause instanceof InterruptedException) {
+            final InterruptedIOException iioe = new InterruptedIOException("Interrupted while reading the specs.");
+            iioe.initCause(cause);
+            return iioe;
+        } else {
+            return new IOException(cause);
+        }
+    }
+
     /**
      * Reads a table from the provided {@link Path paths} according to the provided {@link MultiTableReadConfig config}.
      *
@@ -185,8 +252,11 @@ private MultiTableRead<V> getMultiRead(final List<Path> paths, final MultiTableR
     private void fillRowOutput(final MultiTableRead<V> multiTableRead, final List<Path> paths,
         final MultiTableReadConfig<C> config, final RowOutput output, final ExecutionContext exec) throws Exception {
         exec.setMessage("Reading table");
-        // TODO parallelize
         final FileStoreFactory fsFactory = FileStoreFactory.createFileStoreFactory(exec);
+        if (readInParallel(paths, config)) {
+            fillRowOutputInParallel(multiTableRead, paths, config, output, exec, fsFactory);
+            return;
+        }
         for (Path path : paths) {
             final ExecutionMonitor progress = exec.createSubProgress(1.0 / paths.size());
             final TableReadConfig<C> pathSpecificConfig = createIndividualConfig(config.getTableReadConfig());
@@ -201,6 +271,73 @@ private void fillRowOutput(final MultiTableRead<V> multiTableRead, final List<Pa
         output.close();
     }
 
+    /**
+     * Reads ahead up to {@link MultiTableReadConfig#getNumReadThreads()} paths concurrently while converting the rows
+     * of one path after the other on the calling thread. Converting in path order keeps the row keys deterministic.
+     */
+    private void fillRowOutputInParallel(final MultiTableRead<V> multiTableRead, final List<Path> paths,
+        final MultiTableReadConfig<C> config, final RowOutput output, final ExecutionContext exec,
+        final FileStoreFactory fsFactory) throws Exception {
+        final int numThreads = config.getNumReadThreads();
+        final ThreadPool pool = KNIMEConstants.GLOBAL_THREAD_POOL.createSubPool(numThreads);
+        final List<TableReadConfig<C>> individualConfigs = new ArrayList<>(paths.size());
+        final List<PrefetchingRead<V>> reads = new ArrayList<>(paths.size());
+        try {
+            for (int i = 0; i < paths.size(); i++) {
+                // keep numThreads paths ahead of the consumer
+                while (reads.size() < paths.size() && reads.size() < i + numThreads) {
+                    startPrefetching(paths.get(reads.size()), config, pool, individualConfigs, reads);
+                }
+                final Path path = paths.get(i);
+                final ExecutionMonitor progress = exec.createSubProgress(1.0 / paths.size());
+                final IndividualTableReader<V> reader =
+                    multiTableRead.createIndividualTableReader(path, individualConfigs.get(i), fsFactory);
+                try (PrefetchingRead<V> read = reads.get(i)) {
+                    fillOutputInvisible(pool, reader, read, output, progress);
+                }
+                progress.setProgress(1.0);
+            }
+        } finally {
+            // stops the reads that are still prefetching in case of an exception
+            for (PrefetchingRead<V> read : reads) {
+                read.close();
+            }
+        }
+        output.close();
+    }
+
+    @SuppressWarnings("resource") // the PrefetchingRead is closed by the caller
+    private void startPrefetching(final Path path, final MultiTableReadConfig<C> config, final ThreadPool pool,
+        final List<TableReadConfig<C>> individualConfigs, final List<PrefetchingRead<V>> reads) throws IOException {
+        final TableReadConfig<C> pathSpecificConfig = createIndividualConfig(config.getTableReadConfig());
+        final PrefetchingRead<V> read = new PrefetchingRead<>(
+            ReadUtils.decorateForReading(m_reader.read(path, pathSpecificConfig), pathSpecificConfig),
+            PREFETCH_BUFFER_SIZE);
+        individualConfigs.add(pathSpecificConfig);
+        reads.add(read);
+        read.startPrefetching(pool);
+    }
+
+    /**
+     * Fills the output while the calling thread doesn't count towards the thread limit of the pool. Otherwise a
+     * calling thread that belongs to the pool would block a slot needed by the prefetching.
+     */
+    private static <V> void fillOutputInvisible(final ThreadPool pool, final IndividualTableReader<V> reader,
+        final Read<V> read, final RowOutput output, final ExecutionMonitor progress) throws Exception {
+        try {
+            pool.runInvisible(() -> {
+                reader.fillOutput(read, output, progress);
+                return null;
+            });
+        } catch (ExecutionException ex) {
+            final Throwable cause = ex.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception)cause;
+            }
+            throw ex;
+        }
+    }
+
     private TableReadConfig<C> createIndividualConfig(final TableReadConfig<C> generalConfig) {
         return generalConfig.copy();
     }
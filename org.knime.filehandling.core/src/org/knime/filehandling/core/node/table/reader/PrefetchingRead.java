@@ -0,0 +1,221 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 5, 2026 (agent): created
+ */
+package org.knime.filehandling.core.node.table.reader;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.knime.core.util.ThreadPool;
+import org.knime.filehandling.core.node.table.reader.randomaccess.RandomAccessible;
+import org.knime.filehandling.core.node.table.reader.read.AbstractReadDecorator;
+import org.knime.filehandling.core.node.table.reader.read.Read;
+
+/**
+ * A {@link Read} that reads ahead of its consumer on a worker thread and buffers the read rows in a bounded queue.
+ * </br>
+ * Allows the MultiTableReader to tokenize several tables concurrently while still consuming them one after another in
+ * the original path order. The rows returned by {@link #next()} are copies i.e. they are not altered by subsequent
+ * calls.
+ *
+ * @author agent
+ * @param <V> the type of tokens making up a row in the read
+ */
+final class PrefetchingRead<V> extends AbstractReadDecorator<V> {
+
+    private final BlockingQueue<Prefetched<V>> m_buffer;
+
+    private volatile boolean m_closed = false;
+
+    private volatile Exception m_failure = null;
+
+    private Future<?> m_producer;
+
+    private long m_readBytes = 0;
+
+    private boolean m_exhausted = false;
+
+    /**
+     * Constructor.
+     *
+     * @param source the {@link Read} to prefetch from
+     * @param bufferSize the maximal number of rows that are buffered
+     */
+    PrefetchingRead(final Read<V> source, final int bufferSize) {
+        super(source);
+        m_buffer = new ArrayBlockingQueue<>(bufferSize);
+    }
+
+    /**
+     * Starts reading from the source on a thread of the provided {@link ThreadPool}. Must be called at most once.
+     *
+     * @param pool the {@link ThreadPool} to read on
+     */
+    void startPrefetching(final ThreadPool pool) {
+        m_producer = pool.enqueue(this::prefetch);
+    }
+
+    private void prefetch() {
+        final Read<V> source = getSource();
+        try {
+            RandomAccessible<V> next;
+            while (!m_closed && (next = source.next()) != null) {
+                m_buffer.put(new Prefetched<>(next.copy(), source.readBytes()));
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            m_failure = ex;
+        } catch (IOException | RuntimeException ex) {
+            m_failure = ex;
+        }
+        if (!m_closed) {
+            try {
+                m_buffer.put(Prefetched.end());
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public RandomAccessible<V> next() throws IOException {
+        if (m_exhausted) {
+            return null;
+        }
+        final Prefetched<V> next;
+        try {
+            next = m_buffer.take();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            final InterruptedIOException iioe = new InterruptedIOException("Interrupted while waiting for rows.");
+            iioe.initCause(ex);
+            throw iioe;
+        }
+        if (next.isEnd()) {
+            m_exhausted = true;
+            rethrowFailure();
+            return null;
+        }
+        m_readBytes = next.m_readBytes;
+        return next.m_row;
+    }
+
+    private void rethrowFailure() throws IOException {
+        final Exception failure = m_failure;
+        if (failure instanceof IOException) {
+            throw (IOException)failure;
+        } else if (failure instanceof RuntimeException) {
+            throw (RuntimeException)failure;
+        } else if (failure != null) {
+            throw new IOException(failure);
+        }
+    }
+
+    @Override
+    public long readBytes() {
+        return m_readBytes;
+    }
+
+    /**
+     * Stops the prefetching and closes the underlying {@link Read}. Subsequent calls have no effect.
+     */
+    @Override
+    public void close() throws IOException {
+        if (m_closed) {
+            return;
+        }
+        m_closed = true;
+        if (m_producer != null) {
+            // frees the producer in case it is blocked on a full buffer
+            m_buffer.clear();
+            try {
+                m_producer.get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                m_producer.cancel(true);
+            } catch (ExecutionException ex) {
+                // the producer doesn't throw, hence this can only happen if the pool failed
+                throw new IOException(ex.getCause());
+            }
+        }
+        super.close();
+    }
+
+    /**
+     * A buffered row together with the number of bytes the source had read after reading it.
+     *
+     * @author agent
+     */
+    private static final class Prefetched<V> {
+
+        private static final Prefetched<?> END = new Prefetched<>(null, -1);
+
+        private final RandomAccessible<V> m_row;
+
+        private final long m_readBytes;
+
+        Prefetched(final RandomAccessible<V> row, final long readBytes) {
+            m_row = row;
+            m_readBytes = readBytes;
+        }
+
+        @SuppressWarnings("unchecked")
+        static <V> Prefetched<V> end() {
+            return (Prefetched<V>)END;
+        }
+
+        boolean isEnd() {
+            return this == END;
+        }
+    }
+
+}
@@ -68,12 +68,18 @@
 
     private static final String CFG_TABLE_READ_CONFIG = "table_read_config";
 
+    private static final String CFG_NUM_READ_THREADS = "num_read_threads";
+
+    private static final int DEFAULT_NUM_READ_THREADS = 1;
+
     private final TableReadConfig<C> m_tableReadConfig;
 
     //    private final TypeMappingConfig m_typeMappingConfig;
 
     private SpecMergeMode m_specMergeMode = SpecMergeMode.FAIL_ON_DIFFERING_SPECS;
 
+    private int m_numReadThreads = DEFAULT_NUM_READ_THREADS;
+
     DefaultMultiTableReadConfig(final TableReadConfig<C> tableReadConfig) {
         m_tableReadConfig = tableReadConfig;
         //        m_typeMappingConfig = typeMappingConfig;
@@ -94,6 +100,8 @@ public void loadInModel(final NodeSettingsRO settings) throws InvalidSettingsExc
         m_tableReadConfig.loadInModel(settings.getNodeSettings(CFG_TABLE_READ_CONFIG));
         //        m_typeMappingConfig.loadInModel(settings.getNodeSettings(CFG_TYPE_MAPPING_CONFIG));
         m_specMergeMode = SpecMergeMode.valueOf(settings.getString(CFG_SPEC_MERGE_MODE));
+        // added later, hence the default value for backwards compatibility
+        m_numReadThreads = settings.getInt(CFG_NUM_READ_THREADS, DEFAULT_NUM_READ_THREADS);
     }
 
     @Override
@@ -102,6 +110,7 @@ public void loadInDialog(final NodeSettingsRO settings) {
         //        m_typeMappingConfig.loadInDialog(getOrEmpty(settings, CFG_TYPE_MAPPING_CONFIG));
         m_specMergeMode = SpecMergeMode
             .valueOf(settings.getString(CFG_SPEC_MERGE_MODE, SpecMergeMode.FAIL_ON_DIFFERING_SPECS.name()));
+        m_numReadThreads = settings.getInt(CFG_NUM_READ_THREADS, DEFAULT_NUM_READ_THREADS);
     }
 
     @Override
@@ -109,6 +118,7 @@ public void save(final NodeSettingsWO settings) {
         m_tableReadConfig.save(settings.addNodeSettings(CFG_TABLE_READ_CONFIG));
         //        m_typeMappingConfig.save(settings.addNodeSettings(CFG_TYPE_MAPPING_CONFIG));
         settings.addString(CFG_SPEC_MERGE_MODE, m_specMergeMode.name());
+        settings.addInt(CFG_NUM_READ_THREADS, m_numReadThreads);
     }
 
     @Override
@@ -116,6 +126,9 @@ public void validate(final NodeSettingsRO settings) throws InvalidSettingsExcept
         m_tableReadConfig.validate(settings.getNodeSettings(CFG_TABLE_READ_CONFIG));
         //        m_typeMappingConfig.validate(settings.getNodeSettings(CFG_TYPE_MAPPING_CONFIG));
         settings.getString(CFG_SPEC_MERGE_MODE);
+        if (settings.getInt(CFG_NUM_READ_THREADS, DEFAULT_NUM_READ_THREADS) < 1) {
+            throw new InvalidSettingsException("The number of read threads must be at least 1.");
+        }
     }
 
     @Override
@@ -123,4 +136,14 @@ public void setSpecMergeMode(final SpecMergeMode mode) {
         m_specMergeMode = mode;
     }
 
+    @Override
+    public int getNumReadThreads() {
+        return m_numReadThreads;
+    }
+
+    @Override
+    public void setNumReadThreads(final int numReadThreads) {
+        m_numReadThreads = numReadThreads;
+    }
+
 }
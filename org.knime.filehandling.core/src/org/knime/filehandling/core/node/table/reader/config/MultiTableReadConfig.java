@@ -79,4 +79,19 @@
      */
     void setSpecMergeMode(final SpecMergeMode mode);
 
+    /**
+     * Returns the number of threads used to guess the specs of and to read from multiple sources concurrently.
+     *
+     * @return the number of read threads, a value of 1 or less means that the sources are read sequentially
+     */
+    int getNumReadThreads();
+
+    /**
+     * Sets the number of threads used to guess the specs of and to read from multiple sources concurrently.
+     *
+     * @param numReadThreads the number of read threads, a value of 1 or less means that the sources are read
+     *            sequentially
+     */
+    void setNumReadThreads(final int numReadThreads);
+
 }
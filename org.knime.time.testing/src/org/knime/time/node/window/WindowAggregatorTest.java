@@ -0,0 +1,157 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.time.node.window;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Compares the incremental aggregates of the {@link WindowAggregator} with aggregates computed from scratch.
+ *
+ * @author agent
+ */
+public class WindowAggregatorTest {
+
+    private static final int NUM_COLS = 2;
+
+    private static double createValue(final Random random) {
+        final int kind = random.nextInt(50);
+        if (kind == 0) {
+            return Double.NaN;
+        } else if (kind == 1) {
+            return Double.POSITIVE_INFINITY;
+        } else if (kind == 2) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        return random.nextGaussian() * 1e6;
+    }
+
+    private static void assertAggregates(final WindowAggregator aggregator, final ArrayDeque<double[]> window,
+        final ArrayDeque<boolean[]> missing) {
+        assertEquals("Size", window.size(), aggregator.size());
+        for (int c = 0; c < NUM_COLS; c++) {
+            int count = 0;
+            double sum = 0;
+            double min = Double.NaN;
+            double max = Double.NaN;
+            final Iterator<boolean[]> missingIter = missing.iterator();
+            for (double[] values : window) {
+                if (missingIter.next()[c]) {
+                    continue;
+                }
+                final double value = values[c];
+                count++;
+                sum += value;
+                if (!Double.isNaN(value)) {
+                    min = Double.isNaN(min) ? value : Math.min(min, value);
+                    max = Double.isNaN(max) ? value : Math.max(max, value);
+                }
+            }
+            assertEquals("Count", count, aggregator.getCount(c));
+            assertEquals("Sum", sum, aggregator.getSum(c), Math.abs(sum) * 1e-12 + 1e-6);
+            assertEquals("Mean", count == 0 ? Double.NaN : sum / count, aggregator.getMean(c),
+                Math.abs(sum) * 1e-12 + 1e-6);
+            assertEquals("Min", min, aggregator.getMin(c), 0);
+            assertEquals("Max", max, aggregator.getMax(c), 0);
+        }
+    }
+
+    /**
+     * Adds and evicts random rows, including missing, NaN and infinite values.
+     */
+    @Test
+    public void testRandomWindow() {
+        final Random random = new Random(42);
+        final WindowAggregator aggregator = new WindowAggregator(NUM_COLS);
+        final ArrayDeque<double[]> window = new ArrayDeque<>();
+        final ArrayDeque<boolean[]> missing = new ArrayDeque<>();
+        for (int i = 0; i < 20000; i++) {
+            // grow up to a few hundred rows, then keep the size roughly stable
+            if (window.isEmpty() || random.nextInt(window.size() < 300 ? 4 : 2) != 0) {
+                final double[] values = new double[NUM_COLS];
+                final boolean[] isMissing = new boolean[NUM_COLS];
+                for (int c = 0; c < NUM_COLS; c++) {
+                    values[c] = createValue(random);
+                    isMissing[c] = random.nextInt(20) == 0;
+                }
+                aggregator.add(values, isMissing);
+                window.add(values.clone());
+                missing.add(isMissing.clone());
+            } else {
+                aggregator.evict();
+                window.removeFirst();
+                missing.removeFirst();
+            }
+            assertAggregates(aggregator, window, missing);
+        }
+    }
+
+    /**
+     * Tests the minimum and maximum of a window sliding over a monotonic sequence.
+     */
+    @Test
+    public void testMonotonic() {
+        final WindowAggregator aggregator = new WindowAggregator(1);
+        final boolean[] missing = new boolean[1];
+        for (int i = 0; i < 1000; i++) {
+            aggregator.add(new double[]{i}, missing);
+            if (aggregator.size() > 10) {
+                aggregator.evict();
+            }
+            assertEquals("Min", Math.max(0, i - 9), aggregator.getMin(0), 0);
+            assertEquals("Max", i, aggregator.getMax(0), 0);
+            assertEquals("Sum", (i + Math.max(0, i - 9)) * (double)aggregator.size() / 2, aggregator.getSum(0), 0);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   18.10.2026 (agent): created
+ */
+package org.knime.time.util;
+
+import static org.junit.Assert.assertEquals;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZonedDateTime;
+import java.time.chrono.Chronology;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+
+import org.junit.Test;
+
+/**
+ * Compares the results of {@link DateTimeParser} with the ones of a {@link DateTimeFormatter}.
+ *
+ * @author agent
+ */
+public class DateTimeParserTest {
+
+    private static Object parseWithFormatter(final String text, final String pattern, final Locale locale,
+        final DateTimeType type) {
+        final DateTimeFormatter formatter =
+            DateTimeFormatter.ofPattern(pattern, locale).withChronology(Chronology.ofLocale(locale));
+        try {
+            switch (type) {
+                case LOCAL_DATE:
+                    return LocalDate.parse(text, formatter);
+                case LOCAL_TIME:
+                    return LocalTime.parse(text, formatter);
+                case LOCAL_DATE_TIME:
+                    return LocalDateTime.parse(text, formatter);
+                default:
+                    return ZonedDateTime.parse(text, formatter);
+            }
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static void check(final String pattern, final DateTimeType type, final String... texts) {
+        for (final Locale locale : new Locale[]{Locale.US, Locale.forLanguageTag("th-TH")}) {
+            final DateTimeParser parser = DateTimeParser.create(pattern, locale, type);
+            for (final String text : texts) {
+                Object parsed;
+                try {
+                    parsed = parser.parse(text);
+                } catch (DateTimeParseException e) {
+                    parsed = null;
+                }
+                assertEquals("Parsing '" + text + "' with '" + pattern + "' (" + locale + ")",
+                    parseWithFormatter(text, pattern, locale, type), parsed);
+            }
+        }
+    }
+
+    /**
+     * Tests patterns of fixed width numeric fields including values the formatter adjusts.
+     */
+    @Test
+    public void testFixedWidthPatterns() {
+        check("yyyy-MM-dd", DateTimeType.LOCAL_DATE, "2020-02-29", "2019-02-29", "2019-02-30", "2019-04-31",
+            "0000-01-01", "2019-13-01", "2019-1-01", "12019-01-01", "2019-01-01 ", "2019/01/01");
+        check("dd.MM.uuuu", DateTimeType.LOCAL_DATE, "31.12.1999", "00.12.1999", "31.12.0000");
+        check("yyyyMMddHHmmss", DateTimeType.LOCAL_DATE_TIME, "20191231235959", "20191231240000",
+            "2019123123595", "201912312359599");
+        check("HH:mm:ss.SSS", DateTimeType.LOCAL_TIME, "23:59:59.999", "00:00:00.001", "24:00:00.000",
+            "12:60:00.000", "12:00:00.1");
+    }
+
+    /**
+     * Tests patterns with optional sections, e.g. the default pattern of the String to Date&amp;Time node.
+     */
+    @Test
+    public void testOptionalSections() {
+        check("yyyy-MM-dd'T'HH:mm[:ss[.SSS]]", DateTimeType.LOCAL_DATE_TIME, "2020-01-01T10:15",
+            "2020-01-01T10:15:30", "2020-01-01T10:15:30.123", "2020-01-01T10:15:30.12", "2020-01-01T10:15:",
+            "2020-01-01T10");
+        check("[yyyy-]MM-dd", DateTimeType.LOCAL_DATE, "2020-01-01", "01-01");
+    }
+
+    /**
+     * Tests patterns that are only parsed by the formatter.
+     */
+    @Test
+    public void testOtherPatterns() {
+        check("d. MMMM yyyy", DateTimeType.LOCAL_DATE, "1. January 2020", "31. February 2020", "1. Jan 2020");
+        check("yyyy-MM-dd'T'HH:mm:ssVV", DateTimeType.ZONED_DATE_TIME, "2020-01-01T10:15:30Europe/Berlin",
+            "2020-01-01T10:15:30Europe/Berlin", "2020-01-01T10:15:30");
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.time.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.Test;
+
+/**
+ * Tests the {@link ParseCache}.
+ *
+ * @author agent
+ */
+public class ParseCacheTest {
+
+    /**
+     * Checks that repeated texts are served from the cache and that the cache stays enabled.
+     */
+    @Test
+    public void testRepeatedTexts() {
+        final ParseCache<Integer> cache = new ParseCache<>(ParseCache.DEFAULT_CAPACITY);
+        final AtomicInteger calls = new AtomicInteger();
+        final Function<String, Integer> parser = t -> {
+            calls.incrementAndGet();
+            return Integer.valueOf(t);
+        };
+        for (int i = 0; i < 4 * ParseCache.PROBE_LOOKUPS; i++) {
+            assertEquals(i % 100, cache.get(Integer.toString(i % 100), parser).intValue());
+        }
+        assertTrue("Cache disabled", cache.isEnabled());
+        assertEquals("Number of parsed texts", 100, calls.get());
+    }
+
+    /**
+     * Checks that the cache switches itself off for unique texts and keeps returning correct results afterwards.
+     */
+    @Test
+    public void testUniqueTextsDisableCache() {
+        final ParseCache<Integer> cache = new ParseCache<>(ParseCache.DEFAULT_CAPACITY);
+        final AtomicInteger calls = new AtomicInteger();
+        final Function<String, Integer> parser = t -> {
+            calls.incrementAndGet();
+            return Integer.valueOf(t);
+        };
+        for (int i = 0; i < ParseCache.PROBE_LOOKUPS; i++) {
+            assertEquals(i, cache.get(Integer.toString(i), parser).intValue());
+        }
+        assertFalse("Cache still enabled", cache.isEnabled());
+        for (int i = 0; i < ParseCache.PROBE_LOOKUPS; i++) {
+            // also texts that have been cached before
+            assertEquals(i % 10, cache.get(Integer.toString(i % 10), parser).intValue());
+        }
+        assertEquals("Number of parsed texts", 2 * ParseCache.PROBE_LOOKUPS, calls.get());
+    }
+
+    /**
+     * Checks the results of threads sharing a cache that is switched off while they use it.
+     *
+     * @throws Exception if a thread fails
+     */
+    @Test
+    public void testConcurrentAccess() throws Exception {
+        final ParseCache<Integer> cache = new ParseCache<>(64);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<Void>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                final int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < ParseCache.PROBE_LOOKUPS; i++) {
+                        final int value = thread * ParseCache.PROBE_LOOKUPS + i;
+                        assertEquals(value, cache.get(Integer.toString(value), Integer::valueOf).intValue());
+                    }
+                    return null;
+                }));
+            }
+            for (final Future<Void> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertFalse("Cache still enabled", cache.isEnabled());
+    }
+}
@@ -52,9 +52,9 @@
 import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.ZonedDateTime;
-import java.time.chrono.Chronology;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.time.temporal.Temporal;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.LinkedHashSet;
@@ -89,6 +89,7 @@
 import org.knime.core.node.util.StringHistory;
 import org.knime.core.node.util.filter.InputFilter;
 import org.knime.core.util.UniqueNameGenerator;
+import org.knime.time.util.DateTimeParser;
 import org.knime.time.util.DateTimeType;
 
 /**
@@ -358,6 +359,8 @@ protected void reset() {
     final class StringToTimeCellFactory extends SingleCellFactory {
         private final int m_colIndex;
 
+        private final DateTimeParser m_parser;
+
         /**
          * @param inSpec spec of the column after computation
          * @param colIndex index of the column to work on
@@ -365,6 +368,8 @@ final class StringToTimeCellFactory extends SingleCellFactory {
         public StringToTimeCellFactory(final DataColumnSpec inSpec, final int colIndex) {
             super(inSpec);
             m_colIndex = colIndex;
+            m_parser = DateTimeParser.create(m_format.getStringValue(),
+                Locale.forLanguageTag(m_locale.getStringValue()), DateTimeType.valueOf(m_selectedType));
         }
 
         /**
@@ -378,26 +383,20 @@ public DataCell getCell(final DataRow row) {
             }
             try {
                 final String input = ((StringValue)cell).getStringValue();
-                final Locale locale = Locale.forLanguageTag(m_locale.getStringValue());
-                final DateTimeFormatter formatter = DateTimeFormatter.ofPattern(m_format.getStringValue(), locale)
-                    .withChronology(Chronology.ofLocale(locale));
+                final Temporal temporal = m_parser.parse(input);
 
-                switch (DateTimeType.valueOf(m_selectedType)) {
+                switch (m_parser.getType()) {
                     case LOCAL_DATE: {
-                        final LocalDate ld = LocalDate.parse(input, formatter);
-                        return LocalDateCellFactory.create(ld);
+                        return LocalDateCellFactory.create((LocalDate)temporal);
                     }
                     case LOCAL_TIME: {
-                        final LocalTime lt = LocalTime.parse(input, formatter);
-                        return LocalTimeCellFactory.create(lt);
+                        return LocalTimeCellFactory.create((LocalTime)temporal);
                     }
                     case LOCAL_DATE_TIME: {
-                        final LocalDateTime ldt = LocalDateTime.parse(input, formatter);
-                        return LocalDateTimeCellFactory.create(ldt);
+                        return LocalDateTimeCellFactory.create((LocalDateTime)temporal);
                     }
                     case ZONED_DATE_TIME: {
-                        final ZonedDateTime zdt = ZonedDateTime.parse(input, formatter);
-                        return ZonedDateTimeCellFactory.create(zdt);
+                        return ZonedDateTimeCellFactory.create((ZonedDateTime)temporal);
                     }
                     default:
                         throw new IllegalStateException("Unhandled date&time type: " + m_selectedType);
@@ -96,7 +96,7 @@
 import org.knime.core.node.streamable.simple.SimpleStreamableOperatorInternals;
 import org.knime.core.node.util.filter.InputFilter;
 import org.knime.core.util.UniqueNameGenerator;
-import org.knime.time.util.DurationPeriodFormatUtils;
+import org.knime.time.util.DurationPeriodParser;
 
 /**
  * The node model of the node which converts string cells to period or duration cells.
@@ -126,6 +126,9 @@ final class StringToDurationPeriodNodeModel extends NodeModel {
 
     private DataType[] m_detectedTypes;
 
+    /** Remembers recently parsed strings, shared by all columns and the streaming operators. */
+    private final DurationPeriodParser m_parser = new DurationPeriodParser();
+
     private boolean m_hasValidatedConfiguration = false;
 
     /** @return the column select model, used in both dialog and model. */
@@ -256,11 +259,11 @@ private void detectTypes(final RowInput rowInput) throws InterruptedException {
                         } else {
                             final String string = ((StringValue)cell).getStringValue();
                             try {
-                                DurationPeriodFormatUtils.parseDuration(string);
+                                m_parser.parseDuration(string);
                                 m_detectedTypes[i] = DurationCellFactory.TYPE;
                             } catch (DateTimeParseException e1) {
                                 try {
-                                    DurationPeriodFormatUtils.parsePeriod(string);
+                                    m_parser.parsePeriod(string);
                                     m_detectedTypes[i] = PeriodCellFactory.TYPE;
                                 } catch (DateTimeParseException e2) {
                                     isCellMissing = true;
@@ -374,7 +377,7 @@ public DataCell getCell(final DataRow row) {
             if (newColumnSpec.getType().equals(DurationCellFactory.TYPE)) {
                 try {
                     return DurationCellFactory
-                        .create(DurationPeriodFormatUtils.parseDuration(((StringValue)cell).getStringValue()));
+                        .create(m_parser.parseDuration(((StringValue)cell).getStringValue()));
                 } catch (DateTimeParseException e) {
                     if (m_cancelOnFail.getBooleanValue()) {
                         throw new IllegalArgumentException(
@@ -386,7 +389,7 @@ public DataCell getCell(final DataRow row) {
             } else {
                 try {
                     return PeriodCellFactory
-                        .create(DurationPeriodFormatUtils.parsePeriod(((StringValue)cell).getStringValue()));
+                        .create(m_parser.parsePeriod(((StringValue)cell).getStringValue()));
                 } catch (DateTimeParseException e) {
                     if (m_cancelOnFail.getBooleanValue()) {
                         throw new IllegalArgumentException(
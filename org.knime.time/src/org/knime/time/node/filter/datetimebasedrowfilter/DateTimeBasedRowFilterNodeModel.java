@@ -54,6 +54,7 @@
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.Period;
 import java.time.ZonedDateTime;
 import java.time.temporal.Temporal;
 import java.time.temporal.TemporalAmount;
@@ -87,7 +88,7 @@
 import org.knime.core.node.streamable.RowInput;
 import org.knime.core.node.streamable.RowOutput;
 import org.knime.core.node.streamable.StreamableOperator;
-import org.knime.time.util.DurationPeriodFormatUtils;
+import org.knime.time.util.DurationPeriodParser;
 import org.knime.time.util.Granularity;
 import org.knime.time.util.SettingsModelDateTime;
 
@@ -129,6 +130,9 @@ final class DateTimeBasedRowFilterNodeModel extends NodeModel {
 
     private final SettingsModelBoolean m_endAlwaysNow = createEndAlwaysNowModel();
 
+    /** Parses the period or duration of the end, which is needed for every row. */
+    private final DurationPeriodParser m_periodParser = new DurationPeriodParser();
+
     /** @return the column select model, used in both dialog and model. */
     static SettingsModelString createColSelectModel() {
         return new SettingsModelString("col_select", null);
@@ -498,10 +502,16 @@ private Temporal calculateEndDateTime(final Temporal startDateTime, final Tempor
         throws ArithmeticException, DateTimeException {
         Temporal end = endDateTime;
         if (m_endSelection.getStringValue().equals(EndMode.Duration.name())) {
+            final String periodValue = m_periodValueModel.getStringValue();
+            final TemporalAmount amount = m_periodParser.parsePeriodOrDuration(periodValue);
             try {
-                end = startDateTime.plus(DurationPeriodFormatUtils.parsePeriod(m_periodValueModel.getStringValue()));
+                end = startDateTime.plus(amount);
             } catch (DateTimeException e1) {
-                end = startDateTime.plus(DurationPeriodFormatUtils.parseDuration(m_periodValueModel.getStringValue()));
+                if (!(amount instanceof Period)) {
+                    throw e1;
+                }
+                // e.g. a period cannot be added to a time, try to read it as duration
+                end = startDateTime.plus(m_periodParser.parseDuration(periodValue));
             }
         }
         if (m_endSelection.getStringValue().equals(EndMode.Numerical.name())) {
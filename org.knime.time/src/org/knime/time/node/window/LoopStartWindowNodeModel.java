@@ -217,7 +217,7 @@ protected DataTableSpec[] configure(final DataTableSpec[] inSpecs) throws Invali
      * @param amount string that shall be parsed
      * @return TemporalAmount of the string or {@code null} if it cannot be parsed to Duration or Period.
      */
-    private TemporalAmount getTemporalAmount(String amount) {
+    static TemporalAmount getTemporalAmount(String amount) {
         /* Change milliseconds to seconds to allow parsing. */
         if(amount.endsWith(Unit.MILLISECONDS.getUnitLetter())){
             String tempAmount = amount.substring(0, amount.length() - Unit.MILLISECONDS.getUnitLetter().length());
@@ -1221,7 +1221,7 @@ && compareTemporal(nextTemporalStart, tempNextEnd) <= 0) {
      * @param t2 second temporal
      * @return the comparator value, negative if less, positive if greater
      */
-    private int compareTemporal(final Temporal t1, final Temporal t2) {
+    static int compareTemporal(final Temporal t1, final Temporal t2) {
         if (t1 instanceof LocalTime) {
             return ((LocalTime)t1).compareTo((LocalTime)t2);
         } else if (t1 instanceof LocalDateTime) {
@@ -1242,7 +1242,7 @@ private int compareTemporal(final Temporal t1, final Temporal t2) {
      * @param cell which holds the content
      * @return temporal object of the cell, null if the DataCell does not contain a temporal object.
      */
-    private Temporal getTemporal(final DataCell cell) {
+    static Temporal getTemporal(final DataCell cell) {
         if (cell instanceof LocalTimeCell) {
             return ((LocalTimeCell)cell).getLocalTime();
         } else if (cell instanceof LocalDateCell) {
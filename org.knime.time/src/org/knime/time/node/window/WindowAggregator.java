@@ -0,0 +1,351 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.time.node.window;
+
+/**
+ * Aggregates the values of a sliding window. Values are added at the end of the window and evicted from its start;
+ * sum, mean, count, minimum and maximum of each column are updated incrementally, so that the cost per row does not
+ * depend on the size of the window. The values are kept in a primitive ring buffer, minimum and maximum are kept with
+ * monotonic deques of the positions of their candidates.
+ *
+ * @author agent
+ */
+final class WindowAggregator {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int m_numCols;
+
+    /* Ring buffer of the values, indexed by column and position modulo capacity. */
+    private double[][] m_values;
+
+    private boolean[][] m_missing;
+
+    private int m_capacity;
+
+    /* Positions of the first and the next row, the rows in the window are [m_first, m_next). */
+    private long m_first;
+
+    private long m_next;
+
+    /* Number of non-missing values per column. */
+    private final int[] m_counts;
+
+    /* Number of NaN, positive and negative infinite values per column, they are not part of the sums. */
+    private final int[] m_nanCounts;
+
+    private final int[] m_posInfCounts;
+
+    private final int[] m_negInfCounts;
+
+    /* Compensated sums of the finite values per column. */
+    private final double[] m_sums;
+
+    private final double[] m_compensations;
+
+    private final LongDeque[] m_minDeques;
+
+    private final LongDeque[] m_maxDeques;
+
+    /**
+     * @param numCols the number of aggregated columns
+     */
+    WindowAggregator(final int numCols) {
+        m_numCols = numCols;
+        m_capacity = INITIAL_CAPACITY;
+        m_values = new double[numCols][m_capacity];
+        m_missing = new boolean[numCols][m_capacity];
+        m_counts = new int[numCols];
+        m_nanCounts = new int[numCols];
+        m_posInfCounts = new int[numCols];
+        m_negInfCounts = new int[numCols];
+        m_sums = new double[numCols];
+        m_compensations = new double[numCols];
+        m_minDeques = new LongDeque[numCols];
+        m_maxDeques = new LongDeque[numCols];
+        for (int c = 0; c < numCols; c++) {
+            m_minDeques[c] = new LongDeque(m_capacity);
+            m_maxDeques[c] = new LongDeque(m_capacity);
+        }
+    }
+
+    /** @return the number of rows in the window */
+    int size() {
+        return (int)(m_next - m_first);
+    }
+
+    /**
+     * Adds a row at the end of the window.
+     *
+     * @param values the values of the row, one per column
+     * @param missing which of the values are missing
+     */
+    void add(final double[] values, final boolean[] missing) {
+        if (size() == m_capacity) {
+            grow();
+        }
+        final long position = m_next++;
+        final int slot = slot(position);
+        for (int c = 0; c < m_numCols; c++) {
+            m_missing[c][slot] = missing[c];
+            if (missing[c]) {
+                continue;
+            }
+            final double value = values[c];
+            m_values[c][slot] = value;
+            m_counts[c]++;
+            if (Double.isNaN(value)) {
+                m_nanCounts[c]++;
+                continue;
+            }
+            if (value == Double.POSITIVE_INFINITY) {
+                m_posInfCounts[c]++;
+            } else if (value == Double.NEGATIVE_INFINITY) {
+                m_negInfCounts[c]++;
+            } else {
+                addToSum(c, value);
+            }
+            final LongDeque minDeque = m_minDeques[c];
+            while (!minDeque.isEmpty() && m_values[c][slot(minDeque.getLast())] >= value) {
+                minDeque.removeLast();
+            }
+            minDeque.addLast(position);
+            final LongDeque maxDeque = m_maxDeques[c];
+            while (!maxDeque.isEmpty() && m_values[c][slot(maxDeque.getLast())] <= value) {
+                maxDeque.removeLast();
+            }
+            maxDeque.addLast(position);
+        }
+    }
+
+    /**
+     * Removes the first row of the window.
+     *
+     * @throws IllegalStateException if the window is empty
+     */
+    void evict() {
+        if (m_next == m_first) {
+            throw new IllegalStateException("The window is empty");
+        }
+        final long position = m_first++;
+        final int slot = slot(position);
+        for (int c = 0; c < m_numCols; c++) {
+            if (m_missing[c][slot]) {
+                continue;
+            }
+            final double value = m_values[c][slot];
+            m_counts[c]--;
+            if (Double.isNaN(value)) {
+                m_nanCounts[c]--;
+                continue;
+            }
+            if (value == Double.POSITIVE_INFINITY) {
+                m_posInfCounts[c]--;
+            } else if (value == Double.NEGATIVE_INFINITY) {
+                m_negInfCounts[c]--;
+            } else {
+                addToSum(c, -value);
+                if (m_counts[c] == m_nanCounts[c] + m_posInfCounts[c] + m_negInfCounts[c]) {
+                    // start over with an exact sum once there are no finite values left
+                    m_sums[c] = 0;
+                    m_compensations[c] = 0;
+                }
+            }
+            if (!m_minDeques[c].isEmpty() && m_minDeques[c].getFirst() == position) {
+                m_minDeques[c].removeFirst();
+            }
+            if (!m_maxDeques[c].isEmpty() && m_maxDeques[c].getFirst() == position) {
+                m_maxDeques[c].removeFirst();
+            }
+        }
+    }
+
+    /** Removes all rows of the window. */
+    void clear() {
+        while (m_first < m_next) {
+            evict();
+        }
+    }
+
+    /**
+     * @param column the index of the column
+     * @return the number of non-missing values of the column in the window
+     */
+    int getCount(final int column) {
+        return m_counts[column];
+    }
+
+    /**
+     * @param column the index of the column
+     * @return the sum of the non-missing values of the column in the window, 0 if there are none
+     */
+    double getSum(final int column) {
+        if (m_nanCounts[column] > 0 || (m_posInfCounts[column] > 0 && m_negInfCounts[column] > 0)) {
+            return Double.NaN;
+        } else if (m_posInfCounts[column] > 0) {
+            return Double.POSITIVE_INFINITY;
+        } else if (m_negInfCounts[column] > 0) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        return m_sums[column] + m_compensations[column];
+    }
+
+    /**
+     * @param column the index of the column
+     * @return the mean of the non-missing values of the column in the window, NaN if there are none
+     */
+    double getMean(final int column) {
+        return m_counts[column] == 0 ? Double.NaN : getSum(column) / m_counts[column];
+    }
+
+    /**
+     * @param column the index of the column
+     * @return the minimum of the non-missing values of the column in the window ignoring NaN, NaN if there are none
+     */
+    double getMin(final int column) {
+        final LongDeque deque = m_minDeques[column];
+        return deque.isEmpty() ? Double.NaN : m_values[column][slot(deque.getFirst())];
+    }
+
+    /**
+     * @param column the index of the column
+     * @return the maximum of the non-missing values of the column in the window ignoring NaN, NaN if there are none
+     */
+    double getMax(final int column) {
+        final LongDeque deque = m_maxDeques[column];
+        return deque.isEmpty() ? Double.NaN : m_values[column][slot(deque.getFirst())];
+    }
+
+    /** Neumaier's variant of the Kahan summation, which also copes with subtracted values. */
+    private void addToSum(final int column, final double value) {
+        final double sum = m_sums[column];
+        final double t = sum + value;
+        if (Math.abs(sum) >= Math.abs(value)) {
+            m_compensations[column] += (sum - t) + value;
+        } else {
+            m_compensations[column] += (value - t) + sum;
+        }
+        m_sums[column] = t;
+    }
+
+    private int slot(final long position) {
+        return (int)(position % m_capacity);
+    }
+
+    private void grow() {
+        final int capacity = m_capacity * 2;
+        if (capacity < 0) {
+            throw new IllegalStateException("Too many rows in the window");
+        }
+        for (int c = 0; c < m_numCols; c++) {
+            final double[] values = new double[capacity];
+            final boolean[] missing = new boolean[capacity];
+            for (long position = m_first; position < m_next; position++) {
+                values[(int)(position % capacity)] = m_values[c][slot(position)];
+                missing[(int)(position % capacity)] = m_missing[c][slot(position)];
+            }
+            m_values[c] = values;
+            m_missing[c] = missing;
+            m_minDeques[c].ensureCapacity(capacity);
+            m_maxDeques[c].ensureCapacity(capacity);
+        }
+        m_capacity = capacity;
+    }
+
+    /** A double ended queue of primitive longs backed by a ring buffer. */
+    private static final class LongDeque {
+
+        private long[] m_elements;
+
+        private int m_head;
+
+        private int m_size;
+
+        LongDeque(final int capacity) {
+            m_elements = new long[capacity];
+        }
+
+        boolean isEmpty() {
+            return m_size == 0;
+        }
+
+        long getFirst() {
+            return m_elements[m_head];
+        }
+
+        long getLast() {
+            return m_elements[(m_head + m_size - 1) % m_elements.length];
+        }
+
+        void addLast(final long element) {
+            m_elements[(m_head + m_size) % m_elements.length] = element;
+            m_size++;
+        }
+
+        void removeFirst() {
+            m_head = (m_head + 1) % m_elements.length;
+            m_size--;
+        }
+
+        void removeLast() {
+            m_size--;
+        }
+
+        void ensureCapacity(final int capacity) {
+            if (capacity > m_elements.length) {
+                final long[] elements = new long[capacity];
+                for (int i = 0; i < m_size; i++) {
+                    elements[i] = m_elements[(m_head + i) % m_elements.length];
+                }
+                m_elements = elements;
+                m_head = 0;
+            }
+        }
+    }
+}
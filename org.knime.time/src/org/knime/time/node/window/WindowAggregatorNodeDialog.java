@@ -0,0 +1,125 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.time.node.window;
+
+import java.awt.GridBagConstraints;
+import java.awt.GridBagLayout;
+
+import javax.swing.BorderFactory;
+import javax.swing.JPanel;
+
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.NodeSettingsRO;
+import org.knime.core.node.NodeSettingsWO;
+import org.knime.core.node.NotConfigurableException;
+import org.knime.core.node.defaultnodesettings.DialogComponentBoolean;
+import org.knime.core.node.defaultnodesettings.DialogComponentColumnFilter2;
+import org.knime.time.node.window.WindowAggregatorNodeModel.AggregationMethod;
+
+/**
+ * Dialog pane for the Window Aggregator node. It extends the window options of the Window Loop Start node by the
+ * aggregation options.
+ *
+ * @author agent
+ */
+final class WindowAggregatorNodeDialog extends LoopStartWindowNodeDialog {
+
+    private final DialogComponentColumnFilter2 m_aggregationColumns =
+        new DialogComponentColumnFilter2(WindowAggregatorNodeModel.createAggregationColumnsModel(), 0);
+
+    private final DialogComponentBoolean[] m_methods = new DialogComponentBoolean[AggregationMethod.values().length];
+
+    /**
+     * Creates the dialog.
+     */
+    WindowAggregatorNodeDialog() {
+        final JPanel methodPanel = new JPanel();
+        for (AggregationMethod method : AggregationMethod.values()) {
+            m_methods[method.ordinal()] =
+                new DialogComponentBoolean(WindowAggregatorNodeModel.createMethodModel(method), method.getLabel());
+            methodPanel.add(m_methods[method.ordinal()].getComponentPanel());
+        }
+        methodPanel.setBorder(BorderFactory.createTitledBorder("Aggregation methods"));
+
+        final JPanel panel = new JPanel(new GridBagLayout());
+        final GridBagConstraints constraint = new GridBagConstraints();
+        constraint.gridx = 1;
+        constraint.gridy = 1;
+        constraint.fill = GridBagConstraints.BOTH;
+        constraint.weightx = 1;
+        constraint.weighty = 1;
+        panel.add(m_aggregationColumns.getComponentPanel(), constraint);
+        constraint.gridy++;
+        constraint.weighty = 0;
+        panel.add(methodPanel, constraint);
+        addTab("Aggregation", panel);
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void loadSettingsFrom(final NodeSettingsRO settings, final DataTableSpec[] specs)
+        throws NotConfigurableException {
+        super.loadSettingsFrom(settings, specs);
+        m_aggregationColumns.loadSettingsFrom(settings, specs);
+        for (DialogComponentBoolean method : m_methods) {
+            method.loadSettingsFrom(settings, specs);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    protected void saveSettingsTo(final NodeSettingsWO settings) throws InvalidSettingsException {
+        super.saveSettingsTo(settings);
+        m_aggregationColumns.saveSettingsTo(settings);
+        for (DialogComponentBoolean method : m_methods) {
+            method.saveSettingsTo(settings);
+        }
+    }
+}
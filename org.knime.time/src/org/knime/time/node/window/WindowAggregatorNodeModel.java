@@ -0,0 +1,742 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   Oct 18, 2026 (agent): created
+ */
+package org.knime.time.node.window;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Period;
+import java.time.ZonedDateTime;
+import java.time.temporal.Temporal;
+import java.time.temporal.TemporalAmount;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.knime.core.data.DataCell;
+import org.knime.core.data.DataColumnSpec;
+import org.knime.core.data.DataColumnSpecCreator;
+import org.knime.core.data.DataRow;
+import org.knime.core.data.DataTableSpec;
+import org.knime.core.data.DataType;
+import org.knime.core.data.DoubleValue;
+import org.knime.core.data.RowKey;
+import org.knime.core.data.def.DefaultRow;
+import org.knime.core.data.def.DoubleCell;
+import org.knime.core.data.def.IntCell;
+import org.knime.core.data.time.localdate.LocalDateCellFactory;
+import org.knime.core.data.time.localdate.LocalDateValue;
+import org.knime.core.data.time.localdatetime.LocalDateTimeCellFactory;
+import org.knime.core.data.time.localdatetime.LocalDateTimeValue;
+import org.knime.core.data.time.localtime.LocalTimeCell;
+import org.knime.core.data.time.localtime.LocalTimeCellFactory;
+import org.knime.core.data.time.localtime.LocalTimeValue;
+import org.knime.core.data.time.zoneddatetime.ZonedDateTimeCellFactory;
+import org.knime.core.data.time.zoneddatetime.ZonedDateTimeValue;
+import org.knime.core.node.BufferedDataTable;
+import org.knime.core.node.CanceledExecutionException;
+import org.knime.core.node.ExecutionContext;
+import org.knime.core.node.ExecutionMonitor;
+import org.knime.core.node.InvalidSettingsException;
+import org.knime.core.node.NodeModel;
+import org.knime.core.node.NodeSettingsRO;
+import org.knime.core.node.NodeSettingsWO;
+import org.knime.core.node.defaultnodesettings.SettingsModelBoolean;
+import org.knime.core.node.defaultnodesettings.SettingsModelColumnFilter2;
+import org.knime.core.node.defaultnodesettings.SettingsModelString;
+import org.knime.core.node.port.PortObjectSpec;
+import org.knime.core.node.streamable.BufferedDataTableRowOutput;
+import org.knime.core.node.streamable.DataTableRowInput;
+import org.knime.core.node.streamable.InputPortRole;
+import org.knime.core.node.streamable.PartitionInfo;
+import org.knime.core.node.streamable.PortInput;
+import org.knime.core.node.streamable.PortOutput;
+import org.knime.core.node.streamable.RowInput;
+import org.knime.core.node.streamable.RowOutput;
+import org.knime.core.node.streamable.StreamableOperator;
+import org.knime.time.node.window.LoopStartWindowConfiguration.Trigger;
+import org.knime.time.util.SettingsModelDateTime;
+
+/**
+ * Node model of the Window Aggregator node. It moves the windows of the Window Loop Start node over the input table,
+ * but aggregates the rows of each window within the node and outputs one row per window. The input is read in a
+ * single pass and only the values of the current window are kept.
+ *
+ * @author agent
+ */
+final class WindowAggregatorNodeModel extends NodeModel {
+
+    /** The supported aggregation methods. */
+    enum AggregationMethod {
+            /** Sum of the values. */
+            SUM("Sum"),
+            /** Mean of the values. */
+            MEAN("Mean"),
+            /** Minimum of the values. */
+            MIN("Min"),
+            /** Maximum of the values. */
+            MAX("Max"),
+            /** Number of non-missing values. */
+            COUNT("Count");
+
+        private final String m_label;
+
+        private AggregationMethod(final String label) {
+            m_label = label;
+        }
+
+        /** @return the label used in the dialog and for the output columns */
+        String getLabel() {
+            return m_label;
+        }
+
+        /** @return the key of the method in the settings */
+        String getConfigKey() {
+            return name().toLowerCase();
+        }
+    }
+
+    private static final String ORDER_EXCEPTION =
+        "Table not in ascending order concerning chosen temporal column (use Sorter prior to Window Aggregator).";
+
+    private LoopStartWindowConfiguration m_windowConfig;
+
+    private final SettingsModelString m_timeColumn = LoopStartWindowNodeModel.createColumnModel();
+
+    private final SettingsModelDateTime m_startTime = LoopStartWindowNodeModel.createStartModel();
+
+    private final SettingsModelColumnFilter2 m_aggregationColumns = createAggregationColumnsModel();
+
+    private final SettingsModelBoolean[] m_methods = new SettingsModelBoolean[AggregationMethod.values().length];
+
+    /**
+     * Creates a new model.
+     */
+    WindowAggregatorNodeModel() {
+        super(1, 1);
+        for (AggregationMethod method : AggregationMethod.values()) {
+            m_methods[method.ordinal()] = createMethodModel(method);
+        }
+    }
+
+    /** @return the column filter model of the aggregated columns, used in both dialog and model */
+    @SuppressWarnings("unchecked")
+    static SettingsModelColumnFilter2 createAggregationColumnsModel() {
+        return new SettingsModelColumnFilter2("aggregationColumns", DoubleValue.class);
+    }
+
+    /**
+     * @param method an aggregation method
+     * @return the boolean model that holds if the method is used, used in both dialog and model
+     */
+    static SettingsModelBoolean createMethodModel(final AggregationMethod method) {
+        return new SettingsModelBoolean(method.getConfigKey(), method == AggregationMethod.MEAN);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected DataTableSpec[] configure(final DataTableSpec[] inSpecs) throws InvalidSettingsException {
+        if (m_windowConfig == null) {
+            m_windowConfig = new LoopStartWindowConfiguration();
+            setWarningMessage("Using default: " + m_windowConfig);
+        }
+        final DataTableSpec spec = inSpecs[0];
+        if (m_windowConfig.getTrigger() == Trigger.TIME) {
+            final String timeColumn = m_timeColumn.getStringValue();
+            if (!spec.containsName(timeColumn)) {
+                throw new InvalidSettingsException(
+                    "Selected time column '" + timeColumn + "' does not exist in input table.");
+            }
+            final DataType type = spec.getColumnSpec(timeColumn).getType();
+            if (!type.isCompatible(LocalDateValue.class) && !type.isCompatible(LocalTimeValue.class)
+                && !type.isCompatible(LocalDateTimeValue.class) && !type.isCompatible(ZonedDateTimeValue.class)) {
+                throw new InvalidSettingsException("Selected time column '" + timeColumn + "' is not a date&time column.");
+            }
+            if (m_windowConfig.useSpecifiedStartTime() && m_startTime.getSelectedDateTime() == null) {
+                throw new InvalidSettingsException(
+                    "Specified start time is not compatible with selected time column '" + timeColumn + "'");
+            }
+            final TemporalAmount step = getStepSize();
+            final TemporalAmount window = getWindowSize();
+            if (step == null) {
+                throw new InvalidSettingsException("Given step size couldn't be matched to type Duration or Period.");
+            }
+            if (window == null) {
+                throw new InvalidSettingsException("Given window size couldn't be matched to type Duration or Period.");
+            }
+            final boolean localTime = type.equals(DataType.getType(LocalTimeCell.class));
+            if (localTime && (step instanceof Period || window instanceof Period)) {
+                throw new InvalidSettingsException("Period type not allowed for LocalTime");
+            }
+            if (m_windowConfig.getWindowDefinition() == LoopStartWindowConfiguration.WindowDefinition.CENTRAL
+                && !(window instanceof Duration)) {
+                throw new InvalidSettingsException("Central windows require a window size of type Duration.");
+            }
+        }
+        return new DataTableSpec[]{createOutputSpec(spec)};
+    }
+
+    private TemporalAmount getStepSize() {
+        return LoopStartWindowNodeModel.getTemporalAmount(
+            m_windowConfig.getTimeStepSize() + m_windowConfig.getTimeStepUnit().getUnitLetter());
+    }
+
+    private TemporalAmount getWindowSize() {
+        return LoopStartWindowNodeModel.getTemporalAmount(
+            m_windowConfig.getTimeWindowSize() + m_windowConfig.getTimeWindowUnit().getUnitLetter());
+    }
+
+    private List<AggregationMethod> getSelectedMethods() {
+        final List<AggregationMethod> methods = new ArrayList<>();
+        for (AggregationMethod method : AggregationMethod.values()) {
+            if (m_methods[method.ordinal()].getBooleanValue()) {
+                methods.add(method);
+            }
+        }
+        return methods;
+    }
+
+    private DataTableSpec createOutputSpec(final DataTableSpec spec) throws InvalidSettingsException {
+        final String[] columns = m_aggregationColumns.applyTo(spec).getIncludes();
+        if (columns.length == 0) {
+            throw new InvalidSettingsException("No columns to aggregate selected.");
+        }
+        final List<AggregationMethod> methods = getSelectedMethods();
+        if (methods.isEmpty()) {
+            throw new InvalidSettingsException("No aggregation method selected.");
+        }
+        final List<DataColumnSpec> columnSpecs = new ArrayList<>();
+        if (m_windowConfig.getTrigger() == Trigger.TIME) {
+            final DataType timeType = spec.getColumnSpec(m_timeColumn.getStringValue()).getType();
+            columnSpecs.add(new DataColumnSpecCreator("Window start", timeType).createSpec());
+            columnSpecs.add(new DataColumnSpecCreator("Window end", timeType).createSpec());
+        }
+        for (String column : columns) {
+            for (AggregationMethod method : methods) {
+                final DataType type = method == AggregationMethod.COUNT ? IntCell.TYPE : DoubleCell.TYPE;
+                columnSpecs.add(
+                    new DataColumnSpecCreator(method.getLabel() + "(" + column + ")", type).createSpec());
+            }
+        }
+        return new DataTableSpec(columnSpecs.toArray(new DataColumnSpec[columnSpecs.size()]));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected BufferedDataTable[] execute(final BufferedDataTable[] inData, final ExecutionContext exec)
+        throws Exception {
+        final BufferedDataTable table = inData[0];
+        final BufferedDataTableRowOutput output =
+            new BufferedDataTableRowOutput(exec.createDataContainer(createOutputSpec(table.getDataTableSpec())));
+        aggregate(new DataTableRowInput(table), output, exec);
+        return new BufferedDataTable[]{output.getDataTable()};
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public InputPortRole[] getInputPortRoles() {
+        return new InputPortRole[]{InputPortRole.NONDISTRIBUTED_STREAMABLE};
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public StreamableOperator createStreamableOperator(final PartitionInfo partitionInfo,
+        final PortObjectSpec[] inSpecs) throws InvalidSettingsException {
+        return new StreamableOperator() {
+
+            @Override
+            public void runFinal(final PortInput[] inputs, final PortOutput[] outputs, final ExecutionContext exec)
+                throws Exception {
+                aggregate((RowInput)inputs[0], (RowOutput)outputs[0], exec);
+            }
+        };
+    }
+
+    /** Reads the rows of the input, aggregates them window by window and pushes one row per window. */
+    private void aggregate(final RowInput input, final RowOutput output, final ExecutionContext exec)
+        throws InterruptedException, CanceledExecutionException {
+        final Aggregation aggregation = new Aggregation(input.getDataTableSpec());
+        if (m_windowConfig.getTrigger() == Trigger.TIME) {
+            aggregateTimeWindows(input, output, aggregation, exec);
+        } else {
+            aggregateRowWindows(input, output, aggregation, exec);
+        }
+        input.close();
+        output.close();
+    }
+
+    /** Number of rows of a row window before its point of interest. */
+    private long getRowsBefore() {
+        final int windowSize = m_windowConfig.getEventWindowSize();
+        switch (m_windowConfig.getWindowDefinition()) {
+            case BACKWARD:
+                return windowSize - 1;
+            case CENTRAL:
+                return Math.floorDiv(windowSize, 2);
+            default:
+                return 0;
+        }
+    }
+
+    private void aggregateRowWindows(final RowInput input, final RowOutput output, final Aggregation aggregation,
+        final ExecutionContext exec) throws InterruptedException, CanceledExecutionException {
+        final int windowSize = m_windowConfig.getEventWindowSize();
+        final int stepSize = m_windowConfig.getEventStepSize();
+        final long before = getRowsBefore();
+        // the current point of interest, its window covers the rows [poi - before, poi - before + windowSize)
+        long poi = 0;
+        if (m_windowConfig.getLimitWindow()) {
+            // move the first window until it does not extend beyond the beginning of the table
+            poi = (before + stepSize - 1) / stepSize * stepSize;
+        }
+        // the keys of the points of interest whose windows are not complete yet
+        final ArrayDeque<RowKey> poiKeys = new ArrayDeque<>();
+        long firstIndex = 0;
+        long rowIndex = 0;
+        DataRow row;
+        while ((row = input.poll()) != null) {
+            exec.checkCanceled();
+            if (rowIndex >= poi && (rowIndex - poi) % stepSize == 0) {
+                poiKeys.add(row.getKey());
+            }
+            if (rowIndex >= poi - before) {
+                if (aggregation.size() == 0) {
+                    firstIndex = rowIndex;
+                }
+                aggregation.add(row);
+            }
+            if (poi - before + windowSize - 1 == rowIndex) {
+                output.push(aggregation.createRow(poiKeys.poll()));
+                poi += stepSize;
+                for (; aggregation.size() > 0 && firstIndex < poi - before; firstIndex++) {
+                    aggregation.evict();
+                }
+            }
+            rowIndex++;
+        }
+        if (!m_windowConfig.getLimitWindow()) {
+            // the remaining windows extend beyond the end of the table
+            for (; poi < rowIndex; poi += stepSize) {
+                exec.checkCanceled();
+                for (; aggregation.size() > 0 && firstIndex < poi - before; firstIndex++) {
+                    aggregation.evict();
+                }
+                output.push(aggregation.createRow(poiKeys.poll()));
+            }
+        }
+    }
+
+    private void aggregateTimeWindows(final RowInput input, final RowOutput output, final Aggregation aggregation,
+        final ExecutionContext exec) throws InterruptedException, CanceledExecutionException {
+        final int timeColumn = input.getDataTableSpec().findColumnIndex(m_timeColumn.getStringValue());
+        final TimeWindows windows = new TimeWindows();
+        // the times of the rows in the current window
+        final ArrayDeque<Temporal> times = new ArrayDeque<>();
+        Temporal previous = null;
+        boolean finished = false;
+        boolean skippedMissing = false;
+        DataRow row;
+        while ((row = input.poll()) != null) {
+            exec.checkCanceled();
+            final DataCell cell = row.getCell(timeColumn);
+            if (cell.isMissing()) {
+                skippedMissing = true;
+                continue;
+            }
+            final Temporal time = LoopStartWindowNodeModel.getTemporal(cell);
+            if (previous != null && LoopStartWindowNodeModel.compareTemporal(time, previous) < 0) {
+                throw new IllegalStateException(ORDER_EXCEPTION);
+            }
+            previous = time;
+            if (finished) {
+                // no further window fits into the range of the date&time type
+                continue;
+            }
+            if (!windows.isStarted()) {
+                windows.start(m_windowConfig.useSpecifiedStartTime() ? m_startTime.getSelectedDateTime() : time);
+            }
+            // complete the windows ending before the current row
+            while (!finished && windows.endsBefore(time)) {
+                if (times.isEmpty()) {
+                    windows.skipEmpty(time);
+                } else {
+                    output.push(aggregation.createRow(windows.getStart(), windows.getEnd()));
+                }
+                finished = !windows.next();
+                evictBefore(windows, times, aggregation);
+            }
+            if (!finished && windows.contains(time)) {
+                times.add(time);
+                aggregation.add(row);
+            }
+        }
+        while (!finished && !times.isEmpty()) {
+            exec.checkCanceled();
+            output.push(aggregation.createRow(windows.getStart(), windows.getEnd()));
+            finished = !windows.next();
+            evictBefore(windows, times, aggregation);
+        }
+        if (skippedMissing) {
+            setWarningMessage("Detected missing values for specified column; rows have been skipped.");
+        }
+    }
+
+    private static void evictBefore(final TimeWindows windows, final ArrayDeque<Temporal> times,
+        final Aggregation aggregation) {
+        while (!times.isEmpty() && windows.startsAfter(times.getFirst())) {
+            times.removeFirst();
+            aggregation.evict();
+        }
+    }
+
+    /**
+     * The sequence of time windows, defined by the current point of time and the window definition. Bounds that do
+     * not fit into the range of the date&amp;time type are <code>null</code>, i.e. open.
+     */
+    private final class TimeWindows {
+
+        private final TemporalAmount m_step = getStepSize();
+
+        private final TemporalAmount m_window = getWindowSize();
+
+        private Temporal m_current;
+
+        private Temporal m_start;
+
+        private Temporal m_end;
+
+        boolean isStarted() {
+            return m_current != null;
+        }
+
+        void start(final Temporal current) {
+            setCurrent(current);
+        }
+
+        private void setCurrent(final Temporal current) {
+            m_current = current;
+            switch (m_windowConfig.getWindowDefinition()) {
+                case BACKWARD:
+                    m_start = minus(current, m_window);
+                    m_end = current;
+                    break;
+                case CENTRAL:
+                    final Duration half = ((Duration)m_window).dividedBy(2);
+                    m_start = minus(current, half);
+                    m_end = plus(current, half);
+                    break;
+                default:
+                    m_start = current;
+                    m_end = plus(current, m_window);
+            }
+        }
+
+        /** @return <code>false</code> if the next window does not fit into the range of the date&amp;time type */
+        boolean next() {
+            final Temporal next = plus(m_current, m_step);
+            if (next == null || LoopStartWindowNodeModel.compareTemporal(next, m_current) <= 0) {
+                return false;
+            }
+            setCurrent(next);
+            return true;
+        }
+
+        /** Moves an empty window close to the given time, such that the following window still ends before it. */
+        void skipEmpty(final Temporal time) {
+            if (!(m_step instanceof Duration) || m_end == null) {
+                return;
+            }
+            try {
+                final Duration gap = Duration.between(m_end, time);
+                final Duration step = (Duration)m_step;
+                long steps;
+                try {
+                    steps = gap.toNanos() / step.toNanos();
+                } catch (ArithmeticException e) {
+                    // a conservative estimate for huge gaps
+                    steps = gap.getSeconds() / (step.getSeconds() + 1);
+                }
+                if (steps > 2) {
+                    final Temporal skipped = plus(m_current, step.multipliedBy(steps - 2));
+                    if (skipped != null && LoopStartWindowNodeModel.compareTemporal(skipped, m_current) > 0) {
+                        setCurrent(skipped);
+                    }
+                }
+            } catch (DateTimeException | ArithmeticException e) {
+                // step window by window
+            }
+        }
+
+        boolean endsBefore(final Temporal time) {
+            return m_end != null && LoopStartWindowNodeModel.compareTemporal(m_end, time) < 0;
+        }
+
+        boolean startsAfter(final Temporal time) {
+            return m_start != null && LoopStartWindowNodeModel.compareTemporal(m_start, time) > 0;
+        }
+
+        boolean contains(final Temporal time) {
+            return !startsAfter(time) && !endsBefore(time);
+        }
+
+        Temporal getStart() {
+            return m_start;
+        }
+
+        Temporal getEnd() {
+            return m_end;
+        }
+    }
+
+    private static Temporal plus(final Temporal temporal, final TemporalAmount amount) {
+        try {
+            final Temporal result = temporal.plus(amount);
+            // times of day wrap around at midnight
+            return LoopStartWindowNodeModel.compareTemporal(result, temporal) < 0 ? null : result;
+        } catch (DateTimeException | ArithmeticException e) {
+            return null;
+        }
+    }
+
+    private static Temporal minus(final Temporal temporal, final TemporalAmount amount) {
+        try {
+            final Temporal result = temporal.minus(amount);
+            return LoopStartWindowNodeModel.compareTemporal(result, temporal) > 0 ? null : result;
+        } catch (DateTimeException | ArithmeticException e) {
+            return null;
+        }
+    }
+
+    private static DataCell createTemporalCell(final Temporal temporal) {
+        if (temporal == null) {
+            return DataType.getMissingCell();
+        } else if (temporal instanceof LocalDate) {
+            return LocalDateCellFactory.create((LocalDate)temporal);
+        } else if (temporal instanceof LocalTime) {
+            return LocalTimeCellFactory.create((LocalTime)temporal);
+        } else if (temporal instanceof LocalDateTime) {
+            return LocalDateTimeCellFactory.create((LocalDateTime)temporal);
+        }
+        return ZonedDateTimeCellFactory.create((ZonedDateTime)temporal);
+    }
+
+    /** The aggregated values of the current window and the creation of the output rows. */
+    private final class Aggregation {
+
+        private final int[] m_columns;
+
+        private final AggregationMethod[] m_selectedMethods;
+
+        private final WindowAggregator m_aggregator;
+
+        private final double[] m_values;
+
+        private final boolean[] m_missing;
+
+        private long m_windowIndex;
+
+        Aggregation(final DataTableSpec spec) {
+            m_columns = spec.columnsToIndices(m_aggregationColumns.applyTo(spec).getIncludes());
+            final List<AggregationMethod> methods = getSelectedMethods();
+            m_selectedMethods = methods.toArray(new AggregationMethod[methods.size()]);
+            m_aggregator = new WindowAggregator(m_columns.length);
+            m_values = new double[m_columns.length];
+            m_missing = new boolean[m_columns.length];
+        }
+
+        int size() {
+            return m_aggregator.size();
+        }
+
+        void add(final DataRow row) {
+            for (int i = 0; i < m_columns.length; i++) {
+                final DataCell cell = row.getCell(m_columns[i]);
+                m_missing[i] = cell.isMissing();
+                if (!m_missing[i]) {
+                    m_values[i] = ((DoubleValue)cell).getDoubleValue();
+                }
+            }
+            m_aggregator.add(m_values, m_missing);
+        }
+
+        void evict() {
+            m_aggregator.evict();
+        }
+
+        /** Creates the row of a row window. */
+        DataRow createRow(final RowKey key) {
+            return new DefaultRow(key, createAggregatedCells(new ArrayList<>()));
+        }
+
+        /** Creates the row of a time window. */
+        DataRow createRow(final Temporal start, final Temporal end) {
+            final List<DataCell> cells = new ArrayList<>();
+            cells.add(createTemporalCell(start));
+            cells.add(createTemporalCell(end));
+            return new DefaultRow(RowKey.createRowKey(m_windowIndex++), createAggregatedCells(cells));
+        }
+
+        private List<DataCell> createAggregatedCells(final List<DataCell> cells) {
+            for (int i = 0; i < m_columns.length; i++) {
+                for (AggregationMethod method : m_selectedMethods) {
+                    if (method == AggregationMethod.COUNT) {
+                        cells.add(new IntCell(m_aggregator.getCount(i)));
+                        continue;
+                    }
+                    final double value;
+                    switch (method) {
+                        case SUM:
+                            value = m_aggregator.getSum(i);
+                            break;
+                        case MEAN:
+                            value = m_aggregator.getMean(i);
+                            break;
+                        case MIN:
+                            value = m_aggregator.getMin(i);
+                            break;
+                        default:
+                            value = m_aggregator.getMax(i);
+                    }
+                    cells.add(m_aggregator.getCount(i) == 0 ? DataType.getMissingCell() : new DoubleCell(value));
+                }
+            }
+            return cells;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void saveSettingsTo(final NodeSettingsWO settings) {
+        if (m_windowConfig != null) {
+            m_windowConfig.saveSettingsTo(settings);
+            if (m_windowConfig.getTrigger() == Trigger.TIME) {
+                m_timeColumn.saveSettingsTo(settings);
+                if (m_windowConfig.useSpecifiedStartTime()) {
+                    m_startTime.saveSettingsTo(settings);
+                }
+            }
+        }
+        m_aggregationColumns.saveSettingsTo(settings);
+        for (SettingsModelBoolean method : m_methods) {
+            method.saveSettingsTo(settings);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void validateSettings(final NodeSettingsRO settings) throws InvalidSettingsException {
+        new LoopStartWindowConfiguration().loadSettingsInModel(settings);
+        m_aggregationColumns.validateSettings(settings);
+        for (SettingsModelBoolean method : m_methods) {
+            method.validateSettings(settings);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void loadValidatedSettingsFrom(final NodeSettingsRO settings) throws InvalidSettingsException {
+        final LoopStartWindowConfiguration config = new LoopStartWindowConfiguration();
+        config.loadSettingsInModel(settings);
+        m_windowConfig = config;
+        if (m_windowConfig.getTrigger() == Trigger.TIME) {
+            m_timeColumn.loadSettingsFrom(settings);
+            if (m_windowConfig.useSpecifiedStartTime()) {
+                m_startTime.loadSettingsFrom(settings);
+            }
+        }
+        m_aggregationColumns.loadSettingsFrom(settings);
+        for (SettingsModelBoolean method : m_methods) {
+            method.loadSettingsFrom(settings);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void reset() {
+        // nothing to do
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void loadInternals(final File nodeInternDir, final ExecutionMonitor exec)
+        throws IOException, CanceledExecutionException {
+        // no internals to load
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void saveInternals(final File nodeInternDir, final ExecutionMonitor exec)
+        throws IOException, CanceledExecutionException {
+        // no internals to save
+    }
+}
@@ -0,0 +1,436 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   18.10.2026 (agent): created
+ */
+package org.knime.time.util;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.Year;
+import java.time.ZonedDateTime;
+import java.time.chrono.Chronology;
+import java.time.chrono.IsoChronology;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Parses strings to one of the {@link DateTimeType}s using a pattern as accepted by
+ * {@link DateTimeFormatter#ofPattern(String, Locale)}. The formatter is compiled once when the parser is created, not
+ * for each string. Patterns that consist only of fixed width numeric fields (e.g. <code>yyyy-MM-dd</code>,
+ * <code>HH:mm[:ss[.SSS]]</code> or <code>yyyyMMddHHmmss</code>) are parsed by a hand-written scanner; strings it does not
+ * accept (e.g. out of range values, which the formatter may still resolve) are passed to the formatter. The results
+ * of recently parsed strings are remembered, as date columns often contain the same values many times.
+ * <p>
+ * The results are the same as those of
+ * <code>LocalDate.parse(text, DateTimeFormatter.ofPattern(pattern, locale).withChronology(Chronology.ofLocale(locale)))
+ * </code> (or the respective type). Instances are thread-safe.
+ *
+ * @author agent
+ * @since 4.2
+ */
+public final class DateTimeParser {
+
+    private final DateTimeType m_type;
+
+    private final DateTimeFormatter m_formatter;
+
+    /**
+     * The scanners for fixed width numeric patterns, one for each combination of optional sections, <code>null</code>
+     * if the pattern is not of that kind.
+     */
+    private final FixedWidthPattern[] m_fixedWidthPatterns;
+
+    private final ParseCache<Temporal> m_cache = new ParseCache<>(ParseCache.DEFAULT_CAPACITY);
+
+    private DateTimeParser(final DateTimeType type, final DateTimeFormatter formatter,
+        final FixedWidthPattern[] fixedWidthPatterns) {
+        m_type = type;
+        m_formatter = formatter;
+        m_fixedWidthPatterns = fixedWidthPatterns;
+    }
+
+    /**
+     * Creates a parser.
+     *
+     * @param pattern the pattern, see {@link DateTimeFormatter#ofPattern(String, Locale)}
+     * @param locale the locale, which also determines the chronology
+     * @param type the type of the parsed values
+     * @return a new parser
+     * @throws IllegalArgumentException if the pattern is invalid
+     */
+    public static DateTimeParser create(final String pattern, final Locale locale, final DateTimeType type) {
+        final Chronology chronology = Chronology.ofLocale(locale);
+        final DateTimeFormatter formatter = DateTimeFormatter.ofPattern(pattern, locale).withChronology(chronology);
+        final FixedWidthPattern[] fixedWidthPatterns =
+            IsoChronology.INSTANCE.equals(chronology) ? compileFixedWidthPatterns(pattern, type) : null;
+        return new DateTimeParser(type, formatter, fixedWidthPatterns);
+    }
+
+    /**
+     * Compiles one fixed width pattern for each combination of the optional sections. Only nested optional sections
+     * at the end of the pattern that start with a literal are supported (e.g. <code>HH:mm[:ss[.SSS]]</code>), as the
+     * formatter parses them greedily and there is no ambiguity which combination matches a string.
+     *
+     * @return the patterns or <code>null</code> if the pattern is not supported
+     */
+    private static FixedWidthPattern[] compileFixedWidthPatterns(final String pattern, final DateTimeType type) {
+        final List<Integer> openings = new ArrayList<>();
+        int firstClosing = -1;
+        boolean quoted = false;
+        for (int i = 0; i < pattern.length(); i++) {
+            final char c = pattern.charAt(i);
+            if (c == '\'') {
+                quoted = !quoted;
+            } else if (!quoted && c == '[') {
+                if (firstClosing >= 0 || (i + 1 < pattern.length() && Character.isLetter(pattern.charAt(i + 1)))) {
+                    return null;
+                }
+                openings.add(i);
+            } else if (!quoted && c == ']' && firstClosing < 0) {
+                firstClosing = i;
+            }
+        }
+        if (firstClosing >= 0 && (pattern.length() - firstClosing != openings.size()
+            || !pattern.substring(firstClosing).chars().allMatch(c -> c == ']'))) {
+            return null;
+        }
+        final int end = firstClosing >= 0 ? firstClosing : pattern.length();
+        final FixedWidthPattern[] patterns = new FixedWidthPattern[openings.size() + 1];
+        for (int k = 0; k < patterns.length; k++) {
+            final String variant =
+                pattern.substring(0, k < openings.size() ? openings.get(k) : end).replace("[", "");
+            patterns[k] = FixedWidthPattern.compile(variant, type);
+            if (patterns[k] == null) {
+                return null;
+            }
+        }
+        return patterns;
+    }
+
+    /**
+     * @return the type of the parsed values
+     */
+    public DateTimeType getType() {
+        return m_type;
+    }
+
+    /**
+     * Parses the given string.
+     *
+     * @param text the text to parse, not null
+     * @return the parsed value, a {@link LocalDate}, {@link LocalTime}, {@link LocalDateTime} or {@link ZonedDateTime}
+     *         depending on the {@link #getType() type}
+     * @throws DateTimeParseException if the text cannot be parsed
+     */
+    public Temporal parse(final String text) throws DateTimeParseException {
+        if (m_fixedWidthPatterns != null) {
+            for (final FixedWidthPattern pattern : m_fixedWidthPatterns) {
+                final Temporal temporal = pattern.parse(text);
+                if (temporal != null) {
+                    return temporal;
+                }
+            }
+        }
+        return m_cache.get(text, this::parseWithFormatter);
+    }
+
+    private Temporal parseWithFormatter(final String text) {
+        switch (m_type) {
+            case LOCAL_DATE:
+                return LocalDate.parse(text, m_formatter);
+            case LOCAL_TIME:
+                return LocalTime.parse(text, m_formatter);
+            case LOCAL_DATE_TIME:
+                return LocalDateTime.parse(text, m_formatter);
+            case ZONED_DATE_TIME:
+                return ZonedDateTime.parse(text, m_formatter);
+            default:
+                throw new IllegalStateException("Unhandled date&time type: " + m_type);
+        }
+    }
+
+    /**
+     * A pattern of fixed width numeric fields and literals. Only strings whose fields are within the strict ranges of
+     * the fields are accepted, everything else is left to the formatter.
+     */
+    private static final class FixedWidthPattern {
+
+        private static final int YEAR = 0;
+
+        private static final int MONTH = 1;
+
+        private static final int DAY = 2;
+
+        private static final int HOUR = 3;
+
+        private static final int MINUTE = 4;
+
+        private static final int SECOND = 5;
+
+        private static final int NANO = 6;
+
+        private static final int NUM_FIELDS = 7;
+
+        private static final int[] NANO_FACTORS =
+            {1_000_000_000, 100_000_000, 10_000_000, 1_000_000, 100_000, 10_000, 1_000, 100, 10, 1};
+
+        private final DateTimeType m_type;
+
+        /** The literal characters at their positions, 0 where a field is. */
+        private final char[] m_literals;
+
+        /** The offsets of the fields in the text, -1 if the field is not part of the pattern. */
+        private final int[] m_offsets;
+
+        /** The widths of the fields. */
+        private final int[] m_widths;
+
+        private FixedWidthPattern(final DateTimeType type, final char[] literals, final int[] offsets,
+            final int[] widths) {
+            m_type = type;
+            m_literals = literals;
+            m_offsets = offsets;
+            m_widths = widths;
+        }
+
+        /**
+         * @return the compiled pattern or <code>null</code> if the pattern contains anything else than fixed width
+         *         numeric fields and non-digit literals, or if its fields do not match the type exactly
+         */
+        static FixedWidthPattern compile(final String pattern, final DateTimeType type) {
+            final StringBuilder literals = new StringBuilder();
+            final int[] offsets = new int[NUM_FIELDS];
+            Arrays.fill(offsets, -1);
+            final int[] widths = new int[NUM_FIELDS];
+            boolean lastIsField = false;
+            int i = 0;
+            while (i < pattern.length()) {
+                final char c = pattern.charAt(i);
+                if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')) {
+                    int count = 1;
+                    while (i + count < pattern.length() && pattern.charAt(i + count) == c) {
+                        count++;
+                    }
+                    final int field = toField(c, count);
+                    // the fraction is not part of the adjacent value parsing of the formatter
+                    if (field < 0 || offsets[field] >= 0 || (field == NANO && lastIsField)) {
+                        return null;
+                    }
+                    offsets[field] = literals.length();
+                    widths[field] = count;
+                    for (int k = 0; k < count; k++) {
+                        literals.append('\0');
+                    }
+                    lastIsField = true;
+                    i += count;
+                } else if (c == '\'') {
+                    final int end = appendQuoted(pattern, i, literals);
+                    if (end < 0) {
+                        return null;
+                    }
+                    lastIsField = false;
+                    i = end;
+                } else if (c == '[' || c == ']' || c == '{' || c == '}' || c == '#' || (c >= '0' && c <= '9')) {
+                    return null;
+                } else {
+                    literals.append(c);
+                    lastIsField = false;
+                    i++;
+                }
+            }
+            final boolean hasDate = offsets[YEAR] >= 0 && offsets[MONTH] >= 0 && offsets[DAY] >= 0;
+            final boolean hasAnyDate = offsets[YEAR] >= 0 || offsets[MONTH] >= 0 || offsets[DAY] >= 0;
+            final boolean hasTime = offsets[HOUR] >= 0 && offsets[MINUTE] >= 0
+                && (offsets[NANO] < 0 || offsets[SECOND] >= 0);
+            final boolean hasAnyTime =
+                offsets[HOUR] >= 0 || offsets[MINUTE] >= 0 || offsets[SECOND] >= 0 || offsets[NANO] >= 0;
+            final boolean matchesType;
+            switch (type) {
+                case LOCAL_DATE:
+                    matchesType = hasDate && !hasAnyTime;
+                    break;
+                case LOCAL_TIME:
+                    matchesType = hasTime && !hasAnyDate;
+                    break;
+                case LOCAL_DATE_TIME:
+                    matchesType = hasDate && hasTime;
+                    break;
+                default:
+                    matchesType = false;
+            }
+            return matchesType ? new FixedWidthPattern(type, literals.toString().toCharArray(), offsets, widths)
+                : null;
+        }
+
+        private static int toField(final char letter, final int count) {
+            switch (letter) {
+                case 'y':
+                case 'u':
+                    return count == 4 ? YEAR : -1;
+                case 'M':
+                    return count == 2 ? MONTH : -1;
+                case 'd':
+                    return count == 2 ? DAY : -1;
+                case 'H':
+                    return count == 2 ? HOUR : -1;
+                case 'm':
+                    return count == 2 ? MINUTE : -1;
+                case 's':
+                    return count == 2 ? SECOND : -1;
+                case 'S':
+                    return count <= 9 ? NANO : -1;
+                default:
+                    return -1;
+            }
+        }
+
+        /**
+         * Appends the quoted literal starting at the given position.
+         *
+         * @return the position after the closing quote or -1 if the literal is not terminated or contains digits
+         */
+        private static int appendQuoted(final String pattern, final int start, final StringBuilder literals) {
+            int i = start + 1;
+            if (i < pattern.length() && pattern.charAt(i) == '\'') {
+                literals.append('\'');
+                return i + 1;
+            }
+            while (i < pattern.length()) {
+                final char c = pattern.charAt(i);
+                if (c == '\'') {
+                    if (i + 1 < pattern.length() && pattern.charAt(i + 1) == '\'') {
+                        literals.append('\'');
+                        i += 2;
+                        continue;
+                    }
+                    return i + 1;
+                }
+                if (c >= '0' && c <= '9') {
+                    return -1;
+                }
+                literals.append(c);
+                i++;
+            }
+            return -1;
+        }
+
+        /**
+         * @return the parsed value or <code>null</code> if the text does not match the pattern or a field is out of its
+         *         strict range
+         */
+        Temporal parse(final String text) {
+            final char[] literals = m_literals;
+            if (text.length() != literals.length) {
+                return null;
+            }
+            for (int i = 0; i < literals.length; i++) {
+                if (literals[i] != '\0' && text.charAt(i) != literals[i]) {
+                    return null;
+                }
+            }
+            final int[] values = new int[NUM_FIELDS];
+            for (int f = 0; f < NUM_FIELDS; f++) {
+                final int offset = m_offsets[f];
+                if (offset < 0) {
+                    continue;
+                }
+                int value = 0;
+                for (int i = offset, end = offset + m_widths[f]; i < end; i++) {
+                    final char c = text.charAt(i);
+                    if (c < '0' || c > '9') {
+                        return null;
+                    }
+                    value = value * 10 + (c - '0');
+                }
+                values[f] = f == NANO ? value * NANO_FACTORS[m_widths[f]] : value;
+            }
+            switch (m_type) {
+                case LOCAL_DATE:
+                    return toDate(values);
+                case LOCAL_TIME:
+                    return toTime(values);
+                case LOCAL_DATE_TIME: {
+                    final LocalDate date = toDate(values);
+                    final LocalTime time = date == null ? null : toTime(values);
+                    return time == null ? null : LocalDateTime.of(date, time);
+                }
+                default:
+                    return null;
+            }
+        }
+
+        private static LocalDate toDate(final int[] values) {
+            final int year = values[YEAR];
+            final int month = values[MONTH];
+            final int day = values[DAY];
+            // year 0 is not a valid year-of-era, invalid days are adjusted by the (smart) formatter
+            if (year < 1 || month < 1 || month > 12 || day < 1
+                || day > Month.of(month).length(Year.isLeap(year))) {
+                return null;
+            }
+            return LocalDate.of(year, month, day);
+        }
+
+        private static LocalTime toTime(final int[] values) {
+            final int hour = values[HOUR];
+            final int minute = values[MINUTE];
+            final int second = values[SECOND];
+            // 24:00 is resolved to the next day by the (smart) formatter
+            if (hour > 23 || minute > 59 || second > 59) {
+                return null;
+            }
+            return LocalTime.of(hour, minute, second, values[NANO]);
+        }
+    }
+}
@@ -51,6 +51,7 @@
 import java.time.Duration;
 import java.time.Period;
 import java.time.format.DateTimeParseException;
+import java.util.regex.Pattern;
 
 import org.apache.commons.lang3.StringUtils;
 
@@ -60,6 +61,9 @@
  * @author Simon Schmid, KNIME.com, Konstanz, Germany
  */
 public final class DurationPeriodFormatUtils {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
     /**
      * Formats the given duration into a time string of format H:mm:ss.S.
      *
@@ -190,7 +194,7 @@ public static Duration parseDuration(final String text) throws DateTimeParseExce
         }
 
         // remove whitespaces
-        s = s.replaceAll("\\s+", "");
+        s = WHITESPACE.matcher(s).replaceAll("");
 
         return Duration.parse(s);
     }
@@ -233,7 +237,7 @@ public static Period parsePeriod(final String text) throws DateTimeParseExceptio
         }
 
         // remove whitespaces
-        s = s.replaceAll("\\s+", "");
+        s = WHITESPACE.matcher(s).replaceAll("");
 
         return Period.parse(s);
     }
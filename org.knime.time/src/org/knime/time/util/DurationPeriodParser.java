@@ -0,0 +1,112 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   18.10.2026 (agent): created
+ */
+package org.knime.time.util;
+
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Period;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAmount;
+
+/**
+ * Parses strings to {@link Duration}s and {@link Period}s like {@link DurationPeriodFormatUtils#parseDuration(String)}
+ * and {@link DurationPeriodFormatUtils#parsePeriod(String)}, but remembers the results of recently parsed strings.
+ * Columns and settings holding durations usually contain only a few distinct values, for which the (rather
+ * expensive) parsing is done only once. Instances are thread-safe.
+ *
+ * @author agent
+ * @since 4.2
+ */
+public final class DurationPeriodParser {
+
+    private final ParseCache<Duration> m_durations = new ParseCache<>(ParseCache.DEFAULT_CAPACITY);
+
+    private final ParseCache<Period> m_periods = new ParseCache<>(ParseCache.DEFAULT_CAPACITY);
+
+    private final ParseCache<TemporalAmount> m_periodsOrDurations = new ParseCache<>(ParseCache.DEFAULT_CAPACITY);
+
+    /**
+     * Parses a time-based duration, see {@link DurationPeriodFormatUtils#parseDuration(String)}.
+     *
+     * @param text the text to parse, not null
+     * @return the parsed duration, not null
+     * @throws DateTimeParseException if the text cannot be parsed to a duration
+     */
+    public Duration parseDuration(final String text) throws DateTimeParseException {
+        return m_durations.get(text, DurationPeriodFormatUtils::parseDuration);
+    }
+
+    /**
+     * Parses a date-based duration, see {@link DurationPeriodFormatUtils#parsePeriod(String)}.
+     *
+     * @param text the text to parse, not null
+     * @return the parsed period, not null
+     * @throws DateTimeParseException if the text cannot be parsed to a period
+     */
+    public Period parsePeriod(final String text) throws DateTimeParseException {
+        return m_periods.get(text, DurationPeriodFormatUtils::parsePeriod);
+    }
+
+    /**
+     * Parses a date-based duration or, if this fails, a time-based duration.
+     *
+     * @param text the text to parse, not null
+     * @return the parsed period or duration, not null
+     * @throws DateTimeException if the text can neither be parsed to a period nor to a duration
+     */
+    public TemporalAmount parsePeriodOrDuration(final String text) throws DateTimeException {
+        return m_periodsOrDurations.get(text, s -> {
+            try {
+                return DurationPeriodFormatUtils.parsePeriod(s);
+            } catch (DateTimeException e) {
+                return DurationPeriodFormatUtils.parseDuration(s);
+            }
+        });
+    }
+}
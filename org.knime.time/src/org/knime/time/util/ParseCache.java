@@ -0,0 +1,172 @@
+/*
+ * ------------------------------------------------------------------------
+ *
+ *  Copyright by KNIME AG, Zurich, Switzerland
+ *  Website: http://www.knime.com; Email: contact@knime.com
+ *
+ *  This program is free software; you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License, Version 3, as
+ *  published by the Free Software Foundation.
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, see <http://www.gnu.org/licenses>.
+ *
+ *  Additional permission under GNU GPL version 3 section 7:
+ *
+ *  KNIME interoperates with ECLIPSE solely via ECLIPSE's plug-in APIs.
+ *  Hence, KNIME and ECLIPSE are both independent programs and are not
+ *  derived from each other. Should, however, the interpretation of the
+ *  GNU GPL Version 3 ("License") under any applicable laws result in
+ *  KNIME and ECLIPSE being a combined program, KNIME AG herewith grants
+ *  you the additional permission to use and propagate KNIME together with
+ *  ECLIPSE with only the license terms in place for ECLIPSE applying to
+ *  ECLIPSE and the GNU GPL Version 3 applying for KNIME, provided the
+ *  license terms of ECLIPSE themselves allow for the respective use and
+ *  propagation of ECLIPSE together with KNIME.
+ *
+ *  Additional permission relating to nodes for KNIME that extend the Node
+ *  Extension (and in particular that are based on subclasses of NodeModel,
+ *  NodeDialog, and NodeView) and that only interoperate with KNIME through
+ *  standard APIs ("Nodes"):
+ *  Nodes are deemed to be separate and independent programs and to not be
+ *  covered works.  Notwithstanding anything to the contrary in the
+ *  License, the License does not apply to Nodes, you are not required to
+ *  license Nodes under the License, and you are granted a license to
+ *  prepare and propagate Nodes, in each case even if such Nodes are
+ *  propagated with or for interoperation with KNIME.  The owner of a Node
+ *  may freely choose the license terms applicable to such Node, including
+ *  when such Node is propagated with or for interoperation with KNIME.
+ * ---------------------------------------------------------------------
+ *
+ * History
+ *   18.10.2026 (agent): created
+ */
+package org.knime.time.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A small, bounded memo cache for the results of parsing strings. The least recently used entry is evicted once the
+ * cache is full. If the inputs turn out to be (almost) unique, the cache switches itself off after a number of
+ * lookups, so that it does not cost more than it saves. Instances are thread-safe: the entries are distributed over
+ * several stripes with their own lock, the statistics of the first lookups are counted without a lock, and a cache
+ * that is switched off parses without any locking at all.
+ *
+ * @param <T> the type of the parsed values
+ * @author agent
+ */
+final class ParseCache<T> {
+
+    /** The default maximum number of cached entries. */
+    static final int DEFAULT_CAPACITY = 1024;
+
+    /** The number of lookups after which the hit rate is checked. */
+    static final int PROBE_LOOKUPS = 8192;
+
+    /** The cache is switched off if less than one in this many lookups is a hit. */
+    private static final int MIN_HIT_RATIO = 8;
+
+    /** The maximum number of stripes. */
+    private static final int NUM_STRIPES = 16;
+
+    /** The least recently used entries per stripe, a stripe is locked by its map. */
+    private final Map<String, T>[] m_stripes;
+
+    private volatile boolean m_enabled = true;
+
+    /** Whether the lookups and hits are still counted to decide whether the cache is worth it. */
+    private volatile boolean m_probing = true;
+
+    private final AtomicLong m_lookups = new AtomicLong();
+
+    private final LongAdder m_hits = new LongAdder();
+
+    /**
+     * @param capacity the maximum number of cached entries
+     */
+    @SuppressWarnings("unchecked")
+    ParseCache(final int capacity) {
+        final int numStripes = Math.max(1, Math.min(NUM_STRIPES, capacity));
+        m_stripes = new Map[numStripes];
+        for (int s = 0; s < numStripes; s++) {
+            final int stripeCapacity = capacity / numStripes + (s < capacity % numStripes ? 1 : 0);
+            m_stripes[s] = new LinkedHashMap<String, T>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<String, T> eldest) {
+                    return size() > stripeCapacity;
+                }
+            };
+        }
+    }
+
+    /**
+     * Returns the cached value for the given text or parses it with the given parser and caches the result. Texts
+     * that cannot be parsed are not cached, the exception of the parser is passed on.
+     *
+     * @param text the text to parse, not null
+     * @param parser the parser to use if the text is not cached
+     * @return the parsed value
+     */
+    T get(final String text, final Function<String, T> parser) {
+        if (!m_enabled) {
+            return parser.apply(text);
+        }
+        final int hash = text.hashCode();
+        final Map<String, T> stripe = m_stripes[((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % m_stripes.length];
+        final T cached;
+        synchronized (stripe) {
+            cached = stripe.get(text);
+        }
+        if (m_probing) {
+            probe(cached != null);
+        }
+        if (cached != null) {
+            return cached;
+        }
+        final T value = parser.apply(text);
+        if (m_enabled) {
+            synchronized (stripe) {
+                stripe.put(text, value);
+            }
+        }
+        return value;
+    }
+
+    /** Counts a lookup and switches the cache off after the first lookups if there were too few hits. */
+    private void probe(final boolean hit) {
+        if (hit) {
+            m_hits.increment();
+        }
+        if (m_lookups.incrementAndGet() == PROBE_LOOKUPS) {
+            m_probing = false;
+            if (m_hits.sum() * MIN_HIT_RATIO < PROBE_LOOKUPS) {
+                m_enabled = false;
+                for (final Map<String, T> stripe : m_stripes) {
+                    synchronized (stripe) {
+                        stripe.clear();
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Used for testing, only.
+     *
+     * @return whether the cache is still in use
+     */
+    boolean isEnabled() {
+        return m_enabled;
+    }
+}